@@ -32,11 +32,10 @@ import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.graphalgo.core.utils.partition.Partition;
 import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
@@ -56,9 +55,9 @@ public class FastRP extends Algorithm<FastRP, FastRP.FastRPResult> {
     private final List<FeatureExtractor> featureExtractors;
     private final int inputDimension;
     private final float[][] propertyVectors;
-    private final HugeObjectArray<float[]> embeddings;
-    private final HugeObjectArray<float[]> embeddingA;
-    private final HugeObjectArray<float[]> embeddingB;
+    private final HugeFloatMatrix embeddings;
+    private final HugeFloatMatrix embeddingA;
+    private final HugeFloatMatrix embeddingB;
     private final EmbeddingCombiner embeddingCombiner;
     private final Optional<Long> randomSeed;
 
@@ -73,9 +72,9 @@ public class FastRP extends Algorithm<FastRP, FastRP.FastRPResult> {
                 "propertyVectors",
                 MemoryUsage.sizeOfFloatArray(config.featureProperties().size() * config.propertyDimension())
             )
-            .add("embeddings", HugeObjectArray.memoryEstimation(MemoryUsage.sizeOfFloatArray(config.embeddingDimension())))
-            .add("embeddingA", HugeObjectArray.memoryEstimation(MemoryUsage.sizeOfFloatArray(config.embeddingDimension())))
-            .add("embeddingB", HugeObjectArray.memoryEstimation(MemoryUsage.sizeOfFloatArray(config.embeddingDimension())))
+            .add("embeddings", HugeFloatMatrix.memoryEstimation(config.embeddingDimension()))
+            .add("embeddingA", HugeFloatMatrix.memoryEstimation(config.embeddingDimension()))
+            .add("embeddingB", HugeFloatMatrix.memoryEstimation(config.embeddingDimension()))
             .build();
     }
 
@@ -104,11 +103,9 @@ public class FastRP extends Algorithm<FastRP, FastRP.FastRPResult> {
         this.progressLogger = progressLogger;
 
         this.propertyVectors = new float[inputDimension][config.propertyDimension()];
-        this.embeddings = HugeObjectArray.newArray(float[].class, graph.nodeCount(), tracker);
-        this.embeddingA = HugeObjectArray.newArray(float[].class, graph.nodeCount(), tracker);
-        this.embeddingB = HugeObjectArray.newArray(float[].class, graph.nodeCount(), tracker);
-        // Each of the above arrays will contain a float array of size `embeddingDimension` for each node.
-        tracker.add(3 * graph.nodeCount() * MemoryUsage.sizeOfFloatArray(config.embeddingDimension()));
+        this.embeddings = HugeFloatMatrix.newMatrix(graph.nodeCount(), config.embeddingDimension(), tracker);
+        this.embeddingA = HugeFloatMatrix.newMatrix(graph.nodeCount(), config.embeddingDimension(), tracker);
+        this.embeddingB = HugeFloatMatrix.newMatrix(graph.nodeCount(), config.embeddingDimension(), tracker);
 
         this.embeddingDimension = config.embeddingDimension();
         this.baseEmbeddingDimension = config.embeddingDimension() - config.propertyDimension();
@@ -116,9 +113,8 @@ public class FastRP extends Algorithm<FastRP, FastRP.FastRPResult> {
         this.normalizationStrength = config.normalizationStrength();
         this.concurrency = config.concurrency();
         this.embeddingCombiner = graph.hasRelationshipProperty()
-            ? this::addArrayValuesWeighted
-            : (lhs, rhs, ignoreWeight) -> addArrayValues(lhs, rhs);
-        this.embeddings.setAll((i) -> new float[embeddingDimension]);
+            ? HugeFloatMatrix::addRowWeighted
+            : (into, row, previous, target, ignoreWeight) -> into.addRow(row, previous, target);
     }
 
     @Override
@@ -200,35 +196,17 @@ public class FastRP extends Algorithm<FastRP, FastRP.FastRPResult> {
     }
 
     @TestOnly
-    HugeObjectArray<float[]> currentEmbedding(int iteration) {
+    HugeFloatMatrix currentEmbedding(int iteration) {
         return iteration % 2 == 0
             ? this.embeddingA
             : this.embeddingB;
     }
 
     @TestOnly
-    HugeObjectArray<float[]> embeddings() {
+    HugeFloatMatrix embeddings() {
         return embeddings;
     }
 
-    private void addArrayValues(float[] lhs, float[] rhs) {
-        for (int i = 0; i < lhs.length; i++) {
-            lhs[i] += rhs[i];
-        }
-    }
-
-    private void addArrayValuesWeighted(float[] lhs, float[] rhs, double weight) {
-        for (int i = 0; i < lhs.length; i++) {
-            lhs[i] = (float) Math.fma(rhs[i], weight, lhs[i]);
-        }
-    }
-
-    private static void multiplyArrayValues(float[] lhs, double scalar) {
-        for (int i = 0; i < lhs.length; i++) {
-            lhs[i] *= scalar;
-        }
-    }
-
     static void l2Normalize(float[] array) {
         double sum = 0.0f;
         for (double value : array) {
@@ -241,12 +219,6 @@ public class FastRP extends Algorithm<FastRP, FastRP.FastRPResult> {
         }
     }
 
-    private static void updateEmbeddings(double weight, float[] embedding, float[] newEmbedding) {
-        for (int i = 0; i < embedding.length; i++) {
-            embedding[i] += weight * newEmbedding[i];
-        }
-    }
-
     private static float computeRandomEntry(Random random, float entryValue) {
         double randomValue = random.nextDouble();
 
@@ -296,7 +268,7 @@ public class FastRP extends Algorithm<FastRP, FastRP.FastRPResult> {
     }
 
     private interface EmbeddingCombiner {
-        void combine(float[] into, float[] add, double weight);
+        void combine(HugeFloatMatrix into, long row, HugeFloatMatrix previous, long target, double weight);
     }
 
     private final class InitRandomVectorTask implements Runnable {
@@ -325,8 +297,7 @@ public class FastRP extends Algorithm<FastRP, FastRP.FastRPResult> {
 
                 float entryValue = scaling * sqrtSparsity / sqrtEmbeddingDimension;
                 float[] randomVector = computeRandomVector(nodeId, random, entryValue);
-                embeddingB.set(nodeId, randomVector);
-                embeddingA.set(nodeId, new float[embeddingDimension]);
+                embeddingB.setRow(nodeId, randomVector);
             }
             progressLogger.logProgress(partition.nodeCount());
         }
@@ -373,15 +344,15 @@ public class FastRP extends Algorithm<FastRP, FastRP.FastRPResult> {
     private final class PropagateEmbeddingsTask implements Runnable {
 
         private final Partition partition;
-        private final HugeObjectArray<float[]> localCurrent;
-        private final HugeObjectArray<float[]> localPrevious;
+        private final HugeFloatMatrix localCurrent;
+        private final HugeFloatMatrix localPrevious;
         private final double iterationWeight;
         private final Graph concurrentGraph;
 
         private PropagateEmbeddingsTask(
             Partition partition,
-            HugeObjectArray<float[]> localCurrent,
-            HugeObjectArray<float[]> localPrevious,
+            HugeFloatMatrix localCurrent,
+            HugeFloatMatrix localPrevious,
             double iterationWeight
         ) {
             this.partition = partition;
@@ -395,13 +366,11 @@ public class FastRP extends Algorithm<FastRP, FastRP.FastRPResult> {
         public void run() {
             long degrees = 0;
             for (long nodeId = partition.startNode(); nodeId < partition.startNode() + partition.nodeCount(); nodeId++) {
-                float[] embedding = embeddings.get(nodeId);
-                float[] currentEmbedding = localCurrent.get(nodeId);
-                Arrays.fill(currentEmbedding, 0.0f);
+                localCurrent.fillRow(nodeId, 0.0f);
 
                 // Collect and combine the neighbour embeddings
                 concurrentGraph.forEachRelationship(nodeId, 1.0, (source, target, weight) -> {
-                    embeddingCombiner.combine(currentEmbedding, localPrevious.get(target), weight);
+                    embeddingCombiner.combine(localCurrent, source, localPrevious, target, weight);
                     return true;
                 });
 
@@ -409,11 +378,11 @@ public class FastRP extends Algorithm<FastRP, FastRP.FastRPResult> {
                 var degree = graph.degree(nodeId);
                 int adjustedDegree = degree == 0 ? 1 : degree;
                 double degreeScale = 1.0f / adjustedDegree;
-                multiplyArrayValues(currentEmbedding, degreeScale);
-                l2Normalize(currentEmbedding);
+                localCurrent.scaleRow(nodeId, degreeScale);
+                localCurrent.l2NormalizeRow(nodeId);
 
                 // Update the result embedding
-                updateEmbeddings(iterationWeight, embedding, currentEmbedding);
+                embeddings.addRowWeighted(nodeId, localCurrent, nodeId, iterationWeight);
                 degrees += degree;
             }
             progressLogger.logProgress(degrees);
@@ -421,13 +390,13 @@ public class FastRP extends Algorithm<FastRP, FastRP.FastRPResult> {
     }
 
     public static class FastRPResult {
-        private final HugeObjectArray<float[]> embeddings;
+        private final HugeFloatMatrix embeddings;
 
-        public FastRPResult(HugeObjectArray<float[]> embeddings) {
+        public FastRPResult(HugeFloatMatrix embeddings) {
             this.embeddings = embeddings;
         }
 
-        public HugeObjectArray<float[]> embeddings() {
+        public HugeFloatMatrix embeddings() {
             return embeddings;
         }
     }
@@ -20,16 +20,11 @@
 package org.neo4j.gds.embeddings.graphsage;
 
 import org.neo4j.gds.embeddings.graphsage.ddl4j.ComputationContext;
-import org.neo4j.gds.embeddings.graphsage.ddl4j.Variable;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Weights;
-import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
-import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Scalar;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Tensor;
-import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Vector;
 
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 // Division, squaring and square-rooting is done elementwise.
 public class AdamOptimizer {
@@ -46,8 +41,8 @@ public class AdamOptimizer {
 
     private final List<Weights<? extends Tensor<?>>> variables;
 
-    private List<? extends Tensor<?>> momentumTerms;
-    private List<? extends Tensor<?>> velocityTerms;
+    private final List<? extends Tensor<?>> momentumTerms;
+    private final List<? extends Tensor<?>> velocityTerms;
 
     private int iteration = 0;
 
@@ -63,75 +58,40 @@ public class AdamOptimizer {
         this.variables = variables;
 
         momentumTerms = variables.stream().map(v -> v.data().zeros()).collect(Collectors.toList());
-        velocityTerms = List.copyOf(momentumTerms);
+        velocityTerms = variables.stream().map(v -> v.data().zeros()).collect(Collectors.toList());
     }
 
     // TODO: probably doesnt have to be synchronized
     public synchronized void update(ComputationContext otherCtx) {
         iteration += 1;
-        variables.forEach(variable -> otherCtx.gradient(variable).mapInPlace(this::clip));
-
-        // m_t = beta_1*m_t + (1-beta_1)*g_t	#updates the moving averages of the gradient
-        momentumTerms = IntStream.range(0, variables.size())
-            .mapToObj(i -> {
-                Variable<?> variable = variables.get(i);
-                Tensor<?> momentumTerm = momentumTerms.get(i);
-                return castAndAdd(
-                    momentumTerm.scalarMultiply(beta_1),
-                    otherCtx.gradient(variable).scalarMultiply(1 - beta_1)
-                );
-            })
-            .collect(Collectors.toList());
-
-        // v_t = beta_2*v_t + (1-beta_2)*(g_t*g_t)	#updates the moving averages of the squared gradient
-        velocityTerms = IntStream.range(0, variables.size())
-            .mapToObj(i -> {
-                Variable<?> variable = variables.get(i);
-                Tensor<?> velocityTerm = velocityTerms.get(i);
-                Tensor<?> gradient = otherCtx.gradient(variable);
-                Tensor<?> squaredGradient = gradient.elementwiseProduct(gradient);
-                return castAndAdd(
-                    velocityTerm.scalarMultiply(beta_2),
-                    squaredGradient.scalarMultiply(1 - beta_2)
-                );
-            })
-            .collect(Collectors.toList());
-
-        // m_cap = m_t/(1-(beta_1**t))		#calculates the bias-corrected estimates
-        List<Tensor<?>> mCaps = momentumTerms.stream()
-            .map(mTerm -> mTerm.scalarMultiply(1d / (1 - Math.pow(beta_1, iteration))))
-            .collect(Collectors.toList());
-
-        // v_cap = v_t/(1-(beta_2**t))		#calculates the bias-corrected estimates
-        List<Tensor<?>> vCaps = velocityTerms.stream()
-            .map(vTerm -> vTerm.scalarMultiply(1d / (1 - Math.pow(beta_2, iteration))))
-            .collect(Collectors.toList());
-
-        IntStream.range(0, variables.size())
-            .forEach(i -> {
-                Weights<? extends Tensor<?>> variable = variables.get(i);
-                Tensor<?> mCap = mCaps.get(i);
-                Tensor<?> vCap = vCaps.get(i);
+        double momentumCorrection = 1d / (1 - Math.pow(beta_1, iteration));
+        double velocityCorrection = 1d / (1 - Math.pow(beta_2, iteration));
+
+        // All terms are updated in place, so that a training step does not allocate new tensors.
+        for (int i = 0; i < variables.size(); i++) {
+            Weights<? extends Tensor<?>> variable = variables.get(i);
+            double[] gradient = otherCtx.gradient(variable).data();
+            double[] momentumTerm = momentumTerms.get(i).data();
+            double[] velocityTerm = velocityTerms.get(i).data();
+            double[] theta_0 = variable.data().data();
+
+            for (int j = 0; j < gradient.length; j++) {
+                double g_t = clip(gradient[j]);
+                gradient[j] = g_t;
+
+                // m_t = beta_1*m_t + (1-beta_1)*g_t	#updates the moving averages of the gradient
+                momentumTerm[j] = momentumTerm[j] * beta_1 + g_t * (1 - beta_1);
+                // v_t = beta_2*v_t + (1-beta_2)*(g_t*g_t)	#updates the moving averages of the squared gradient
+                velocityTerm[j] = velocityTerm[j] * beta_2 + (g_t * g_t) * (1 - beta_2);
+
+                // m_cap = m_t/(1-(beta_1**t))		#calculates the bias-corrected estimates
+                double mCap = momentumTerm[j] * momentumCorrection;
+                // v_cap = v_t/(1-(beta_2**t))		#calculates the bias-corrected estimates
+                double vCap = velocityTerm[j] * velocityCorrection;
 
                 // theta_0 = theta_0 - (alpha*m_cap)/(math.sqrt(v_cap)+epsilon)	#updates the parameters
-                Tensor<?> theta_0 = variable.data();
-                theta_0.addInPlace(mCap
-                    .scalarMultiply(-alpha)
-                    .elementwiseProduct(vCap.map(v -> 1 / (Math.sqrt(v) + epsilon)))
-                );
-            });
-    }
-
-    // TODO: Try to retain type information and avoid these checks
-    private Tensor<?> castAndAdd(Tensor<?> op1, Tensor<?> op2) {
-        if (op1 instanceof Scalar && op2 instanceof Scalar) {
-            return ((Scalar) op1).add(((Scalar) op2));
-        } else if (op1 instanceof Vector && op2 instanceof Vector) {
-            return ((Vector) op1).add(((Vector) op2));
-        } else if (op1 instanceof Matrix && op2 instanceof Matrix) {
-            return ((Matrix) op1).add(((Matrix) op2));
-        } else {
-            throw new IllegalStateException("Mismatched tensors! Can only add same types");
+                theta_0[j] += (mCap * -alpha) * (1 / (Math.sqrt(vCap) + epsilon));
+            }
         }
     }
 
@@ -39,4 +39,18 @@ public class BatchProvider {
             (start, length) -> LongStream.range(start, start + length).toArray()
         ).stream();
     }
+
+    /**
+     * Returns how many threads a batch may use, if the batches of a graph are processed by the given number of threads.
+     * While the batches that have not been started occupy all threads, every batch uses a single thread.
+     * Towards the end, the threads that are no longer needed for whole batches are shared among
+     * the last batches in proportion to their size, so that large batches get more threads.
+     *
+     * @param batchNodeCount  the number of nodes in the batch
+     * @param remainingNodes  the number of nodes in the batch and in all batches that have not been started yet
+     */
+    public int concurrencyPerBatch(int batchNodeCount, long remainingNodes, int concurrency) {
+        long nodes = Math.max(remainingNodes, batchNodeCount);
+        return (int) Math.max(1, (long) concurrency * batchNodeCount / Math.max(1, nodes));
+    }
 }
@@ -22,12 +22,16 @@ package org.neo4j.gds.embeddings.graphsage;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.ComputationContext;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Variable;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.TensorArena;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.neo4j.gds.embeddings.graphsage.GraphSageHelper.embeddings;
 import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.parallelStreamConsume;
@@ -38,6 +42,7 @@ public class GraphSageEmbeddingsGenerator {
     private final int concurrency;
     private final boolean isWeighted;
     private final FeatureFunction featureFunction;
+    private final ExecutorService executor;
     private final ProgressLogger progressLogger;
     private final AllocationTracker tracker;
 
@@ -49,7 +54,16 @@ public class GraphSageEmbeddingsGenerator {
         ProgressLogger progressLogger,
         AllocationTracker tracker
     ) {
-        this(layers, batchSize, concurrency, isWeighted, new SingleLabelFeatureFunction(), progressLogger, tracker);
+        this(
+            layers,
+            batchSize,
+            concurrency,
+            isWeighted,
+            new SingleLabelFeatureFunction(),
+            Pools.DEFAULT,
+            progressLogger,
+            tracker
+        );
     }
 
     public GraphSageEmbeddingsGenerator(
@@ -58,6 +72,7 @@ public class GraphSageEmbeddingsGenerator {
         int concurrency,
         boolean isWeighted,
         FeatureFunction featureFunction,
+        ExecutorService executor,
         ProgressLogger progressLogger,
         AllocationTracker tracker
     ) {
@@ -66,6 +81,7 @@ public class GraphSageEmbeddingsGenerator {
         this.concurrency = concurrency;
         this.isWeighted = isWeighted;
         this.featureFunction = featureFunction;
+        this.executor = executor;
         this.progressLogger = progressLogger;
         this.tracker = tracker;
     }
@@ -81,11 +97,18 @@ public class GraphSageEmbeddingsGenerator {
         );
 
         progressLogger.logStart();
+        var remainingNodes = new AtomicLong(graph.nodeCount());
+        var arenas = ThreadLocal.withInitial(TensorArena::new);
         parallelStreamConsume(
             batchProvider.stream(graph),
             concurrency,
             batches -> batches.forEach(batch -> {
-                ComputationContext ctx = new ComputationContext();
+                int batchConcurrency = batchProvider.concurrencyPerBatch(
+                    batch.length,
+                    remainingNodes.getAndAdd(-batch.length),
+                    concurrency
+                );
+                ComputationContext ctx = new ComputationContext(batchConcurrency, executor, arenas.get());
                 Variable<Matrix> embeddingVariable = embeddings(graph, isWeighted, batch, features, layers, featureFunction);
                 int cols = embeddingVariable.dimension(1);
                 double[] embeddings = ctx.forward(embeddingVariable).data();
@@ -98,6 +121,7 @@ public class GraphSageEmbeddingsGenerator {
                     );
                     result.set(batch[nodeIndex], nodeEmbedding);
                 }
+                ctx.reset();
                 progressLogger.logProgress();
             })
         );
@@ -70,7 +70,7 @@ public final class GraphSageHelper {
     ) {
         List<NeighborhoodFunction> neighborhoodFunctions = Arrays
             .stream(layers)
-            .map(layer -> (NeighborhoodFunction) layer::neighborhoodFunction)
+            .map(Layer::neighborhoodFunction)
             .collect(Collectors.toList());
         Collections.reverse(neighborhoodFunctions);
         List<SubGraph> subGraphs = SubGraph.buildSubGraphs(nodeIds, neighborhoodFunctions, graph, useWeights);
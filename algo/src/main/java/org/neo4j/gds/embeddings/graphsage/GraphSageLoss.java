@@ -103,7 +103,8 @@ public class GraphSageLoss extends SingleParentVariable<Scalar> {
         int batchSize = totalBatchSize / SAMPLING_BUCKETS;
 
         int embeddingDimension = embeddingData.dimension(COLUMNS_INDEX);
-        double[] gradientResult = new double[totalBatchSize * embeddingDimension];
+        Matrix gradient = ctx.matrix(totalBatchSize, embeddingDimension);
+        double[] gradientResult = gradient.data();
 
         int negativeNodesOffset = NEGATIVE_NODES_OFFSET * batchSize;
         IntStream.range(0, batchSize).forEach(nodeOffset -> {
@@ -129,7 +130,7 @@ public class GraphSageLoss extends SingleParentVariable<Scalar> {
             ));
 
         });
-        return new Matrix(gradientResult, totalBatchSize, embeddingDimension);
+        return gradient;
     }
 
     private void partialComputeGradient(
@@ -27,8 +27,10 @@ import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Weights;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Scalar;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Tensor;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.TensorArena;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
@@ -38,9 +40,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.OptionalLong;
 import java.util.Random;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -68,15 +70,19 @@ public class GraphSageModelTrainer {
     private final List<LayerConfig> layerConfigs;
     private final FeatureFunction featureFunction;
     private final Collection<Weights<? extends Tensor<?>>> labelProjectionWeights;
+    private final ExecutorService executor;
     private final ProgressLogger progressLogger;
+    // batches on the same thread reuse the buffers of the previous batch
+    private final ThreadLocal<TensorArena> arenas;
     private double degreeProbabilityNormalizer;
 
     public GraphSageModelTrainer(GraphSageTrainConfig config, ProgressLogger progressLogger) {
-        this(config, progressLogger, new SingleLabelFeatureFunction(), Collections.emptyList());
+        this(config, Pools.DEFAULT, progressLogger, new SingleLabelFeatureFunction(), Collections.emptyList());
     }
 
     public GraphSageModelTrainer(
         GraphSageTrainConfig config,
+        ExecutorService executor,
         ProgressLogger progressLogger,
         FeatureFunction featureFunction,
         Collection<Weights<? extends Tensor<?>>> labelProjectionWeights
@@ -92,7 +98,9 @@ public class GraphSageModelTrainer {
         this.maxSearchDepth = config.searchDepth();
         this.featureFunction = featureFunction;
         this.labelProjectionWeights = labelProjectionWeights;
+        this.executor = executor;
         this.progressLogger = progressLogger;
+        this.arenas = ThreadLocal.withInitial(TensorArena::new);
 
         this.useWeights = config.relationshipWeightProperty() != null;
     }
@@ -139,6 +147,7 @@ public class GraphSageModelTrainer {
         AdamOptimizer updater = new AdamOptimizer(weights, learningRate);
 
         AtomicInteger batchCounter = new AtomicInteger(0);
+        var remainingNodes = new AtomicLong(graph.nodeCount());
         parallelStreamConsume(
             batchProvider.stream(graph),
             concurrency,
@@ -148,7 +157,8 @@ public class GraphSageModelTrainer {
                 features,
                 updater,
                 epoch,
-                batchCounter.incrementAndGet()
+                batchCounter.incrementAndGet(),
+                batchProvider.concurrencyPerBatch(batch.length, remainingNodes.getAndAdd(-batch.length), concurrency)
             ))
         );
     }
@@ -159,7 +169,8 @@ public class GraphSageModelTrainer {
         HugeObjectArray<double[]> features,
         AdamOptimizer updater,
         int epoch,
-        int batchIndex
+        int batchIndex,
+        int batchConcurrency
     ) {
         for (Layer layer : layers) {
             layer.generateNewRandomState();
@@ -174,12 +185,15 @@ public class GraphSageModelTrainer {
             .getLog()
             .debug("Epoch %d\tBatch %d, Initial loss: %.10f", epoch, batchIndex, newLoss);
 
+        ComputationContext localCtx = new ComputationContext(batchConcurrency, executor, arenas.get());
+
         int iteration = 0;
         while (iteration < maxIterations) {
             progressLogger.logStart(":: Iteration " + (iteration + 1));
             oldLoss = newLoss;
 
-            ComputationContext localCtx = new ComputationContext();
+            // every iteration evaluates the same computation graph, so it can reuse the buffers of the previous one
+            localCtx.reset();
 
             newLoss = localCtx.forward(lossFunction).dataAt(0);
             double lossDiff = Math.abs((oldLoss - newLoss) / oldLoss);
@@ -195,6 +209,7 @@ public class GraphSageModelTrainer {
             progressLogger.logFinish(":: Iteration " + (iteration + 1));
             iteration++;
         }
+        localCtx.reset();
 
         progressLogger.getLog().debug(
             "Epoch %d\tBatch %d LOSS: %.10f at iteration %d",
@@ -212,13 +227,20 @@ public class GraphSageModelTrainer {
         int epoch
     ) {
         DoubleAdder doubleAdder = new DoubleAdder();
+        var remainingNodes = new AtomicLong(graph.nodeCount());
         parallelStreamConsume(
             batchProvider.stream(graph),
             concurrency,
             batches -> batches.forEach(batch -> {
-                ComputationContext ctx = new ComputationContext();
+                int batchConcurrency = batchProvider.concurrencyPerBatch(
+                    batch.length,
+                    remainingNodes.getAndAdd(-batch.length),
+                    concurrency
+                );
+                ComputationContext ctx = new ComputationContext(batchConcurrency, executor, arenas.get());
                 Variable<Scalar> loss = lossFunction(batch, graph, features);
                 doubleAdder.add(ctx.forward(loss).dataAt(0));
+                ctx.reset();
             })
         );
         double lossValue = doubleAdder.doubleValue();
@@ -245,23 +267,25 @@ public class GraphSageModelTrainer {
     }
 
     private LongStream neighborBatch(Graph graph, long[] batch) {
+        NeighborhoodSampler neighborhoodSampler = useWeights ?
+            new WeightedNeighborhoodSampler(0L) :
+            new UniformNeighborhoodSampler(0L);
+        Graph localGraph = graph.concurrentCopy();
+        NeighborSamples samples = new NeighborSamples(1);
         return Arrays.stream(batch).map(nodeId -> {
             int searchDepth = ThreadLocalRandom.current().nextInt(maxSearchDepth) + 1;
-            AtomicLong currentNode = new AtomicLong(nodeId);
+            long currentNode = nodeId;
             while (searchDepth > 0) {
-                NeighborhoodSampler neighborhoodSampler = useWeights ?
-                    new WeightedNeighborhoodSampler(0L) :
-                    new UniformNeighborhoodSampler(0L);
-                OptionalLong maybeSample = neighborhoodSampler.sampleOne(graph, nodeId);
-                if (maybeSample.isPresent()) {
-                    currentNode.set(maybeSample.getAsLong());
+                neighborhoodSampler.sample(localGraph, nodeId, 1, samples);
+                if (samples.size() > 0) {
+                    currentNode = samples.get(0);
                 } else {
                     // terminate
                     searchDepth = 0;
                 }
                 searchDepth--;
             }
-            return currentNode.get();
+            return currentNode;
         });
     }
 
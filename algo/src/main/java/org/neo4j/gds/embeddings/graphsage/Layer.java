@@ -47,4 +47,18 @@ public interface Layer {
     default List<Long> neighborhoodFunction(Graph graph, long nodeId) {
         return sampler().sample(graph, nodeId, sampleSize());
     }
+
+    default NeighborhoodFunction neighborhoodFunction() {
+        return new NeighborhoodFunction() {
+            @Override
+            public List<Long> apply(Graph graph, long nodeId) {
+                return neighborhoodFunction(graph, nodeId);
+            }
+
+            @Override
+            public void sample(Graph graph, long nodeId, NeighborSamples samples) {
+                sampler().sample(graph, nodeId, Math.toIntExact(sampleSize()), samples);
+            }
+        };
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reusable buffer that receives the neighbors sampled by a {@link NeighborhoodSampler}.
+ * The buffer only grows when more samples are requested than it can hold,
+ * so a single instance can be used for all nodes of a batch.
+ * A buffer must not be shared between threads.
+ */
+public final class NeighborSamples {
+
+    private long[] neighbors;
+    private double[] priorities;
+    private int size;
+    private int limit;
+    private int remainingCandidates;
+
+    public NeighborSamples() {
+        this(0);
+    }
+
+    public NeighborSamples(int initialCapacity) {
+        this.neighbors = new long[initialCapacity];
+        this.priorities = new double[initialCapacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long get(int index) {
+        assert index < size;
+        return neighbors[index];
+    }
+
+    public List<Long> toList() {
+        var list = new ArrayList<Long>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(neighbors[i]);
+        }
+        return list;
+    }
+
+    /**
+     * Clears the buffer and prepares it to receive at most {@code limit} samples
+     * out of the given number of candidates.
+     */
+    void reset(int limit, int candidates) {
+        if (neighbors.length < limit) {
+            int newCapacity = Math.max(limit, neighbors.length + (neighbors.length >> 1));
+            neighbors = new long[newCapacity];
+            priorities = new double[newCapacity];
+        }
+        this.size = 0;
+        this.limit = limit;
+        this.remainingCandidates = candidates;
+    }
+
+    boolean isFull() {
+        return size == limit;
+    }
+
+    int remainingSamples() {
+        return limit - size;
+    }
+
+    /**
+     * Returns the number of candidates that have not been considered yet,
+     * including the current one, and marks the current one as considered.
+     */
+    int considerCandidate() {
+        return remainingCandidates--;
+    }
+
+    void add(long neighbor) {
+        assert size < limit;
+        neighbors[size++] = neighbor;
+    }
+
+    /**
+     * Keeps the neighbors with the {@code limit} largest priorities seen so far.
+     * The retained neighbors form a binary min-heap on their priorities.
+     */
+    void offer(long neighbor, double priority) {
+        if (size < limit) {
+            neighbors[size] = neighbor;
+            priorities[size] = priority;
+            siftUp(size++);
+        } else if (limit > 0 && priority > priorities[0]) {
+            neighbors[0] = neighbor;
+            priorities[0] = priority;
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (priorities[parent] <= priorities[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && priorities[left] < priorities[smallest]) {
+                smallest = left;
+            }
+            if (right < size && priorities[right] < priorities[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        long neighbor = neighbors[i];
+        neighbors[i] = neighbors[j];
+        neighbors[j] = neighbor;
+        double priority = priorities[i];
+        priorities[i] = priorities[j];
+        priorities[j] = priority;
+    }
+}
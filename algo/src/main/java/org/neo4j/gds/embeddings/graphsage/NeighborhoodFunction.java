@@ -26,4 +26,14 @@ import java.util.List;
 @FunctionalInterface
 public interface NeighborhoodFunction {
     List<Long> apply(Graph graph, long nodeId);
+
+    /**
+     * Writes the neighborhood of the given node into the buffer.
+     * Functions that are backed by a {@link NeighborhoodSampler} override this to avoid boxing.
+     */
+    default void sample(Graph graph, long nodeId, NeighborSamples samples) {
+        List<Long> neighbors = apply(graph, nodeId);
+        samples.reset(neighbors.size(), neighbors.size());
+        neighbors.forEach(samples::add);
+    }
 }
@@ -25,12 +25,25 @@ import java.util.List;
 import java.util.OptionalLong;
 
 public interface NeighborhoodSampler {
-    List<Long> sample(Graph graph, long nodeId, long numberOfSamples);
+
+    /**
+     * Samples up to {@code numberOfSamples} neighbors of the given node into the given buffer.
+     * The graph is traversed directly, so it must not be used by other threads at the same time,
+     * e.g. pass a {@link Graph#concurrentCopy()} that is owned by the calling thread.
+     */
+    void sample(Graph graph, long nodeId, int numberOfSamples, NeighborSamples samples);
+
+    default List<Long> sample(Graph graph, long nodeId, long numberOfSamples) {
+        var samples = new NeighborSamples();
+        sample(graph.concurrentCopy(), nodeId, (int) Math.min(numberOfSamples, graph.degree(nodeId)), samples);
+        return samples.toList();
+    }
 
     long randomState();
 
     default OptionalLong sampleOne(Graph graph, long nodeId) {
-        List<Long> samples = sample(graph, nodeId, 1);
+        var samples = new NeighborSamples(1);
+        sample(graph.concurrentCopy(), nodeId, 1, samples);
         if (samples.size() < 1) {
             return OptionalLong.empty();
         }
@@ -21,45 +21,59 @@ package org.neo4j.gds.embeddings.graphsage;
 
 import org.neo4j.graphalgo.api.Graph;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Samples neighbors uniformly at random using selection sampling.
+ * The random value for a relationship only depends on the random state and the
+ * relationship itself, so a sampler can be shared between threads.
+ */
 public class UniformNeighborhoodSampler implements NeighborhoodSampler {
-    private final Random random;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
     private long randomSeed;
 
     public UniformNeighborhoodSampler(long randomSeed) {
-        this.random = new Random(randomSeed);
         this.randomSeed = randomSeed;
     }
 
-    public List<Long> sample(Graph graph, long nodeId, long numberOfSamples) {
-        AtomicLong remainingToSample = new AtomicLong(numberOfSamples);
-        AtomicLong remainingToConsider = new AtomicLong(graph.degree(nodeId));
-        List<Long> neighbors = new ArrayList<>();
-        graph.concurrentCopy().forEachRelationship(
+    @Override
+    public void sample(Graph graph, long nodeId, int numberOfSamples, NeighborSamples samples) {
+        int degree = graph.degree(nodeId);
+        samples.reset(Math.min(numberOfSamples, degree), degree);
+        if (samples.isFull()) {
+            return;
+        }
+
+        long seed = randomSeed;
+        long nodeCount = graph.nodeCount();
+        graph.forEachRelationship(
             nodeId,
             (source, target) -> {
-                if (remainingToSample.get() == 0 || remainingToConsider.get() == 0) {
-                    return false;
-                }
-                double randomDouble = randomDouble(source, target, graph.nodeCount());
-                if (remainingToConsider.getAndDecrement() * randomDouble <= remainingToSample.get()) {
-                    neighbors.add(target);
-                    remainingToSample.decrementAndGet();
+                double randomDouble = randomDouble(seed, source, target, nodeCount);
+                if (samples.considerCandidate() * randomDouble <= samples.remainingSamples()) {
+                    samples.add(target);
                 }
-                return true;
+                return !samples.isFull();
             }
         );
-        return neighbors;
     }
 
-    private double randomDouble(long source, long target, long nodeCount) {
-        random.setSeed(randomSeed + source + nodeCount * target);
-        return random.nextDouble();
+    /**
+     * Returns the same value as {@code new Random(seed + source + nodeCount * target).nextDouble()},
+     * without creating or synchronizing on a {@link java.util.Random} instance.
+     */
+    static double randomDouble(long seed, long source, long target, long nodeCount) {
+        long state = ((seed + source + nodeCount * target) ^ MULTIPLIER) & MASK;
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        long high = state >>> (48 - 26);
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        long low = state >>> (48 - 27);
+        return ((high << 27) + low) * DOUBLE_UNIT;
     }
 
     @Override
@@ -19,62 +19,50 @@
  */
 package org.neo4j.gds.embeddings.graphsage;
 
-import org.eclipse.collections.api.tuple.primitive.DoubleDoublePair;
-import org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples;
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.core.utils.queue.BoundedLongPriorityQueue;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicLong;
 
+import static org.neo4j.gds.embeddings.graphsage.UniformNeighborhoodSampler.randomDouble;
+
+/**
+ * Samples neighbors proportionally to their relationship weight in a single pass,
+ * using the weighted reservoir sampling by Efraimidis and Spirakis.
+ * Each relationship gets the key {@code random ^ (1 / weight)} and the neighbors
+ * with the largest keys are sampled. Relationships with a non-positive weight are
+ * only sampled if there are not enough other neighbors.
+ */
 public class WeightedNeighborhoodSampler implements NeighborhoodSampler {
-    private final double beta = 1D;
-    private final Random random;
+
     private long randomSeed;
 
     public WeightedNeighborhoodSampler(long randomSeed) {
         this.randomSeed = randomSeed;
-        this.random = new Random(randomSeed);
     }
 
-    public List<Long> sample(Graph graph, long nodeId, long numberOfSamples) {
-        AtomicLong remainingToSample = new AtomicLong(numberOfSamples);
-        AtomicLong remainingToConsider = new AtomicLong(graph.degree(nodeId));
-        List<Long> neighbors = new ArrayList<>();
-
-        DoubleDoublePair minMax = minMax(graph, nodeId);
-        double min = minMax.getOne();
-        double max = minMax.getTwo();
-
-        graph.concurrentCopy().forEachRelationship(
+    @Override
+    public void sample(Graph graph, long nodeId, int numberOfSamples, NeighborSamples samples) {
+        int degree = graph.degree(nodeId);
+        samples.reset(Math.min(numberOfSamples, degree), degree);
+        if (samples.isFull()) {
+            return;
+        }
+
+        long seed = randomSeed;
+        long nodeCount = graph.nodeCount();
+        graph.forEachRelationship(
             nodeId,
             RelationshipWeights.DEFAULT_VALUE,
             (source, target, weight) -> {
-                if (remainingToSample.get() == 0 || remainingToConsider.get() == 0) {
-                    return false;
-                }
-
-                double probability = (min == max) ?
-                    randomDouble(source, target, graph.nodeCount()) :
-                    (1.0 - Math.pow((weight - min) / (max - min), beta));
-
-                if (remainingToConsider.getAndDecrement() * probability <= remainingToSample.get()) {
-                    neighbors.add(target);
-                    remainingToSample.decrementAndGet();
-                }
+                samples.offer(target, priority(randomDouble(seed, source, target, nodeCount), weight));
                 return true;
             }
         );
-
-        return neighbors;
     }
 
-    private double randomDouble(long source, long target, long nodeCount) {
-        random.setSeed(this.randomSeed + source + nodeCount * target);
-        return random.nextDouble();
+    // log(random ^ (1 / weight)) preserves the order of the keys and does not underflow for large weights
+    private static double priority(double random, double weight) {
+        return weight > 0 ? Math.log(random) / weight : Double.NEGATIVE_INFINITY;
     }
 
     @Override
@@ -86,23 +74,4 @@ public class WeightedNeighborhoodSampler implements NeighborhoodSampler {
     public void generateNewRandomState() {
         this.randomSeed = ThreadLocalRandom.current().nextLong();
     }
-
-    private DoubleDoublePair minMax(Graph graph, long nodeId) {
-        var maxQ = BoundedLongPriorityQueue.max(1);
-        var minQ = BoundedLongPriorityQueue.min(1);
-        graph.concurrentCopy().forEachRelationship(
-            nodeId,
-            RelationshipWeights.DEFAULT_VALUE,
-            (source, target, weight) -> {
-                maxQ.offer(target, weight);
-                minQ.offer(target, weight);
-                return true;
-            }
-        );
-
-        var min = minQ.priorities().max().orElse(0D);
-        var max = maxQ.priorities().min().orElse(0D);
-
-        return PrimitiveTuples.pair(min, max);
-    }
 }
@@ -25,6 +25,7 @@ import org.neo4j.gds.embeddings.graphsage.ModelData;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.model.Model;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
@@ -64,6 +65,7 @@ public class GraphSage extends Algorithm<GraphSage, GraphSage.GraphSageResult> {
             config.concurrency(),
             model.trainConfig().isWeighted(),
             model.data().featureFunction(),
+            Pools.DEFAULT,
             progressLogger,
             tracker
         );
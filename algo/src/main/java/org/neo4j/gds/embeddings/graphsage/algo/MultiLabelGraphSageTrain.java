@@ -27,6 +27,7 @@ import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Tensor;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.schema.GraphSchema;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.model.Model;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
@@ -68,6 +69,7 @@ public class MultiLabelGraphSageTrain extends GraphSageTrain {
         var multiLabelFeatureFunction = new MultiLabelFeatureFunction(weightsByLabel, projectedFeatureDimension);
         var trainer = new GraphSageModelTrainer(
             config,
+            Pools.DEFAULT,
             progressLogger,
             multiLabelFeatureFunction,
             multiLabelFeatureFunction.weightsByLabel().values()
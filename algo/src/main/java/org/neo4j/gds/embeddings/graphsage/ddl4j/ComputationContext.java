@@ -20,23 +20,84 @@
 package org.neo4j.gds.embeddings.graphsage.ddl4j;
 
 import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.PassthroughVariable;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Tensor;
-import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.TensorFactory;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.TensorArena;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class ComputationContext {
     private final Map<Variable<?>, Tensor<?>> data;
     private final Map<Variable<?>, Tensor<?>> gradients;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final TensorArena arena;
 
+    /**
+     * Creates a context whose functions run on the calling thread only.
+     */
     public ComputationContext() {
+        this(1, Pools.DEFAULT, new TensorArena());
+    }
+
+    /**
+     * @param concurrency the number of threads a single function, such as a matrix multiplication, may use
+     * @param executor    runs the tasks of a single function if the concurrency is greater than one
+     * @param arena       provides the buffers of the computed data and gradients, see {@link #reset()}
+     */
+    public ComputationContext(int concurrency, ExecutorService executor, TensorArena arena) {
         this.data = new ConcurrentHashMap<>();
         this.gradients = new ConcurrentHashMap<>();
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.arena = arena;
+    }
+
+    public int concurrency() {
+        return concurrency;
+    }
+
+    public ExecutorService executor() {
+        return executor;
+    }
+
+    /**
+     * Returns a matrix of zeros whose buffer is recycled when the context is reset.
+     */
+    public Matrix matrix(int rows, int cols) {
+        return arena.matrix(rows, cols);
+    }
+
+    /**
+     * Returns a tensor of zeros like the given one, whose buffer is recycled when the context is reset.
+     */
+    public <T extends Tensor<?>> T zerosLike(T tensor) {
+        return arena.zerosLike(tensor);
+    }
+
+    /**
+     * Returns a copy of the given tensor, whose buffer is recycled when the context is reset.
+     */
+    public <T extends Tensor<?>> T copyOf(T tensor) {
+        return arena.copyOf(tensor);
+    }
+
+    /**
+     * Forgets all computed data and gradients and hands their buffers back to the arena,
+     * so that the next evaluation of the same computation graph can reuse them.
+     * Tensors that have been obtained from this context must not be used afterwards.
+     */
+    public void reset() {
+        data.clear();
+        gradients.clear();
+        arena.reset();
     }
 
     public <T extends Tensor<T>> T forward(Variable<T> variable) {
@@ -105,8 +166,13 @@ public class ComputationContext {
     }
 
     private void updateGradient(Variable<?> variable, Tensor<?> gradient) {
-        gradients.putIfAbsent(variable, TensorFactory.constant(0D, variable.dimensions()));
-        gradients.get(variable).addInPlace(gradient);
+        Tensor<?> accumulatedGradient = gradients.get(variable);
+        if (accumulatedGradient == null) {
+            // the gradient of a child might be shared with other variables, so we accumulate into an owned buffer
+            accumulatedGradient = arena.zeros(variable.dimensions());
+            gradients.put(variable, accumulatedGradient);
+        }
+        accumulatedGradient.addInPlace(gradient);
     }
 
     static class BackPropTask {
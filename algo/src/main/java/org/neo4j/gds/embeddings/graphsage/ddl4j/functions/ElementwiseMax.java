@@ -26,6 +26,8 @@ import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Tensor;
 import org.neo4j.graphalgo.core.utils.DoubleUtil;
 
+import java.util.Arrays;
+
 public class ElementwiseMax extends SingleParentVariable<Matrix> {
     private final int[][] adjacencyMatrix;
     private final int rows;
@@ -40,7 +42,8 @@ public class ElementwiseMax extends SingleParentVariable<Matrix> {
 
     @Override
     public Matrix apply(ComputationContext ctx) {
-        Matrix max = Matrix.fill(Double.NEGATIVE_INFINITY, rows, cols);
+        Matrix max = ctx.matrix(rows, cols);
+        Arrays.fill(max.data(), Double.NEGATIVE_INFINITY);
 
         double[] parentData = ctx.data(parent()).data();
         for (int row = 0; row < rows; row++) {
@@ -66,7 +69,7 @@ public class ElementwiseMax extends SingleParentVariable<Matrix> {
 
     @Override
     public Tensor<?> gradient(Variable<?> parent, ComputationContext ctx) {
-        Tensor<?> result = ctx.data(parent).zeros();
+        Tensor<?> result = ctx.zerosLike(ctx.data(parent));
 
         double[] parentData = ctx.data(parent).data();
         double[] thisGradient = ctx.gradient(this).data();
@@ -19,16 +19,14 @@
  */
 package org.neo4j.gds.embeddings.graphsage.ddl4j.functions;
 
-import org.ejml.data.DMatrix1Row;
-import org.ejml.data.DMatrixRMaj;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.AbstractVariable;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.ComputationContext;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Dimensions;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Variable;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.MatrixKernels;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Tensor;
 import org.neo4j.graphalgo.NodeLabel;
-import org.neo4j.graphalgo.core.utils.matrix.MatrixUtil;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.ArrayList;
@@ -60,30 +58,24 @@ public class LabelwiseFeatureProjection extends AbstractVariable<Matrix> {
 
     @Override
     public Matrix apply(ComputationContext ctx) {
-        double[] data = new double[nodeIds.length * projectedFeatureDimension];
+        Matrix result = ctx.matrix(nodeIds.length, projectedFeatureDimension);
+        double[] data = result.data();
         IntStream.range(0, nodeIds.length).forEach(i -> {
             long nodeId = nodeIds[i];
             NodeLabel label = labels[i];
             Weights<? extends Tensor<?>> weights = weightsByLabel.get(label);
             double[] nodeFeatures = features.get(nodeId);
 
-            DMatrix1Row wrappedWeights = DMatrixRMaj.wrap(
-                weights.dimension(0),
-                weights.dimension(1),
-                weights.data().data()
-            );
-            DMatrixRMaj wrappedNodeFeatures = DMatrixRMaj.wrap(1, nodeFeatures.length, nodeFeatures);
-            DMatrixRMaj product = new DMatrixRMaj(weights.dimension(0), 1);
-            MatrixUtil.multTransB(wrappedWeights, wrappedNodeFeatures, product, index -> (index < projectedFeatureDimension));
-            System.arraycopy(
-                product.getData(),
-                0,
+            MatrixKernels.multiplyVector(
+                weights.data().data(),
+                nodeFeatures,
                 data,
                 i * projectedFeatureDimension,
-                projectedFeatureDimension
+                projectedFeatureDimension,
+                weights.dimension(1)
             );
         });
-        return new Matrix(data, nodeIds.length, projectedFeatureDimension);
+        return result;
     }
 
     @Override
@@ -91,7 +83,8 @@ public class LabelwiseFeatureProjection extends AbstractVariable<Matrix> {
         double[] thisGradient = ctx.gradient(this).data();
         int rows = parent.dimension(0);
         int cols = parent.dimension(1);
-        double[] gradientData = new double[rows * cols];
+        Matrix gradient = ctx.matrix(rows, cols);
+        double[] gradientData = gradient.data();
 
         IntStream.range(0, nodeIds.length).forEach(i -> {
             long nodeId = nodeIds[i];
@@ -111,6 +104,6 @@ public class LabelwiseFeatureProjection extends AbstractVariable<Matrix> {
                 }
             }
         });
-        return new Matrix(gradientData, rows, cols);
+        return gradient;
     }
 }
@@ -19,13 +19,12 @@
  */
 package org.neo4j.gds.embeddings.graphsage.ddl4j.functions;
 
-import org.ejml.data.DMatrixRMaj;
-import org.ejml.dense.row.mult.MatrixMatrixMult_DDRM;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.AbstractVariable;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.ComputationContext;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Dimensions;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Variable;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.MatrixKernels;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Tensor;
 
 import java.util.List;
@@ -54,41 +53,44 @@ public class MatrixMultiplyWithTransposedSecondOperand extends AbstractVariable<
     public Matrix apply(ComputationContext ctx) {
         Tensor<?> t1 = ctx.data(A);
         Tensor<?> t2 = ctx.data(B);
-        return multiplyTransB(t1, t2);
+        return multiplyTransB(t1, t2, ctx);
     }
 
     @Override
     public Matrix gradient(Variable<?> parent, ComputationContext ctx) {
         Tensor<?> gradient = ctx.gradient(this);
         if (parent == A) {
-            return multiply(gradient, ctx.data(B));
+            return multiply(gradient, ctx.data(B), ctx);
         } else {
-            return multiplyTransA(gradient, ctx.data(A));
+            return multiplyTransA(gradient, ctx.data(A), ctx);
         }
     }
 
-    private Matrix multiply(Tensor<?> t1, Tensor<?> t2) {
-        DMatrixRMaj m1 = DMatrixRMaj.wrap(t1.dimension(ROWS_INDEX), t1.dimension(COLUMNS_INDEX), t1.data());
-        DMatrixRMaj m2 = DMatrixRMaj.wrap(t2.dimension(ROWS_INDEX), t2.dimension(COLUMNS_INDEX), t2.data());
-        DMatrixRMaj prod = new DMatrixRMaj(m1.numRows, m2.numCols);
-        MatrixMatrixMult_DDRM.mult_reorder(m1, m2, prod);
-        return new Matrix(prod.getData(), prod.numRows, prod.numCols);
+    private Matrix multiply(Tensor<?> t1, Tensor<?> t2, ComputationContext ctx) {
+        int rows = t1.dimension(ROWS_INDEX);
+        int shared = t1.dimension(COLUMNS_INDEX);
+        int cols = t2.dimension(COLUMNS_INDEX);
+        Matrix product = ctx.matrix(rows, cols);
+        MatrixKernels.multiply(t1.data(), t2.data(), product.data(), rows, shared, cols, ctx.concurrency(), ctx.executor());
+        return product;
     }
 
-    private Matrix multiplyTransB(Tensor<?> t1, Tensor<?> t2) {
-        DMatrixRMaj m1 = DMatrixRMaj.wrap(t1.dimension(ROWS_INDEX), t1.dimension(COLUMNS_INDEX), t1.data());
-        DMatrixRMaj m2 = DMatrixRMaj.wrap(t2.dimension(ROWS_INDEX), t2.dimension(COLUMNS_INDEX), t2.data());
-        DMatrixRMaj prod = new DMatrixRMaj(m1.numRows, m2.numRows);
-        MatrixMatrixMult_DDRM.multTransB(m1, m2, prod);
-        return new Matrix(prod.getData(), prod.numRows, prod.numCols);
+    private Matrix multiplyTransB(Tensor<?> t1, Tensor<?> t2, ComputationContext ctx) {
+        int rows = t1.dimension(ROWS_INDEX);
+        int shared = t1.dimension(COLUMNS_INDEX);
+        int cols = t2.dimension(ROWS_INDEX);
+        Matrix product = ctx.matrix(rows, cols);
+        MatrixKernels.multiplyTransB(t1.data(), t2.data(), product.data(), rows, shared, cols, ctx.concurrency(), ctx.executor());
+        return product;
     }
 
-    private Matrix multiplyTransA(Tensor<?> t1, Tensor<?> t2) {
-        DMatrixRMaj m1 = DMatrixRMaj.wrap(t1.dimension(ROWS_INDEX), t1.dimension(COLUMNS_INDEX), t1.data());
-        DMatrixRMaj m2 = DMatrixRMaj.wrap(t2.dimension(ROWS_INDEX), t2.dimension(COLUMNS_INDEX), t2.data());
-        DMatrixRMaj prod = new DMatrixRMaj(m1.numCols, m2.numCols);
-        MatrixMatrixMult_DDRM.multTransA_reorder(m1, m2, prod);
-        return new Matrix(prod.getData(), prod.numRows, prod.numCols);
+    private Matrix multiplyTransA(Tensor<?> t1, Tensor<?> t2, ComputationContext ctx) {
+        int rows = t1.dimension(COLUMNS_INDEX);
+        int shared = t1.dimension(ROWS_INDEX);
+        int cols = t2.dimension(COLUMNS_INDEX);
+        Matrix product = ctx.matrix(rows, cols);
+        MatrixKernels.multiplyTransA(t1.data(), t2.data(), product.data(), rows, shared, cols, ctx.concurrency(), ctx.executor());
+        return product;
     }
 
     public static MatrixMultiplyWithTransposedSecondOperand of(Variable<Matrix> A, Variable<Matrix> B) {
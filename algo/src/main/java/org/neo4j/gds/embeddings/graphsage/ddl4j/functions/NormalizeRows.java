@@ -42,7 +42,8 @@ public class NormalizeRows extends SingleParentVariable<Matrix> {
         double[] parentData = ctx.data(parent()).data();
         int rows = this.rows;
         int cols = this.cols;
-        double[] result = new double[rows * cols];
+        Matrix resultMatrix = ctx.matrix(rows, cols);
+        double[] result = resultMatrix.data();
         for (int row = 0; row < rows; row++) {
             double sum = 0;
             for (int col = 0; col < cols; col++) {
@@ -55,14 +56,15 @@ public class NormalizeRows extends SingleParentVariable<Matrix> {
                 result[elementIndex] = parentData[elementIndex] / (l2 + EPSILON);
             }
         }
-        return new Matrix(result, this.rows, this.cols);
+        return resultMatrix;
     }
 
     @Override
     public Matrix gradient(Variable<?> parent, ComputationContext ctx) {
         double[] parentData = ctx.data(parent).data();
         double[] gradientData = ctx.gradient(this).data();
-        double[] result = new double[parentData.length];
+        Matrix resultMatrix = ctx.matrix(rows, cols);
+        double[] result = resultMatrix.data();
         int rows = this.rows;
         int cols = this.cols;
         for (int row = 0; row < rows; row++) {
@@ -88,6 +90,6 @@ public class NormalizeRows extends SingleParentVariable<Matrix> {
                 }
             }
         }
-        return new Matrix(result, this.rows, this.cols);
+        return resultMatrix;
     }
 }
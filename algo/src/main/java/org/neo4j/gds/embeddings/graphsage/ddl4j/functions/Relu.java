@@ -33,11 +33,15 @@ public class Relu<T extends Tensor<T>> extends SingleParentVariable<T> {
 
     @Override
     public T apply(ComputationContext ctx) {
-        return (T) ctx.data(parent()).map(value -> value > 0 ? value : ALPHA * value);
+        T result = (T) ctx.copyOf(ctx.data(parent()));
+        result.mapInPlace(value -> value > 0 ? value : ALPHA * value);
+        return result;
     }
 
     @Override
     public T gradient(Variable<?> contextParent, ComputationContext ctx) {
-        return (T) ctx.data(contextParent).map(value -> value > 0 ? 1 : ALPHA);
+        T result = (T) ctx.copyOf(ctx.data(contextParent));
+        result.mapInPlace(value -> value > 0 ? 1 : ALPHA);
+        return result;
     }
 }
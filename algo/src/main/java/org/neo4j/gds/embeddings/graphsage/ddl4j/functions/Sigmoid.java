@@ -31,12 +31,17 @@ public class Sigmoid<T extends Tensor<T>> extends SingleParentVariable<T> {
 
     @Override
     public T apply(ComputationContext ctx) {
-        return (T) ctx.data(parent()).map(Sigmoid::sigmoid);
+        T result = (T) ctx.copyOf(ctx.data(parent()));
+        result.mapInPlace(Sigmoid::sigmoid);
+        return result;
     }
 
     @Override
     public T gradient(Variable<?> contextParent, ComputationContext ctx) {
-        return (T) ctx.gradient(this).elementwiseProduct(ctx.data(this).map(value -> value * (1 - value)));
+        T result = ctx.copyOf(ctx.data(this));
+        result.mapInPlace(value -> value * (1 - value));
+        result.elementwiseProductInPlace(ctx.gradient(this));
+        return result;
     }
 
     public static double sigmoid(double x) {
@@ -43,18 +43,18 @@ public class Slice extends SingleParentVariable<Matrix> {
     public Matrix apply(ComputationContext ctx) {
         double[] parentData = ctx.data(parent()).data();
 
-        double[] result = new double[rows * cols];
+        Matrix result = ctx.matrix(rows, cols);
 
         for (int row = 0; row < rows; row++) {
-            System.arraycopy(parentData, selfAdjacency[row] * cols, result, row * cols, cols);
+            System.arraycopy(parentData, selfAdjacency[row] * cols, result.data(), row * cols, cols);
         }
 
-        return new Matrix(result, rows, cols);
+        return result;
     }
 
     @Override
     public Tensor<?> gradient(Variable<?> contextParent, ComputationContext ctx) {
-        Tensor<?> result = ctx.data(contextParent).zeros();
+        Tensor<?> result = ctx.zerosLike(ctx.data(contextParent));
 
         double[] selfGradient = ctx.gradient(this).data();
         for (int row = 0; row < rows; row++) {
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.ddl4j.tensor;
+
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Dense matrix kernels on row-major {@code double[]} data.
+ * <p>
+ * The kernels iterate over blocks of the operands that fit into the CPU cache
+ * and always stream along rows of the row-major arrays. Every output cell sums
+ * its products in the same order as the textbook triple loop, so the results
+ * do not depend on the block sizes or on the concurrency.
+ * <p>
+ * With a concurrency greater than one, large products are split into ranges of
+ * output rows which are computed on the given executor.
+ */
+public final class MatrixKernels {
+
+    // number of shared dimension entries that are processed per block
+    static final int BLOCK_SIZE_SHARED = 128;
+    // number of output columns that are processed per block
+    static final int BLOCK_SIZE_COLUMNS = 256;
+    // products with fewer multiplications are not worth to be split
+    static final long PARALLEL_THRESHOLD = 1L << 20;
+    private static final int MIN_ROWS_PER_TASK = 8;
+
+    private MatrixKernels() {}
+
+    /**
+     * Computes {@code c = a * b} for {@code a} of shape (m, k) and {@code b} of shape (k, n).
+     * The products are added to {@code c}, which therefore must be filled with zeros.
+     */
+    public static void multiply(
+        double[] a,
+        double[] b,
+        double[] c,
+        int m,
+        int k,
+        int n,
+        int concurrency,
+        ExecutorService executor
+    ) {
+        forRowRanges(m, k, n, concurrency, executor, (startRow, endRow) -> multiplyRows(a, b, c, k, n, startRow, endRow));
+    }
+
+    /**
+     * Computes {@code c = a * transpose(b)} for {@code a} of shape (m, k) and {@code b} of shape (n, k).
+     */
+    public static void multiplyTransB(
+        double[] a,
+        double[] b,
+        double[] c,
+        int m,
+        int k,
+        int n,
+        int concurrency,
+        ExecutorService executor
+    ) {
+        forRowRanges(m, k, n, concurrency, executor, (startRow, endRow) -> multiplyTransBRows(a, b, c, k, n, startRow, endRow));
+    }
+
+    /**
+     * Computes {@code c = transpose(a) * b} for {@code a} of shape (k, m) and {@code b} of shape (k, n).
+     * The products are added to {@code c}, which therefore must be filled with zeros.
+     */
+    public static void multiplyTransA(
+        double[] a,
+        double[] b,
+        double[] c,
+        int m,
+        int k,
+        int n,
+        int concurrency,
+        ExecutorService executor
+    ) {
+        forRowRanges(m, k, n, concurrency, executor, (startRow, endRow) -> multiplyTransARows(a, b, c, m, k, n, startRow, endRow));
+    }
+
+    /**
+     * Computes the first {@code rows} entries of {@code matrix * vector} for a matrix with {@code cols} columns
+     * and writes them into {@code result}, starting at {@code resultOffset}.
+     */
+    public static void multiplyVector(
+        double[] matrix,
+        double[] vector,
+        double[] result,
+        int resultOffset,
+        int rows,
+        int cols
+    ) {
+        for (int row = 0; row < rows; row++) {
+            int rowOffset = row * cols;
+            double sum = 0;
+            for (int col = 0; col < cols; col++) {
+                sum += matrix[rowOffset + col] * vector[col];
+            }
+            result[resultOffset + row] = sum;
+        }
+    }
+
+    private static void multiplyRows(double[] a, double[] b, double[] c, int k, int n, int startRow, int endRow) {
+        for (int sharedStart = 0; sharedStart < k; sharedStart += BLOCK_SIZE_SHARED) {
+            int sharedEnd = Math.min(k, sharedStart + BLOCK_SIZE_SHARED);
+            for (int colStart = 0; colStart < n; colStart += BLOCK_SIZE_COLUMNS) {
+                int colEnd = Math.min(n, colStart + BLOCK_SIZE_COLUMNS);
+                for (int row = startRow; row < endRow; row++) {
+                    int aRowOffset = row * k;
+                    int cRowOffset = row * n;
+                    for (int shared = sharedStart; shared < sharedEnd; shared++) {
+                        double aValue = a[aRowOffset + shared];
+                        int bRowOffset = shared * n;
+                        for (int col = colStart; col < colEnd; col++) {
+                            c[cRowOffset + col] += aValue * b[bRowOffset + col];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void multiplyTransBRows(double[] a, double[] b, double[] c, int k, int n, int startRow, int endRow) {
+        // rows of b are reused for every row of a, so we iterate over panels of b that fit into the cache
+        int panelRows = Math.max(1, (BLOCK_SIZE_SHARED * BLOCK_SIZE_COLUMNS) / Math.max(1, k));
+        for (int panelStart = 0; panelStart < n; panelStart += panelRows) {
+            int panelEnd = Math.min(n, panelStart + panelRows);
+            for (int row = startRow; row < endRow; row++) {
+                int aRowOffset = row * k;
+                int cRowOffset = row * n;
+                for (int bRow = panelStart; bRow < panelEnd; bRow++) {
+                    int bRowOffset = bRow * k;
+                    double sum = 0;
+                    for (int shared = 0; shared < k; shared++) {
+                        sum += a[aRowOffset + shared] * b[bRowOffset + shared];
+                    }
+                    c[cRowOffset + bRow] = sum;
+                }
+            }
+        }
+    }
+
+    private static void multiplyTransARows(
+        double[] a,
+        double[] b,
+        double[] c,
+        int m,
+        int k,
+        int n,
+        int startRow,
+        int endRow
+    ) {
+        for (int sharedStart = 0; sharedStart < k; sharedStart += BLOCK_SIZE_SHARED) {
+            int sharedEnd = Math.min(k, sharedStart + BLOCK_SIZE_SHARED);
+            for (int colStart = 0; colStart < n; colStart += BLOCK_SIZE_COLUMNS) {
+                int colEnd = Math.min(n, colStart + BLOCK_SIZE_COLUMNS);
+                for (int row = startRow; row < endRow; row++) {
+                    int cRowOffset = row * n;
+                    for (int shared = sharedStart; shared < sharedEnd; shared++) {
+                        double aValue = a[shared * m + row];
+                        int bRowOffset = shared * n;
+                        for (int col = colStart; col < colEnd; col++) {
+                            c[cRowOffset + col] += aValue * b[bRowOffset + col];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void forRowRanges(
+        int m,
+        int k,
+        int n,
+        int concurrency,
+        ExecutorService executor,
+        RowRangeKernel kernel
+    ) {
+        long multiplications = (long) m * k * n;
+        int taskCount = Math.min(concurrency, m / MIN_ROWS_PER_TASK);
+        if (taskCount <= 1 || multiplications < PARALLEL_THRESHOLD) {
+            kernel.apply(0, m);
+            return;
+        }
+
+        int rowsPerTask = (m + taskCount - 1) / taskCount;
+        List<Runnable> tasks = new ArrayList<>(taskCount);
+        for (int startRow = 0; startRow < m; startRow += rowsPerTask) {
+            int start = startRow;
+            int end = Math.min(m, startRow + rowsPerTask);
+            tasks.add(() -> kernel.apply(start, end));
+        }
+        ParallelUtil.run(tasks, executor);
+    }
+
+    @FunctionalInterface
+    private interface RowRangeKernel {
+        void apply(int startRow, int endRow);
+    }
+}
@@ -79,7 +79,11 @@ public abstract class Tensor<SELF extends Tensor<SELF>> {
         }
     }
 
-    void scalarMultiplyMutate(double scalar) {
+    public void copyFrom(Tensor<?> other) {
+        System.arraycopy(other.data, 0, data, 0, totalSize());
+    }
+
+    public void scalarMultiplyInPlace(double scalar) {
         int totalSize = totalSize();
         for (int pos = 0; pos < totalSize; pos++) {
             data[pos] *= scalar;
@@ -88,7 +92,7 @@ public abstract class Tensor<SELF extends Tensor<SELF>> {
 
     public SELF scalarMultiply(double scalar) {
         SELF scaled = copy();
-        scaled.scalarMultiplyMutate(scalar);
+        scaled.scalarMultiplyInPlace(scalar);
         return scaled;
     }
 
@@ -105,6 +109,12 @@ public abstract class Tensor<SELF extends Tensor<SELF>> {
         return result;
     }
 
+    public void elementwiseProductInPlace(Tensor<?> other) {
+        for (int i = 0; i < data.length; i++) {
+            data[i] *= other.data[i];
+        }
+    }
+
     public double aggregateSum() {
         double sum = 0;
         for (double datum : data) {
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.ddl4j.tensor;
+
+import com.carrotsearch.hppc.IntObjectHashMap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.neo4j.gds.embeddings.graphsage.ddl4j.Dimensions.COLUMNS_INDEX;
+import static org.neo4j.gds.embeddings.graphsage.ddl4j.Dimensions.ROWS_INDEX;
+
+/**
+ * Hands out the data buffers of tensors and recycles them after a {@link #reset()}.
+ * <p>
+ * Training evaluates a computation graph of the same shape over and over again.
+ * After the first evaluation, the arena can serve every request from the buffers
+ * that have been released by the previous reset, so that repeated evaluations
+ * allocate close to no memory. Buffers are handed out again in the order in which
+ * they have been requested, so a repeated evaluation gets the same buffers as before.
+ * Buffers that are not reused between two resets are dropped, hence the arena only
+ * retains the buffers of the most recent evaluation, even if tensor sizes vary.
+ * <p>
+ * Tensors that are created by an arena must not be used after it has been reset.
+ * An arena is not thread-safe and must only be used by one computation at a time.
+ */
+public final class TensorArena {
+
+    private final IntObjectHashMap<ArrayDeque<double[]>> freeBuffers;
+    private final List<double[]> usedBuffers;
+
+    public TensorArena() {
+        this.freeBuffers = new IntObjectHashMap<>();
+        this.usedBuffers = new ArrayList<>();
+    }
+
+    public Matrix matrix(int rows, int cols) {
+        return new Matrix(allocate(rows * cols), rows, cols);
+    }
+
+    public Vector vector(int length) {
+        return new Vector(allocate(length));
+    }
+
+    /**
+     * Returns a tensor of zeros of the given dimensions, using the same tensor types as
+     * {@link TensorFactory#constant(double, int[])}.
+     */
+    public Tensor<?> zeros(int[] dimensions) {
+        if (dimensions.length == 1 && dimensions[ROWS_INDEX] > 1) {
+            return vector(dimensions[ROWS_INDEX]);
+        } else if (dimensions.length == 2 && dimensions[ROWS_INDEX] > 0 && dimensions[COLUMNS_INDEX] > 0) {
+            return matrix(dimensions[ROWS_INDEX], dimensions[COLUMNS_INDEX]);
+        }
+        return TensorFactory.constant(0D, dimensions);
+    }
+
+    /**
+     * Returns a tensor of zeros of the same type and dimensions as the given tensor.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Tensor<?>> T zerosLike(T tensor) {
+        if (tensor instanceof Matrix) {
+            var matrix = (Matrix) tensor;
+            return (T) matrix(matrix.rows(), matrix.cols());
+        } else if (tensor instanceof Vector) {
+            return (T) vector(tensor.totalSize());
+        }
+        return (T) tensor.zeros();
+    }
+
+    public <T extends Tensor<?>> T copyOf(T tensor) {
+        T copy = zerosLike(tensor);
+        copy.copyFrom(tensor);
+        return copy;
+    }
+
+    /**
+     * Releases all buffers that have been handed out since the last reset
+     * and drops the free buffers that have not been reused since then.
+     */
+    public void reset() {
+        freeBuffers.clear();
+        for (double[] buffer : usedBuffers) {
+            var buffers = freeBuffers.get(buffer.length);
+            if (buffers == null) {
+                buffers = new ArrayDeque<>();
+                freeBuffers.put(buffer.length, buffers);
+            }
+            buffers.addLast(buffer);
+        }
+        usedBuffers.clear();
+    }
+
+    private double[] allocate(int length) {
+        var buffers = freeBuffers.get(length);
+        double[] buffer = buffers == null ? null : buffers.pollFirst();
+        if (buffer == null) {
+            buffer = new double[length];
+        } else {
+            Arrays.fill(buffer, 0D);
+        }
+        usedBuffers.add(buffer);
+        return buffer;
+    }
+}
@@ -37,12 +37,14 @@ public class LocalIdMap {
     }
 
     public int toMapped(long originalId) {
-        if (toInternalId.containsKey(originalId)) {
-            return toInternalId.get(originalId);
+        int slot = toInternalId.indexOf(originalId);
+        if (toInternalId.indexExists(slot)) {
+            return toInternalId.indexGet(slot);
         }
-        toInternalId.put(originalId, toInternalId.size());
+        int internalId = originalIds.size();
+        toInternalId.indexInsert(slot, originalId, internalId);
         originalIds.add(originalId);
-        return toInternalId.get(originalId);
+        return internalId;
     }
 
     public long toOriginal(int internalId) {
@@ -59,6 +61,14 @@ public class LocalIdMap {
         return list;
     }
 
+    /**
+     * Removes all mappings, but keeps the allocated buffers for reuse.
+     */
+    public void clear() {
+        originalIds.clear();
+        toInternalId.clear();
+    }
+
     public int size() {
         assert originalIds.size() == toInternalId.size();
         return originalIds.size();
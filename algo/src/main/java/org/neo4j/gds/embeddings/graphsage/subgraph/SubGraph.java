@@ -23,11 +23,8 @@ import org.neo4j.gds.embeddings.graphsage.NeighborhoodFunction;
 import org.neo4j.gds.embeddings.graphsage.RelationshipWeights;
 import org.neo4j.graphalgo.api.Graph;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class SubGraph {
     public final int[][] adjacency;
@@ -35,7 +32,7 @@ public class SubGraph {
     public final long[] nextNodes;
     public Optional<RelationshipWeights> maybeRelationshipWeightsFunction;
 
-    private SubGraph(int[][] adjacency, int[] selfAdjacency, long[] nextNodes, Optional<RelationshipWeights> maybeRelationshipWeightsFunction) {
+    SubGraph(int[][] adjacency, int[] selfAdjacency, long[] nextNodes, Optional<RelationshipWeights> maybeRelationshipWeightsFunction) {
         this.adjacency = adjacency;
         this.selfAdjacency = selfAdjacency;
         this.nextNodes = nextNodes;
@@ -56,15 +53,11 @@ public class SubGraph {
         Graph graph,
         boolean useWeights
     ) {
-        List<SubGraph> result = new ArrayList<>();
-        long[] previousNodes = nodeIds;
-
-        for (NeighborhoodFunction neighborhoodFunction : neighborhoodFunctions) {
-            SubGraph lastGraph = buildSubGraph(previousNodes, neighborhoodFunction, graph, relationshipWeightFunction(graph, useWeights));
-            result.add(lastGraph);
-            previousNodes = lastGraph.nextNodes;
-        }
-        return result;
+        return new SubGraphBuilder(graph).buildSubGraphs(
+            nodeIds,
+            neighborhoodFunctions,
+            relationshipWeightFunction(graph, useWeights)
+        );
     }
 
     static SubGraph buildSubGraph(long[] nodeIds, NeighborhoodFunction neighborhoodFunction, Graph graph) {
@@ -72,25 +65,7 @@ public class SubGraph {
     }
 
     static SubGraph buildSubGraph(long[] nodeIds, NeighborhoodFunction neighborhoodFunction, Graph graph, Optional<RelationshipWeights> maybeRelationshipWeightsFunction) {
-        int[][] adjacency = new int[nodeIds.length][];
-        int[] selfAdjacency = new int[nodeIds.length];
-        LocalIdMap idmap = new LocalIdMap();
-        for (long nodeId : nodeIds) {
-            idmap.toMapped(nodeId);
-        }
-
-        AtomicInteger nodeOffset = new AtomicInteger(0);
-        Arrays.stream(nodeIds).forEach(nodeId -> {
-            int internalId = nodeOffset.getAndIncrement();
-            selfAdjacency[internalId] = idmap.toMapped(nodeId);
-            List<Long> nodeNeighbors = neighborhoodFunction.apply(graph, nodeId);
-            int[] neighborInternalIds = nodeNeighbors
-                .stream()
-                .mapToInt(idmap::toMapped)
-                .toArray();
-            adjacency[internalId] = neighborInternalIds;
-        });
-        return new SubGraph(adjacency, selfAdjacency, idmap.originalIds(), maybeRelationshipWeightsFunction);
+        return new SubGraphBuilder(graph).buildSubGraph(nodeIds, neighborhoodFunction, maybeRelationshipWeightsFunction);
     }
 
     private static Optional<RelationshipWeights> relationshipWeightFunction(Graph graph, boolean useWeights) {
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.subgraph;
+
+import org.neo4j.gds.embeddings.graphsage.NeighborSamples;
+import org.neo4j.gds.embeddings.graphsage.NeighborhoodFunction;
+import org.neo4j.gds.embeddings.graphsage.RelationshipWeights;
+import org.neo4j.graphalgo.api.Graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Builds the sub graphs of a batch, one per layer.
+ * The graph cursor, the sample buffer and the local id map are reused for
+ * all nodes and layers, so only the arrays of the resulting sub graphs are allocated.
+ * A builder must not be shared between threads.
+ */
+public final class SubGraphBuilder {
+
+    private final Graph graph;
+    private final NeighborSamples samples;
+    private final LocalIdMap idMap;
+
+    public SubGraphBuilder(Graph graph) {
+        this.graph = graph.concurrentCopy();
+        this.samples = new NeighborSamples();
+        this.idMap = new LocalIdMap();
+    }
+
+    public List<SubGraph> buildSubGraphs(
+        long[] nodeIds,
+        List<NeighborhoodFunction> neighborhoodFunctions,
+        Optional<RelationshipWeights> maybeRelationshipWeightsFunction
+    ) {
+        List<SubGraph> result = new ArrayList<>(neighborhoodFunctions.size());
+        long[] previousNodes = nodeIds;
+
+        for (NeighborhoodFunction neighborhoodFunction : neighborhoodFunctions) {
+            SubGraph lastGraph = buildSubGraph(previousNodes, neighborhoodFunction, maybeRelationshipWeightsFunction);
+            result.add(lastGraph);
+            previousNodes = lastGraph.nextNodes;
+        }
+        return result;
+    }
+
+    public SubGraph buildSubGraph(
+        long[] nodeIds,
+        NeighborhoodFunction neighborhoodFunction,
+        Optional<RelationshipWeights> maybeRelationshipWeightsFunction
+    ) {
+        int[][] adjacency = new int[nodeIds.length][];
+        int[] selfAdjacency = new int[nodeIds.length];
+
+        idMap.clear();
+        for (long nodeId : nodeIds) {
+            idMap.toMapped(nodeId);
+        }
+
+        for (int internalId = 0; internalId < nodeIds.length; internalId++) {
+            long nodeId = nodeIds[internalId];
+            selfAdjacency[internalId] = idMap.toMapped(nodeId);
+
+            neighborhoodFunction.sample(graph, nodeId, samples);
+            int[] neighborInternalIds = new int[samples.size()];
+            for (int i = 0; i < neighborInternalIds.length; i++) {
+                neighborInternalIds[i] = idMap.toMapped(samples.get(i));
+            }
+            adjacency[internalId] = neighborInternalIds;
+        }
+        return new SubGraph(adjacency, selfAdjacency, idMap.originalIds(), maybeRelationshipWeightsFunction);
+    }
+}
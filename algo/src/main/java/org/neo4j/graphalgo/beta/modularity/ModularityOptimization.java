@@ -35,6 +35,7 @@ import org.neo4j.graphalgo.beta.k1coloring.K1ColoringStreamConfig;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
@@ -57,6 +58,15 @@ import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
  * "Parallel heuristics for scalable community detection."
  * Parallel Computing 47 (2015): 19-37.
  * https://arxiv.org/pdf/1410.1237.pdf
+ *
+ * With fast local moving enabled, only nodes that moved in the previous
+ * iteration and their neighbours are considered in the next iteration,
+ * as described in:
+ *
+ * Traag, V. A., L. Waltman, and N. J. van Eck.
+ * "From Louvain to Leiden: guaranteeing well-connected communities."
+ * Scientific Reports 9 (2019): 5233.
+ * https://arxiv.org/pdf/1810.08473.pdf
  */
 public final class ModularityOptimization extends Algorithm<ModularityOptimization, ModularityOptimization> {
 
@@ -65,6 +75,7 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
     private final long nodeCount;
     private final long batchSize;
     private final double tolerance;
+    private final boolean fastLocalMoving;
     private final Graph graph;
     private final NodeProperties seedProperty;
     private final ExecutorService executor;
@@ -94,11 +105,38 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         ExecutorService executor,
         ProgressLogger progressLogger,
         AllocationTracker tracker
+    ) {
+        this(
+            graph,
+            maxIterations,
+            tolerance,
+            seedProperty,
+            concurrency,
+            minBatchSize,
+            false,
+            executor,
+            progressLogger,
+            tracker
+        );
+    }
+
+    public ModularityOptimization(
+        final Graph graph,
+        int maxIterations,
+        double tolerance,
+        @Nullable NodeProperties seedProperty,
+        int concurrency,
+        int minBatchSize,
+        boolean fastLocalMoving,
+        ExecutorService executor,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
     ) {
         this.graph = graph;
         this.nodeCount = graph.nodeCount();
         this.maxIterations = maxIterations;
         this.tolerance = tolerance;
+        this.fastLocalMoving = fastLocalMoving;
         this.seedProperty = seedProperty;
         this.executor = executor;
         this.concurrency = concurrency;
@@ -130,23 +168,45 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         init();
         progressLogger.logMessage(":: Initialization :: Finished");
 
+        // nodes that are considered in the current and in the next iteration,
+        // only used for fast local moving, otherwise all nodes are considered
+        HugeAtomicBitSet activeNodes = null;
+        HugeAtomicBitSet nextActiveNodes = null;
+        if (fastLocalMoving) {
+            activeNodes = HugeAtomicBitSet.create(nodeCount, tracker);
+            if (nodeCount > 0) {
+                activeNodes.set(0, nodeCount);
+            }
+            nextActiveNodes = HugeAtomicBitSet.create(nodeCount, tracker);
+        }
 
         for (iterationCounter = 0; iterationCounter < maxIterations; iterationCounter++) {
             progressLogger.logMessage(formatWithLocale(":: Iteration %d :: Start", iterationCounter + 1));
 
             boolean hasConverged;
 
-            nodeCommunityInfluences.fill(0.0);
+            // inactive nodes keep their influence from the previous iteration
+            if (!fastLocalMoving) {
+                nodeCommunityInfluences.fill(0.0);
+            }
 
             long currentColor = colorsUsed.nextSetBit(0);
             while (currentColor != -1) {
                 assertRunning();
-                optimizeForColor(currentColor);
+                optimizeForColor(currentColor, activeNodes, nextActiveNodes);
                 currentColor = colorsUsed.nextSetBit(currentColor + 1);
             }
 
             hasConverged = !updateModularity();
 
+            if (activeNodes != null && nextActiveNodes != null) {
+                hasConverged = hasConverged || nextActiveNodes.isEmpty();
+                var swap = activeNodes;
+                activeNodes = nextActiveNodes;
+                nextActiveNodes = swap;
+                nextActiveNodes.clear();
+            }
+
             progressLogger.logMessage(formatWithLocale(":: Iteration %d :: Finished", iterationCounter + 1));
 
             if (hasConverged) {
@@ -303,11 +363,15 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         }
     }
 
-    private void optimizeForColor(long currentColor) {
+    private void optimizeForColor(
+        long currentColor,
+        @Nullable HugeAtomicBitSet activeNodes,
+        @Nullable HugeAtomicBitSet nextActiveNodes
+    ) {
         // run optimization tasks for every node
         ParallelUtil.runWithConcurrency(
             concurrency,
-            createModularityOptimizationTasks(currentColor),
+            createModularityOptimizationTasks(currentColor, activeNodes, nextActiveNodes),
             executor
         );
 
@@ -328,7 +392,11 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         communityWeightUpdates = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
     }
 
-    private Collection<ModularityOptimizationTask> createModularityOptimizationTasks(long currentColor) {
+    private Collection<ModularityOptimizationTask> createModularityOptimizationTasks(
+        long currentColor,
+        @Nullable HugeAtomicBitSet activeNodes,
+        @Nullable HugeAtomicBitSet nextActiveNodes
+    ) {
         final Collection<ModularityOptimizationTask> tasks = new ArrayList<>(concurrency);
         for (long i = 0L; i < this.nodeCount; i += batchSize) {
             tasks.add(
@@ -345,6 +413,8 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
                     nodeCommunityInfluences,
                     communityWeights,
                     communityWeightUpdates,
+                    activeNodes,
+                    nextActiveNodes,
                     getProgressLogger()
                 )
             );
@@ -55,6 +55,14 @@ public interface ModularityOptimizationConfig extends
         return ParallelUtil.DEFAULT_BATCH_SIZE;
     }
 
+    /**
+     * Only revisit nodes that moved in the previous iteration and their neighbours.
+     */
+    @Value.Default
+    default boolean fastLocalMoving() {
+        return false;
+    }
+
     @Value.Check
     default void validate() {
         if (isIncremental() && consecutiveIds()) {
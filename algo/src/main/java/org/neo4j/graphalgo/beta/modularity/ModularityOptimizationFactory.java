@@ -29,6 +29,7 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
@@ -37,8 +38,10 @@ import org.neo4j.logging.Log;
 
 public class ModularityOptimizationFactory<T extends ModularityOptimizationConfig> implements AlgorithmFactory<ModularityOptimization, T> {
 
-    public static final MemoryEstimation MEMORY_ESTIMATION =
-        MemoryEstimations.builder(ModularityOptimization.class)
+    public static final MemoryEstimation MEMORY_ESTIMATION = memoryEstimation(false);
+
+    public static MemoryEstimation memoryEstimation(boolean fastLocalMoving) {
+        var builder = MemoryEstimations.builder(ModularityOptimization.class)
             .perNode("currentCommunities", HugeLongArray::memoryEstimation)
             .perNode("nextCommunities", HugeLongArray::memoryEstimation)
             .perNode("cumulativeNodeWeights", HugeDoubleArray::memoryEstimation)
@@ -60,12 +63,20 @@ public class ModularityOptimizationFactory<T extends ModularityOptimizationConfi
                     )
                 )
                 .build()
-            )
-            .build();
+            );
+
+        if (fastLocalMoving) {
+            builder
+                .perNode("activeNodes", HugeAtomicBitSet::memoryEstimation)
+                .perNode("nextActiveNodes", HugeAtomicBitSet::memoryEstimation);
+        }
+
+        return builder.build();
+    }
 
     @Override
     public MemoryEstimation memoryEstimation(T configuration) {
-        return MEMORY_ESTIMATION;
+        return memoryEstimation(configuration.fastLocalMoving());
     }
 
     @Override
@@ -109,6 +120,7 @@ public class ModularityOptimizationFactory<T extends ModularityOptimizationConfi
             seed,
             configuration.concurrency(),
             configuration.batchSize(),
+            configuration.fastLocalMoving(),
             Pools.DEFAULT,
             progressLogger,
             tracker
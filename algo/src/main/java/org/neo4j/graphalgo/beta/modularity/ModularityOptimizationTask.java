@@ -23,9 +23,11 @@ import com.carrotsearch.hppc.LongDoubleHashMap;
 import com.carrotsearch.hppc.LongDoubleMap;
 import com.carrotsearch.hppc.cursors.LongDoubleCursor;
 import org.apache.commons.lang3.mutable.MutableDouble;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
@@ -46,6 +48,8 @@ final class ModularityOptimizationTask implements Runnable {
     private final HugeDoubleArray nodeCommunityInfluences;
     private final HugeAtomicDoubleArray communityWeights;
     private final HugeAtomicDoubleArray communityWeightUpdates;
+    private final @Nullable HugeAtomicBitSet activeNodes;
+    private final @Nullable HugeAtomicBitSet nextActiveNodes;
 
     ModularityOptimizationTask(
         Graph graph,
@@ -60,6 +64,8 @@ final class ModularityOptimizationTask implements Runnable {
         HugeDoubleArray nodeCommunityInfluences,
         HugeAtomicDoubleArray communityWeights,
         HugeAtomicDoubleArray communityWeightUpdates,
+        @Nullable HugeAtomicBitSet activeNodes,
+        @Nullable HugeAtomicBitSet nextActiveNodes,
         ProgressLogger progressLogger
     ) {
         this.graph = graph;
@@ -75,6 +81,8 @@ final class ModularityOptimizationTask implements Runnable {
         this.cumulativeNodeWeights = cumulativeNodeWeights;
         this.nodeCommunityInfluences = nodeCommunityInfluences;
         this.colors = colors;
+        this.activeNodes = activeNodes;
+        this.nextActiveNodes = nextActiveNodes;
         this.progressLogger = progressLogger;
     }
 
@@ -87,6 +95,10 @@ final class ModularityOptimizationTask implements Runnable {
                 continue;
             }
 
+            if (activeNodes != null && !activeNodes.get(nodeId)) {
+                continue;
+            }
+
             long currentCommunity = currentCommunities.get(nodeId);
             final int degree = graph.degree(nodeId);
 
@@ -144,6 +156,15 @@ final class ModularityOptimizationTask implements Runnable {
             nextCommunities.set(nodeId, nextCommunity);
             communityWeightUpdates.update(currentCommunity, agg -> agg - cumulativeNodeWeight);
             communityWeightUpdates.update(nextCommunity, agg -> agg + cumulativeNodeWeight);
+
+            if (nextActiveNodes != null && nextCommunity != currentCommunity) {
+                // the move changes the gain for the node and its neighbours
+                nextActiveNodes.set(nodeId);
+                localGraph.forEachRelationship(nodeId, (s, t) -> {
+                    nextActiveNodes.set(t);
+                    return true;
+                });
+            }
             progressLogger.logProgress(graph.degree(nodeId));
         }
 
@@ -0,0 +1,537 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.delta;
+
+import com.carrotsearch.hppc.DoubleArrayDeque;
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.LongArrayDeque;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.paths.ImmutablePathResult;
+import org.neo4j.graphalgo.beta.paths.PathResult;
+import org.neo4j.graphalgo.beta.paths.delta.config.AllShortestPathsDeltaBaseConfig;
+import org.neo4j.graphalgo.beta.paths.dijkstra.DijkstraResult;
+import org.neo4j.graphalgo.beta.paths.dijkstra.ImmutableDijkstraResult;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfOpenHashContainer;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Parallel delta-stepping for non-negative single source shortest paths.
+ * <p>
+ * Nodes are kept in buckets of width {@code delta} by their tentative distance.
+ * All nodes of the smallest non-empty bucket are relaxed in parallel until the
+ * bucket stays empty, afterwards the algorithm continues with the next bucket.
+ * <p>
+ * The nodes are partitioned by id and every partition is owned by one thread.
+ * A relaxation step first collects the relax requests of the frontier into
+ * per-partition buffers and then lets every owner apply the requests to its
+ * own nodes. Distances, predecessors and buckets are therefore only written
+ * by a single thread and the result is deterministic.
+ * <p>
+ * For many source nodes, the sources are processed in batches. Each source
+ * in a batch is computed single threaded, the batch is computed in parallel.
+ * <p>
+ * Paths are emitted in order of the target node id, not in order of their costs.
+ */
+public final class DeltaStepping extends Algorithm<DeltaStepping, DijkstraResult> {
+
+    private static final long NO_PREDECESSOR = -1;
+    private static final long NO_BUCKET = -1;
+    private static final long[] EMPTY_ARRAY = new long[0];
+
+    private final Graph graph;
+    private final long[] sourceNodes;
+    private final double delta;
+    private final int concurrency;
+    private final boolean trackRelationships;
+    private final ExecutorService executorService;
+    private final AllocationTracker tracker;
+
+    /**
+     * Configure delta-stepping to compute all shortest paths from the configured
+     * source node using all threads for that single source.
+     */
+    public static DeltaStepping singleSource(
+        Graph graph,
+        AllShortestPathsDeltaBaseConfig config,
+        ExecutorService executorService,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        return new DeltaStepping(
+            graph,
+            new long[]{graph.toMappedNodeId(config.sourceNode())},
+            config.delta(),
+            config.concurrency(),
+            config.trackRelationships(),
+            executorService,
+            progressLogger,
+            tracker
+        );
+    }
+
+    /**
+     * Configure delta-stepping to compute all shortest paths from each of the given
+     * source nodes, the configured source node is ignored. Up to {@code concurrency}
+     * sources are computed at the same time.
+     */
+    public static DeltaStepping multiSource(
+        Graph graph,
+        AllShortestPathsDeltaBaseConfig config,
+        long[] sourceNodes,
+        ExecutorService executorService,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        return new DeltaStepping(
+            graph,
+            Arrays.stream(sourceNodes).map(graph::toMappedNodeId).toArray(),
+            config.delta(),
+            config.concurrency(),
+            config.trackRelationships(),
+            executorService,
+            progressLogger,
+            tracker
+        );
+    }
+
+    /**
+     * Many sources are computed by up to {@code concurrency} runs at the same time, each of
+     * them allocating its own per-node state. A single source is computed by one run that is
+     * split into {@code concurrency} partitions, each of them owning a relax request buffer
+     * for every other partition. The estimation covers both cases.
+     */
+    public static MemoryEstimation memoryEstimation(boolean trackRelationships) {
+        return MemoryEstimations.builder(DeltaStepping.class)
+            .perThread("single source run", runMemoryEstimation(trackRelationships))
+            .perThread("partitions", concurrency -> concurrency * (
+                sizeOfInstance(SingleSourceRun.Partition.class) +
+                sizeOfInstance(LongObjectHashMap.class) +
+                sizeOfInstance(LongArrayList.class) +
+                sizeOfObjectArray(concurrency) +
+                concurrency * emptyRelaxRequestsMemory(trackRelationships)
+            ))
+            .build();
+    }
+
+    private static MemoryEstimation runMemoryEstimation(boolean trackRelationships) {
+        var builder = MemoryEstimations.builder(SingleSourceRun.class)
+            .perNode("distances", HugeDoubleArray::memoryEstimation)
+            .perNode("predecessors", HugeLongArray::memoryEstimation)
+            .perNode("bucket indices", HugeLongArray::memoryEstimation);
+        if (trackRelationships) {
+            builder.perNode("relationship ids", HugeLongArray::memoryEstimation);
+        }
+        return builder
+            .rangePerNode("buckets", nodeCount -> {
+                // in the worst case, every reached node sits in its own bucket
+                var maxBuckets = sizeOfOpenHashContainer(nodeCount);
+                return MemoryRange.of(
+                    0,
+                    sizeOfLongArray(maxBuckets) +
+                    sizeOfObjectArray(maxBuckets) +
+                    nodeCount * (sizeOfInstance(LongArrayList.class) + sizeOfLongArray(1))
+                );
+            })
+            .rangePerNode("frontier", nodeCount -> MemoryRange.of(0, sizeOfLongArray(nodeCount)))
+            .rangePerGraphDimension("relax requests", (dimensions, concurrency) -> {
+                // a relaxation step sends at most one request per relationship
+                var relationshipCount = dimensions.maxRelCount();
+                var buffers = trackRelationships ? 3 : 2;
+                return MemoryRange.of(
+                    0,
+                    buffers * sizeOfLongArray(relationshipCount) + sizeOfDoubleArray(relationshipCount)
+                );
+            })
+            .build();
+    }
+
+    private static long emptyRelaxRequestsMemory(boolean trackRelationships) {
+        var longLists = trackRelationships ? 3 : 2;
+        return sizeOfInstance(RelaxRequests.class) +
+               longLists * sizeOfInstance(LongArrayList.class) +
+               sizeOfInstance(DoubleArrayList.class);
+    }
+
+    private DeltaStepping(
+        Graph graph,
+        long[] sourceNodes,
+        double delta,
+        int concurrency,
+        boolean trackRelationships,
+        ExecutorService executorService,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.sourceNodes = sourceNodes;
+        this.delta = delta;
+        this.concurrency = concurrency;
+        this.trackRelationships = trackRelationships;
+        this.executorService = executorService;
+        this.progressLogger = progressLogger;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public DijkstraResult compute() {
+        progressLogger.logStart();
+
+        var pathIndex = new AtomicLong();
+        Stream<PathResult> paths;
+        if (sourceNodes.length == 1) {
+            var run = new SingleSourceRun(sourceNodes[0], concurrency);
+            run.compute();
+            progressLogger.logFinish();
+            paths = run.paths(pathIndex);
+        } else {
+            // sources are computed lazily, batch by batch, as the consumer iterates the paths
+            var batchSize = Math.max(1, concurrency);
+            paths = IntStream
+                .iterate(0, batchStart -> batchStart < sourceNodes.length, batchStart -> batchStart + batchSize)
+                .mapToObj(batchStart -> computeBatch(batchStart, Math.min(sourceNodes.length, batchStart + batchSize)))
+                .flatMap(runs -> runs.stream().flatMap(run -> run.paths(pathIndex)));
+        }
+
+        return ImmutableDijkstraResult
+            .builder()
+            .paths(paths)
+            .build();
+    }
+
+    private List<SingleSourceRun> computeBatch(int batchStart, int batchEnd) {
+        var runs = IntStream
+            .range(batchStart, batchEnd)
+            .mapToObj(index -> new SingleSourceRun(sourceNodes[index], 1))
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(
+            concurrency,
+            runs.stream().map(run -> (Runnable) run::compute).collect(Collectors.toList()),
+            terminationFlag,
+            executorService
+        );
+        if (batchEnd == sourceNodes.length) {
+            progressLogger.logFinish();
+        }
+        return runs;
+    }
+
+    @Override
+    public DeltaStepping me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        // We do not release, since the result
+        // is lazily computed when the consumer
+        // iterates over the stream.
+    }
+
+    /**
+     * Computes the shortest paths from a single source node.
+     */
+    private final class SingleSourceRun {
+
+        private final long sourceNode;
+        private final int partitionCount;
+        private final HugeDoubleArray distances;
+        private final HugeLongArray predecessors;
+        // relationship ids (null, if trackRelationships is false)
+        private final HugeLongArray relationships;
+        // the bucket a node has last been inserted into, or NO_BUCKET
+        private final HugeLongArray bucketIndices;
+        private final Partition[] partitions;
+
+        SingleSourceRun(long sourceNode, int partitionCount) {
+            var nodeCount = graph.nodeCount();
+            this.sourceNode = sourceNode;
+            this.partitionCount = partitionCount;
+            this.distances = HugeDoubleArray.newArray(nodeCount, tracker);
+            this.predecessors = HugeLongArray.newArray(nodeCount, tracker);
+            this.relationships = trackRelationships ? HugeLongArray.newArray(nodeCount, tracker) : null;
+            this.bucketIndices = HugeLongArray.newArray(nodeCount, tracker);
+            this.partitions = new Partition[partitionCount];
+            for (int i = 0; i < partitionCount; i++) {
+                partitions[i] = new Partition(i);
+            }
+        }
+
+        void compute() {
+            distances.fill(Double.POSITIVE_INFINITY);
+            predecessors.fill(NO_PREDECESSOR);
+            bucketIndices.fill(NO_BUCKET);
+
+            distances.set(sourceNode, 0.0);
+            partitions[partition(sourceNode)].insert(sourceNode, 0);
+
+            var relaxTasks = Arrays.stream(partitions).map(p -> (Runnable) p::relaxFrontier).collect(Collectors.toList());
+            var applyTasks = Arrays.stream(partitions).map(p -> (Runnable) p::applyRequests).collect(Collectors.toList());
+
+            long currentBucket;
+            while ((currentBucket = nextBucket()) != NO_BUCKET && running()) {
+                // light relaxations re-insert nodes into the current bucket,
+                // so the bucket is processed until it stays empty
+                while (running()) {
+                    var hasFrontier = false;
+                    for (var partition : partitions) {
+                        hasFrontier |= partition.takeFrontier(currentBucket);
+                    }
+                    if (!hasFrontier) {
+                        break;
+                    }
+                    runTasks(relaxTasks);
+                    runTasks(applyTasks);
+                }
+            }
+        }
+
+        private void runTasks(List<Runnable> tasks) {
+            if (tasks.size() == 1) {
+                tasks.get(0).run();
+            } else {
+                ParallelUtil.runWithConcurrency(partitionCount, tasks, executorService);
+            }
+        }
+
+        private long nextBucket() {
+            var next = NO_BUCKET;
+            for (var partition : partitions) {
+                var partitionMin = partition.minBucket();
+                if (partitionMin != NO_BUCKET && (next == NO_BUCKET || partitionMin < next)) {
+                    next = partitionMin;
+                }
+            }
+            return next;
+        }
+
+        private int partition(long nodeId) {
+            return (int) (nodeId % partitionCount);
+        }
+
+        Stream<PathResult> paths(AtomicLong pathIndex) {
+            var pathResultBuilder = ImmutablePathResult.builder().sourceNode(sourceNode);
+            return LongStream
+                .range(0, graph.nodeCount())
+                .filter(nodeId -> distances.get(nodeId) != Double.POSITIVE_INFINITY)
+                .mapToObj(nodeId -> pathResult(nodeId, pathIndex.getAndIncrement(), pathResultBuilder));
+        }
+
+        private PathResult pathResult(long target, long index, ImmutablePathResult.Builder pathResultBuilder) {
+            var pathNodeIds = new LongArrayDeque();
+            var relationshipIds = trackRelationships ? new LongArrayDeque() : null;
+            var costs = new DoubleArrayDeque();
+
+            var lastNode = target;
+            while (true) {
+                pathNodeIds.addFirst(lastNode);
+                costs.addFirst(distances.get(lastNode));
+                if (lastNode == sourceNode) {
+                    break;
+                }
+                if (trackRelationships) {
+                    relationshipIds.addFirst(relationships.get(lastNode));
+                }
+                lastNode = predecessors.get(lastNode);
+            }
+
+            return pathResultBuilder
+                .index(index)
+                .targetNode(target)
+                .nodeIds(pathNodeIds.toArray())
+                .relationshipIds(trackRelationships ? relationshipIds.toArray() : EMPTY_ARRAY)
+                .costs(costs.toArray())
+                .build();
+        }
+
+        /**
+         * The nodes with {@code nodeId % partitionCount == index}. Only the thread
+         * that runs the tasks of the partition writes the state of those nodes.
+         */
+        private final class Partition {
+
+            private final int index;
+            private final Graph localGraph;
+            private final LongObjectHashMap<LongArrayList> buckets;
+            private final RelaxRequests[] outgoingRequests;
+            private LongArrayList frontier;
+
+            Partition(int index) {
+                this.index = index;
+                this.localGraph = graph.concurrentCopy();
+                this.buckets = new LongObjectHashMap<>();
+                this.outgoingRequests = new RelaxRequests[partitionCount];
+                for (int i = 0; i < partitionCount; i++) {
+                    outgoingRequests[i] = new RelaxRequests(trackRelationships);
+                }
+                this.frontier = new LongArrayList();
+            }
+
+            void insert(long nodeId, long bucket) {
+                if (bucketIndices.get(nodeId) == bucket) {
+                    return;
+                }
+                bucketIndices.set(nodeId, bucket);
+                var nodes = buckets.get(bucket);
+                if (nodes == null) {
+                    nodes = new LongArrayList();
+                    buckets.put(bucket, nodes);
+                }
+                nodes.add(nodeId);
+            }
+
+            long minBucket() {
+                var min = NO_BUCKET;
+                for (LongCursor bucket : buckets.keys()) {
+                    if (min == NO_BUCKET || bucket.value < min) {
+                        min = bucket.value;
+                    }
+                }
+                return min;
+            }
+
+            /**
+             * Removes the given bucket and keeps the nodes that are still
+             * assigned to it as frontier. Nodes might have moved to a
+             * smaller bucket since they have been inserted.
+             */
+            boolean takeFrontier(long bucket) {
+                frontier.clear();
+                var nodes = buckets.remove(bucket);
+                if (nodes == null) {
+                    return false;
+                }
+                for (int i = 0; i < nodes.size(); i++) {
+                    var nodeId = nodes.get(i);
+                    if (bucketIndices.get(nodeId) == bucket) {
+                        bucketIndices.set(nodeId, NO_BUCKET);
+                        frontier.add(nodeId);
+                    }
+                }
+                return !frontier.isEmpty();
+            }
+
+            void relaxFrontier() {
+                var relationshipId = new MutableInt();
+                for (int i = 0; i < frontier.size(); i++) {
+                    var nodeId = frontier.get(i);
+                    var distance = distances.get(nodeId);
+                    relationshipId.setValue(0);
+                    localGraph.forEachRelationship(nodeId, 1.0D, (source, target, weight) -> {
+                        if (weight < 0) {
+                            throw new IllegalArgumentException(formatWithLocale(
+                                "Delta-stepping requires non-negative relationship weights, but got %f.",
+                                weight
+                            ));
+                        }
+                        var cost = distance + weight;
+                        if (cost < distances.get(target)) {
+                            outgoingRequests[partition(target)].add(target, cost, source, relationshipId.longValue());
+                        }
+                        relationshipId.increment();
+                        return true;
+                    });
+                    progressLogger.logProgress(localGraph.degree(nodeId));
+                }
+            }
+
+            void applyRequests() {
+                for (var sender : partitions) {
+                    var requests = sender.outgoingRequests[index];
+                    for (int i = 0; i < requests.size(); i++) {
+                        var target = requests.targets.get(i);
+                        var cost = requests.costs.get(i);
+                        if (cost < distances.get(target)) {
+                            distances.set(target, cost);
+                            predecessors.set(target, requests.sources.get(i));
+                            if (trackRelationships) {
+                                relationships.set(target, requests.relationshipIds.get(i));
+                            }
+                            insert(target, (long) (cost / delta));
+                        }
+                    }
+                    requests.clear();
+                }
+            }
+        }
+    }
+
+    private static final class RelaxRequests {
+        private final LongArrayList targets;
+        private final DoubleArrayList costs;
+        private final LongArrayList sources;
+        private final LongArrayList relationshipIds;
+
+        RelaxRequests(boolean trackRelationships) {
+            this.targets = new LongArrayList();
+            this.costs = new DoubleArrayList();
+            this.sources = new LongArrayList();
+            this.relationshipIds = trackRelationships ? new LongArrayList() : null;
+        }
+
+        void add(long target, double cost, long source, long relationshipId) {
+            targets.add(target);
+            costs.add(cost);
+            sources.add(source);
+            if (relationshipIds != null) {
+                relationshipIds.add(relationshipId);
+            }
+        }
+
+        int size() {
+            return targets.size();
+        }
+
+        void clear() {
+            targets.clear();
+            costs.clear();
+            sources.clear();
+            if (relationshipIds != null) {
+                relationshipIds.clear();
+            }
+        }
+    }
+}
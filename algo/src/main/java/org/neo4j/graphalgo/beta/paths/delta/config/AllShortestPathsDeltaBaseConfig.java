@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.delta.config;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.beta.paths.TrackRelationshipsConfig;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.RelationshipWeightConfig;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+public interface AllShortestPathsDeltaBaseConfig extends AlgoBaseConfig, RelationshipWeightConfig, TrackRelationshipsConfig {
+
+    long sourceNode();
+
+    /**
+     * Width of a bucket. Nodes whose tentative distances fall into
+     * the same bucket are relaxed in parallel.
+     */
+    @Value.Default
+    default double delta() {
+        return 2.0;
+    }
+
+    @Value.Check
+    default void validateDelta() {
+        if (delta() <= 0) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Delta must be greater than 0, but got %f.",
+                delta()
+            ));
+        }
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.louvain;
+
+import com.carrotsearch.hppc.LongDoubleHashMap;
+import com.carrotsearch.hppc.LongDoubleMap;
+import com.carrotsearch.hppc.cursors.LongDoubleCursor;
+import org.apache.commons.lang3.mutable.MutableDouble;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongLongMap;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Refines the communities found by the local moving phase of Louvain,
+ * following the refinement phase of:
+ *
+ * Traag, V. A., L. Waltman, and N. J. van Eck.
+ * "From Louvain to Leiden: guaranteeing well-connected communities."
+ * Scientific Reports 9 (2019): 5233.
+ * https://arxiv.org/pdf/1810.08473.pdf
+ *
+ * Every community is split into sub-communities, starting from singletons.
+ * A singleton node that is well connected to the rest of its community
+ * is merged into the well connected sub-community of the same community
+ * with the largest modularity gain. As nodes only merge within their
+ * community, every refined sub-community is connected.
+ * <p>
+ * The refinement is greedy and deterministic, nodes are visited in id order
+ * instead of in random order and merged into the best sub-community instead
+ * of a randomly chosen one.
+ */
+final class LeidenRefinement {
+
+    private final Graph graph;
+    private final LongUnaryOperator communityIds;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+    private final long nodeCount;
+
+    private HugeLongArray communities;
+    private HugeLongArray communityOffsets;
+    private HugeLongArray sortedNodes;
+    private HugeDoubleArray subCommunityWeights;
+    private HugeDoubleArray externalWeights;
+    private HugeLongArray refinedCommunities;
+    private HugeAtomicBitSet nonSingletons;
+    private double totalWeight;
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(LeidenRefinement.class)
+            .add("communityMapping", HugeLongLongMap.memoryEstimation())
+            .perNode("communities", HugeLongArray::memoryEstimation)
+            .perNode("communityOffsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .perNode("sortedNodes", HugeLongArray::memoryEstimation)
+            .perNode("subCommunityWeights", HugeDoubleArray::memoryEstimation)
+            .perNode("externalWeights", HugeDoubleArray::memoryEstimation)
+            .perNode("refinedCommunities", HugeLongArray::memoryEstimation)
+            .perNode("nonSingletons", HugeAtomicBitSet::memoryEstimation)
+            .perThread("RefinementTask", MemoryEstimations.builder()
+                .rangePerNode(
+                    "subCommunityInfluences",
+                    (nodeCount) -> MemoryRange.of(
+                        MemoryUsage.sizeOfLongDoubleHashMap(50),
+                        MemoryUsage.sizeOfLongDoubleHashMap(Math.max(50, nodeCount))
+                    )
+                )
+                .build()
+            )
+            .build();
+    }
+
+    LeidenRefinement(
+        Graph graph,
+        LongUnaryOperator communityIds,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.communityIds = communityIds;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+        this.nodeCount = graph.nodeCount();
+    }
+
+    /**
+     * Returns the refined sub-community for every node. Sub-communities are
+     * identified by one of their member nodes, so all ids are smaller than
+     * the node count of the graph.
+     */
+    HugeLongArray compute() {
+        long communityCount = groupByCommunity();
+        computeNodeWeights();
+
+        this.refinedCommunities = HugeLongArray.newArray(nodeCount, tracker);
+        refinedCommunities.setAll(nodeId -> nodeId);
+        this.externalWeights = HugeDoubleArray.newArray(nodeCount, tracker);
+        this.nonSingletons = HugeAtomicBitSet.create(nodeCount, tracker);
+
+        var tasks = PartitionUtils.rangePartition(concurrency, communityCount)
+            .stream()
+            .map(partition -> new RefinementTask(graph.concurrentCopy(), partition))
+            .collect(Collectors.toList());
+
+        ParallelUtil.run(tasks, executor);
+
+        communities.release();
+        communityOffsets.release();
+        sortedNodes.release();
+        subCommunityWeights.release();
+        externalWeights.release();
+
+        return refinedCommunities;
+    }
+
+    /**
+     * Maps the communities to consecutive ids and sorts
+     * the nodes by their community using a counting sort.
+     */
+    private long groupByCommunity() {
+        var communityMapping = new HugeLongLongMap(nodeCount, tracker);
+        this.communities = HugeLongArray.newArray(nodeCount, tracker);
+
+        long communityCount = 0;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long communityId = communityIds.applyAsLong(nodeId);
+            long mappedId = communityMapping.getOrDefault(communityId, -1);
+            if (mappedId == -1) {
+                mappedId = communityCount++;
+                communityMapping.put(communityId, mappedId);
+            }
+            communities.set(nodeId, mappedId);
+        }
+        communityMapping.release();
+
+        this.communityOffsets = HugeLongArray.newArray(communityCount + 1, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            communityOffsets.addTo(communities.get(nodeId) + 1, 1);
+        }
+        for (long communityId = 0; communityId < communityCount; communityId++) {
+            communityOffsets.addTo(communityId + 1, communityOffsets.get(communityId));
+        }
+
+        this.sortedNodes = HugeLongArray.newArray(nodeCount, tracker);
+        var insertPositions = communityOffsets.copyOf(communityCount, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long communityId = communities.get(nodeId);
+            long position = insertPositions.get(communityId);
+            sortedNodes.set(position, nodeId);
+            insertPositions.set(communityId, position + 1);
+        }
+        insertPositions.release();
+
+        return communityCount;
+    }
+
+    private void computeNodeWeights() {
+        this.subCommunityWeights = HugeDoubleArray.newArray(nodeCount, tracker);
+        var nodeWeight = new MutableDouble();
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            nodeWeight.setValue(0.0D);
+            graph.forEachRelationship(nodeId, 1.0D, (s, t, w) -> {
+                nodeWeight.add(w);
+                return true;
+            });
+            subCommunityWeights.set(nodeId, nodeWeight.doubleValue());
+            totalWeight += nodeWeight.doubleValue();
+        }
+    }
+
+    private final class RefinementTask implements Runnable {
+
+        private final RelationshipIterator relationshipIterator;
+        private final Partition partition;
+
+        RefinementTask(RelationshipIterator relationshipIterator, Partition partition) {
+            this.relationshipIterator = relationshipIterator;
+            this.partition = partition;
+        }
+
+        @Override
+        public void run() {
+            var reuseSubCommunityInfluences = new LongDoubleHashMap(50);
+            var externalWeight = new MutableDouble();
+
+            long endCommunity = partition.startNode() + partition.nodeCount();
+            for (long communityId = partition.startNode(); communityId < endCommunity; communityId++) {
+                refineCommunity(communityId, reuseSubCommunityInfluences, externalWeight);
+            }
+        }
+
+        private void refineCommunity(
+            long communityId,
+            LongDoubleMap reuseSubCommunityInfluences,
+            MutableDouble externalWeight
+        ) {
+            long start = communityOffsets.get(communityId);
+            long end = communityOffsets.get(communityId + 1);
+
+            if (end - start < 2) {
+                return;
+            }
+
+            // the weight of the community and of every node to the rest of the community
+            double communityWeight = 0.0D;
+            for (long i = start; i < end; i++) {
+                long nodeId = sortedNodes.get(i);
+                communityWeight += subCommunityWeights.get(nodeId);
+
+                externalWeight.setValue(0.0D);
+                relationshipIterator.forEachRelationship(nodeId, 1.0D, (s, t, w) -> {
+                    if (s != t && communities.get(t) == communityId) {
+                        externalWeight.add(w);
+                    }
+                    return true;
+                });
+                externalWeights.set(nodeId, externalWeight.doubleValue());
+            }
+
+            for (long i = start; i < end; i++) {
+                long nodeId = sortedNodes.get(i);
+                int degree = graph.degree(nodeId);
+
+                LongDoubleMap subCommunityInfluences;
+                if (degree < 50) {
+                    reuseSubCommunityInfluences.clear();
+                    subCommunityInfluences = reuseSubCommunityInfluences;
+                } else {
+                    subCommunityInfluences = new LongDoubleHashMap(degree);
+                }
+
+                refineNode(nodeId, communityId, communityWeight, subCommunityInfluences);
+            }
+        }
+
+        private void refineNode(
+            long nodeId,
+            long communityId,
+            double communityWeight,
+            LongDoubleMap subCommunityInfluences
+        ) {
+            // only singletons are merged into other sub-communities
+            if (nonSingletons.get(nodeId)) {
+                return;
+            }
+
+            double nodeWeight = subCommunityWeights.get(nodeId);
+            if (!isWellConnected(externalWeights.get(nodeId), nodeWeight, communityWeight)) {
+                return;
+            }
+
+            relationshipIterator.forEachRelationship(nodeId, 1.0D, (s, t, w) -> {
+                if (s != t && communities.get(t) == communityId) {
+                    subCommunityInfluences.addTo(refinedCommunities.get(t), w);
+                }
+                return true;
+            });
+
+            long bestSubCommunity = -1;
+            double bestSubCommunityInfluence = 0.0D;
+            double maxGain = 0.0D;
+            for (LongDoubleCursor cursor : subCommunityInfluences) {
+                long subCommunity = cursor.key;
+                double subCommunityWeight = subCommunityWeights.get(subCommunity);
+                if (!isWellConnected(externalWeights.get(subCommunity), subCommunityWeight, communityWeight)) {
+                    continue;
+                }
+
+                double gain = cursor.value - nodeWeight * subCommunityWeight / totalWeight;
+                if (gain > maxGain || (gain == maxGain && gain > 0.0D && subCommunity < bestSubCommunity)) {
+                    maxGain = gain;
+                    bestSubCommunity = subCommunity;
+                    bestSubCommunityInfluence = cursor.value;
+                }
+            }
+
+            if (bestSubCommunity == -1) {
+                return;
+            }
+
+            refinedCommunities.set(nodeId, bestSubCommunity);
+            nonSingletons.set(nodeId);
+            nonSingletons.set(bestSubCommunity);
+            subCommunityWeights.addTo(bestSubCommunity, nodeWeight);
+            externalWeights.addTo(
+                bestSubCommunity,
+                externalWeights.get(nodeId) - 2 * bestSubCommunityInfluence
+            );
+        }
+
+        private boolean isWellConnected(double externalWeight, double weight, double communityWeight) {
+            return externalWeight >= weight * (communityWeight - weight) / totalWeight;
+        }
+    }
+}
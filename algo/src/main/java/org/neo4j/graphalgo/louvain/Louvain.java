@@ -19,34 +19,29 @@
  */
 package org.neo4j.graphalgo.louvain;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Algorithm;
-import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.api.NodeMapping;
 import org.neo4j.graphalgo.api.NodeProperties;
-import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
 import org.neo4j.graphalgo.beta.modularity.ImmutableModularityOptimizationStreamConfig;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimization;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationFactory;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamConfig;
-import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
-import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
-import org.neo4j.graphalgo.core.loading.construction.RelationshipsBuilder;
+import org.neo4j.graphalgo.core.loading.construction.GraphContraction;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
-import org.neo4j.graphalgo.core.utils.partition.Partition;
-import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
 
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.function.LongUnaryOperator;
 
 import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.DEFAULT_BATCH_SIZE;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -87,6 +82,11 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
         Graph workingGraph = rootGraph;
         NodeProperties nextSeedingValues = seedingValues;
 
+        // the original id of the node in the working graph for every root node,
+        // only used when refining communities, as the dendrogram then contains
+        // the communities and not the refined sub-communities
+        HugeLongArray workingNodes = null;
+
         long oldNodeCount = rootGraph.nodeCount();
         for (ranLevels = 0; ranLevels < config.maxLevels(); ranLevels++) {
             getProgressLogger().logMessage(formatWithLocale("Level %d :: Start", ranLevels + 1));
@@ -101,15 +101,44 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
 
             modularities[ranLevels] = modularityOptimization.getModularity();
             dendrograms[ranLevels] = HugeLongArray.newArray(rootGraph.nodeCount(), tracker);
-            long maxCommunityId = buildDendrogram(workingGraph, ranLevels, modularityOptimization);
-
-            workingGraph = summarizeGraph(workingGraph, modularityOptimization, maxCommunityId);
-            nextSeedingValues = new OriginalIdNodeProperties(workingGraph);
+            long maxCommunityId = buildDendrogram(workingGraph, workingNodes, ranLevels, modularityOptimization);
+
+            // the refined graph can have as many nodes as the working graph,
+            // even though the local moving has merged some of them into communities
+            boolean changedCommunities = false;
+            if (config.refineCommunities()) {
+                changedCommunities = hasMovedNodes(workingGraph, nextSeedingValues, modularityOptimization);
+
+                HugeLongArray refinedCommunities = new LeidenRefinement(
+                    workingGraph,
+                    modularityOptimization::getCommunityId,
+                    config.concurrency(),
+                    executorService,
+                    tracker
+                ).compute();
+
+                workingNodes = updateWorkingNodes(workingGraph, workingNodes, refinedCommunities);
+                Graph refinedGraph = summarizeGraph(
+                    workingGraph,
+                    refinedCommunities::get,
+                    workingGraph.nodeCount()
+                );
+                // the sub-communities start in the community they have been refined from
+                nextSeedingValues = new CommunityNodeProperties(
+                    refinedGraph,
+                    modularityOptimization,
+                    tracker
+                );
+                refinedCommunities.release();
+                workingGraph = refinedGraph;
+            } else {
+                workingGraph = summarizeGraph(workingGraph, modularityOptimization::getCommunityId, maxCommunityId);
+                nextSeedingValues = new OriginalIdNodeProperties(workingGraph);
+            }
 
             getProgressLogger().logMessage(formatWithLocale("Level %d :: Finished", ranLevels + 1));
 
-
-            if (workingGraph.nodeCount() == oldNodeCount
+            if ((workingGraph.nodeCount() == oldNodeCount && !changedCommunities)
                 || workingGraph.nodeCount() == 1
                 || hasConverged()
             ) {
@@ -137,14 +166,20 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
 
     private long buildDendrogram(
         Graph workingGraph,
+        @Nullable HugeLongArray workingNodes,
         int level,
         ModularityOptimization modularityOptimization
     ) {
         AtomicLong maxCommunityId = new AtomicLong(0L);
         ParallelUtil.parallelForEachNode(rootGraph, config.concurrency(), (nodeId) -> {
-            long prevId = level == 0
-                ? nodeId
-                : workingGraph.toMappedNodeId(dendrograms[level - 1].get(nodeId));
+            long prevId;
+            if (level == 0) {
+                prevId = nodeId;
+            } else if (workingNodes != null) {
+                prevId = workingGraph.toMappedNodeId(workingNodes.get(nodeId));
+            } else {
+                prevId = workingGraph.toMappedNodeId(dendrograms[level - 1].get(nodeId));
+            }
 
             long communityId = modularityOptimization.getCommunityId(prevId);
 
@@ -164,6 +199,51 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
         return maxCommunityId.get();
     }
 
+    private HugeLongArray updateWorkingNodes(
+        Graph workingGraph,
+        @Nullable HugeLongArray workingNodes,
+        HugeLongArray refinedCommunities
+    ) {
+        HugeLongArray nextWorkingNodes = workingNodes == null
+            ? HugeLongArray.newArray(rootGraph.nodeCount(), tracker)
+            : workingNodes;
+
+        ParallelUtil.parallelForEachNode(rootGraph, config.concurrency(), (nodeId) -> {
+            long workingNodeId = workingNodes == null
+                ? nodeId
+                : workingGraph.toMappedNodeId(workingNodes.get(nodeId));
+            nextWorkingNodes.set(nodeId, refinedCommunities.get(workingNodeId));
+        });
+
+        return nextWorkingNodes;
+    }
+
+    private boolean hasMovedNodes(
+        Graph workingGraph,
+        @Nullable NodeProperties seed,
+        ModularityOptimization modularityOptimization
+    ) {
+        // unseeded nodes start in a community of their own, with the id the modularity optimization assigns to it
+        long maxSeedCommunity = seed == null ? 0L : seed.getMaxLongPropertyValue().orElse(0L);
+        AtomicBoolean movedNodes = new AtomicBoolean(false);
+        ParallelUtil.parallelForEachNode(workingGraph, config.concurrency(), (nodeId) -> {
+            long seedCommunity = seed == null ? -1L : seed.longValue(nodeId);
+            long initialCommunity;
+            if (seedCommunity >= 0) {
+                initialCommunity = seedCommunity;
+            } else if (seed == null) {
+                initialCommunity = nodeId;
+            } else {
+                initialCommunity = workingGraph.toOriginalNodeId(nodeId) + maxSeedCommunity;
+            }
+
+            if (modularityOptimization.getCommunityId(nodeId) != initialCommunity) {
+                movedNodes.lazySet(true);
+            }
+        });
+        return movedNodes.get();
+    }
+
     private ModularityOptimization runModularityOptimization(Graph louvainGraph, NodeProperties seed) {
         ModularityOptimizationStreamConfig modularityOptimizationConfig = ImmutableModularityOptimizationStreamConfig
             .builder()
@@ -171,6 +251,7 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
             .tolerance(config.tolerance())
             .concurrency(config.concurrency())
             .batchSize(DEFAULT_BATCH_SIZE)
+            .fastLocalMoving(config.fastLocalMoving())
             .build();
 
         ModularityOptimization modularityOptimization = new ModularityOptimizationFactory<>()
@@ -190,51 +271,19 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
 
     private Graph summarizeGraph(
         Graph workingGraph,
-        ModularityOptimization modularityOptimization,
+        LongUnaryOperator communityIds,
         long maxCommunityId
     ) {
-        var nodesBuilder = GraphFactory.initNodesBuilder()
-            .maxOriginalId(maxCommunityId)
-            .concurrency(config.concurrency())
-            .tracker(tracker)
-            .build();
-
         assertRunning();
 
-        workingGraph.forEachNode((nodeId) -> {
-            nodesBuilder.addNode(modularityOptimization.getCommunityId(nodeId));
-            return true;
-        });
-
-        assertRunning();
-
-        Orientation orientation = rootGraph.isUndirected() ? Orientation.UNDIRECTED : Orientation.NATURAL;
-        NodeMapping idMap = nodesBuilder.build();
-        RelationshipsBuilder relationshipsBuilder = GraphFactory.initRelationshipsBuilder()
-            .nodes(idMap)
-            .orientation(orientation)
-            .loadRelationshipProperty(true)
-            .aggregation(Aggregation.SUM)
-            .preAggregate(true)
-            .executorService(executorService)
-            .tracker(tracker)
-            .build();
-
-        var relationshipCreators = PartitionUtils
-            .rangePartition(config.concurrency(), workingGraph.nodeCount())
-            .stream()
-            .map(partition ->
-                new RelationshipCreator(
-                    relationshipsBuilder,
-                    modularityOptimization,
-                    workingGraph.concurrentCopy(),
-                    partition
-                ))
-            .collect(Collectors.toList());
-
-        ParallelUtil.run(relationshipCreators, executorService);
-
-        return GraphFactory.create(idMap, relationshipsBuilder.build(), tracker);
+        return GraphContraction.contract(
+            workingGraph,
+            communityIds,
+            maxCommunityId,
+            config.concurrency(),
+            executorService,
+            tracker
+        );
     }
 
     private boolean hasConverged() {
@@ -310,39 +359,35 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
         }
     }
 
-    static final class RelationshipCreator implements Runnable {
-
-        private final RelationshipsBuilder relationshipsBuilder;
-
-        private final ModularityOptimization modularityOptimization;
-
-        private final RelationshipIterator relationshipIterator;
-
-        private final Partition partition;
+    /**
+     * The community of every node in the refined graph, which is the community
+     * of the node in the previous working graph that identifies the sub-community.
+     */
+    static final class CommunityNodeProperties implements LongNodeProperties {
+        private final HugeLongArray communities;
 
-
-        private RelationshipCreator(
-            RelationshipsBuilder relationshipsBuilder,
+        CommunityNodeProperties(
+            Graph refinedGraph,
             ModularityOptimization modularityOptimization,
-            RelationshipIterator relationshipIterator,
-            Partition partition
+            AllocationTracker tracker
         ) {
-            this.relationshipsBuilder = relationshipsBuilder;
-            this.modularityOptimization = modularityOptimization;
-            this.relationshipIterator = relationshipIterator;
-            this.partition = partition;
+            this.communities = HugeLongArray.newArray(refinedGraph.nodeCount(), tracker);
+            communities.setAll(nodeId -> modularityOptimization.getCommunityId(refinedGraph.toOriginalNodeId(nodeId)));
         }
 
         @Override
-        public void run() {
-            long endNodeId = partition.startNode() + partition.nodeCount();
-            for (long nodeId = partition.startNode(); nodeId < endNodeId; nodeId++) {
-                long communityId = modularityOptimization.getCommunityId(nodeId);
-                relationshipIterator.forEachRelationship(nodeId, 1.0, (source, target, property) -> {
-                    relationshipsBuilder.add(communityId, modularityOptimization.getCommunityId(target), property);
-                    return true;
-                });
-            }
+        public long longValue(long nodeId) {
+            return communities.get(nodeId);
+        }
+
+        @Override
+        public Value value(long nodeId) {
+            return Values.longValue(longValue(nodeId));
+        }
+
+        @Override
+        public OptionalLong getMaxLongPropertyValue() {
+            return OptionalLong.empty();
         }
     }
 }
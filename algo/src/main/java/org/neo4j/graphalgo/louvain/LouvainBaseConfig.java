@@ -57,6 +57,23 @@ public interface LouvainBaseConfig extends
         return false;
     }
 
+    /**
+     * Only revisit nodes that moved in the previous iteration and their neighbours.
+     */
+    @Value.Default
+    default boolean fastLocalMoving() {
+        return false;
+    }
+
+    /**
+     * Split the communities of every level into well connected sub-communities
+     * before aggregating the graph for the next level.
+     */
+    @Value.Default
+    default boolean refineCommunities() {
+        return false;
+    }
+
     @Value.Check
     default void validate() {
         if (isIncremental() && consecutiveIds()) {
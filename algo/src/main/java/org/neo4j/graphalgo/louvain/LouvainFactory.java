@@ -71,8 +71,11 @@ public class LouvainFactory<CONFIG extends LouvainBaseConfig> implements Algorit
 
     @Override
     public MemoryEstimation memoryEstimation(CONFIG config) {
-        return MemoryEstimations.builder(Louvain.class)
-            .add("modularityOptimization()", ModularityOptimizationFactory.MEMORY_ESTIMATION)
+        var builder = MemoryEstimations.builder(Louvain.class)
+            .add(
+                "modularityOptimization()",
+                ModularityOptimizationFactory.memoryEstimation(config.fastLocalMoving())
+            )
             .rangePerGraphDimension("subGraph", (graphDimensions, concurrency) -> {
                 ImmutableGraphDimensions.Builder dimensionsBuilder = ImmutableGraphDimensions.builder().from(graphDimensions);
 
@@ -102,7 +105,14 @@ public class LouvainFactory<CONFIG extends LouvainBaseConfig> implements Algorit
             .rangePerNode("dendrograms", (nodeCount) -> MemoryRange.of(
                 HugeLongArray.memoryEstimation(nodeCount),
                 HugeLongArray.memoryEstimation(nodeCount) * config.maxLevels()
-            ))
-            .build();
+            ));
+
+        if (config.refineCommunities()) {
+            builder
+                .add("refinement", LeidenRefinement.memoryEstimation())
+                .perNode("workingNodes", HugeLongArray::memoryEstimation);
+        }
+
+        return builder.build();
     }
 }
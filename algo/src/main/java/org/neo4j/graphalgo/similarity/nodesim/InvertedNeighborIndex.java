@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.nodesim;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.LongArrayList;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+/**
+ * Maps every item, i.e. every neighbor of a compared node, to the compared nodes
+ * that have this item in their vector. Only node pairs that share at least one
+ * item can have a similarity greater than zero, so walking the index of the
+ * items of a node yields all candidates for that node together with the size
+ * of their intersection. The work is proportional to the sum of the squared
+ * item degrees instead of the squared number of compared nodes.
+ * <p>
+ * Items that are shared by more than {@code maxItemDegree} nodes can be left
+ * out of the index. Pairs that only share pruned items are then not found, and
+ * the intersection counts do not include pruned items.
+ */
+final class InvertedNeighborIndex {
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(InvertedNeighborIndex.class)
+            .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .perNode("pruned items", nodeCount -> sizeOfLongArray(BitSet.bits2words(nodeCount)))
+            .perGraphDimension(
+                "postings",
+                (dimensions, concurrency) -> MemoryRange.of(HugeLongArray.memoryEstimation(dimensions.maxRelCount()))
+            )
+            .perThread("candidates", candidatesMemoryEstimation())
+            .build();
+    }
+
+    static MemoryEstimation candidatesMemoryEstimation() {
+        return MemoryEstimations.builder(Candidates.class)
+            .perNode("intersections", HugeIntArray::memoryEstimation)
+            .build();
+    }
+
+    private final HugeLongArray offsets;
+    private final HugeLongArray postings;
+    private final long nodeCount;
+    private final AllocationTracker tracker;
+
+    /**
+     * Builds the index for the given vectors, all items must be smaller than {@code itemCount}.
+     */
+    static InvertedNeighborIndex build(
+        HugeObjectArray<long[]> vectors,
+        long itemCount,
+        BitSet nodeFilter,
+        int maxItemDegree,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = vectors.size();
+        var offsets = HugeLongArray.newArray(itemCount + 1, tracker);
+
+        // count the compared nodes per item
+        for (long node = nodeFilter.nextSetBit(0); node >= 0; node = nodeFilter.nextSetBit(node + 1)) {
+            for (long item : vectors.get(node)) {
+                offsets.addTo(item, 1);
+            }
+        }
+
+        var prunedItems = new BitSet(itemCount);
+        if (maxItemDegree > 0) {
+            for (long item = 0; item < itemCount; item++) {
+                if (offsets.get(item) > maxItemDegree) {
+                    prunedItems.set(item);
+                    offsets.set(item, 0);
+                }
+            }
+        }
+
+        // offsets point to the end of each item's postings
+        long total = 0;
+        for (long item = 0; item <= itemCount; item++) {
+            total += offsets.get(item);
+            offsets.set(item, total);
+        }
+
+        // filling in descending node order moves each offset to the start of the
+        // postings and leaves the postings of each item sorted in ascending order
+        var postings = HugeLongArray.newArray(total, tracker);
+        for (long node = nodeCount - 1; node >= 0; node--) {
+            if (!nodeFilter.get(node)) {
+                continue;
+            }
+            for (long item : vectors.get(node)) {
+                if (!prunedItems.get(item)) {
+                    var position = offsets.get(item) - 1;
+                    offsets.set(item, position);
+                    postings.set(position, node);
+                }
+            }
+        }
+
+        return new InvertedNeighborIndex(offsets, postings, nodeCount, tracker);
+    }
+
+    private InvertedNeighborIndex(
+        HugeLongArray offsets,
+        HugeLongArray postings,
+        long nodeCount,
+        AllocationTracker tracker
+    ) {
+        this.offsets = offsets;
+        this.postings = postings;
+        this.nodeCount = nodeCount;
+        this.tracker = tracker;
+    }
+
+    /**
+     * Creates the state for collecting candidates. Instances are not thread-safe,
+     * every thread needs to create its own instance.
+     */
+    Candidates newCandidates() {
+        return new Candidates(nodeCount, tracker);
+    }
+
+    final class Candidates {
+
+        // intersection counts, only non-zero for the nodes in `nodes`
+        private final HugeIntArray intersections;
+        private final LongArrayList nodes;
+
+        private Candidates(long nodeCount, AllocationTracker tracker) {
+            this.intersections = HugeIntArray.newArray(nodeCount, tracker);
+            this.nodes = new LongArrayList();
+        }
+
+        /**
+         * Collects all nodes that share at least one item with the given node.
+         * Only nodes with a higher id are collected if {@code onlyHigherIds} is true.
+         * The collected nodes are sorted by id.
+         */
+        void collect(long node, long[] vector, boolean onlyHigherIds) {
+            for (int i = 0; i < nodes.size(); i++) {
+                intersections.set(nodes.get(i), 0);
+            }
+            nodes.clear();
+
+            for (long item : vector) {
+                long start = offsets.get(item);
+                // postings are sorted, so we can stop at the first node with a lower id
+                for (long position = offsets.get(item + 1) - 1; position >= start; position--) {
+                    long other = postings.get(position);
+                    if (other == node) {
+                        if (onlyHigherIds) {
+                            break;
+                        }
+                        continue;
+                    }
+                    if (intersections.get(other) == 0) {
+                        nodes.add(other);
+                    }
+                    intersections.addTo(other, 1);
+                }
+            }
+
+            Arrays.sort(nodes.buffer, 0, nodes.size());
+        }
+
+        int size() {
+            return nodes.size();
+        }
+
+        long node(int index) {
+            return nodes.get(index);
+        }
+
+        int intersection(int index) {
+            return intersections.get(nodes.get(index));
+        }
+    }
+}
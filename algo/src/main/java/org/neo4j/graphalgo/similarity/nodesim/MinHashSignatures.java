@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.nodesim;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+
+import java.util.SplittableRandom;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+/**
+ * MinHash signatures of the node vectors, used to find similar node pairs
+ * without comparing all pairs that share a neighbor.
+ * <p>
+ * Each signature consists of {@code bands * rows} minimum hash values. Two nodes
+ * agree on a single value with a probability equal to their Jaccard similarity.
+ * The values are grouped into bands and every band is hashed into a bucket.
+ * Nodes that share at least one bucket are candidates. More bands increase the
+ * recall, more rows per band increase the precision of the candidates.
+ */
+final class MinHashSignatures {
+
+    static MemoryEstimation memoryEstimation(int bands, int rows) {
+        return MemoryEstimations.builder(MinHashSignatures.class)
+            .perNode("signatures", nodeCount -> HugeLongArray.memoryEstimation(nodeCount * bands * rows))
+            .fixed("hash seeds", sizeOfLongArray(bands * rows))
+            .add(
+                "bucket index",
+                MemoryEstimations.builder(InvertedNeighborIndex.class)
+                    .add("buckets", HugeObjectArray.memoryEstimation(sizeOfLongArray(bands)))
+                    .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount * bands + 1))
+                    .perNode("pruned items", nodeCount -> sizeOfLongArray(BitSet.bits2words(nodeCount * bands)))
+                    .perNode("postings", nodeCount -> HugeLongArray.memoryEstimation(nodeCount * bands))
+                    .perThread("candidates", InvertedNeighborIndex.candidatesMemoryEstimation())
+                    .build()
+            )
+            .build();
+    }
+
+    private final int bands;
+    private final int rows;
+    private final int signatureLength;
+    private final long[] seeds;
+    private final HugeLongArray signatures;
+
+    static MinHashSignatures compute(
+        HugeObjectArray<long[]> vectors,
+        BitSet nodeFilter,
+        int bands,
+        int rows,
+        long randomSeed,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        var random = randomSeed == -1L ? new SplittableRandom() : new SplittableRandom(randomSeed);
+        var signatureLength = bands * rows;
+        var seeds = random.longs(signatureLength).toArray();
+        var signatures = HugeLongArray.newArray(vectors.size() * signatureLength, tracker);
+
+        ParallelUtil.parallelForEachNode(vectors.size(), concurrency, node -> {
+            if (!nodeFilter.get(node)) {
+                return;
+            }
+            long[] vector = vectors.get(node);
+            long offset = node * signatureLength;
+            for (int i = 0; i < signatureLength; i++) {
+                long seed = seeds[i];
+                long min = Long.MAX_VALUE;
+                for (long item : vector) {
+                    min = Math.min(min, hash(item ^ seed));
+                }
+                signatures.set(offset + i, min);
+            }
+        });
+
+        return new MinHashSignatures(bands, rows, seeds, signatures);
+    }
+
+    private MinHashSignatures(int bands, int rows, long[] seeds, HugeLongArray signatures) {
+        this.bands = bands;
+        this.rows = rows;
+        this.signatureLength = bands * rows;
+        this.seeds = seeds;
+        this.signatures = signatures;
+    }
+
+    /**
+     * Builds an index that finds all nodes that share at least one band bucket
+     * with a given node. The number of buckets per band equals the number of
+     * nodes, unrelated bands that hash into the same bucket only cause a few
+     * additional candidates.
+     */
+    InvertedNeighborIndex candidateIndex(BitSet nodeFilter, AllocationTracker tracker) {
+        long nodeCount = signatures.size() / signatureLength;
+        long bucketsPerBand = Math.max(1, nodeCount);
+        var buckets = HugeObjectArray.newArray(long[].class, nodeCount, tracker);
+        for (long node = nodeFilter.nextSetBit(0); node >= 0; node = nodeFilter.nextSetBit(node + 1)) {
+            var nodeBuckets = new long[bands];
+            long offset = node * signatureLength;
+            for (int band = 0; band < bands; band++) {
+                long bandHash = seeds[band];
+                for (int row = 0; row < rows; row++) {
+                    bandHash = hash(bandHash ^ signatures.get(offset + band * rows + row));
+                }
+                nodeBuckets[band] = band * bucketsPerBand + Math.floorMod(bandHash, bucketsPerBand);
+            }
+            buckets.set(node, nodeBuckets);
+        }
+        return InvertedNeighborIndex.build(buckets, bands * bucketsPerBand, nodeFilter, 0, tracker);
+    }
+
+    /**
+     * Estimates the Jaccard similarity as the fraction of agreeing signature values.
+     */
+    double estimateSimilarity(long node1, long node2) {
+        long offset1 = node1 * signatureLength;
+        long offset2 = node2 * signatureLength;
+        int agreeing = 0;
+        for (int i = 0; i < signatureLength; i++) {
+            if (signatures.get(offset1 + i) == signatures.get(offset2 + i)) {
+                agreeing++;
+            }
+        }
+        return (double) agreeing / signatureLength;
+    }
+
+    // finalizer of the 64-bit MurmurHash3
+    private static long hash(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
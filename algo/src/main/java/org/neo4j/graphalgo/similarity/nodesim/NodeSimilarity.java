@@ -24,25 +24,35 @@ import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.ResultPipeline;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.Intersections;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.SetBitsIterable;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+import org.neo4j.graphalgo.core.utils.queue.BoundedLongLongPriorityQueue;
 import org.neo4j.graphalgo.similarity.SimilarityGraphBuilder;
 import org.neo4j.graphalgo.similarity.SimilarityGraphResult;
 import org.neo4j.graphalgo.similarity.SimilarityResult;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResult> {
 
+    private static final int PARTITIONS_PER_THREAD = 4;
+    private static final long MIN_PARTITION_DEGREE = 1_000;
+
     private final Graph graph;
     private final NodeSimilarityBaseConfig config;
 
@@ -53,6 +63,8 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
 
     private HugeObjectArray<long[]> vectors;
     private HugeObjectArray<double[]> weights;
+    private InvertedNeighborIndex neighborIndex;
+    private MinHashSignatures minHashSignatures;
     private long nodesToCompare;
 
     private final boolean weighted;
@@ -181,6 +193,26 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
             progressLogger.logProgress(graph.degree(node));
             return null;
         });
+        if (config.useMinHash()) {
+            minHashSignatures = MinHashSignatures.compute(
+                vectors,
+                nodeFilter,
+                config.minHashBands(),
+                config.minHashRows(),
+                config.randomSeed(),
+                config.concurrency(),
+                tracker
+            );
+            neighborIndex = minHashSignatures.candidateIndex(nodeFilter, tracker);
+        } else if (config.useNeighborIndex()) {
+            neighborIndex = InvertedNeighborIndex.build(
+                vectors,
+                vectors.size(),
+                nodeFilter,
+                config.maxItemDegree(),
+                tracker
+            );
+        }
         progressLogger.logMessage("Finish :: NodeSimilarity#prepare");
     }
 
@@ -203,6 +235,13 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
     private Stream<SimilarityResult> computeAll() {
         progressLogger.logMessage("NodeSimilarity#computeAll");
 
+        if (config.useNeighborIndex()) {
+            var candidates = neighborIndex.newCandidates();
+            return loggableAndTerminatableNodeStream()
+                .boxed()
+                .flatMap(node1 -> candidateSimilarities(node1, candidates).stream());
+        }
+
         return loggableAndTerminatableNodeStream()
             .boxed()
             .flatMap(node1 -> {
@@ -218,23 +257,50 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
             });
     }
 
+    /**
+     * Streams all similarities without materializing them. The similarities are computed
+     * by the worker threads while the caller consumes the stream, and the computation is
+     * stopped as soon as the stream is closed.
+     */
     private Stream<SimilarityResult> computeAllParallel() {
         progressLogger.logMessage("NodeSimilarity#computeAllParallel");
 
-        return ParallelUtil.parallelStream(
-            loggableAndTerminatableNodeStream(), config.concurrency(), stream -> stream
-                .boxed()
-                .flatMap(node1 -> {
-                    long[] vector1 = vectors.get(node1);
-                    return nodeStream(node1 + 1)
-                        .mapToObj(node2 -> {
-                            double similarity = weighted
-                                ? weightedJaccard(vector1, vectors.get(node2), weights.get(node1), weights.get(node2))
-                                : jaccard(vector1, vectors.get(node2));
-                            return Double.isNaN(similarity) ? null : new SimilarityResult(node1, node2, similarity);
-                        })
-                        .filter(Objects::nonNull);
-                })
+        ResultPipeline.ProducerFactory producerFactory;
+        if (config.useNeighborIndex()) {
+            // every worker allocates its own candidates, which are released when the worker ends
+            producerFactory = () -> {
+                var candidates = neighborIndex.newCandidates();
+                return (node1, sink) -> {
+                    if (nodeFilter.get(node1)) {
+                        forEachCandidateSimilarity(node1, true, candidates, sink::accept);
+                    }
+                };
+            };
+        } else {
+            ResultPipeline.Producer producer = (node1, sink) -> {
+                if (!nodeFilter.get(node1)) {
+                    return;
+                }
+                long[] vector1 = vectors.get(node1);
+                for (long node2 = nodeFilter.nextSetBit(node1 + 1); node2 != -1; node2 = nodeFilter.nextSetBit(node2 + 1)) {
+                    double similarity = weighted
+                        ? weightedJaccard(vector1, vectors.get(node2), weights.get(node1), weights.get(node2))
+                        : jaccard(vector1, vectors.get(node2));
+                    if (!Double.isNaN(similarity) && !sink.accept(node1, node2, similarity)) {
+                        return;
+                    }
+                }
+            };
+            producerFactory = () -> producer;
+        }
+
+        return ResultPipeline.stream(
+            graph.nodeCount(),
+            producerFactory,
+            SimilarityResult::new,
+            config.concurrency(),
+            executorService,
+            terminationFlag
         );
     }
 
@@ -243,6 +309,16 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
 
         Comparator<SimilarityResult> comparator = config.normalizedK() > 0 ? SimilarityResult.DESCENDING : SimilarityResult.ASCENDING;
         TopKMap topKMap = new TopKMap(vectors.size(), nodeFilter, Math.abs(config.normalizedK()), comparator, tracker);
+        if (config.useNeighborIndex()) {
+            var candidates = neighborIndex.newCandidates();
+            loggableAndTerminatableNodeStream()
+                .forEach(node1 -> forEachCandidateSimilarity(node1, true, candidates, (n1, node2, similarity) -> {
+                    topKMap.put(n1, node2, similarity);
+                    topKMap.put(node2, n1, similarity);
+                }));
+            progressLogger.logMessage("Finish :: NodeSimilarity#computeTopKMap");
+            return topKMap;
+        }
         loggableAndTerminatableNodeStream()
             .forEach(node1 -> {
                 long[] vector1 = vectors.get(node1);
@@ -266,6 +342,27 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
 
         Comparator<SimilarityResult> comparator = config.normalizedK() > 0 ? SimilarityResult.DESCENDING : SimilarityResult.ASCENDING;
         TopKMap topKMap = new TopKMap(vectors.size(), nodeFilter, Math.abs(config.normalizedK()), comparator, tracker);
+        if (config.useNeighborIndex()) {
+            // As below, all pairs of a node are processed by the same thread.
+            // The work of a node grows with its degree, so the nodes are split into
+            // more degree-balanced partitions than there are threads, and every thread
+            // takes the next unprocessed partition until all of them are done.
+            // The candidates are allocated per task and released when the task is done.
+            List<Partition> partitions = degreePartitions();
+            AtomicInteger nextPartition = new AtomicInteger();
+            ParallelUtil.run(ParallelUtil.tasks(config.concurrency(), () -> () -> {
+                var candidates = neighborIndex.newCandidates();
+                for (int i = nextPartition.getAndIncrement(); i < partitions.size(); i = nextPartition.getAndIncrement()) {
+                    Partition partition = partitions.get(i);
+                    long end = partition.startNode() + partition.nodeCount();
+                    checkProgress(nodeStream(partition.startNode()))
+                        .takeWhile(node1 -> node1 < end)
+                        .forEach(node1 -> forEachCandidateSimilarity(node1, false, candidates, topKMap::put));
+                }
+            }), executorService);
+            progressLogger.logMessage("Finish :: NodeSimilarity#computeTopKMapParallel");
+            return topKMap;
+        }
         ParallelUtil.parallelStreamConsume(
             loggableAndTerminatableNodeStream(),
             config.concurrency(),
@@ -299,6 +396,13 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         progressLogger.logMessage("Start :: NodeSimilarity#computeTopN");
 
         TopNList topNList = new TopNList(config.normalizedN());
+        if (config.useNeighborIndex()) {
+            var candidates = neighborIndex.newCandidates();
+            loggableAndTerminatableNodeStream()
+                .forEach(node1 -> forEachCandidateSimilarity(node1, true, candidates, topNList::add));
+            progressLogger.logMessage("Finish :: NodeSimilarity#computeTopN");
+            return topNList.stream();
+        }
         loggableAndTerminatableNodeStream()
             .forEach(node1 -> {
                 long[] vector1 = vectors.get(node1);
@@ -327,6 +431,61 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         return topNList.stream();
     }
 
+    private List<SimilarityResult> candidateSimilarities(long node1, InvertedNeighborIndex.Candidates candidates) {
+        var results = new ArrayList<SimilarityResult>();
+        forEachCandidateSimilarity(
+            node1,
+            true,
+            candidates,
+            (n1, node2, similarity) -> results.add(new SimilarityResult(n1, node2, similarity))
+        );
+        return results;
+    }
+
+    /**
+     * Computes the similarities between the given node and all nodes that share at least one
+     * neighbor with it. Only nodes with a higher id are compared if {@code onlyHigherIds} is true.
+     */
+    private void forEachCandidateSimilarity(
+        long node1,
+        boolean onlyHigherIds,
+        InvertedNeighborIndex.Candidates candidates,
+        BoundedLongLongPriorityQueue.Consumer consumer
+    ) {
+        long[] vector1 = vectors.get(node1);
+        // pruned neighbors are missing from the counted intersections,
+        // and MinHash counts shared buckets instead of shared neighbors
+        boolean exactIntersections = config.maxItemDegree() == 0 && minHashSignatures == null;
+        boolean estimated = minHashSignatures != null && !config.minHashExact();
+        candidates.collect(node1, vector1, onlyHigherIds);
+        for (int i = 0; i < candidates.size(); i++) {
+            long node2 = candidates.node(i);
+            long[] vector2 = vectors.get(node2);
+            double similarity;
+            if (weighted) {
+                similarity = weightedJaccard(vector1, vector2, weights.get(node1), weights.get(node2));
+            } else if (estimated) {
+                double estimate = minHashSignatures.estimateSimilarity(node1, node2);
+                similarity = estimate >= config.similarityCutoff() ? estimate : Double.NaN;
+            } else {
+                long intersection = exactIntersections
+                    ? candidates.intersection(i)
+                    : Intersections.intersection3(vector1, vector2);
+                similarity = jaccard(vector1.length, vector2.length, intersection);
+            }
+            if (!Double.isNaN(similarity)) {
+                consumer.accept(node1, node2, similarity);
+            }
+        }
+        progressLogger.logProgress();
+    }
+
+    private double jaccard(int length1, int length2, long intersection) {
+        double union = length1 + length2 - intersection;
+        double similarity = union == 0 ? 0 : intersection / union;
+        return similarity >= config.similarityCutoff() ? similarity : Double.NaN;
+    }
+
     private double jaccard(long[] vector1, long[] vector2) {
         long intersection = Intersections.intersection3(vector1, vector2);
         double union = vector1.length + vector2.length - intersection;
@@ -379,6 +538,15 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         return similarity >= config.similarityCutoff() ? similarity : Double.NaN;
     }
 
+    private List<Partition> degreePartitions() {
+        long batchSize = ParallelUtil.adjustedBatchSize(
+            graph.relationshipCount(),
+            config.concurrency() * PARTITIONS_PER_THREAD,
+            MIN_PARTITION_DEGREE
+        );
+        return PartitionUtils.degreePartition(new SetBitsIterable(nodeFilter).primitiveLongIterator(), graph, batchSize);
+    }
+
     private LongStream nodeStream() {
         return nodeStream(0);
     }
@@ -400,6 +568,10 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
     }
 
     private long calculateWorkload() {
+        // with the neighbor index, progress is logged once per compared node
+        if (config.useNeighborIndex()) {
+            return nodesToCompare;
+        }
         long workload = nodesToCompare * nodesToCompare;
         if (config.concurrency() == 1) {
             workload = workload / 2;
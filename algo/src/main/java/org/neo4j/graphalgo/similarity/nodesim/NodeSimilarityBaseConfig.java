@@ -52,6 +52,62 @@ public interface NodeSimilarityBaseConfig extends AlgoBaseConfig, RelationshipWe
         return 1;
     }
 
+    /**
+     * Whether only node pairs with a common neighbor are compared. Pairs without
+     * a common neighbor have a similarity of 0, so this requires a similarity
+     * cutoff greater than 0.
+     */
+    @Value.Default
+    default boolean neighborIndex() {
+        return false;
+    }
+
+    /**
+     * Neighbors that are shared by more than this number of compared nodes are
+     * ignored when searching for similar node pairs. Such neighbors contribute
+     * little to the similarity, but cause a quadratic number of candidate pairs.
+     * Only applies if the neighbor index is used, a value of 0 disables the pruning.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 0)
+    default int maxItemDegree() {
+        return 0;
+    }
+
+    /**
+     * Number of MinHash bands. If greater than 0, only node pairs that share
+     * a band bucket are compared. More bands find more similar pairs.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 0)
+    default int minHashBands() {
+        return 0;
+    }
+
+    /**
+     * Number of MinHash values per band. More rows produce fewer dissimilar
+     * candidate pairs.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int minHashRows() {
+        return 4;
+    }
+
+    /**
+     * Whether the similarity of MinHash candidates is computed exactly,
+     * or estimated from their MinHash signatures.
+     */
+    @Value.Default
+    default boolean minHashExact() {
+        return true;
+    }
+
+    @Value.Default
+    default long randomSeed() {
+        return -1;
+    }
+
     @Value.Default
     @Configuration.Key(TOP_K_KEY)
     @Configuration.IntegerRange(min = 1)
@@ -114,6 +170,21 @@ public interface NodeSimilarityBaseConfig extends AlgoBaseConfig, RelationshipWe
         return normalizedN() != 0;
     }
 
+    @Configuration.Ignore
+    @Value.Derived
+    default boolean useMinHash() {
+        return minHashBands() > 0;
+    }
+
+    /**
+     * MinHash always compares only the pairs that share a band bucket.
+     */
+    @Configuration.Ignore
+    @Value.Derived
+    default boolean useNeighborIndex() {
+        return neighborIndex() || useMinHash();
+    }
+
     @Configuration.Ignore
     default boolean computeToStream() {
         return false;
@@ -141,5 +212,20 @@ public interface NodeSimilarityBaseConfig extends AlgoBaseConfig, RelationshipWe
                 BOTTOM_N_KEY
             ));
         }
+        if (neighborIndex() && similarityCutoff() == 0) {
+            throw new IllegalArgumentException(
+                "The neighbor index only compares nodes with a common neighbor, `similarityCutoff` must be greater than 0."
+            );
+        }
+        if (maxItemDegree() > 0 && !useNeighborIndex()) {
+            throw new IllegalArgumentException(
+                "`maxItemDegree` only applies to the neighbor index, `neighborIndex` must be true or MinHash must be used."
+            );
+        }
+        if (useMinHash() && !minHashExact() && relationshipWeightProperty() != null) {
+            throw new IllegalArgumentException(
+                "MinHash can only estimate unweighted similarities, `minHashExact` must be true for weighted similarities."
+            );
+        }
     }
 }
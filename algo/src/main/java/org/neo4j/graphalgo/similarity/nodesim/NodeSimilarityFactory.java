@@ -85,6 +85,11 @@ public class NodeSimilarityFactory<CONFIG extends NodeSimilarityBaseConfig> impl
                     .rangePerNode("array", nodeCount -> MemoryRange.of(0, nodeCount * averageVectorSize))
                     .build();
             }));
+        if (config.useMinHash()) {
+            builder.add("min hash", MinHashSignatures.memoryEstimation(config.minHashBands(), config.minHashRows()));
+        } else if (config.useNeighborIndex()) {
+            builder.add("neighbor index", InvertedNeighborIndex.memoryEstimation());
+        }
         if (config.computeToGraph() && !config.hasTopK()) {
             builder.add(
                 "similarity graph",
@@ -27,6 +27,7 @@ import org.neo4j.graphalgo.api.IntersectionConsumer;
 import org.neo4j.graphalgo.api.RelationshipIntersect;
 import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.huge.HubNeighborhoods;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
@@ -56,6 +57,7 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
     private Graph graph;
     private final TriangleCountBaseConfig config;
     private ExecutorService executorService;
+    private final AllocationTracker tracker;
     private final AtomicLong queue;
 
     // results
@@ -74,6 +76,7 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
         this.graph = graph;
         this.config = config;
         this.executorService = executorService;
+        this.tracker = tracker;
         triangleCounts = HugeAtomicLongArray.newArray(graph.nodeCount(), tracker);
         globalTriangleCounter = new LongAdder();
         queue = new AtomicLong();
@@ -106,10 +109,26 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
     public TriangleCountResult compute() {
         queue.set(0);
         globalTriangleCounter.reset();
+        // the neighbours of the largest hubs are shared by all tasks
+        var hubs = HubNeighborhoods.create(
+            graph,
+            config.maxHubBitmaps(),
+            config.maxDegree(),
+            config.concurrency(),
+            executorService,
+            tracker
+        );
         // create tasks
-        final Collection<? extends Runnable> tasks = ParallelUtil.tasks(config.concurrency(), () -> new IntersectTask(graph));
+        final Collection<? extends Runnable> tasks = ParallelUtil.tasks(
+            config.concurrency(),
+            () -> new IntersectTask(graph, hubs)
+        );
         // run
-        ParallelUtil.run(tasks, executorService);
+        try {
+            ParallelUtil.run(tasks, executorService);
+        } finally {
+            hubs.release(tracker);
+        }
 
         globalTriangleCount = globalTriangleCounter.longValue();
 
@@ -123,8 +142,8 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
 
         private final RelationshipIntersect intersect;
 
-        IntersectTask(Graph graph) {
-            intersect = graph.intersection(config.maxDegree());
+        IntersectTask(Graph graph, HubNeighborhoods hubs) {
+            intersect = hubs.intersection(graph, config.maxDegree());
         }
 
         @Override
@@ -39,6 +39,15 @@ public interface LocalClusteringCoefficientBaseConfig extends AlgoBaseConfig, Co
         return null;
     }
 
+    /**
+     * @see TriangleCountBaseConfig#maxHubBitmaps()
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 0)
+    default int maxHubBitmaps() {
+        return 0;
+    }
+
     @Override
     @Configuration.Ignore
     default String propertyNameOverride() {
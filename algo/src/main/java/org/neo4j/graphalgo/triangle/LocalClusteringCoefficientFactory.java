@@ -76,6 +76,7 @@ public class LocalClusteringCoefficientFactory<CONFIG extends LocalClusteringCoe
             .graphName(configuration.graphName())
             .implicitCreateConfig(configuration.implicitCreateConfig())
             .concurrency(configuration.concurrency())
+            .maxHubBitmaps(configuration.maxHubBitmaps())
             .build();
     }
 
@@ -38,6 +38,15 @@ public interface TriangleCountBaseConfig extends AlgoBaseConfig {
         return Long.MAX_VALUE;
     }
 
+    /**
+     * Number of highest degree nodes whose neighbours are kept in a bitmap during the computation.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 0)
+    default int maxHubBitmaps() {
+        return 0;
+    }
+
     @Value.Check
     default void validateMaxDegree() {
         if (maxDegree() < 2) {
@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.wcc;
 
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.cursors.LongIntCursor;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
@@ -35,6 +37,7 @@ import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.SplittableRandom;
 import java.util.concurrent.ExecutorService;
 
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -43,11 +46,24 @@ import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
  * Parallel Union-Find Algorithm based on the
  * "Wait-free Parallel Algorithms for the Union-Find Problem" paper.
  *
+ * <p>
+ * On undirected graphs without threshold and seeding, the computation follows the
+ * "Afforest: A Fast Concurrent Algorithm for Connected Components" paper. First, every
+ * node is linked with its first {@value NEIGHBOR_ROUNDS} neighbors. Afterwards, the
+ * largest intermediate component is identified by sampling. The remaining relationships
+ * are only processed for nodes outside of that component. Relationships between the
+ * largest component and another node are visited from the other side, since every
+ * relationship is stored in both directions.
+ *
  * @see HugeAtomicDisjointSetStruct
  * @see <a href="http://citeseerx.ist.psu.edu/viewdoc/download?doi=10.1.1.56.8354&rep=rep1&type=pdf">the paper</a>
+ * @see <a href="https://arxiv.org/abs/1908.05796">Afforest</a>
  */
 public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
+    static final int NEIGHBOR_ROUNDS = 2;
+    static final int SAMPLING_SIZE = 1024;
+
     private final WccBaseConfig config;
     private final NodeProperties initialComponents;
     private final ExecutorService executor;
@@ -112,6 +128,12 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
             ? new HugeAtomicDisjointSetStruct(nodeCount, initialComponents, tracker, config.concurrency())
             : new HugeAtomicDisjointSetStruct(nodeCount, tracker, config.concurrency());
 
+        if (useSampling()) {
+            computeSampled(dss);
+            progressLogger.logMessage(":: Finished");
+            return dss;
+        }
+
         final Collection<Runnable> tasks = new ArrayList<>(threadSize);
         for (long i = 0L; i < this.nodeCount; i += batchSize) {
             WCCTask wccTask = Double.isNaN(threshold()) || threshold() == 0
@@ -125,6 +147,50 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         return dss;
     }
 
+    private boolean useSampling() {
+        return graph.isUndirected()
+               && nodeCount > 0
+               && !config.isIncremental()
+               && (Double.isNaN(threshold()) || threshold() == 0);
+    }
+
+    private void computeSampled(DisjointSetStruct dss) {
+        final Collection<Runnable> linkTasks = new ArrayList<>(threadSize);
+        for (long i = 0L; i < this.nodeCount; i += batchSize) {
+            linkTasks.add(new SampledLinkTask(dss, i));
+        }
+        ParallelUtil.run(linkTasks, executor);
+
+        long largestComponent = sampleLargestComponent(dss);
+
+        final Collection<Runnable> tasks = new ArrayList<>(threadSize);
+        for (long i = 0L; i < this.nodeCount; i += batchSize) {
+            tasks.add(new SkipLargestComponentTask(dss, i, largestComponent));
+        }
+        ParallelUtil.run(tasks, executor);
+    }
+
+    /**
+     * Returns a node of the most frequent component among randomly sampled nodes.
+     */
+    private long sampleLargestComponent(DisjointSetStruct dss) {
+        var random = new SplittableRandom();
+        var componentSizes = new LongIntHashMap();
+        for (int i = 0; i < SAMPLING_SIZE; i++) {
+            componentSizes.addTo(dss.setIdOf(random.nextLong(nodeCount)), 1);
+        }
+
+        long largestComponent = -1L;
+        int largestSize = 0;
+        for (LongIntCursor cursor : componentSizes) {
+            if (cursor.value > largestSize) {
+                largestComponent = cursor.key;
+                largestSize = cursor.value;
+            }
+        }
+        return largestComponent;
+    }
+
     @Override
     public Wcc me() {
         return this;
@@ -147,8 +213,8 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
         final DisjointSetStruct struct;
         final RelationshipIterator rels;
-        private final long offset;
-        private final long end;
+        final long offset;
+        final long end;
 
         WCCTask(DisjointSetStruct struct, long offset) {
             this.struct = struct;
@@ -180,6 +246,73 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         }
     }
 
+    /**
+     * Links every node with its first {@link #NEIGHBOR_ROUNDS} neighbors.
+     */
+    private final class SampledLinkTask extends WCCTask {
+
+        private int neighborCount;
+
+        SampledLinkTask(DisjointSetStruct struct, long offset) {
+            super(struct, offset);
+        }
+
+        @Override
+        public void run() {
+            for (long node = offset; node < end; node++) {
+                compute(node);
+                if (node % RUN_CHECK_NODE_COUNT == 0) {
+                    assertRunning();
+                }
+            }
+        }
+
+        @Override
+        void compute(final long node) {
+            neighborCount = 0;
+            rels.forEachRelationship(node, this);
+        }
+
+        @Override
+        public boolean accept(final long sourceNodeId, final long targetNodeId) {
+            struct.union(sourceNodeId, targetNodeId);
+            return ++neighborCount < NEIGHBOR_ROUNDS;
+        }
+    }
+
+    /**
+     * Links every node outside of the largest component with its remaining neighbors.
+     */
+    private final class SkipLargestComponentTask extends WCCTask {
+
+        private final long largestComponent;
+        private int neighborCount;
+
+        SkipLargestComponentTask(DisjointSetStruct struct, long offset, long largestComponent) {
+            super(struct, offset);
+            this.largestComponent = largestComponent;
+        }
+
+        @Override
+        void compute(final long node) {
+            // the set id of the largest component can change, as it might get linked to a smaller id
+            if (struct.setIdOf(node) == struct.setIdOf(largestComponent)) {
+                return;
+            }
+            neighborCount = 0;
+            rels.forEachRelationship(node, this);
+        }
+
+        @Override
+        public boolean accept(final long sourceNodeId, final long targetNodeId) {
+            // the first neighbors have already been linked
+            if (neighborCount++ >= NEIGHBOR_ROUNDS) {
+                struct.union(sourceNodeId, targetNodeId);
+            }
+            return true;
+        }
+    }
+
     private class WCCWithThresholdTask extends WCCTask implements RelationshipWithPropertyConsumer {
 
         private final double threshold;
@@ -25,7 +25,7 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.beta.fastrp.ImmutableFastRPExtendedStreamConfig;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.Inject;
@@ -79,11 +79,11 @@ public class FastRPGdlTest {
         var scalarProperties = List.of("f1", "f2", "f3");
         var scalarEmbeddings = embeddings(scalarGraph, scalarProperties);
         for (int i = 0; i < arrayGraph.nodeCount(); i++) {
-            assertThat(arrayEmbeddings.get(i)).contains(scalarEmbeddings.get(i));
+            assertThat(arrayEmbeddings.copyRow(i)).contains(scalarEmbeddings.copyRow(i));
         }
     }
 
-    private HugeObjectArray<float[]> embeddings(Graph graph, List<String> properties) {
+    private HugeFloatMatrix embeddings(Graph graph, List<String> properties) {
         var arrayConfig = ImmutableFastRPExtendedStreamConfig.builder()
             .addAllFeatureProperties(properties)
             .embeddingDimension(64)
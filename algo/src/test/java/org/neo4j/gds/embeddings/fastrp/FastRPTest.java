@@ -37,7 +37,7 @@ import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.IdFunction;
@@ -101,14 +101,16 @@ class FastRPTest extends AlgoTestBase {
 
         fastRP.initPropertyVectors();
         fastRP.initRandomVectors();
-        HugeObjectArray<float[]> randomVectors = HugeObjectArray.newArray(float[].class, 2, AllocationTracker.empty());
-        fastRP.currentEmbedding(-1).copyTo(randomVectors, 2);
+        float[][] randomVectors = new float[2][];
+        for (int i = 0; i < 2; i++) {
+            randomVectors[i] = fastRP.currentEmbedding(-1).copyRow(i);
+        }
         fastRP.propagateEmbeddings();
-        HugeObjectArray<float[]> embeddings = fastRP.embeddings();
+        HugeFloatMatrix embeddings = fastRP.embeddings();
 
-        float[] expected = randomVectors.get(1);
+        float[] expected = randomVectors[1];
         l2Normalize(expected);
-        assertArrayEquals(expected, embeddings.get(0));
+        assertArrayEquals(expected, embeddings.copyRow(0));
     }
 
     @Test
@@ -132,17 +134,19 @@ class FastRPTest extends AlgoTestBase {
 
         fastRP.initPropertyVectors();
         fastRP.initRandomVectors();
-        HugeObjectArray<float[]> randomVectors = HugeObjectArray.newArray(float[].class, 3, AllocationTracker.empty());
-        fastRP.currentEmbedding(-1).copyTo(randomVectors, 3);
+        float[][] randomVectors = new float[3][];
+        for (int i = 0; i < 3; i++) {
+            randomVectors[i] = fastRP.currentEmbedding(-1).copyRow(i);
+        }
         fastRP.propagateEmbeddings();
-        HugeObjectArray<float[]> embeddings = fastRP.embeddings();
+        HugeFloatMatrix embeddings = fastRP.embeddings();
 
         float[] expected = new float[DEFAULT_EMBEDDING_DIMENSION];
         for (int i = 0; i < DEFAULT_EMBEDDING_DIMENSION; i++) {
-            expected[i] = (randomVectors.get(1)[i] + randomVectors.get(2)[i]) / 2.0f;
+            expected[i] = (randomVectors[1][i] + randomVectors[2][i]) / 2.0f;
         }
         l2Normalize(expected);
-        assertArrayEquals(expected, embeddings.get(0));
+        assertArrayEquals(expected, embeddings.copyRow(0));
     }
 
     @Test
@@ -174,18 +178,20 @@ class FastRPTest extends AlgoTestBase {
 
         fastRP.initPropertyVectors();
         fastRP.initRandomVectors();
-        HugeObjectArray<float[]> randomVectors = HugeObjectArray.newArray(float[].class, 3, AllocationTracker.empty());
-        fastRP.currentEmbedding(-1).copyTo(randomVectors, 3);
+        float[][] randomVectors = new float[3][];
+        for (int i = 0; i < 3; i++) {
+            randomVectors[i] = fastRP.currentEmbedding(-1).copyRow(i);
+        }
         fastRP.propagateEmbeddings();
-        HugeObjectArray<float[]> embeddings = fastRP.embeddings();
+        HugeFloatMatrix embeddings = fastRP.embeddings();
 
         float[] expected = new float[DEFAULT_EMBEDDING_DIMENSION];
         for (int i = 0; i < DEFAULT_EMBEDDING_DIMENSION; i++) {
-            expected[i] = (2.0f * randomVectors.get(1)[i] + 1.0f * randomVectors.get(2)[i]) / 2.0f;
+            expected[i] = (2.0f * randomVectors[1][i] + 1.0f * randomVectors[2][i]) / 2.0f;
         }
         l2Normalize(expected);
 
-        assertArrayEquals(expected, embeddings.get(0));
+        assertArrayEquals(expected, embeddings.copyRow(0));
     }
 
     @Test
@@ -215,9 +221,9 @@ class FastRPTest extends AlgoTestBase {
         double p = 1D / 6D;
         int maxNumPositive = (int) ((p + 5D * Math.sqrt((p * (1 - p)) / 512D)) * 512D); // 1:30.000.000 chance of failing :P
         int minNumPositive = (int) ((p - 5D * Math.sqrt((p * (1 - p)) / 512D)) * 512D);
-        HugeObjectArray<float[]> randomVectors = fastRP.currentEmbedding(-1);
+        HugeFloatMatrix randomVectors = fastRP.currentEmbedding(-1);
         for (int i = 0; i < graph.nodeCount(); i++) {
-            float[] embedding = randomVectors.get(i);
+            float[] embedding = randomVectors.copyRow(i);
             int numZeros = 0;
             int numPositive = 0;
             for (int j = 0; j < 512; j++) {
@@ -256,9 +262,9 @@ class FastRPTest extends AlgoTestBase {
             AllocationTracker.empty()
         );
 
-        HugeObjectArray<float[]> embeddings = fastRP.embeddings();
-        for (int i = 0; i < embeddings.size(); i++) {
-            float[] embedding = embeddings.get(i);
+        HugeFloatMatrix embeddings = fastRP.embeddings();
+        for (int i = 0; i < embeddings.rows(); i++) {
+            float[] embedding = embeddings.copyRow(i);
             for (double embeddingValue : embedding) {
                 assertEquals(0.0f, embeddingValue);
             }
@@ -277,7 +283,7 @@ class FastRPTest extends AlgoTestBase {
 
         var estimate = FastRP.memoryEstimation(config).estimate(dimensions, 1).memoryUsage();
         assertEquals(estimate.min, estimate.max);
-        assertEquals(159_816, estimate.min);
+        assertEquals(153_936, estimate.min);
     }
 
     @Test
@@ -292,7 +298,7 @@ class FastRPTest extends AlgoTestBase {
 
         var estimate = FastRP.memoryEstimation(config).estimate(dimensions, 1).memoryUsage();
         assertEquals(estimate.min, estimate.max);
-        assertEquals(159_816, estimate.min);
+        assertEquals(153_936, estimate.min);
     }
 
     @Test
@@ -24,6 +24,7 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.neo4j.gds.embeddings.graphsage.algo.ImmutableGraphSageTrainConfig;
 import org.neo4j.gds.embeddings.graphsage.algo.MultiLabelGraphSageTrain;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
@@ -106,6 +107,7 @@ class GraphSageEmbeddingsGeneratorTest {
             config.concurrency(),
             config.isWeighted(),
             model.data().featureFunction(),
+            Pools.DEFAULT,
             ProgressLogger.NULL_LOGGER,
             AllocationTracker.empty()
         );
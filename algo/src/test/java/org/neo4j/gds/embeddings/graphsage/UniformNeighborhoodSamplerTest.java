@@ -26,6 +26,7 @@ import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.Inject;
 
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -64,4 +65,35 @@ class UniformNeighborhoodSamplerTest {
         assertNotNull(sample);
         assertEquals(4, sample.size());
     }
+
+    @Test
+    void shouldSampleIntoReusableBuffer() {
+        UniformNeighborhoodSampler sampler = new UniformNeighborhoodSampler(42L);
+        NeighborSamples samples = new NeighborSamples();
+
+        // the samples of the sampler that re-seeded a java.util.Random for every relationship
+        sampler.sample(graph, 3L, 2, samples);
+        assertEquals(List.of(9L, 10L), samples.toList());
+
+        sampler.sample(graph, 0L, 1, samples);
+        assertEquals(List.of(6L), samples.toList());
+
+        sampler.sample(graph, 3L, 3, samples);
+        assertEquals(List.of(4L, 9L, 10L), samples.toList());
+
+        sampler.sample(graph, 3L, 1, samples);
+        assertEquals(List.of(10L), samples.toList());
+
+        sampler.sample(graph, 2L, 2, samples);
+        assertEquals(List.of(), samples.toList());
+    }
+
+    @Test
+    void shouldMatchJavaUtilRandom() {
+        var random = new Random();
+        for (long target = 0; target < 100; target++) {
+            random.setSeed(42L + 7L + 100L * target);
+            assertEquals(random.nextDouble(), UniformNeighborhoodSampler.randomDouble(42L, 7L, target, 100L));
+        }
+    }
 }
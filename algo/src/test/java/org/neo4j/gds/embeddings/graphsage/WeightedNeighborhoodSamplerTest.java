@@ -125,5 +125,24 @@ class WeightedNeighborhoodSamplerTest {
                     idFunction.of("e")
                 );
         }
+
+        @Test
+        void shouldPreferNeighborsWithLargerWeights() {
+            NeighborSamples samples = new NeighborSamples();
+            int heavy = 0;
+            int light = 0;
+            for (long seed = 0; seed < 1000; seed++) {
+                new WeightedNeighborhoodSampler(seed).sample(graph, idFunction.of("a"), 1, samples);
+                assertThat(samples.size()).isEqualTo(1);
+                if (samples.get(0) == idFunction.of("b")) {
+                    heavy++;
+                } else if (samples.get(0) == idFunction.of("h")) {
+                    light++;
+                }
+            }
+
+            // b has a weight of 62 and h a weight of 5
+            assertThat(heavy).isGreaterThan(5 * light);
+        }
     }
 }
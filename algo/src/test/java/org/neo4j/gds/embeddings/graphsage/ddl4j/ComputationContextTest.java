@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.ddl4j;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.ElementSum;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.MatrixSum;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Relu;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Weights;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.TensorArena;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ComputationContextTest {
+
+    @Test
+    void reusesBuffersAfterReset() {
+        var weights = new Weights<>(new Matrix(new double[]{1, 2, 3, 4}, 2, 2));
+        var sum = new MatrixSum(List.of(weights, weights));
+        var relu = new Relu<>(sum);
+        var loss = new ElementSum(List.of(relu));
+
+        var ctx = new ComputationContext(1, Pools.DEFAULT, new TensorArena());
+
+        assertEquals(20D, ctx.forward(loss).value());
+        ctx.backward(loss);
+        var reluData = ctx.data(relu).data();
+        var weightsGradient = ctx.gradient(weights).data();
+        assertArrayEquals(new double[]{2, 2, 2, 2}, weightsGradient);
+
+        ctx.reset();
+        assertNull(ctx.data(relu));
+        assertNull(ctx.gradient(weights));
+
+        assertEquals(20D, ctx.forward(loss).value());
+        ctx.backward(loss);
+        assertArrayEquals(new double[]{2, 2, 2, 2}, ctx.gradient(weights).data());
+
+        // the second evaluation is served from the buffers of the first one
+        assertSame(reluData, ctx.data(relu).data());
+        assertSame(weightsGradient, ctx.gradient(weights).data());
+        // the weights themselves are never owned by the context
+        assertArrayEquals(new double[]{1, 2, 3, 4}, ctx.data(weights).data());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.ddl4j.tensor;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class MatrixKernelsTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1, 1, 1",
+        "3, 5, 7, 1",
+        "17, 130, 300, 1",
+        "300, 200, 260, 1",
+        "300, 200, 260, 4"
+    })
+    void multiply(int m, int k, int n, int concurrency) {
+        var random = new Random(42);
+        double[] a = randomData(random, m * k);
+        double[] b = randomData(random, k * n);
+
+        double[] expected = new double[m * n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                double sum = 0;
+                for (int p = 0; p < k; p++) {
+                    sum += a[i * k + p] * b[p * n + j];
+                }
+                expected[i * n + j] = sum;
+            }
+        }
+
+        double[] actual = new double[m * n];
+        MatrixKernels.multiply(a, b, actual, m, k, n, concurrency, Pools.DEFAULT);
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1, 1, 1",
+        "3, 5, 7, 1",
+        "17, 300, 130, 1",
+        "300, 200, 260, 1",
+        "300, 200, 260, 4"
+    })
+    void multiplyTransB(int m, int k, int n, int concurrency) {
+        var random = new Random(42);
+        double[] a = randomData(random, m * k);
+        double[] b = randomData(random, n * k);
+
+        double[] expected = new double[m * n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                double sum = 0;
+                for (int p = 0; p < k; p++) {
+                    sum += a[i * k + p] * b[j * k + p];
+                }
+                expected[i * n + j] = sum;
+            }
+        }
+
+        double[] actual = new double[m * n];
+        MatrixKernels.multiplyTransB(a, b, actual, m, k, n, concurrency, Pools.DEFAULT);
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1, 1, 1",
+        "3, 5, 7, 1",
+        "17, 300, 130, 1",
+        "300, 200, 260, 1",
+        "300, 200, 260, 4"
+    })
+    void multiplyTransA(int m, int k, int n, int concurrency) {
+        var random = new Random(42);
+        double[] a = randomData(random, k * m);
+        double[] b = randomData(random, k * n);
+
+        double[] expected = new double[m * n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                double sum = 0;
+                for (int p = 0; p < k; p++) {
+                    sum += a[p * m + i] * b[p * n + j];
+                }
+                expected[i * n + j] = sum;
+            }
+        }
+
+        double[] actual = new double[m * n];
+        MatrixKernels.multiplyTransA(a, b, actual, m, k, n, concurrency, Pools.DEFAULT);
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 1", "4, 3", "2, 5"})
+    void multiplyVector(int rows, int cols) {
+        var random = new Random(42);
+        int matrixRows = rows + 2;
+        double[] matrix = randomData(random, matrixRows * cols);
+        double[] vector = randomData(random, cols);
+
+        double[] expected = new double[rows + 1];
+        for (int row = 0; row < rows; row++) {
+            double sum = 0;
+            for (int col = 0; col < cols; col++) {
+                sum += matrix[row * cols + col] * vector[col];
+            }
+            expected[row + 1] = sum;
+        }
+
+        double[] actual = new double[rows + 1];
+        MatrixKernels.multiplyVector(matrix, vector, actual, 1, rows, cols);
+
+        assertArrayEquals(expected, actual);
+    }
+
+    private static double[] randomData(Random random, int length) {
+        double[] data = new double[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = random.nextDouble() * 2 - 1;
+        }
+        return data;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.ddl4j.tensor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TensorArenaTest {
+
+    @Test
+    void reusesBuffersAfterReset() {
+        var arena = new TensorArena();
+        var matrix = arena.matrix(2, 3);
+        matrix.mapInPlace(value -> 42);
+
+        arena.reset();
+
+        var reused = arena.matrix(3, 2);
+        assertSame(matrix.data(), reused.data());
+        assertArrayEquals(new double[6], reused.data());
+        assertArrayEquals(new int[]{3, 2}, reused.dimensions());
+    }
+
+    @Test
+    void doesNotHandOutBuffersTwiceBeforeReset() {
+        var arena = new TensorArena();
+        var first = arena.vector(4);
+        arena.reset();
+
+        var second = arena.vector(4);
+        var third = arena.vector(4);
+        var other = arena.vector(5);
+
+        assertSame(first.data(), second.data());
+        assertNotSame(second.data(), third.data());
+        assertEquals(5, other.data().length);
+    }
+
+    @Test
+    void dropsBuffersThatAreNotReusedUntilTheNextReset() {
+        var arena = new TensorArena();
+        var first = arena.vector(4);
+        arena.reset();
+
+        var other = arena.vector(5);
+        arena.reset();
+
+        assertNotSame(first.data(), arena.vector(4).data());
+        assertSame(other.data(), arena.vector(5).data());
+    }
+
+    @Test
+    void zerosLikeKeepsTheTensorType() {
+        var arena = new TensorArena();
+
+        Matrix matrix = arena.zerosLike(new Matrix(new double[]{1, 2, 3, 4, 5, 6}, 3, 2));
+        assertArrayEquals(new int[]{3, 2}, matrix.dimensions());
+        assertArrayEquals(new double[6], matrix.data());
+
+        Vector vector = arena.zerosLike(new Vector(new double[]{1}));
+        assertArrayEquals(new int[]{1}, vector.dimensions());
+
+        Scalar scalar = arena.zerosLike(new Scalar(42));
+        assertEquals(0D, scalar.value());
+    }
+
+    @Test
+    void zerosFollowsTensorFactory() {
+        var arena = new TensorArena();
+
+        assertTrue(arena.zeros(new int[]{1}) instanceof Scalar);
+        assertTrue(arena.zeros(new int[]{3}) instanceof Vector);
+        assertTrue(arena.zeros(new int[]{1, 3}) instanceof Matrix);
+    }
+
+    @Test
+    void copiesIntoArenaBuffers() {
+        var arena = new TensorArena();
+        var vector = new Vector(new double[]{1, 2, 3});
+
+        var copy = arena.copyOf(vector);
+        assertNotSame(vector.data(), copy.data());
+        assertArrayEquals(vector.data(), copy.data());
+    }
+}
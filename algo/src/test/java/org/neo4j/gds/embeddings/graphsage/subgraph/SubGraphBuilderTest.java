@@ -32,6 +32,7 @@ import org.neo4j.graphalgo.extension.Inject;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
@@ -201,4 +202,22 @@ class SubGraphBuilderTest {
 
         assertEquals(6, subGraph.adjacency.length);
     }
+
+    @Test
+    void shouldReuseBuffersAcrossBatches() {
+        var builder = new SubGraphBuilder(graph);
+        long[][] batches = {{0L, 1L, 2L}, {4L}, {0L, 1L, 2L}};
+
+        for (long[] batch : batches) {
+            SubGraph reused = builder.buildSubGraph(batch, neighborhoodFunction, Optional.empty());
+            SubGraph fresh = SubGraph.buildSubGraph(batch, neighborhoodFunction, graph);
+
+            assertEquals(fresh.adjacency.length, reused.adjacency.length);
+            for (int i = 0; i < fresh.adjacency.length; i++) {
+                assertArrayEquals(fresh.adjacency[i], reused.adjacency[i]);
+            }
+            assertArrayEquals(fresh.selfAdjacency, reused.selfAdjacency);
+            assertArrayEquals(fresh.nextNodes, reused.nextNodes);
+        }
+    }
 }
@@ -36,6 +36,7 @@ import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.IdFunction;
@@ -123,6 +124,19 @@ class ModularityOptimizationTest {
         assertTrue(pmo.getIterations() <= 3);
     }
 
+    @Test
+    void testFastLocalMoving() {
+        ModularityOptimization pmo = compute(graph, 3, null, 3, 2, true, ProgressLogger.NULL_LOGGER);
+
+        assertEquals(0.4985, pmo.getModularity(), 0.001);
+        assertCommunities(
+            getCommunityIds(graph.nodeCount(), pmo),
+            ids(idFunction, "a", "e", "f"),
+            ids(idFunction, "b", "c", "d")
+        );
+        assertTrue(pmo.getIterations() <= 3);
+    }
+
     @Test
     void testSeedingWithBiggerSeedValues() {
         var graph = unweightedGraph();
@@ -213,6 +227,19 @@ class ModularityOptimizationTest {
         assertEquals(max, memoryTree.memoryUsage().max);
     }
 
+    @Test
+    void testMemoryEstimationWithFastLocalMoving() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder().nodeCount(100_000L).build();
+
+        MemoryTree memoryTree = ModularityOptimizationFactory.memoryEstimation(false).estimate(dimensions, 4);
+        MemoryTree fastLocalMovingMemoryTree = ModularityOptimizationFactory.memoryEstimation(true).estimate(dimensions, 4);
+
+        // two bit sets for the active nodes
+        long expectedDifference = 2 * HugeAtomicBitSet.memoryEstimation(100_000L);
+        assertEquals(memoryTree.memoryUsage().min + expectedDifference, fastLocalMovingMemoryTree.memoryUsage().min);
+        assertEquals(memoryTree.memoryUsage().max + expectedDifference, fastLocalMovingMemoryTree.memoryUsage().max);
+    }
+
     static Stream<Arguments> memoryEstimationTuples() {
         return Stream.of(
             arguments(1, 5614048, 8413080),
@@ -229,6 +256,19 @@ class ModularityOptimizationTest {
         int concurrency,
         int minBatchSize,
         ProgressLogger testLogger
+    ) {
+        return compute(graph, maxIterations, properties, concurrency, minBatchSize, false, testLogger);
+    }
+
+    @NotNull
+    private ModularityOptimization compute(
+        Graph graph,
+        int maxIterations,
+        NodeProperties properties,
+        int concurrency,
+        int minBatchSize,
+        boolean fastLocalMoving,
+        ProgressLogger testLogger
     ) {
         return new ModularityOptimization(
             graph,
@@ -237,6 +277,7 @@ class ModularityOptimizationTest {
             properties,
             concurrency,
             minBatchSize,
+            fastLocalMoving,
             Pools.DEFAULT,
             testLogger,
             AllocationTracker.empty()
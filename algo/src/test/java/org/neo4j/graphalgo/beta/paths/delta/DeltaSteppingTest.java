@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.delta;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.paths.ImmutablePathResult;
+import org.neo4j.graphalgo.beta.paths.PathResult;
+import org.neo4j.graphalgo.beta.paths.delta.config.ImmutableAllShortestPathsDeltaStreamConfig;
+import org.neo4j.graphalgo.beta.paths.dijkstra.Dijkstra;
+import org.neo4j.graphalgo.beta.paths.dijkstra.config.ImmutableAllShortestPathsDijkstraStreamConfig;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.beta.paths.PathTestUtil.expected;
+
+@GdlExtension
+final class DeltaSteppingTest {
+
+    // https://en.wikipedia.org/wiki/Shortest_path_problem#/media/File:Shortest_path_with_direct_weights.svg
+    @GdlGraph
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:A)" +
+        ", (b:B)" +
+        ", (c:C)" +
+        ", (d:D)" +
+        ", (e:E)" +
+        ", (f:F)" +
+
+        ", (a)-[:TYPE {cost: 4}]->(b)" +
+        ", (a)-[:TYPE {cost: 2}]->(c)" +
+        ", (b)-[:TYPE {cost: 5}]->(c)" +
+        ", (b)-[:TYPE {cost: 10}]->(d)" +
+        ", (c)-[:TYPE {cost: 3}]->(e)" +
+        ", (d)-[:TYPE {cost: 11}]->(f)" +
+        ", (e)-[:TYPE {cost: 4}]->(d)";
+
+    @Inject
+    private Graph graph;
+
+    @Inject
+    private IdFunction idFunction;
+
+    @ParameterizedTest
+    @CsvSource({"1, 0.5", "1, 2.0", "1, 100.0", "4, 0.5", "4, 2.0", "4, 100.0"})
+    void singleSource(int concurrency, double delta) {
+        var expected = Set.of(
+            expected(idFunction, 0, new double[]{0.0}, "a"),
+            expected(idFunction, 1, new double[]{0.0, 2.0}, "a", "c"),
+            expected(idFunction, 2, new double[]{0.0, 4.0}, "a", "b"),
+            expected(idFunction, 3, new double[]{0.0, 2.0, 5.0}, "a", "c", "e"),
+            expected(idFunction, 4, new double[]{0.0, 2.0, 5.0, 9.0}, "a", "c", "e", "d"),
+            expected(idFunction, 5, new double[]{0.0, 2.0, 5.0, 9.0, 20.0}, "a", "c", "e", "d", "f")
+        );
+
+        var config = ImmutableAllShortestPathsDeltaStreamConfig.builder()
+            .concurrency(concurrency)
+            .sourceNode(idFunction.of("a"))
+            .delta(delta)
+            .build();
+
+        var paths = DeltaStepping
+            .singleSource(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths();
+
+        assertEquals(withoutIndex(expected.stream()), withoutIndex(paths));
+    }
+
+    @Test
+    void singleSourceWithRelationshipIds() {
+        var expected = ImmutablePathResult
+            .builder()
+            .from(expected(idFunction, 0, new double[]{0.0, 2.0, 5.0, 9.0, 20.0}, "a", "c", "e", "d", "f"))
+            .relationshipIds(1, 0, 0, 0)
+            .build();
+
+        var config = ImmutableAllShortestPathsDeltaStreamConfig.builder()
+            .concurrency(4)
+            .sourceNode(idFunction.of("a"))
+            .trackRelationships(true)
+            .build();
+
+        var path = DeltaStepping
+            .singleSource(graph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .filter(p -> p.targetNode() == idFunction.of("f"))
+            .findFirst()
+            .get();
+
+        assertEquals(withoutIndex(Stream.of(expected)), withoutIndex(Stream.of(path)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1", "2", "4"})
+    void multiSourceMatchesDijkstra(int concurrency) {
+        var sourceNodes = Stream.of("a", "b", "c", "d", "e", "f").mapToLong(idFunction::of).toArray();
+
+        var config = ImmutableAllShortestPathsDeltaStreamConfig.builder()
+            .concurrency(concurrency)
+            .sourceNode(sourceNodes[0])
+            .delta(3.0)
+            .build();
+
+        var paths = DeltaStepping
+            .multiSource(graph, config, sourceNodes, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .collect(Collectors.toList());
+
+        var expected = Arrays.stream(sourceNodes).boxed().flatMap(sourceNode -> {
+            var dijkstraConfig = ImmutableAllShortestPathsDijkstraStreamConfig.builder()
+                .concurrency(1)
+                .sourceNode(sourceNode)
+                .build();
+            return Dijkstra
+                .singleSource(graph, dijkstraConfig, Optional.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute()
+                .paths();
+        });
+
+        assertEquals(withoutIndex(expected), withoutIndex(paths.stream()));
+        assertEquals(
+            Set.copyOf(paths.stream().map(PathResult::index).collect(Collectors.toList())).size(),
+            paths.size(),
+            "path indices must be unique across sources"
+        );
+    }
+
+    @Test
+    void shouldFailOnNonPositiveDelta() {
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> ImmutableAllShortestPathsDeltaStreamConfig.builder().sourceNode(0).delta(0.0).build()
+        );
+        assertTrue(exception.getMessage().contains("Delta"));
+    }
+
+    private static Set<PathResult> withoutIndex(Stream<PathResult> paths) {
+        return paths
+            .map(path -> ImmutablePathResult.builder().from(path).index(0).build())
+            .collect(Collectors.toSet());
+    }
+}
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.louvain;
 
+import com.carrotsearch.hppc.BitSet;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -26,6 +27,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.TestProgressLogger;
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
 import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
@@ -43,6 +45,8 @@ import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.IdFunction;
 import org.neo4j.graphalgo.extension.Inject;
 
+import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -57,6 +61,7 @@ import static org.neo4j.graphalgo.TestSupport.assertMemoryEstimation;
 import static org.neo4j.graphalgo.TestSupport.ids;
 import static org.neo4j.graphalgo.core.ProcedureConstants.TOLERANCE_DEFAULT;
 import static org.neo4j.graphalgo.graphbuilder.TransactionTerminationTestUtils.assertTerminates;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 @GdlExtension
 class LouvainTest {
@@ -331,6 +336,119 @@ class LouvainTest {
         );
     }
 
+    @Test
+    void testFastLocalMoving() {
+        var graph = graphStore.getGraph(
+            NodeLabel.listOf("Node"),
+            RelationshipType.listOf("TYPE_OUT", "TYPE_IN"),
+            Optional.empty()
+        );
+
+        Louvain defaultAlgorithm = new Louvain(
+            graph,
+            defaultConfigBuilder().build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).compute();
+
+        Louvain fastAlgorithm = new Louvain(
+            graph,
+            defaultConfigBuilder().fastLocalMoving(true).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).compute();
+
+        double[] defaultModularities = defaultAlgorithm.modularities();
+        double[] fastModularities = fastAlgorithm.modularities();
+        assertEquals(
+            defaultModularities[defaultModularities.length - 1],
+            fastModularities[fastModularities.length - 1],
+            0.05
+        );
+    }
+
+    @Test
+    void testRefineCommunities() {
+        var graph = graphStore.getGraph(
+            NodeLabel.listOf("Node"),
+            RelationshipType.listOf("TYPE_OUT", "TYPE_IN"),
+            Optional.empty()
+        );
+
+        Louvain algorithm = new Louvain(
+            graph,
+            defaultConfigBuilder().refineCommunities(true).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).compute();
+
+        assertConnectedCommunities(graph, algorithm.finalDendrogram());
+
+        double[] modularities = algorithm.modularities();
+        assertTrue(modularities[modularities.length - 1] > 0.3);
+    }
+
+    @Test
+    void testMemoryEstimationWithRefinement() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000L)
+            .maxRelCount(500_000L)
+            .build();
+
+        var configBuilder = ImmutableLouvainStreamConfig.builder()
+            .maxLevels(10)
+            .maxIterations(10)
+            .tolerance(TOLERANCE_DEFAULT)
+            .includeIntermediateCommunities(false)
+            .concurrency(1);
+
+        MemoryTree memoryTree = new LouvainFactory<>()
+            .memoryEstimation(configBuilder.build())
+            .estimate(dimensions, 4);
+        MemoryTree refinedMemoryTree = new LouvainFactory<>()
+            .memoryEstimation(configBuilder.fastLocalMoving(true).refineCommunities(true).build())
+            .estimate(dimensions, 4);
+
+        assertTrue(refinedMemoryTree.memoryUsage().min > memoryTree.memoryUsage().min);
+        assertTrue(refinedMemoryTree.memoryUsage().max > memoryTree.memoryUsage().max);
+    }
+
+    private static void assertConnectedCommunities(Graph graph, HugeLongArray communities) {
+        long nodeCount = graph.nodeCount();
+        var visited = new BitSet(nodeCount);
+        var componentsPerCommunity = new HashMap<Long, Integer>();
+        var queue = new ArrayDeque<Long>();
+
+        for (long startNode = 0; startNode < nodeCount; startNode++) {
+            if (visited.get(startNode)) {
+                continue;
+            }
+            long community = communities.get(startNode);
+            componentsPerCommunity.merge(community, 1, Integer::sum);
+
+            visited.set(startNode);
+            queue.add(startNode);
+            while (!queue.isEmpty()) {
+                graph.forEachRelationship(queue.poll(), (source, target) -> {
+                    if (!visited.get(target) && communities.get(target) == community) {
+                        visited.set(target);
+                        queue.add(target);
+                    }
+                    return true;
+                });
+            }
+        }
+
+        componentsPerCommunity.forEach((community, components) -> assertEquals(
+            1,
+            components,
+            formatWithLocale("Community %d is not connected", community)
+        ));
+    }
+
     @ParameterizedTest
     @MethodSource("memoryEstimationTuples")
     void testMemoryEstimation(int concurrency, int levels, long expectedMinBytes, long expectedMaxBytes) {
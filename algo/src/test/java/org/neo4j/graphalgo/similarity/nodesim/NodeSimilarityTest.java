@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.similarity.nodesim;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -56,6 +57,7 @@ import java.util.stream.Stream;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -648,7 +650,7 @@ final class NodeSimilarityTest {
 
         MemoryTree actual = new NodeSimilarityFactory<>().memoryEstimation(config).estimate(dimensions, 1);
 
-        long thisInstance = 64;
+        long thisInstance = 72;
 
         long nodeFilterRangeMin = 125_016L;
         long nodeFilterRangeMax = 125_016L;
@@ -703,7 +705,7 @@ final class NodeSimilarityTest {
 
         MemoryTree actual = new NodeSimilarityFactory<>().memoryEstimation(config).estimate(dimensions, 1);
 
-        long thisInstance = 64;
+        long thisInstance = 72;
 
         long nodeFilterRangeMin = 125_016L;
         long nodeFilterRangeMax = 125_016L;
@@ -802,5 +804,125 @@ final class NodeSimilarityTest {
         assertEquals(graph.relationshipCount(), progresses.get(0).get());
         assertEquals(concurrency == 1 ? comparisons / 2 : comparisons, progresses.get(1).get());
     }
+
+    @ParameterizedTest(name = "orientation: {0}, concurrency: {1}")
+    @MethodSource("supportedLoadAndComputeDirections")
+    void shouldOnlyCompareNodesWithCommonNeighbors(Orientation orientation, int concurrency) {
+        Graph graph = orientation == NATURAL ? naturalGraph : reverseGraph;
+
+        Stream.of(
+            configBuilder().concurrency(concurrency),
+            configBuilder().concurrency(concurrency).topK(1),
+            configBuilder().concurrency(concurrency).topK(1).topN(2),
+            configBuilder().concurrency(concurrency).relationshipWeightProperty("prop")
+        ).forEach(builder -> {
+            var allPairs = builder.similarityCutoff(0.0).build();
+            var withNeighborIndex = builder.similarityCutoff(1E-42).neighborIndex(true).build();
+            assertTrue(withNeighborIndex.useNeighborIndex());
+
+            Set<String> expected = computeToStream(graph, allPairs)
+                .filter(result -> result.similarity > 0)
+                .map(NodeSimilarityTest::resultString)
+                .collect(Collectors.toSet());
+            Set<String> actual = computeToStream(graph, withNeighborIndex)
+                .map(NodeSimilarityTest::resultString)
+                .collect(Collectors.toSet());
+
+            assertEquals(expected, actual);
+        });
+    }
+
+    @ParameterizedTest(name = "concurrency = {0}")
+    @ValueSource(ints = {1, 4})
+    void shouldIgnoreItemsAboveMaxItemDegree(int concurrency) {
+        // every item is liked by 3 persons
+        var unpruned = configBuilder().concurrency(concurrency).similarityCutoff(0.1).neighborIndex(true).maxItemDegree(3).build();
+        assertEquals(
+            EXPECTED_OUTGOING_SIMILARITY_CUTOFF,
+            computeToStream(naturalGraph, unpruned).map(NodeSimilarityTest::resultString).collect(Collectors.toSet())
+        );
+
+        var pruned = configBuilder().concurrency(concurrency).similarityCutoff(0.1).neighborIndex(true).maxItemDegree(2).build();
+        assertEquals(0, computeToStream(naturalGraph, pruned).count());
+    }
+
+    @ParameterizedTest(name = "concurrency = {0}")
+    @ValueSource(ints = {1, 4})
+    void shouldFindSimilarPairsWithMinHash(int concurrency) {
+        // with single row bands, pairs with a similarity of 1/3 collide in a band with
+        // a probability of 1/3, so with 64 bands they are found almost certainly
+        var config = configBuilder()
+            .concurrency(concurrency)
+            .similarityCutoff(0.1)
+            .minHashBands(64)
+            .minHashRows(1)
+            .randomSeed(42L)
+            .build();
+
+        assertEquals(
+            EXPECTED_OUTGOING_SIMILARITY_CUTOFF,
+            computeToStream(naturalGraph, config).map(NodeSimilarityTest::resultString).collect(Collectors.toSet())
+        );
+    }
+
+    @ParameterizedTest(name = "concurrency = {0}")
+    @ValueSource(ints = {1, 4})
+    void shouldEstimateSimilaritiesWithMinHash(int concurrency) {
+        var config = configBuilder()
+            .concurrency(concurrency)
+            .minHashBands(16)
+            .minHashRows(2)
+            .minHashExact(false)
+            .randomSeed(42L)
+            .build();
+
+        var results = computeToStream(naturalGraph, config).collect(Collectors.toList());
+
+        // a and d have the same neighbors and therefore the same signature
+        assertTrue(results.stream().anyMatch(result -> result.node1 == 0 && result.node2 == 3 && result.similarity == 1.0));
+        assertTrue(results.stream().allMatch(result -> result.similarity >= 0 && result.similarity <= 1));
+    }
+
+    @Test
+    void shouldNotEstimateWeightedSimilarities() {
+        IllegalArgumentException ex = Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> configBuilder().relationshipWeightProperty("prop").minHashBands(4).minHashExact(false).build()
+        );
+        assertThat(ex.getMessage(), containsString("minHashExact"));
+    }
+
+    @Test
+    void shouldOnlyUseNeighborIndexWhenRequested() {
+        // the default similarity cutoff is greater than 0, but does not enable the neighbor index
+        var defaultCutoff = ImmutableNodeSimilarityWriteConfig
+            .builder()
+            .writeProperty("writeProperty")
+            .writeRelationshipType("writeRelationshipType")
+            .build();
+        assertFalse(defaultCutoff.useNeighborIndex());
+        assertTrue(configBuilder().similarityCutoff(0.1).neighborIndex(true).build().useNeighborIndex());
+        assertTrue(configBuilder().minHashBands(4).build().useNeighborIndex());
+    }
+
+    @Test
+    void shouldNotUseNeighborIndexWithoutSimilarityCutoff() {
+        IllegalArgumentException ex = Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> configBuilder().similarityCutoff(0.0).neighborIndex(true).build()
+        );
+        assertThat(ex.getMessage(), containsString("similarityCutoff"));
+    }
+
+    private static Stream<SimilarityResult> computeToStream(Graph graph, NodeSimilarityBaseConfig config) {
+        var nodeSimilarity = new NodeSimilarity(
+            graph,
+            config,
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        );
+        return nodeSimilarity.computeToStream().collect(Collectors.toList()).stream();
+    }
 }
 
@@ -26,6 +26,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.HubNeighborhoods;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.triangle.IntersectingTriangleCount.TriangleCountResult;
 
@@ -514,6 +515,58 @@ class IntersectingTriangleCountTest {
         assertEquals(1, result.globalTriangles());
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2})
+    void hubWithManyNeighbours(int maxHubBitmaps) {
+        // a hub connected to a path of leaves, every edge of the path closes a triangle with the hub
+        int leafCount = 2 * HubNeighborhoods.MIN_HUB_DEGREE;
+        StringBuilder gdl = new StringBuilder("CREATE (hub)");
+        for (int i = 0; i < leafCount; ++i) {
+            gdl.append(formatWithLocale(", (hub)-[:T]->(l%d)", i));
+            if (i > 0) {
+                gdl.append(formatWithLocale(", (l%d)-[:T]->(l%d)", i - 1, i));
+            }
+        }
+
+        TriangleCountBaseConfig config = ImmutableTriangleCountBaseConfig
+            .builder()
+            .maxHubBitmaps(maxHubBitmaps)
+            .build();
+
+        TriangleCountResult result = compute(fromGdl(gdl.toString(), UNDIRECTED), config);
+
+        assertEquals(leafCount - 1, result.globalTriangles());
+        assertEquals(leafCount - 1, result.localTriangles().get(0));
+        assertEquals(1, result.localTriangles().get(1));
+        assertEquals(1, result.localTriangles().get(leafCount));
+        for (int i = 2; i < leafCount; ++i) {
+            assertEquals(2, result.localTriangles().get(i));
+        }
+    }
+
+    @Test
+    void releaseHubBitmapsAfterCompute() {
+        int leafCount = 2 * HubNeighborhoods.MIN_HUB_DEGREE;
+        StringBuilder gdl = new StringBuilder("CREATE (hub)");
+        for (int i = 0; i < leafCount; ++i) {
+            gdl.append(formatWithLocale(", (hub)-[:T]->(l%d)", i));
+        }
+        Graph graph = fromGdl(gdl.toString(), UNDIRECTED);
+
+        long[] trackedBytes = new long[2];
+        for (int maxHubBitmaps = 0; maxHubBitmaps < 2; maxHubBitmaps++) {
+            TriangleCountBaseConfig config = ImmutableTriangleCountBaseConfig
+                .builder()
+                .maxHubBitmaps(maxHubBitmaps)
+                .build();
+            AllocationTracker tracker = AllocationTracker.create();
+            new IntersectingTriangleCount(graph, config, Pools.DEFAULT, tracker).compute();
+            trackedBytes[maxHubBitmaps] = tracker.trackedBytes();
+        }
+
+        assertEquals(trackedBytes[0], trackedBytes[1]);
+    }
+
     private TriangleCountResult compute(Graph graph) {
         TriangleCountStatsConfig config = ImmutableTriangleCountStatsConfig.builder().build();
         return compute(graph, config);
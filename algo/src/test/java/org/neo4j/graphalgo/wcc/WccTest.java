@@ -23,6 +23,7 @@ import com.carrotsearch.hppc.BitSet;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.api.Graph;
@@ -45,6 +46,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.neo4j.graphalgo.TestLog.INFO;
 import static org.neo4j.graphalgo.TestSupport.fromGdl;
 import static org.neo4j.graphalgo.assertj.Extractors.removingThreadId;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.graphalgo.wcc.Wcc.SAMPLING_SIZE;
 
 class WccTest {
 
@@ -103,6 +106,33 @@ class WccTest {
         });
     }
 
+    @ParameterizedTest(name = "concurrency = {0}")
+    @ValueSource(ints = {1, 4})
+    void shouldComputeComponentsWithGiantComponent(int concurrency) {
+        int giantComponentSize = 2 * SAMPLING_SIZE;
+        int smallComponents = 10;
+
+        // a star is linked by the sampling phase, the remaining line is not
+        var gdl = new StringBuilder("(center)");
+        for (int i = 0; i < giantComponentSize / 2; i++) {
+            gdl.append(formatWithLocale(", (center)-[:REL]->(s%d)", i));
+        }
+        gdl.append(", (s0)-[:REL]->").append(createLine(giantComponentSize / 2));
+        for (int i = 0; i < smallComponents; i++) {
+            gdl.append(", ").append(createLine(2));
+        }
+        var graph = fromGdl(gdl.toString(), Orientation.UNDIRECTED);
+
+        DisjointSetStruct result = run(graph, ImmutableWccStreamConfig.builder().concurrency(concurrency).build());
+
+        assertEquals(smallComponents + 1, getSetCount(result));
+        long giantComponentNodes = IntStream
+            .range(0, Math.toIntExact(graph.nodeCount()))
+            .filter(nodeId -> result.sameSet(nodeId, 0))
+            .count();
+        assertEquals(giantComponentSize + 1, giantComponentNodes);
+    }
+
     @Test
     void shouldLogProgress() {
         var graph = createTestGraph(Orientation.NATURAL);
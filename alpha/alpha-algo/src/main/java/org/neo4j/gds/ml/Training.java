@@ -22,6 +22,7 @@ package org.neo4j.gds.ml;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.ComputationContext;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Variable;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Scalar;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.TensorArena;
 import org.neo4j.gds.ml.batch.Batch;
 import org.neo4j.gds.ml.batch.BatchQueue;
 import org.neo4j.logging.Log;
@@ -74,12 +75,13 @@ public class Training {
         DoubleAdder totalLoss = new DoubleAdder();
 
         batches.parallelConsume(
-            new LossEvalConsumer(
-                objective,
-                totalLoss,
-                trainSize
-            ),
-            concurrency
+            concurrency,
+            jobId ->
+                new LossEvalConsumer(
+                    objective,
+                    totalLoss,
+                    trainSize
+                )
         );
 
         return totalLoss.doubleValue();
@@ -102,24 +104,28 @@ public class Training {
         );
     }
 
+    // Every job has its own consumer, so the arena is only used by one thread at a time.
     static class ObjectiveUpdateConsumer implements Consumer<Batch> {
         private final Objective<?> objective;
         private final Updater updater;
         private final long trainSize;
+        private final TensorArena arena;
 
         ObjectiveUpdateConsumer(Objective<?> objective, Updater updater, long trainSize) {
             this.objective = objective;
             this.updater = updater;
             this.trainSize = trainSize;
+            this.arena = new TensorArena();
         }
 
         @Override
         public void accept(Batch batch) {
             Variable<Scalar> loss = objective.loss(batch, trainSize);
-            ComputationContext ctx = new ComputationContext();
+            ComputationContext ctx = new ComputationContext(1, arena);
             ctx.forward(loss);
             ctx.backward(loss);
             updater.update(ctx);
+            ctx.reset();
         }
     }
 
@@ -127,18 +133,21 @@ public class Training {
         private final Objective<?> objective;
         private final DoubleAdder totalLoss;
         private final long trainSize;
+        private final TensorArena arena;
 
         LossEvalConsumer(Objective<?> objective, DoubleAdder lossAdder, long trainSize) {
             this.objective = objective;
             this.totalLoss = lossAdder;
             this.trainSize = trainSize;
+            this.arena = new TensorArena();
         }
 
         @Override
         public void accept(Batch batch) {
             Variable<Scalar> loss = objective.loss(batch, trainSize);
-            ComputationContext ctx = new ComputationContext();
+            ComputationContext ctx = new ComputationContext(1, arena);
             totalLoss.add(ctx.forward(loss).value());
+            ctx.reset();
         }
 
     }
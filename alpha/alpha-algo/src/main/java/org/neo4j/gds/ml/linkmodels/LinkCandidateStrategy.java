@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.ml.linkmodels;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.toUpperCaseWithLocale;
+
+public enum LinkCandidateStrategy {
+    /**
+     * Scores every pair of nodes that are not yet connected.
+     */
+    ALL_PAIRS,
+    /**
+     * Scores pairs of nodes that are at most `candidateHops` hops apart.
+     */
+    K_HOP,
+    /**
+     * Scores pairs of nodes that share at least `minCommonNeighbors` neighbors.
+     */
+    COMMON_NEIGHBORS,
+    /**
+     * Scores pairs of nodes where one node is among the `candidateTopK`
+     * most similar nodes of the other, based on `candidateProperty`.
+     */
+    KNN;
+
+    public static LinkCandidateStrategy of(String strategy) {
+        return valueOf(toUpperCaseWithLocale(strategy));
+    }
+
+    public static LinkCandidateStrategy parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return of((String) object);
+        }
+        if (object instanceof LinkCandidateStrategy) {
+            return (LinkCandidateStrategy) object;
+        }
+        return null;
+    }
+
+    public static String toString(LinkCandidateStrategy strategy) {
+        return strategy.toString();
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.ml.linkmodels;
+
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import com.carrotsearch.hppc.cursors.LongIntCursor;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.similarity.knn.ImmutableKnnBaseConfig;
+import org.neo4j.graphalgo.similarity.knn.ImmutableKnnContext;
+import org.neo4j.graphalgo.similarity.knn.Knn;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Generates the node pairs that are scored during link prediction.
+ * <p>
+ * For every source node, a generator produces target nodes that are
+ * neither the source itself nor one of its neighbors. Over all source
+ * nodes, every unordered pair is produced at most once, so predicted
+ * links never need to be deduplicated. Apart from {@link #allPairs()},
+ * the strategies only consider a small neighborhood of each source
+ * node instead of all other nodes in the graph.
+ */
+abstract class LinkCandidates {
+
+    interface Generator {
+        void forEachCandidate(long sourceId, LongHashSet neighbors, LongConsumer consumer);
+    }
+
+    static LinkCandidates of(LinkPredictionPredictMutateConfig config) {
+        switch (config.candidateStrategy()) {
+            case ALL_PAIRS:
+                return allPairs();
+            case K_HOP:
+                return kHop(config.candidateHops());
+            case COMMON_NEIGHBORS:
+                return commonNeighbors(config.minCommonNeighbors());
+            case KNN:
+                return knn(config.candidateProperty(), config.candidateTopK(), config.concurrency());
+            default:
+                throw new IllegalArgumentException("Unsupported candidate strategy " + config.candidateStrategy());
+        }
+    }
+
+    static LinkCandidates allPairs() {
+        return new LinkCandidates() {
+            @Override
+            Generator generator(Graph graph) {
+                var nodeCount = graph.nodeCount();
+                // since graph is undirected, only produce pairs where sourceId < targetId
+                return (sourceId, neighbors, consumer) -> {
+                    for (long targetId = sourceId + 1; targetId < nodeCount; targetId++) {
+                        if (!neighbors.contains(targetId)) {
+                            consumer.accept(targetId);
+                        }
+                    }
+                };
+            }
+        };
+    }
+
+    static LinkCandidates kHop(int hops) {
+        return new LinkCandidates() {
+            @Override
+            Generator generator(Graph graph) {
+                return new KHopGenerator(graph, hops);
+            }
+        };
+    }
+
+    static LinkCandidates commonNeighbors(int minCommonNeighbors) {
+        return new LinkCandidates() {
+            @Override
+            Generator generator(Graph graph) {
+                return new CommonNeighborsGenerator(graph, minCommonNeighbors);
+            }
+        };
+    }
+
+    static LinkCandidates knn(String property, int topK, int concurrency) {
+        return new KnnCandidates(property, topK, concurrency);
+    }
+
+    /**
+     * Called once before any generator is created.
+     */
+    void prepare(Graph graph, AllocationTracker tracker) {
+    }
+
+    /**
+     * Creates a generator that is used by a single thread.
+     */
+    abstract Generator generator(Graph graph);
+
+    private static final class KHopGenerator implements Generator {
+        private final Graph graph;
+        private final int hops;
+        private final LongHashSet visited;
+        private LongArrayList frontier;
+        private LongArrayList nextFrontier;
+
+        KHopGenerator(Graph graph, int hops) {
+            this.graph = graph;
+            this.hops = hops;
+            this.visited = new LongHashSet();
+            this.frontier = new LongArrayList();
+            this.nextFrontier = new LongArrayList();
+        }
+
+        @Override
+        public void forEachCandidate(long sourceId, LongHashSet neighbors, LongConsumer consumer) {
+            visited.clear();
+            visited.add(sourceId);
+            visited.addAll(neighbors);
+            frontier.clear();
+            frontier.addAll(neighbors);
+
+            for (int hop = 2; hop <= hops && !frontier.isEmpty(); hop++) {
+                nextFrontier.clear();
+                for (LongCursor node : frontier) {
+                    graph.forEachRelationship(node.value, (src, trg) -> {
+                        if (visited.add(trg)) {
+                            nextFrontier.add(trg);
+                            if (trg > sourceId) {
+                                consumer.accept(trg);
+                            }
+                        }
+                        return true;
+                    });
+                }
+                var tmp = frontier;
+                frontier = nextFrontier;
+                nextFrontier = tmp;
+            }
+        }
+    }
+
+    private static final class CommonNeighborsGenerator implements Generator {
+        private final Graph graph;
+        private final int minCommonNeighbors;
+        private final LongIntHashMap commonNeighborCounts;
+
+        CommonNeighborsGenerator(Graph graph, int minCommonNeighbors) {
+            this.graph = graph;
+            this.minCommonNeighbors = minCommonNeighbors;
+            this.commonNeighborCounts = new LongIntHashMap();
+        }
+
+        @Override
+        public void forEachCandidate(long sourceId, LongHashSet neighbors, LongConsumer consumer) {
+            commonNeighborCounts.clear();
+            for (LongCursor neighbor : neighbors) {
+                graph.forEachRelationship(neighbor.value, (src, trg) -> {
+                    if (trg > sourceId && !neighbors.contains(trg)) {
+                        commonNeighborCounts.addTo(trg, 1);
+                    }
+                    return true;
+                });
+            }
+            for (LongIntCursor candidate : commonNeighborCounts) {
+                if (candidate.value >= minCommonNeighbors) {
+                    consumer.accept(candidate.key);
+                }
+            }
+        }
+    }
+
+    private static final class KnnCandidates extends LinkCandidates {
+        private final String property;
+        private final int topK;
+        private final int concurrency;
+        private Knn.Result knnResult;
+
+        KnnCandidates(String property, int topK, int concurrency) {
+            this.property = property;
+            this.topK = topK;
+            this.concurrency = concurrency;
+        }
+
+        @Override
+        void prepare(Graph graph, AllocationTracker tracker) {
+            var knnConfig = ImmutableKnnBaseConfig.builder()
+                .nodeWeightProperty(property)
+                .topK(topK)
+                .concurrency(concurrency)
+                .build();
+            var knnContext = ImmutableKnnContext.builder().tracker(tracker).build();
+            knnResult = new Knn(graph, knnConfig, knnContext).compute();
+        }
+
+        @Override
+        Generator generator(Graph graph) {
+            assert knnResult != null : "KNN candidates must be prepared before use";
+            var result = knnResult;
+            return (sourceId, neighbors, consumer) -> result.neighborsOf(sourceId).forEach(targetId -> {
+                if (neighbors.contains(targetId)) {
+                    return;
+                }
+                // pairs of mutual nearest neighbors are only produced by the smaller node
+                if (targetId < sourceId && result.neighborsOf(targetId).anyMatch(id -> id == sourceId)) {
+                    return;
+                }
+                consumer.accept(targetId);
+            });
+        }
+    }
+}
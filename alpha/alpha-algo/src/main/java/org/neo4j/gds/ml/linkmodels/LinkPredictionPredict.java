@@ -19,6 +19,7 @@
  */
 package org.neo4j.gds.ml.linkmodels;
 
+import com.carrotsearch.hppc.LongHashSet;
 import org.neo4j.gds.ml.batch.Batch;
 import org.neo4j.gds.ml.batch.BatchQueue;
 import org.neo4j.gds.ml.linkmodels.logisticregression.LinkLogisticRegressionPredictor;
@@ -27,9 +28,7 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
-import java.util.HashSet;
 import java.util.function.Consumer;
-import java.util.stream.LongStream;
 
 public class LinkPredictionPredict extends Algorithm<LinkPredictionPredict, LinkPredictionResult> {
 
@@ -39,6 +38,7 @@ public class LinkPredictionPredict extends Algorithm<LinkPredictionPredict, Link
     private final int concurrency;
     private final int topN;
     private final double threshold;
+    private final LinkCandidates candidates;
     private final AllocationTracker tracker;
 
     LinkPredictionPredict(
@@ -50,6 +50,30 @@ public class LinkPredictionPredict extends Algorithm<LinkPredictionPredict, Link
         AllocationTracker tracker,
         ProgressLogger progressLogger,
         double threshold
+    ) {
+        this(
+            predictor,
+            graph,
+            batchSize,
+            concurrency,
+            topN,
+            tracker,
+            progressLogger,
+            threshold,
+            LinkCandidates.allPairs()
+        );
+    }
+
+    LinkPredictionPredict(
+        LinkLogisticRegressionPredictor predictor,
+        Graph graph,
+        int batchSize,
+        int concurrency,
+        int topN,
+        AllocationTracker tracker,
+        ProgressLogger progressLogger,
+        double threshold,
+        LinkCandidates candidates
     ) {
         this.predictor = predictor;
         this.graph = graph;
@@ -58,6 +82,7 @@ public class LinkPredictionPredict extends Algorithm<LinkPredictionPredict, Link
         this.topN = topN;
         this.tracker = tracker;
         this.threshold = threshold;
+        this.candidates = candidates;
         this.progressLogger = progressLogger;
     }
 
@@ -65,14 +90,27 @@ public class LinkPredictionPredict extends Algorithm<LinkPredictionPredict, Link
     public LinkPredictionResult compute() {
         progressLogger.reset(graph.nodeCount());
         progressLogger.logStart();
-        var result = new LinkPredictionResult(topN);
+        candidates.prepare(graph, tracker);
+
+        // every thread keeps its own top-N links, they are merged once all pairs are scored
+        var threadResults = new LinkPredictionResult[concurrency];
         var batchQueue = new BatchQueue(graph.nodeCount(), batchSize);
-        batchQueue.parallelConsume(concurrency, ignore -> new LinkPredictionScoreByIdsConsumer(
-            graph.concurrentCopy(),
-            predictor,
-            result,
-            progressLogger
-        ));
+        batchQueue.parallelConsume(concurrency, jobId -> {
+            var graphCopy = graph.concurrentCopy();
+            threadResults[jobId] = new LinkPredictionResult(topN);
+            return new LinkPredictionScoreByIdsConsumer(
+                graphCopy,
+                candidates.generator(graphCopy),
+                predictor,
+                threadResults[jobId],
+                progressLogger
+            );
+        });
+
+        var result = new LinkPredictionResult(topN);
+        for (var threadResult : threadResults) {
+            result.addAll(threadResult);
+        }
         progressLogger.logFinish();
         return result;
     }
@@ -89,48 +127,42 @@ public class LinkPredictionPredict extends Algorithm<LinkPredictionPredict, Link
 
     private class LinkPredictionScoreByIdsConsumer implements Consumer<Batch> {
         private final Graph graph;
+        private final LinkCandidates.Generator candidates;
         private final LinkLogisticRegressionPredictor predictor;
         private final LinkPredictionResult predictedLinks;
         private final ProgressLogger progressLogger;
+        private final LongHashSet neighbors;
 
         private LinkPredictionScoreByIdsConsumer(
             Graph graph,
+            LinkCandidates.Generator candidates,
             LinkLogisticRegressionPredictor predictor,
             LinkPredictionResult predictedLinks,
             ProgressLogger progressLogger
         ) {
             this.graph = graph;
+            this.candidates = candidates;
             this.predictor = predictor;
             this.predictedLinks = predictedLinks;
             this.progressLogger = progressLogger;
+            this.neighbors = new LongHashSet();
         }
 
         @Override
         public void accept(Batch batch) {
             for (long sourceId : batch.nodeIds()) {
-                var neighbors = neighborSet(sourceId);
-                // since graph is undirected, only process pairs where sourceId < targetId
-                var smallestTarget = sourceId + 1;
-                LongStream.range(smallestTarget, graph.nodeCount()).forEach(targetId -> {
-                        if (neighbors.contains(targetId)) return;
-                        var probability = predictor.predictedProbability(graph, sourceId, targetId);
-                        if (probability < threshold) return;
-                        predictedLinks.add(sourceId, targetId, probability);
-                    }
-                );
-            }
-            progressLogger.logProgress(batch.size());
-        }
-
-        private HashSet<Long> neighborSet(long sourceId) {
-            var neighbors = new HashSet<Long>();
-            graph.forEachRelationship(
-                sourceId, (src, trg) -> {
+                neighbors.clear();
+                graph.forEachRelationship(sourceId, (src, trg) -> {
                     neighbors.add(trg);
                     return true;
-                }
-            );
-            return neighbors;
+                });
+                candidates.forEachCandidate(sourceId, neighbors, targetId -> {
+                    var probability = predictor.predictedProbability(graph, sourceId, targetId);
+                    if (probability < threshold) return;
+                    predictedLinks.add(Math.min(sourceId, targetId), Math.max(sourceId, targetId), probability);
+                });
+            }
+            progressLogger.logProgress(batch.size());
         }
     }
 }
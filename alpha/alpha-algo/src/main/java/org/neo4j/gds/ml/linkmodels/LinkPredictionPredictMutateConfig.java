@@ -20,6 +20,7 @@
 package org.neo4j.gds.ml.linkmodels;
 
 import org.immutables.value.Value;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
@@ -52,6 +53,44 @@ public interface LinkPredictionPredictMutateConfig extends AlgoBaseConfig, Mutat
         return 100;
     }
 
+    @Value.Default
+    @Configuration.ConvertWith("org.neo4j.gds.ml.linkmodels.LinkCandidateStrategy#parse")
+    @Configuration.ToMapValue("org.neo4j.gds.ml.linkmodels.LinkCandidateStrategy#toString")
+    default LinkCandidateStrategy candidateStrategy() {
+        return LinkCandidateStrategy.ALL_PAIRS;
+    }
+
+    @Value.Default
+    @Configuration.IntegerRange(min = 2)
+    default int candidateHops() {
+        return 2;
+    }
+
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int minCommonNeighbors() {
+        return 1;
+    }
+
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int candidateTopK() {
+        return 10;
+    }
+
+    @Value.Default
+    @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
+    default @Nullable String candidateProperty() {
+        return null;
+    }
+
+    @Value.Check
+    default void validateCandidateProperty() {
+        if (candidateStrategy() == LinkCandidateStrategy.KNN && candidateProperty() == null) {
+            throw new IllegalArgumentException("The `KNN` candidate strategy requires `candidateProperty` to be set.");
+        }
+    }
+
     static LinkPredictionPredictMutateConfig of(
         String username,
         Optional<String> graphName,
@@ -48,6 +48,10 @@ public class LinkPredictionResult {
         queue.offer(node1, node2, probability);
     }
 
+    public void addAll(LinkPredictionResult other) {
+        other.queue.foreach(this::add);
+    }
+
     public Stream<PredictedLink> stream() {
         Iterable<PredictedLink> iterable = () -> new Iterator<>() {
 
@@ -19,7 +19,9 @@
  */
 package org.neo4j.gds.ml.linkmodels;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Weights;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
@@ -59,18 +61,8 @@ class LinkPredictionPredictTest {
     @ParameterizedTest
     @ValueSource(ints = {3, 50})
     void shouldPredictCorrectly(int topN) {
-        var numberOfFeatures = 3;
-        var modelData = LinkLogisticRegressionData.builder()
-            .weights(new Weights<>(new Matrix(new double[]{
-                -2.0, -1.0, 3.0,
-            }, 1, numberOfFeatures)))
-            .linkFeatureCombiner(LinkFeatureCombiner.L2)
-            .numberOfFeatures(numberOfFeatures)
-            .featureProperties(List.of("a", "b"))
-            .build();
-
         var result = new LinkPredictionPredict(
-            new LinkLogisticRegressionPredictor(modelData),
+            new LinkLogisticRegressionPredictor(modelData()),
             graph,
             1,
             1,
@@ -86,5 +78,69 @@ class LinkPredictionPredictTest {
         assertThat(firstLink.targetId()).isEqualTo(4);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldPredictAllPairsConcurrently(int concurrency) {
+        var predictedLinks = predict(LinkCandidates.allPairs(), concurrency);
+        assertThat(predictedLinks)
+            .extracting(link -> List.of(link.sourceId(), link.targetId()))
+            .containsExactlyInAnyOrder(
+                List.of(0L, 1L),
+                List.of(0L, 2L),
+                List.of(0L, 3L),
+                List.of(0L, 4L),
+                List.of(1L, 4L),
+                List.of(2L, 3L)
+            );
+    }
+
+    @Test
+    void shouldOnlyScoreKHopCandidates() {
+        var predictedLinks = predict(LinkCandidates.kHop(2), 2);
+        assertThat(predictedLinks)
+            .extracting(link -> List.of(link.sourceId(), link.targetId()))
+            .containsExactlyInAnyOrder(List.of(1L, 4L), List.of(2L, 3L));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 2", "2, 2", "3, 0"})
+    void shouldOnlyScoreCommonNeighborCandidates(int minCommonNeighbors, int expectedLinks) {
+        var predictedLinks = predict(LinkCandidates.commonNeighbors(minCommonNeighbors), 2);
+        assertThat(predictedLinks).hasSize(expectedLinks);
+    }
+
+    @Test
+    void shouldScoreKnnCandidatesOnce() {
+        var predictedLinks = predict(LinkCandidates.knn("a", 4, 1), 1);
+        // with topK = 4 every node is a nearest neighbor of every other node
+        assertThat(predictedLinks).hasSize(6);
+        assertThat(predictedLinks).allMatch(link -> link.sourceId() < link.targetId());
+    }
+
+    private List<PredictedLink> predict(LinkCandidates candidates, int concurrency) {
+        return new LinkPredictionPredict(
+            new LinkLogisticRegressionPredictor(modelData()),
+            graph,
+            1,
+            concurrency,
+            50,
+            AllocationTracker.empty(),
+            TestProgressLogger.NULL_LOGGER,
+            0.0,
+            candidates
+        ).compute().stream().collect(Collectors.toList());
+    }
+
+    private static LinkLogisticRegressionData modelData() {
+        var numberOfFeatures = 3;
+        return LinkLogisticRegressionData.builder()
+            .weights(new Weights<>(new Matrix(new double[]{
+                -2.0, -1.0, 3.0,
+            }, 1, numberOfFeatures)))
+            .linkFeatureCombiner(LinkFeatureCombiner.L2)
+            .numberOfFeatures(numberOfFeatures)
+            .featureProperties(List.of("a", "b"))
+            .build();
+    }
 
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures searching within the compressed adjacency lists of all nodes,
+ * as done by relationship intersections and existence checks.
+ * Every benchmark searches each adjacency list for the median target id.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AdjacencyCursorBenchmark {
+
+    @Param({"100000"})
+    long nodeCount;
+
+    @Param({"10", "100"})
+    long averageDegree;
+
+    @Param({"UNIFORM", "POWER_LAW"})
+    RelationshipDistribution distribution;
+
+    private long[] offsets;
+    private long[] searchTargets;
+    private AdjacencyCursor cursor;
+
+    @Setup
+    public void setup() {
+        var graph = BenchmarkGraphs.generate(nodeCount, averageDegree, distribution, Orientation.NATURAL);
+        AdjacencyList adjacencyList = graph.relationshipTopology().list();
+        AdjacencyOffsets adjacencyOffsets = graph.relationshipTopology().offsets();
+
+        offsets = new long[Math.toIntExact(nodeCount)];
+        searchTargets = new long[offsets.length];
+        cursor = adjacencyList.rawDecompressingCursor();
+        for (int node = 0; node < offsets.length; node++) {
+            long offset = adjacencyOffsets.get(node);
+            offsets[node] = offset;
+            if (offset != 0L) {
+                cursor.init(offset);
+                int median = cursor.size() / 2;
+                long target = AdjacencyCursor.NOT_FOUND;
+                for (int i = 0; i <= median; i++) {
+                    target = cursor.nextVLong();
+                }
+                searchTargets[node] = target;
+            }
+        }
+    }
+
+    @Benchmark
+    public void skipUntil(Blackhole blackhole) {
+        for (int node = 0; node < offsets.length; node++) {
+            if (offsets[node] != 0L) {
+                cursor.init(offsets[node]);
+                blackhole.consume(cursor.skipUntil(searchTargets[node]));
+            }
+        }
+    }
+
+    @Benchmark
+    public void advance(Blackhole blackhole) {
+        for (int node = 0; node < offsets.length; node++) {
+            if (offsets[node] != 0L) {
+                cursor.init(offsets[node]);
+                blackhole.consume(cursor.advance(searchTargets[node]));
+            }
+        }
+    }
+
+    @Benchmark
+    public void decodeAll(Blackhole blackhole) {
+        for (int node = 0; node < offsets.length; node++) {
+            if (offsets[node] != 0L) {
+                cursor.init(offsets[node]);
+                while (cursor.hasNextVLong()) {
+                    blackhole.consume(cursor.nextVLong());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
+import org.neo4j.graphalgo.louvain.ImmutableLouvainStreamConfig;
+import org.neo4j.graphalgo.louvain.Louvain;
+import org.neo4j.graphalgo.pagerank.ImmutablePageRankStreamConfig;
+import org.neo4j.graphalgo.pagerank.PageRank;
+import org.neo4j.graphalgo.pagerank.PageRankAlgorithmType;
+import org.neo4j.graphalgo.similarity.nodesim.ImmutableNodeSimilarityStreamConfig;
+import org.neo4j.graphalgo.similarity.nodesim.NodeSimilarity;
+import org.neo4j.graphalgo.wcc.ImmutableWccStreamConfig;
+import org.neo4j.graphalgo.wcc.Wcc;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs complete algorithms on generated, undirected graphs.
+ * Each invocation creates a new algorithm instance, so the numbers include all allocations of the algorithm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AlgorithmBenchmark {
+
+    @Param({"100000"})
+    long nodeCount;
+
+    @Param({"10"})
+    long averageDegree;
+
+    @Param({"UNIFORM", "POWER_LAW"})
+    RelationshipDistribution distribution;
+
+    @Param({"1", "4"})
+    int concurrency;
+
+    private HugeGraph graph;
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkGraphs.generate(nodeCount, averageDegree, distribution, Orientation.UNDIRECTED);
+    }
+
+    @Benchmark
+    public PageRank pageRank() {
+        var config = ImmutablePageRankStreamConfig.builder()
+            .concurrency(concurrency)
+            .build();
+        return PageRankAlgorithmType.NON_WEIGHTED
+            .create(
+                graph,
+                config.sourceNodeIds(),
+                config,
+                Pools.DEFAULT,
+                ProgressLogger.NULL_LOGGER,
+                AllocationTracker.empty()
+            )
+            .compute();
+    }
+
+    @Benchmark
+    public DisjointSetStruct wcc() {
+        var config = ImmutableWccStreamConfig.builder()
+            .concurrency(concurrency)
+            .build();
+        return new Wcc(
+            graph,
+            Pools.DEFAULT,
+            ParallelUtil.DEFAULT_BATCH_SIZE,
+            config,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).compute();
+    }
+
+    @Benchmark
+    public Louvain louvain() {
+        var config = ImmutableLouvainStreamConfig.builder()
+            .concurrency(concurrency)
+            .build();
+        return new Louvain(
+            graph,
+            config,
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).compute();
+    }
+
+    @Benchmark
+    public long nodeSimilarity() {
+        var config = ImmutableNodeSimilarityStreamConfig.builder()
+            .concurrency(concurrency)
+            .build();
+        return new NodeSimilarity(
+            graph,
+            config,
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).computeToStream().count();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the single threaded access paths that most algorithms use in their inner loops.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GraphTraversalBenchmark {
+
+    @Param({"100000", "1000000"})
+    long nodeCount;
+
+    @Param({"10"})
+    long averageDegree;
+
+    @Param({"UNIFORM", "POWER_LAW"})
+    RelationshipDistribution distribution;
+
+    private HugeGraph graph;
+    private long[] originalIds;
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkGraphs.generate(nodeCount, averageDegree, distribution, Orientation.NATURAL);
+
+        // look up the original ids in random order, as when loading relationships
+        originalIds = new long[Math.toIntExact(nodeCount)];
+        for (int i = 0; i < originalIds.length; i++) {
+            originalIds[i] = graph.toOriginalNodeId(i);
+        }
+        var random = new SplittableRandom(BenchmarkGraphs.SEED);
+        for (int i = originalIds.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = originalIds[i];
+            originalIds[i] = originalIds[j];
+            originalIds[j] = tmp;
+        }
+    }
+
+    @Benchmark
+    public long forEachRelationship() {
+        long[] checksum = {0L};
+        for (long node = 0; node < nodeCount; node++) {
+            graph.forEachRelationship(node, (source, target) -> {
+                checksum[0] += target;
+                return true;
+            });
+        }
+        return checksum[0];
+    }
+
+    @Benchmark
+    public long degree() {
+        long sum = 0L;
+        for (long node = 0; node < nodeCount; node++) {
+            sum += graph.degree(node);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long toMappedNodeId() {
+        long sum = 0L;
+        for (long originalId : originalIds) {
+            sum += graph.toMappedNodeId(originalId);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Measures the scheduling overhead of {@link ParallelUtil} for many small tasks,
+ * where the time spent in each task is small compared to submitting and awaiting it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParallelUtilBenchmark {
+
+    @Param({"1", "4", "8"})
+    int concurrency;
+
+    @Param({"10", "1000"})
+    int taskCount;
+
+    /**
+     * Number of elements that each task processes.
+     */
+    @Param({"1000"})
+    int taskSize;
+
+    private AtomicLongArray sums;
+    private List<Runnable> tasks;
+
+    @Setup
+    public void setup() {
+        sums = new AtomicLongArray(taskCount);
+        tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            int taskId = i;
+            tasks.add(() -> {
+                long sum = 0L;
+                for (int j = 0; j < taskSize; j++) {
+                    sum += j ^ taskId;
+                }
+                sums.lazySet(taskId, sum);
+            });
+        }
+    }
+
+    @Benchmark
+    public AtomicLongArray runWithConcurrency() {
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+        return sums;
+    }
+
+    @Benchmark
+    public AtomicLongArray parallelForEachNode() {
+        ParallelUtil.parallelForEachNode((long) taskCount * taskSize, concurrency, node -> {
+            if (node % taskSize == 0) {
+                int taskId = (int) (node / taskSize);
+                sums.lazySet(taskId, node ^ taskId);
+            }
+        });
+        return sums;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.apache.lucene.util.LongsRef;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.loading.AdjacencyCompression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the delta and variable length encoding of a single adjacency list
+ * during loading and its decoding during traversal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AdjacencyCompressionBenchmark {
+
+    @Param({"16", "256", "4096"})
+    int degree;
+
+    /**
+     * Upper bound for the target ids, a larger id space results in larger deltas.
+     */
+    @Param({"100000", "100000000"})
+    long idSpace;
+
+    private long[] targets;
+    private LongsRef buffer;
+    private byte[] compressed;
+    private long[] decompressed;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42L);
+        targets = random.longs(degree, 0, idSpace).toArray();
+        buffer = new LongsRef(new long[degree], 0, degree);
+        // a variable length long takes at most 10 bytes
+        compressed = new byte[degree * 10];
+        decompressed = new long[degree];
+
+        System.arraycopy(targets, 0, buffer.longs, 0, degree);
+        buffer.length = degree;
+        AdjacencyCompression.applyDeltaEncoding(buffer, Aggregation.NONE);
+        AdjacencyCompression.compress(buffer, compressed);
+    }
+
+    @Benchmark
+    public int compress() {
+        // delta encoding sorts in place, so every invocation starts from the unsorted targets
+        System.arraycopy(targets, 0, buffer.longs, 0, degree);
+        buffer.length = degree;
+        AdjacencyCompression.applyDeltaEncoding(buffer, Aggregation.NONE);
+        return AdjacencyCompression.compress(buffer, compressed);
+    }
+
+    @Benchmark
+    public long[] decompress() {
+        VarLongDecoding.decodeDeltaVLongs(0L, compressed, 0, degree, decompressed);
+        return decompressed;
+    }
+}
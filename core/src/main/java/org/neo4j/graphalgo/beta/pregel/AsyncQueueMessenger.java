@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import com.carrotsearch.hppc.DoubleArrayList;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 
@@ -46,6 +47,14 @@ class AsyncQueueMessenger implements Messenger<PrimitiveAsyncDoubleQueues.Iterat
         queues.push(targetNodeId, message);
     }
 
+    @Override
+    public void sendTo(long targetNodeId, double[] doubles, long[] longs) {
+        // Asynchronous queues use NaN to detect the end of a queue and do not
+        // store long values, composite messages are rejected by Pregel#validateMessageSchema.
+        assert doubles.length == 1 && longs.length == 0 : "only single double messages are supported";
+        sendTo(targetNodeId, doubles[0]);
+    }
+
     @Override
     public PrimitiveAsyncDoubleQueues.Iterator messageIterator() {
         return new PrimitiveAsyncDoubleQueues.Iterator(queues);
@@ -60,6 +69,21 @@ class AsyncQueueMessenger implements Messenger<PrimitiveAsyncDoubleQueues.Iterat
         messageIterator.init(nodeId);
     }
 
+    @Override
+    public void pendingMessages(long nodeId, DoubleArrayList buffer) {
+        queues.pendingMessages(nodeId, buffer);
+    }
+
+    @Override
+    public void restoreMessage(long targetNodeId, double message) {
+        queues.push(targetNodeId, message);
+    }
+
+    @Override
+    public long memoryUsage() {
+        return queues.memoryUsage();
+    }
+
     @Override
     public void release() {
         queues.release();
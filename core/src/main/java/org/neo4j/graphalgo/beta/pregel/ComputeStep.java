@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.api.Degrees;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipIterator;
@@ -27,6 +28,8 @@ import org.neo4j.graphalgo.beta.pregel.context.InitContext;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.partition.Partition;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.LongStream;
 
 public final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends Messages.MessageIterator> implements Runnable {
@@ -36,26 +39,38 @@ public final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends Mes
     private final boolean isMultiGraph;
     private final InitContext<CONFIG> initContext;
     private final ComputeContext<CONFIG> computeContext;
-    private final Partition nodeBatch;
+    private final List<Partition> nodeBatches;
+    private final AtomicInteger nodeBatchOffset;
     private final Degrees degrees;
     private final NodeValue nodeValue;
     private final HugeAtomicBitSet voteBits;
     private final Messenger<ITERATOR> messenger;
     private final PregelComputation<CONFIG> computation;
     private final RelationshipIterator relationshipIterator;
+    private final @Nullable Frontier frontier;
+    private final @Nullable MessageCombiner messageCombiner;
+    private final MessageSchema messageSchema;
+    private final MessageRecord outgoingMessage;
 
     private int iteration;
-    private boolean hasSendMessage;
+    // per superstep metrics
+    private long computedNodeCount;
+    private long sentMessageCount;
+    private long computeNanos;
 
     ComputeStep(
         Graph graph,
         PregelComputation<CONFIG> computation,
         CONFIG config,
+        MessageSchema messageSchema,
         int iteration,
-        Partition nodeBatch,
+        List<Partition> nodeBatches,
+        AtomicInteger nodeBatchOffset,
         NodeValue nodeValue,
         Messenger<ITERATOR> messenger,
         HugeAtomicBitSet voteBits,
+        @Nullable Frontier frontier,
+        @Nullable MessageCombiner messageCombiner,
         RelationshipIterator relationshipIterator
     ) {
         this.iteration = iteration;
@@ -63,21 +78,57 @@ public final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends Mes
         this.relationshipCount = graph.relationshipCount();
         this.computation = computation;
         this.voteBits = voteBits;
-        this.nodeBatch = nodeBatch;
+        this.frontier = frontier;
+        this.messageCombiner = messageCombiner;
+        this.nodeBatches = nodeBatches;
+        this.nodeBatchOffset = nodeBatchOffset;
         this.degrees = graph;
         this.isMultiGraph = graph.isMultiGraph();
         this.nodeValue = nodeValue;
         this.relationshipIterator = relationshipIterator.concurrentCopy();
         this.messenger = messenger;
+        this.messageSchema = messageSchema;
+        this.outgoingMessage = new MessageRecord(messageSchema);
         this.computeContext = new ComputeContext<>(this, config);
         this.initContext = new InitContext<>(this, config, graph);
     }
 
     @Override
     public void run() {
+        var start = System.nanoTime();
         var messageIterator = messenger.messageIterator();
-        var messages = new Messages(messageIterator);
+        var messages = new Messages(messageIterator, messageSchema);
 
+        if (frontier != null && !computeContext.isInitialSuperstep() && frontier.isSparse()) {
+            computeSparseFrontier(messageIterator, messages);
+        } else {
+            computeNodeBatches(messageIterator, messages);
+        }
+
+        if (messageCombiner != null) {
+            messageCombiner.flush();
+        }
+
+        computeNanos = System.nanoTime() - start;
+    }
+
+    private void computeNodeBatches(ITERATOR messageIterator, Messages messages) {
+        // All compute steps share the node batches and
+        // take the next unprocessed one until none is left.
+        // That way, a compute step that is done with a cheap
+        // batch can help out with the remaining ones.
+        int batchOffset;
+        while ((batchOffset = nodeBatchOffset.getAndIncrement()) < nodeBatches.size()) {
+            var nodeBatch = nodeBatches.get(batchOffset);
+            if (frontier == null || computeContext.isInitialSuperstep()) {
+                computeBatch(nodeBatch, messageIterator, messages);
+            } else {
+                computeDenseFrontier(nodeBatch, messageIterator, messages);
+            }
+        }
+    }
+
+    private void computeBatch(Partition nodeBatch, ITERATOR messageIterator, Messages messages) {
         long batchStart = nodeBatch.startNode();
         long batchEnd = batchStart + nodeBatch.nodeCount();
 
@@ -88,12 +139,47 @@ public final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends Mes
                 computation.init(initContext);
             }
 
-            messenger.initMessageIterator(messageIterator, nodeId, computeContext.isInitialSuperstep());
-            
-            if (!messages.isEmpty() || !voteBits.get(nodeId)) {
-                voteBits.clear(nodeId);
-                computeContext.setNodeId(nodeId);
-                computation.compute(computeContext, messages);
+            computeNode(nodeId, messageIterator, messages);
+        }
+    }
+
+    private void computeDenseFrontier(Partition nodeBatch, ITERATOR messageIterator, Messages messages) {
+        long batchStart = nodeBatch.startNode();
+        long batchEnd = batchStart + nodeBatch.nodeCount();
+
+        for (
+            long nodeId = frontier.nextActiveNode(batchStart);
+            nodeId != -1 && nodeId < batchEnd;
+            nodeId = frontier.nextActiveNode(nodeId + 1)
+        ) {
+            computeNode(nodeId, messageIterator, messages);
+        }
+    }
+
+    private void computeSparseFrontier(ITERATOR messageIterator, Messages messages) {
+        // The sparse frontier is not ordered by node id, so
+        // instead of the node batches, we claim batches of
+        // active nodes until the frontier is exhausted.
+        long offset;
+        while ((offset = frontier.claimSparseBatch()) != -1) {
+            long end = frontier.sparseBatchEnd(offset);
+            for (; offset < end; offset++) {
+                computeNode(frontier.sparseNodeId(offset), messageIterator, messages);
+            }
+        }
+    }
+
+    private void computeNode(long nodeId, ITERATOR messageIterator, Messages messages) {
+        messenger.initMessageIterator(messageIterator, nodeId, computeContext.isInitialSuperstep());
+
+        if (!messages.isEmpty() || !voteBits.get(nodeId)) {
+            voteBits.clear(nodeId);
+            computeContext.setNodeId(nodeId);
+            computation.compute(computeContext, messages);
+            computedNodeCount++;
+
+            if (frontier != null && !voteBits.get(nodeId)) {
+                frontier.activate(nodeId);
             }
         }
     }
@@ -102,7 +188,9 @@ public final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends Mes
         int iteration
     ) {
         this.iteration = iteration;
-        this.hasSendMessage = false;
+        this.computedNodeCount = 0;
+        this.sentMessageCount = 0;
+        this.computeNanos = 0;
     }
 
     public int iteration() {
@@ -130,8 +218,35 @@ public final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends Mes
     }
 
     public void sendTo(long targetNodeId, double message) {
-        messenger.sendTo(targetNodeId, message);
-        hasSendMessage = true;
+        if (messageCombiner != null) {
+            messageCombiner.sendTo(targetNodeId, message);
+        } else {
+            messenger.sendTo(targetNodeId, message);
+        }
+        if (frontier != null) {
+            frontier.activate(targetNodeId);
+        }
+        sentMessageCount++;
+    }
+
+    public MessageRecord newMessage() {
+        outgoingMessage.clear();
+        return outgoingMessage;
+    }
+
+    public void sendTo(long targetNodeId, MessageRecord message) {
+        messenger.sendTo(targetNodeId, message.doubles, message.longs);
+        if (frontier != null) {
+            frontier.activate(targetNodeId);
+        }
+        sentMessageCount++;
+    }
+
+    public void sendToNeighbors(long sourceNodeId, MessageRecord message) {
+        relationshipIterator.forEachRelationship(sourceNodeId, (ignored, targetNodeId) -> {
+            sendTo(targetNodeId, message);
+            return true;
+        });
     }
 
     public void sendToNeighbors(long sourceNodeId, double message) {
@@ -190,6 +305,18 @@ public final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends Mes
     }
 
     boolean hasSendMessage() {
-        return hasSendMessage;
+        return sentMessageCount > 0;
+    }
+
+    long computedNodeCount() {
+        return computedNodeCount;
+    }
+
+    long sentMessageCount() {
+        return sentMessageCount;
+    }
+
+    long computeNanos() {
+        return computeNanos;
     }
 }
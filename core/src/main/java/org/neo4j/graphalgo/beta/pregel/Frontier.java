@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the nodes that need to be computed in the next superstep,
+ * i.e. nodes that received a message or did not vote to halt.
+ * <p>
+ * Active nodes are always recorded in a bit set. As long as the
+ * number of active nodes is small, their ids are additionally
+ * appended to a sparse list which allows iterating the frontier
+ * without scanning the bit set. The sparse list can hold as many
+ * ids as the bit set has words, which is the point at which a
+ * scan over the bit set becomes cheaper than random access.
+ */
+final class Frontier {
+
+    // number of sparse frontier entries a compute step claims at once
+    static final int SPARSE_BATCH_SIZE = 1024;
+
+    private final long sparseCapacity;
+    private final AtomicLong nextSize;
+    private final AtomicLong sparseCursor;
+
+    private HugeAtomicBitSet current;
+    private HugeAtomicBitSet next;
+    private HugeLongArray currentSparse;
+    private HugeLongArray nextSparse;
+    private long currentSize;
+
+    static Frontier of(long nodeCount, AllocationTracker tracker) {
+        var sparseCapacity = sparseCapacity(nodeCount);
+        return new Frontier(
+            HugeAtomicBitSet.create(nodeCount, tracker),
+            HugeAtomicBitSet.create(nodeCount, tracker),
+            HugeLongArray.newArray(sparseCapacity, tracker),
+            HugeLongArray.newArray(sparseCapacity, tracker),
+            sparseCapacity
+        );
+    }
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(Frontier.class)
+            .perNode("current bits", MemoryUsage::sizeOfHugeAtomicBitset)
+            .perNode("next bits", MemoryUsage::sizeOfHugeAtomicBitset)
+            .perNode("current sparse ids", nodeCount -> HugeLongArray.memoryEstimation(sparseCapacity(nodeCount)))
+            .perNode("next sparse ids", nodeCount -> HugeLongArray.memoryEstimation(sparseCapacity(nodeCount)))
+            .build();
+    }
+
+    private static long sparseCapacity(long nodeCount) {
+        return BitUtil.ceilDiv(nodeCount, Long.SIZE);
+    }
+
+    private Frontier(
+        HugeAtomicBitSet current,
+        HugeAtomicBitSet next,
+        HugeLongArray currentSparse,
+        HugeLongArray nextSparse,
+        long sparseCapacity
+    ) {
+        this.current = current;
+        this.next = next;
+        this.currentSparse = currentSparse;
+        this.nextSparse = nextSparse;
+        this.sparseCapacity = sparseCapacity;
+        this.nextSize = new AtomicLong();
+        this.sparseCursor = new AtomicLong();
+    }
+
+    /**
+     * Marks the given node as active for the next superstep.
+     */
+    void activate(long nodeId) {
+        if (!next.getAndSet(nodeId)) {
+            var index = nextSize.getAndIncrement();
+            if (index < sparseCapacity) {
+                nextSparse.set(index, nodeId);
+            }
+        }
+    }
+
+    /**
+     * Turns the nodes activated during the last superstep into
+     * the current frontier and resets the next frontier.
+     * <p>
+     * Note: this method is not thread-safe and must be called
+     * in-between supersteps.
+     */
+    void advance() {
+        // Reset the bits of the frontier we're done with.
+        // For a sparse frontier, we only touch the set bits.
+        if (isSparse()) {
+            for (long i = 0; i < currentSize; i++) {
+                current.clear(currentSparse.get(i));
+            }
+        } else {
+            current.clear();
+        }
+
+        var tmpBits = current;
+        this.current = next;
+        this.next = tmpBits;
+
+        var tmpSparse = currentSparse;
+        this.currentSparse = nextSparse;
+        this.nextSparse = tmpSparse;
+
+        this.currentSize = nextSize.getAndSet(0);
+        this.sparseCursor.set(0);
+    }
+
+    /**
+     * Number of nodes in the current frontier.
+     */
+    long size() {
+        return currentSize;
+    }
+
+    /**
+     * Returns true iff no node has been activated for the next superstep.
+     */
+    boolean isNextEmpty() {
+        return nextSize.get() == 0;
+    }
+
+    /**
+     * Returns true iff the current frontier can be iterated
+     * via {@link #claimSparseBatch()} and {@link #sparseNodeId(long)}.
+     */
+    boolean isSparse() {
+        return currentSize <= sparseCapacity;
+    }
+
+    /**
+     * Returns the next active node id on or after the given node id
+     * or -1 if there is none. Used for iterating a dense frontier.
+     */
+    long nextActiveNode(long nodeId) {
+        return current.nextSetBit(nodeId);
+    }
+
+    /**
+     * Claims a batch of {@link #SPARSE_BATCH_SIZE} consecutive offsets
+     * within the sparse frontier and returns the first offset of that
+     * batch. If the frontier is exhausted, -1 is returned.
+     */
+    long claimSparseBatch() {
+        var start = sparseCursor.getAndAdd(SPARSE_BATCH_SIZE);
+        return start < currentSize ? start : -1;
+    }
+
+    long sparseBatchEnd(long batchStart) {
+        return Math.min(batchStart + SPARSE_BATCH_SIZE, currentSize);
+    }
+
+    long sparseNodeId(long offset) {
+        return currentSparse.get(offset);
+    }
+
+    void release() {
+        currentSparse.release();
+        nextSparse.release();
+    }
+}
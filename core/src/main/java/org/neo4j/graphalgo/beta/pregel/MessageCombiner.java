@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import com.carrotsearch.hppc.BitMixer;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+
+import java.util.Arrays;
+
+/**
+ * A thread-local buffer that pre-reduces messages per target
+ * node before they are reduced into the shared message array
+ * of the {@link org.neo4j.graphalgo.beta.pregel.ReducingMessenger}.
+ * <p>
+ * Each target node maps to a single slot of a fixed-size table.
+ * If a slot is occupied by another target, the buffered value is
+ * flushed to the messenger and the slot is taken over. Messages
+ * to high-degree nodes are therefore mostly combined locally,
+ * which reduces contention on the atomic message array.
+ * <p>
+ * Combiners are only used for {@link org.neo4j.graphalgo.beta.pregel.Reducer.Combinable}
+ * reducers, since the partially reduced values need to be merged.
+ */
+final class MessageCombiner {
+
+    static final int CAPACITY = 1 << 10;
+    private static final int MASK = CAPACITY - 1;
+    private static final long EMPTY = -1L;
+
+    private final ReducingMessenger messenger;
+    private final Reducer.Combinable reducer;
+    private final long[] targets;
+    private final double[] values;
+
+    static long memoryUsage() {
+        return MemoryUsage.sizeOfInstance(MessageCombiner.class) +
+               MemoryUsage.sizeOfLongArray(CAPACITY) +
+               MemoryUsage.sizeOfDoubleArray(CAPACITY);
+    }
+
+    MessageCombiner(ReducingMessenger messenger, Reducer.Combinable reducer) {
+        this.messenger = messenger;
+        this.reducer = reducer;
+        this.targets = new long[CAPACITY];
+        this.values = new double[CAPACITY];
+        Arrays.fill(targets, EMPTY);
+    }
+
+    void sendTo(long targetNodeId, double message) {
+        int slot = (int) BitMixer.mixPhi(targetNodeId) & MASK;
+        long currentTarget = targets[slot];
+
+        if (currentTarget == targetNodeId) {
+            values[slot] = reducer.reduce(values[slot], message);
+            return;
+        }
+
+        if (currentTarget != EMPTY) {
+            messenger.sendCombined(currentTarget, values[slot], reducer);
+        }
+
+        targets[slot] = targetNodeId;
+        values[slot] = reducer.reduce(reducer.identity(), message);
+    }
+
+    /**
+     * Sends all buffered messages to the messenger.
+     * Must be called at the end of each superstep.
+     */
+    void flush() {
+        for (int slot = 0; slot < CAPACITY; slot++) {
+            long target = targets[slot];
+            if (target != EMPTY) {
+                messenger.sendCombined(target, values[slot], reducer);
+                targets[slot] = EMPTY;
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * A single message that follows a {@link org.neo4j.graphalgo.beta.pregel.MessageSchema}.
+ * <p>
+ * Instances are re-used by the framework, both for sending and
+ * receiving messages, in order to avoid allocations per message.
+ * Double and long values are stored in separate columns. Values
+ * can be accessed by key or by the slot of the element, which can
+ * be resolved once via {@link MessageSchema#slot(String)}.
+ */
+public final class MessageRecord {
+
+    private final MessageSchema schema;
+    final double[] doubles;
+    final long[] longs;
+
+    MessageRecord(MessageSchema schema) {
+        this.schema = schema;
+        this.doubles = new double[schema.doubleWidth()];
+        this.longs = new long[schema.longWidth()];
+    }
+
+    public double doubleValue(String key) {
+        return doubles[schema.slot(key, ValueType.DOUBLE)];
+    }
+
+    public double doubleValue(int slot) {
+        return doubles[slot];
+    }
+
+    public long longValue(String key) {
+        return longs[schema.slot(key, ValueType.LONG)];
+    }
+
+    public long longValue(int slot) {
+        return longs[slot];
+    }
+
+    /**
+     * Copies the values of the given array element into the target array.
+     */
+    public double[] doubleArrayValue(String key, double[] target) {
+        var element = schema.element(key, ValueType.DOUBLE_ARRAY);
+        System.arraycopy(doubles, element.offset(), target, 0, element.length());
+        return target;
+    }
+
+    /**
+     * Copies as many values as the target array can hold, starting at the given slot.
+     */
+    public double[] doubleArrayValue(int slot, double[] target) {
+        System.arraycopy(doubles, slot, target, 0, target.length);
+        return target;
+    }
+
+    /**
+     * Copies the values of the given array element into the target array.
+     */
+    public long[] longArrayValue(String key, long[] target) {
+        var element = schema.element(key, ValueType.LONG_ARRAY);
+        System.arraycopy(longs, element.offset(), target, 0, element.length());
+        return target;
+    }
+
+    /**
+     * Copies as many values as the target array can hold, starting at the given slot.
+     */
+    public long[] longArrayValue(int slot, long[] target) {
+        System.arraycopy(longs, slot, target, 0, target.length);
+        return target;
+    }
+
+    public MessageRecord set(String key, double value) {
+        doubles[schema.slot(key, ValueType.DOUBLE)] = value;
+        return this;
+    }
+
+    public MessageRecord set(int slot, double value) {
+        doubles[slot] = value;
+        return this;
+    }
+
+    public MessageRecord set(String key, long value) {
+        longs[schema.slot(key, ValueType.LONG)] = value;
+        return this;
+    }
+
+    public MessageRecord set(int slot, long value) {
+        longs[slot] = value;
+        return this;
+    }
+
+    public MessageRecord set(String key, double[] value) {
+        var element = schema.element(key, ValueType.DOUBLE_ARRAY);
+        checkLength(element, value.length);
+        System.arraycopy(value, 0, doubles, element.offset(), value.length);
+        return this;
+    }
+
+    public MessageRecord set(int slot, double[] value) {
+        System.arraycopy(value, 0, doubles, slot, value.length);
+        return this;
+    }
+
+    public MessageRecord set(String key, long[] value) {
+        var element = schema.element(key, ValueType.LONG_ARRAY);
+        checkLength(element, value.length);
+        System.arraycopy(value, 0, longs, element.offset(), value.length);
+        return this;
+    }
+
+    public MessageRecord set(int slot, long[] value) {
+        System.arraycopy(value, 0, longs, slot, value.length);
+        return this;
+    }
+
+    void clear() {
+        Arrays.fill(doubles, 0D);
+        Arrays.fill(longs, 0L);
+    }
+
+    private static void checkLength(MessageElement element, int length) {
+        if (element.length() != length) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Message element %s expects %d values, got %d.",
+                element.key(),
+                element.length(),
+                length
+            ));
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.immutables.value.Value;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * The message schema describes the layout of a single message.
+ * A message is a fixed-width record composed of long and double
+ * values as well as fixed-length arrays of those. Each part of
+ * the record is named by a unique key.
+ * <br>
+ * Double and long values are stored in separate columns of a record.
+ * The position of an element within its column is its slot, which
+ * can be resolved once via {@link #slot(String)} and be used to access
+ * a {@link org.neo4j.graphalgo.beta.pregel.MessageRecord} without key lookups.
+ * <br>
+ * By default, a message is a single double value.
+ */
+@ValueClass
+public interface MessageSchema {
+
+    String DEFAULT_KEY = "message";
+
+    List<MessageElement> elements();
+
+    /**
+     * The number of double values a single message consists of.
+     */
+    @Value.Derived
+    default int doubleWidth() {
+        return elements().stream().filter(element -> !element.isLong()).mapToInt(MessageElement::length).sum();
+    }
+
+    /**
+     * The number of long values a single message consists of.
+     */
+    @Value.Derived
+    default int longWidth() {
+        return elements().stream().filter(MessageElement::isLong).mapToInt(MessageElement::length).sum();
+    }
+
+    @Value.Derived
+    @Value.Auxiliary
+    default Map<String, MessageElement> elementsByKey() {
+        return elements().stream().collect(Collectors.toMap(MessageElement::key, Function.identity()));
+    }
+
+    /**
+     * Returns the position of the element with the given key within its column.
+     */
+    default int slot(String key) {
+        return element(key).offset();
+    }
+
+    /**
+     * Returns true iff a message is a single double value.
+     * Only that schema is supported by reducers and
+     * asynchronous messaging.
+     */
+    @Value.Derived
+    default boolean isSingleDouble() {
+        return elements().size() == 1 && elements().get(0).type() == ValueType.DOUBLE;
+    }
+
+    @Value.Derived
+    default boolean isSingleLong() {
+        return elements().size() == 1 && elements().get(0).type() == ValueType.LONG;
+    }
+
+    default MessageElement element(String key) {
+        @Nullable MessageElement element = elementsByKey().get(key);
+        if (element == null) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Message element with key %s does not exist. Available elements are: %s",
+                key,
+                elementsByKey().keySet()
+            ));
+        }
+        return element;
+    }
+
+    default MessageElement element(String key, ValueType expectedType) {
+        var element = element(key);
+        if (element.type() != expectedType) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Requested message type %s is not compatible with message type %s for key %s.",
+                expectedType,
+                element.type(),
+                key
+            ));
+        }
+        return element;
+    }
+
+    /**
+     * Returns the slot of the element with the given key
+     * after checking that the element is of the expected type.
+     */
+    default int slot(String key, ValueType expectedType) {
+        return element(key, expectedType).offset();
+    }
+
+    static MessageSchema singleDouble() {
+        return new Builder().add(DEFAULT_KEY, ValueType.DOUBLE).build();
+    }
+
+    class Builder {
+
+        private final List<MessageElement> elements = new ArrayList<>();
+        private final Set<String> keys = new HashSet<>();
+        private int doubleOffset = 0;
+        private int longOffset = 0;
+
+        public MessageSchema.Builder add(String key, ValueType type) {
+            if (type == ValueType.LONG_ARRAY || type == ValueType.DOUBLE_ARRAY) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Message element %s of type %s requires a fixed length.",
+                    key,
+                    type
+                ));
+            }
+            return add(key, type, 1);
+        }
+
+        public MessageSchema.Builder add(String key, ValueType type, int length) {
+            switch (type) {
+                case LONG:
+                case DOUBLE:
+                    if (length != 1) {
+                        throw new IllegalArgumentException(formatWithLocale(
+                            "Message element %s of type %s must have length 1, got %d.",
+                            key,
+                            type,
+                            length
+                        ));
+                    }
+                    break;
+                case LONG_ARRAY:
+                case DOUBLE_ARRAY:
+                    if (length < 1) {
+                        throw new IllegalArgumentException(formatWithLocale(
+                            "Message element %s of type %s must have a positive length, got %d.",
+                            key,
+                            type,
+                            length
+                        ));
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "Unsupported type %s for message element %s.",
+                        type,
+                        key
+                    ));
+            }
+
+            if (!keys.add(key)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Message element %s is already defined.",
+                    key
+                ));
+            }
+
+            if (type == ValueType.LONG || type == ValueType.LONG_ARRAY) {
+                elements.add(ImmutableMessageElement.of(key, type, longOffset, length));
+                longOffset += length;
+            } else {
+                elements.add(ImmutableMessageElement.of(key, type, doubleOffset, length));
+                doubleOffset += length;
+            }
+            return this;
+        }
+
+        public MessageSchema build() {
+            if (elements.isEmpty()) {
+                throw new IllegalArgumentException("A message schema requires at least one element.");
+            }
+            return ImmutableMessageSchema.of(elements);
+        }
+    }
+}
+
+@ValueClass
+interface MessageElement {
+    String key();
+
+    ValueType type();
+
+    /**
+     * Position of the first value of the element within the
+     * double or long column of a message, depending on its type.
+     */
+    int offset();
+
+    int length();
+
+    default boolean isLong() {
+        return type() == ValueType.LONG || type() == ValueType.LONG_ARRAY;
+    }
+}
@@ -20,10 +20,19 @@
 package org.neo4j.graphalgo.beta.pregel;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Iterator;
 import java.util.PrimitiveIterator;
 
+/**
+ * The messages a node received in the current superstep.
+ * <p>
+ * The {@link java.lang.Iterable} implementation boxes each message.
+ * Computations on the hot path should prefer {@link #doubleIterator()},
+ * {@link #longIterator()} or {@link #nextRecord()}, depending on
+ * their {@link org.neo4j.graphalgo.beta.pregel.MessageSchema}.
+ */
 public final class Messages implements Iterable<Double> {
 
     @NotNull
@@ -34,12 +43,28 @@ public final class Messages implements Iterable<Double> {
 
     interface MessageIterator extends PrimitiveIterator.OfDouble {
         boolean isEmpty();
+
+        /**
+         * Reads the double and long values of the next message.
+         * The arrays are sized according to the message schema,
+         * which has been validated against the messenger in
+         * {@link org.neo4j.graphalgo.beta.pregel.Pregel#validateMessageSchema}.
+         */
+        void nextRecord(double[] doubles, long[] longs);
     }
 
     private final MessageIterator iterator;
+    private final @Nullable LongMessageIterator longIterator;
+    private final MessageRecord record;
 
     Messages(MessageIterator iterator) {
+        this(iterator, MessageSchema.singleDouble());
+    }
+
+    Messages(MessageIterator iterator, MessageSchema schema) {
         this.iterator = iterator;
+        this.longIterator = schema.isSingleLong() ? new LongMessageIterator(iterator) : null;
+        this.record = new MessageRecord(schema);
     }
 
     @NotNull
@@ -47,7 +72,60 @@ public final class Messages implements Iterable<Double> {
         return iterator;
     }
 
+    /**
+     * Iterates messages of a schema that consists of a single long element.
+     */
+    @NotNull
+    public PrimitiveIterator.OfLong longIterator() {
+        if (longIterator == null) {
+            throw new IllegalStateException("Only messages that consist of a single long element can be iterated as longs.");
+        }
+        return longIterator;
+    }
+
+    /**
+     * Reads the next message into the {@link #record()}.
+     * Returns false if there are no more messages.
+     */
+    public boolean nextRecord() {
+        if (!iterator.hasNext()) {
+            return false;
+        }
+        iterator.nextRecord(record.doubles, record.longs);
+        return true;
+    }
+
+    /**
+     * The message read by the last call to {@link #nextRecord()}.
+     */
+    public MessageRecord record() {
+        return record;
+    }
+
     public boolean isEmpty() {
         return iterator.isEmpty();
     }
+
+    private static final class LongMessageIterator implements PrimitiveIterator.OfLong {
+
+        private static final double[] NO_DOUBLES = new double[0];
+
+        private final MessageIterator iterator;
+        private final long[] longs = new long[1];
+
+        private LongMessageIterator(MessageIterator iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public long nextLong() {
+            iterator.nextRecord(NO_DOUBLES, longs);
+            return longs[0];
+        }
+    }
 }
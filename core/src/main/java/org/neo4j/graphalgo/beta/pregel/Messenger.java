@@ -19,15 +19,39 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import com.carrotsearch.hppc.DoubleArrayList;
+
 public interface Messenger<ITERATOR extends Messages.MessageIterator> {
 
     void initIteration(int iteration);
 
     void sendTo(long targetNodeId, double message);
 
+    /**
+     * Sends a message that consists of multiple double and long values
+     * as specified by the {@link org.neo4j.graphalgo.beta.pregel.MessageSchema}.
+     */
+    void sendTo(long targetNodeId, double[] doubles, long[] longs);
+
     ITERATOR messageIterator();
 
     void initMessageIterator(ITERATOR messageIterator, long nodeId, boolean isFirstIteration);
 
+    /**
+     * Adds the messages that have been sent to the given node
+     * in the current superstep to the buffer. Used for checkpointing.
+     */
+    void pendingMessages(long nodeId, DoubleArrayList buffer);
+
+    /**
+     * Re-sends a message that has been read from a checkpoint.
+     */
+    void restoreMessage(long targetNodeId, double message);
+
+    /**
+     * Returns the number of bytes currently allocated for messages.
+     */
+    long memoryUsage();
+
     void release();
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.toUpperCaseWithLocale;
+
+public enum Partitioning {
+    /**
+     * Splits the node id space into many ranges of equal node count.
+     * Compute steps pick up the next range once they are done with
+     * their current one.
+     */
+    RANGE,
+    /**
+     * Splits the node id space into many ranges containing roughly
+     * the same number of relationships. Compute steps pick up the
+     * next range once they are done with their current one, which
+     * prevents ranges with high-degree nodes from dominating a superstep.
+     */
+    DEGREE;
+
+    public static Partitioning of(String partitioning) {
+        return valueOf(toUpperCaseWithLocale(partitioning));
+    }
+
+    public static Partitioning parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return of((String) object);
+        }
+        if (object instanceof Partitioning) {
+            return (Partitioning) object;
+        }
+        return null;
+    }
+
+    public static String toString(Partitioning partitioning) {
+        return partitioning.toString();
+    }
+}
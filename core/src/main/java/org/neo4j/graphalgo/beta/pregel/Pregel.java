@@ -20,10 +20,12 @@
 package org.neo4j.graphalgo.beta.pregel;
 
 import org.immutables.value.Value;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.beta.pregel.context.MasterComputeContext;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
@@ -31,15 +33,25 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.partition.Partition;
 import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+import org.neo4j.graphalgo.core.utils.progress.EmptyProgressEventTracker;
+import org.neo4j.graphalgo.core.utils.progress.ProgressEventTracker;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Value.Style(builderVisibility = Value.Style.BuilderVisibility.PUBLIC, depluralize = true, deepImmutablesDetection = true)
 public final class Pregel<CONFIG extends PregelConfig> {
 
+    // Number of partitions per compute step, more partitions
+    // allow compute steps to balance out expensive partitions.
+    static final int PARTITIONS_PER_THREAD = 8;
+
+    static final String PREGEL_TASK_NAME = "Pregel";
+
     private final CONFIG config;
 
     private final PregelComputation<CONFIG> computation;
@@ -48,11 +60,24 @@ public final class Pregel<CONFIG extends PregelConfig> {
 
     private final NodeValue nodeValues;
 
+    private final MessageSchema messageSchema;
+
     private final Messenger<?> messenger;
 
+    private final @Nullable Reducer reducer;
+
+    private final @Nullable ReducingMessenger reducingMessenger;
+
+    private final @Nullable Frontier frontier;
+
+    private final @Nullable PregelCheckpointer checkpointer;
+
+    private final AtomicInteger nodeBatchOffset;
+
     private final int concurrency;
     private final ExecutorService executor;
     private final AllocationTracker tracker;
+    private final ProgressEventTracker eventTracker;
 
     public static <CONFIG extends PregelConfig> Pregel<CONFIG> create(
         Graph graph,
@@ -60,12 +85,41 @@ public final class Pregel<CONFIG extends PregelConfig> {
         PregelComputation<CONFIG> computation,
         ExecutorService executor,
         AllocationTracker tracker
+    ) {
+        return create(graph, config, computation, executor, tracker, EmptyProgressEventTracker.INSTANCE);
+    }
+
+    public static <CONFIG extends PregelConfig> Pregel<CONFIG> create(
+        Graph graph,
+        CONFIG config,
+        PregelComputation<CONFIG> computation,
+        ExecutorService executor,
+        AllocationTracker tracker,
+        ProgressEventTracker eventTracker
+    ) {
+        return create(graph, config, computation, executor, tracker, eventTracker, null);
+    }
+
+    /**
+     * Creates a Pregel computation that may write and resume checkpoints.
+     * The {@link PregelConfig#checkpointDirectory()} is resolved against
+     * the given checkpoint root and must not point outside of it.
+     */
+    public static <CONFIG extends PregelConfig> Pregel<CONFIG> create(
+        Graph graph,
+        CONFIG config,
+        PregelComputation<CONFIG> computation,
+        ExecutorService executor,
+        AllocationTracker tracker,
+        ProgressEventTracker eventTracker,
+        @Nullable Path checkpointRoot
     ) {
         // This prevents users from disabling concurrency
         // validation in custom PregelConfig implementations.
         // Creating a copy of the user config triggers the
         // concurrency validations.
         ImmutablePregelConfig.copyOf(config);
+        validateMessageSchema(config, computation);
 
         return new Pregel<>(
             graph,
@@ -73,11 +127,56 @@ public final class Pregel<CONFIG extends PregelConfig> {
             computation,
             NodeValue.of(computation.schema(config), graph.nodeCount(), config.concurrency(), tracker),
             executor,
-            tracker
+            tracker,
+            eventTracker,
+            checkpointRoot
         );
     }
 
+    /**
+     * Rejects message schemas that are not supported by the messenger
+     * the given configuration and computation would use. Only synchronous
+     * message queues support messages other than a single double value.
+     */
+    public static <CONFIG extends PregelConfig> void validateMessageSchema(
+        CONFIG config,
+        PregelComputation<CONFIG> computation
+    ) {
+        var messageSchema = computation.messageSchema(config);
+        if (messageSchema.isSingleDouble()) {
+            return;
+        }
+        if (computation.reducer().isPresent()) {
+            throw new IllegalArgumentException("A reducer can only be used with single double messages.");
+        }
+        if (config.isAsynchronous()) {
+            throw new IllegalArgumentException("Asynchronous messaging can only be used with single double messages.");
+        }
+        if (config.checkpointDirectory() != null) {
+            throw new IllegalArgumentException("Checkpointing can only be used with single double messages.");
+        }
+    }
+
     public static MemoryEstimation memoryEstimation(PregelSchema pregelSchema, boolean isQueueBased, boolean isAsync) {
+        return memoryEstimation(pregelSchema, isQueueBased, isAsync, false);
+    }
+
+    public static MemoryEstimation memoryEstimation(
+        PregelSchema pregelSchema,
+        boolean isQueueBased,
+        boolean isAsync,
+        boolean isFrontierBased
+    ) {
+        return memoryEstimation(pregelSchema, MessageSchema.singleDouble(), isQueueBased, isAsync, isFrontierBased);
+    }
+
+    public static MemoryEstimation memoryEstimation(
+        PregelSchema pregelSchema,
+        MessageSchema messageSchema,
+        boolean isQueueBased,
+        boolean isAsync,
+        boolean isFrontierBased
+    ) {
         var estimationBuilder = MemoryEstimations.builder(Pregel.class)
             .perNode("vote bits", MemoryUsage::sizeOfHugeAtomicBitset)
             .perThread("compute steps", MemoryEstimations.builder(ComputeStep.class).build())
@@ -87,10 +186,16 @@ public final class Pregel<CONFIG extends PregelConfig> {
             if (isAsync) {
                 estimationBuilder.add("message queues", AsyncQueueMessenger.memoryEstimation());
             } else {
-                estimationBuilder.add("message queues", SyncQueueMessenger.memoryEstimation());
+                estimationBuilder.add("message queues", SyncQueueMessenger.memoryEstimation(messageSchema));
             }
         } else {
-            estimationBuilder.add("message arrays", ReducingMessenger.memoryEstimation());
+            estimationBuilder
+                .add("message arrays", ReducingMessenger.memoryEstimation())
+                .perThread("message combiners", MessageCombiner.memoryUsage());
+        }
+
+        if (isFrontierBased) {
+            estimationBuilder.add("frontier", Frontier.memoryEstimation());
         }
 
         return estimationBuilder.build();
@@ -102,23 +207,41 @@ public final class Pregel<CONFIG extends PregelConfig> {
         final PregelComputation<CONFIG> computation,
         final NodeValue initialNodeValue,
         final ExecutorService executor,
-        final AllocationTracker tracker
+        final AllocationTracker tracker,
+        final ProgressEventTracker eventTracker,
+        final @Nullable Path checkpointRoot
     ) {
         this.graph = graph;
         this.config = config;
         this.computation = computation;
         this.nodeValues = initialNodeValue;
+        this.messageSchema = computation.messageSchema(config);
         this.concurrency = config.concurrency();
         this.executor = executor;
         this.tracker = tracker;
+        this.eventTracker = eventTracker;
+
+        this.checkpointer = config.checkpointDirectory() != null
+            ? PregelCheckpointer.of(checkpointRoot, config.checkpointDirectory(), graph.nodeCount())
+            : null;
 
-        var reducer = computation.reducer();
+        this.reducer = computation.reducer().orElse(null);
 
-        this.messenger = reducer.isPresent()
-            ? new ReducingMessenger(graph, config, reducer.get(), tracker)
-            : config.isAsynchronous()
+        if (reducer != null) {
+            this.reducingMessenger = new ReducingMessenger(graph, config, reducer, tracker);
+            this.messenger = reducingMessenger;
+        } else {
+            this.reducingMessenger = null;
+            this.messenger = config.isAsynchronous()
                 ? new AsyncQueueMessenger(graph.nodeCount(), tracker)
-                : new SyncQueueMessenger(graph.nodeCount(), tracker);
+                : new SyncQueueMessenger(graph.nodeCount(), messageSchema, tracker);
+        }
+
+        this.frontier = config.isFrontierBased()
+            ? Frontier.of(graph.nodeCount(), tracker)
+            : null;
+
+        this.nodeBatchOffset = new AtomicInteger();
     }
 
     public PregelResult run() {
@@ -128,8 +251,31 @@ public final class Pregel<CONFIG extends PregelConfig> {
 
         var computeSteps = createComputeSteps(voteBits);
 
-        int iterations;
-        for (iterations = 0; iterations < config.maxIterations(); iterations++) {
+        var superstepMetrics = new ArrayList<SuperstepMetrics>();
+        long receivedMessageCount = 0;
+
+        int iterations = 0;
+        if (checkpointer != null && config.resumeFromCheckpoint()) {
+            var latestCheckpoint = checkpointer.latestSuperstep();
+            if (latestCheckpoint.isPresent()) {
+                // Restored messages are sent to the messenger, which
+                // needs to happen before the iteration is initialized.
+                iterations = checkpointer.restore(
+                    latestCheckpoint.getAsInt(),
+                    nodeValues,
+                    voteBits,
+                    messenger,
+                    frontier
+                ) + 1;
+            }
+        }
+
+        for (; iterations < config.maxIterations(); iterations++) {
+            // Nodes activated in the previous iteration become the current frontier
+            if (frontier != null && iterations > 0) {
+                frontier.advance();
+            }
+
             // Init compute steps with the updated state
             for (var computeStep : computeSteps) {
                 computeStep.init(iterations);
@@ -138,19 +284,42 @@ public final class Pregel<CONFIG extends PregelConfig> {
             // Init messenger with the updated state
             messenger.initIteration(iterations);
 
+            // Compute steps start again from the first node batch
+            nodeBatchOffset.set(0);
+
             // Run the computation
             runComputeSteps(computeSteps);
+            var masterComputeStart = System.nanoTime();
             runMasterComputeStep(iterations);
+            var masterComputeNanos = System.nanoTime() - masterComputeStart;
 
-
-            var lastIterationSendMessages = computeSteps
-                .stream()
-                .anyMatch(ComputeStep::hasSendMessage);
+            var metrics = superstepMetrics(iterations, computeSteps, receivedMessageCount, masterComputeNanos);
+            superstepMetrics.add(metrics);
+            eventTracker.addLogEvent(PREGEL_TASK_NAME, metrics.toLogMessage());
+            receivedMessageCount = metrics.sentMessageCount();
 
             // No messages have been sent and all nodes voted to halt
-            if (!lastIterationSendMessages && voteBits.allSet()) {
-                didConverge = true;
-                break;
+            if (frontier != null) {
+                // The frontier tracks both conditions
+                if (frontier.isNextEmpty()) {
+                    didConverge = true;
+                    break;
+                }
+            } else {
+                var lastIterationSendMessages = computeSteps
+                    .stream()
+                    .anyMatch(ComputeStep::hasSendMessage);
+
+                if (!lastIterationSendMessages && voteBits.allSet()) {
+                    didConverge = true;
+                    break;
+                }
+            }
+
+            if (checkpointer != null
+                && config.checkpointInterval() > 0
+                && (iterations + 1) % config.checkpointInterval() == 0) {
+                checkpointer.write(iterations, nodeValues, voteBits, messenger);
             }
         }
 
@@ -158,34 +327,89 @@ public final class Pregel<CONFIG extends PregelConfig> {
             .nodeValues(nodeValues)
             .didConverge(didConverge)
             .ranIterations(iterations)
+            .superstepMetrics(superstepMetrics)
             .build();
     }
 
     public void release() {
         messenger.release();
+        if (frontier != null) {
+            frontier.release();
+        }
     }
 
     private List<ComputeStep<CONFIG, ?>> createComputeSteps(HugeAtomicBitSet voteBits) {
-        List<Partition> partitions = PartitionUtils.rangePartition(concurrency, graph.nodeCount());
+        List<Partition> nodeBatches = createNodeBatches();
 
-        List<ComputeStep<CONFIG, ?>> computeSteps = new ArrayList<>(concurrency);
+        int computeStepCount = Math.min(concurrency, nodeBatches.size());
+        List<ComputeStep<CONFIG, ?>> computeSteps = new ArrayList<>(computeStepCount);
 
-        for (Partition partition : partitions) {
+        for (int i = 0; i < computeStepCount; i++) {
             computeSteps.add(new ComputeStep<>(
                 graph,
                 computation,
                 config,
+                messageSchema,
                 0,
-                partition,
+                nodeBatches,
+                nodeBatchOffset,
                 nodeValues,
                 messenger,
                 voteBits,
+                frontier,
+                reducer instanceof Reducer.Combinable
+                    ? new MessageCombiner(reducingMessenger, (Reducer.Combinable) reducer)
+                    : null,
                 graph
             ));
         }
         return computeSteps;
     }
 
+    private List<Partition> createNodeBatches() {
+        if (config.partitioning() == Partitioning.DEGREE) {
+            var degreeBatchSize = Math.max(
+                1L,
+                BitUtil.ceilDiv(graph.relationshipCount(), (long) concurrency * PARTITIONS_PER_THREAD)
+            );
+            return PartitionUtils.degreePartition(graph, degreeBatchSize);
+        }
+        var rangeBatchSize = ParallelUtil.adjustedBatchSize(
+            graph.nodeCount(),
+            concurrency * PARTITIONS_PER_THREAD,
+            ParallelUtil.DEFAULT_BATCH_SIZE
+        );
+        return PartitionUtils.rangePartition(concurrency, graph.nodeCount(), rangeBatchSize);
+    }
+
+    private SuperstepMetrics superstepMetrics(
+        int iteration,
+        List<ComputeStep<CONFIG, ?>> computeSteps,
+        long receivedMessageCount,
+        long masterComputeNanos
+    ) {
+        var metrics = ImmutableSuperstepMetrics.builder()
+            .superstep(iteration)
+            .receivedMessageCount(receivedMessageCount)
+            .masterComputeNanos(masterComputeNanos)
+            .messengerMemoryUsage(messenger.memoryUsage());
+
+        long activeNodeCount = 0;
+        long sentMessageCount = 0;
+        var computeStepNanos = new ArrayList<Long>(computeSteps.size());
+        for (var computeStep : computeSteps) {
+            activeNodeCount += computeStep.computedNodeCount();
+            sentMessageCount += computeStep.sentMessageCount();
+            computeStepNanos.add(computeStep.computeNanos());
+        }
+
+        return metrics
+            .activeNodeCount(activeNodeCount)
+            .sentMessageCount(sentMessageCount)
+            .computeStepNanos(computeStepNanos)
+            .build();
+    }
+
     private void runComputeSteps(Collection<ComputeStep<CONFIG, ?>> computeSteps) {
         ParallelUtil.runWithConcurrency(concurrency, computeSteps, executor);
     }
@@ -203,5 +427,13 @@ public final class Pregel<CONFIG extends PregelConfig> {
         int ranIterations();
 
         boolean didConverge();
+
+        /**
+         * Statistics for each superstep that has been executed.
+         */
+        @Value.Default
+        default List<SuperstepMetrics> superstepMetrics() {
+            return List.of();
+        }
     }
 }
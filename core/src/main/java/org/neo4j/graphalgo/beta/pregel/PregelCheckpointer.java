@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import com.carrotsearch.hppc.DoubleArrayList;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Writes the state of a Pregel computation after a superstep to disk
+ * and restores it in order to resume an interrupted computation.
+ * <p>
+ * A checkpoint consists of the node values, the vote to halt bits and
+ * the messages that have been sent during the superstep. Each checkpoint
+ * is written to a temporary file first and then moved into place, so
+ * that a crash during writing never corrupts the latest checkpoint.
+ * Only the latest checkpoint is retained.
+ * <p>
+ * Checkpoint directories are always resolved against a root directory
+ * that is configured on the server, so that a computation can not
+ * write, list or delete files anywhere else.
+ */
+final class PregelCheckpointer {
+
+    private static final int MAGIC = 0x50524547; // "PREG"
+    private static final int VERSION = 2;
+    private static final long END_OF_MESSAGES = -1L;
+    private static final int NULL_ARRAY = -1;
+
+    static final String CHECKPOINT_LOCATION_SETTING = "gds.pregel.checkpoint.location";
+
+    private static final String FILE_PREFIX = "superstep-";
+    private static final Pattern FILE_PATTERN = Pattern.compile(FILE_PREFIX + "(\\d+)");
+
+    private final Path directory;
+    private final long nodeCount;
+
+    static PregelCheckpointer of(@Nullable Path checkpointRoot, String checkpointDirectory, long nodeCount) {
+        if (checkpointRoot == null) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Checkpointing requires the configuration option '%s' to be set.",
+                CHECKPOINT_LOCATION_SETTING
+            ));
+        }
+
+        var root = checkpointRoot.toAbsolutePath().normalize();
+        var resolvedDirectory = root.resolve(checkpointDirectory).normalize();
+
+        if (!resolvedDirectory.startsWith(root)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Illegal parameter value for parameter checkpointDirectory=%s. It attempts to access forbidden directory %s.",
+                checkpointDirectory,
+                resolvedDirectory
+            ));
+        }
+
+        return new PregelCheckpointer(resolvedDirectory, nodeCount);
+    }
+
+    private PregelCheckpointer(Path directory, long nodeCount) {
+        this.directory = directory;
+        this.nodeCount = nodeCount;
+    }
+
+    /**
+     * Returns the superstep of the latest checkpoint in the directory, if any.
+     */
+    OptionalInt latestSuperstep() {
+        if (!Files.isDirectory(directory)) {
+            return OptionalInt.empty();
+        }
+        try (var files = Files.list(directory)) {
+            return files
+                .map(file -> FILE_PATTERN.matcher(file.getFileName().toString()))
+                .filter(Matcher::matches)
+                .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
+                .max();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void write(int superstep, NodeValue nodeValues, HugeAtomicBitSet voteBits, Messenger<?> messenger) {
+        var previous = latestSuperstep();
+        var target = checkpointFile(superstep);
+        try {
+            Files.createDirectories(directory);
+            var tempFile = Files.createTempFile(directory, FILE_PREFIX, ".tmp");
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(superstep);
+                out.writeLong(nodeCount);
+                writeNodeValues(out, nodeValues);
+                writeVoteBits(out, voteBits);
+                writeMessages(out, messenger);
+            }
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            if (previous.isPresent() && previous.getAsInt() != superstep) {
+                Files.deleteIfExists(checkpointFile(previous.getAsInt()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Restores the given checkpoint and returns its superstep.
+     * Restored messages are sent via the messenger, so they are
+     * received in the superstep following the checkpoint.
+     */
+    int restore(
+        int superstep,
+        NodeValue nodeValues,
+        HugeAtomicBitSet voteBits,
+        Messenger<?> messenger,
+        @Nullable Frontier frontier
+    ) {
+        var source = checkpointFile(superstep);
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException(formatWithLocale("File `%s` is not a Pregel checkpoint.", source));
+            }
+            var version = in.readInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Unsupported Pregel checkpoint version %d, expected %d.",
+                    version,
+                    VERSION
+                ));
+            }
+            var storedSuperstep = in.readInt();
+            var storedNodeCount = in.readLong();
+            if (storedNodeCount != nodeCount) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Checkpoint `%s` was written for %d nodes, but the graph contains %d nodes.",
+                    source,
+                    storedNodeCount,
+                    nodeCount
+                ));
+            }
+            readNodeValues(in, nodeValues);
+            readVoteBits(in, voteBits, frontier);
+            readMessages(in, messenger, frontier);
+            return storedSuperstep;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path checkpointFile(int superstep) {
+        return directory.resolve(FILE_PREFIX + superstep);
+    }
+
+    private static List<Element> sortedElements(NodeValue nodeValues) {
+        return nodeValues.schema()
+            .elements()
+            .stream()
+            .sorted(Comparator.comparing(Element::propertyKey))
+            .collect(Collectors.toList());
+    }
+
+    private void writeNodeValues(DataOutputStream out, NodeValue nodeValues) throws IOException {
+        var elements = sortedElements(nodeValues);
+        out.writeInt(elements.size());
+        for (var element : elements) {
+            var key = element.propertyKey();
+            out.writeUTF(key);
+            out.writeUTF(element.propertyType().name());
+            switch (element.propertyType()) {
+                case DOUBLE:
+                    var doubles = nodeValues.doubleProperties(key);
+                    for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                        out.writeDouble(doubles.get(nodeId));
+                    }
+                    break;
+                case LONG:
+                    var longs = nodeValues.longProperties(key);
+                    for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                        out.writeLong(longs.get(nodeId));
+                    }
+                    break;
+                case DOUBLE_ARRAY:
+                    var doubleArrays = nodeValues.doubleArrayProperties(key);
+                    for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                        var array = doubleArrays.get(nodeId);
+                        if (array == null) {
+                            out.writeInt(NULL_ARRAY);
+                        } else {
+                            out.writeInt(array.length);
+                            for (double value : array) {
+                                out.writeDouble(value);
+                            }
+                        }
+                    }
+                    break;
+                case LONG_ARRAY:
+                    var longArrays = nodeValues.longArrayProperties(key);
+                    for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                        var array = longArrays.get(nodeId);
+                        if (array == null) {
+                            out.writeInt(NULL_ARRAY);
+                        } else {
+                            out.writeInt(array.length);
+                            for (long value : array) {
+                                out.writeLong(value);
+                            }
+                        }
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "Unsupported node value type %s.",
+                        element.propertyType()
+                    ));
+            }
+        }
+    }
+
+    private void readNodeValues(DataInputStream in, NodeValue nodeValues) throws IOException {
+        var elements = sortedElements(nodeValues);
+        var elementCount = in.readInt();
+        if (elementCount != elements.size()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Checkpoint contains %d node values, but the schema defines %d node values.",
+                elementCount,
+                elements.size()
+            ));
+        }
+        for (var element : elements) {
+            var key = in.readUTF();
+            var type = ValueType.valueOf(in.readUTF());
+            if (!key.equals(element.propertyKey()) || type != element.propertyType()) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Checkpoint node value `%s` of type %s does not match the schema.",
+                    key,
+                    type
+                ));
+            }
+            switch (type) {
+                case DOUBLE:
+                    var doubles = nodeValues.doubleProperties(key);
+                    for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                        doubles.set(nodeId, in.readDouble());
+                    }
+                    break;
+                case LONG:
+                    var longs = nodeValues.longProperties(key);
+                    for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                        longs.set(nodeId, in.readLong());
+                    }
+                    break;
+                case DOUBLE_ARRAY:
+                    var doubleArrays = nodeValues.doubleArrayProperties(key);
+                    for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                        var length = in.readInt();
+                        if (length != NULL_ARRAY) {
+                            var array = new double[length];
+                            for (int i = 0; i < length; i++) {
+                                array[i] = in.readDouble();
+                            }
+                            doubleArrays.set(nodeId, array);
+                        }
+                    }
+                    break;
+                case LONG_ARRAY:
+                    var longArrays = nodeValues.longArrayProperties(key);
+                    for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                        var length = in.readInt();
+                        if (length != NULL_ARRAY) {
+                            var array = new long[length];
+                            for (int i = 0; i < length; i++) {
+                                array[i] = in.readLong();
+                            }
+                            longArrays.set(nodeId, array);
+                        }
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException(formatWithLocale("Unsupported node value type %s.", type));
+            }
+        }
+    }
+
+    private void writeVoteBits(DataOutputStream out, HugeAtomicBitSet voteBits) throws IOException {
+        var wordCount = voteBits.wordCount();
+        out.writeLong(wordCount);
+        for (long wordIndex = 0; wordIndex < wordCount; wordIndex++) {
+            out.writeLong(voteBits.getWord(wordIndex));
+        }
+    }
+
+    private void readVoteBits(DataInputStream in, HugeAtomicBitSet voteBits, @Nullable Frontier frontier) throws IOException {
+        var wordCount = in.readLong();
+        if (wordCount != voteBits.wordCount()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Checkpoint contains %d vote bit words, but expected %d.",
+                wordCount,
+                voteBits.wordCount()
+            ));
+        }
+        for (long wordIndex = 0; wordIndex < wordCount; wordIndex++) {
+            var word = in.readLong();
+            voteBits.putWord(wordIndex, word);
+            // Nodes that did not vote to halt are computed in the next superstep
+            if (frontier != null) {
+                var active = ~word;
+                while (active != 0) {
+                    var nodeId = wordIndex * Long.SIZE + Long.numberOfTrailingZeros(active);
+                    if (nodeId >= nodeCount) {
+                        break;
+                    }
+                    frontier.activate(nodeId);
+                    active &= active - 1;
+                }
+            }
+        }
+    }
+
+    private void writeMessages(DataOutputStream out, Messenger<?> messenger) throws IOException {
+        var buffer = new DoubleArrayList();
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            buffer.elementsCount = 0;
+            messenger.pendingMessages(nodeId, buffer);
+            if (!buffer.isEmpty()) {
+                out.writeLong(nodeId);
+                out.writeInt(buffer.size());
+                for (int i = 0; i < buffer.size(); i++) {
+                    out.writeDouble(buffer.buffer[i]);
+                }
+            }
+        }
+        out.writeLong(END_OF_MESSAGES);
+    }
+
+    private void readMessages(DataInputStream in, Messenger<?> messenger, @Nullable Frontier frontier) throws IOException {
+        for (long nodeId = in.readLong(); nodeId != END_OF_MESSAGES; nodeId = in.readLong()) {
+            var count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                messenger.restoreMessage(nodeId, in.readDouble());
+            }
+            if (frontier != null) {
+                frontier.activate(nodeId);
+            }
+        }
+    }
+}
@@ -57,6 +57,33 @@ public interface PregelComputation<C extends PregelConfig> {
      */
     PregelSchema schema(C config);
 
+    /**
+     * The message schema describes the layout of messages that
+     * are sent between nodes. By default, a message is a single
+     * double value. Computations that need to send node ids or
+     * multiple values can define a composite message schema.
+     * Messages are then sent via {@link ComputeContext#newMessage()}
+     * and received via {@link Messages#nextRecord()}.
+     * <br>
+     * Example:
+     * <pre>
+     * public MessageSchema messageSchema(PregelConfig config) {
+     *      return new MessageSchema.Builder()
+     *          .add("parent", ValueType.LONG)
+     *          .add("distance", ValueType.DOUBLE)
+     *          .build();
+     * }
+     * </pre>
+     * <br>
+     * Other schemas than the default one cannot be combined with a
+     * {@link #reducer()} or asynchronous messaging.
+     *
+     * @see org.neo4j.graphalgo.beta.pregel.MessageSchema
+     */
+    default MessageSchema messageSchema(C config) {
+        return MessageSchema.singleDouble();
+    }
+
     /**
      * The init method is called in the beginning of the first
      * superstep (iteration) of the Pregel computation and allows
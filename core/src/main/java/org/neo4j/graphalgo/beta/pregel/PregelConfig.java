@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.beta.pregel;
 
 import org.immutables.value.Value;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
@@ -33,6 +34,8 @@ import org.neo4j.graphalgo.core.CypherMapWrapper;
 
 import java.util.Optional;
 
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
 @ValueClass
 @Configuration
 @SuppressWarnings("immutables:subtype")
@@ -49,6 +52,79 @@ public interface PregelConfig extends
         return false;
     }
 
+    /**
+     * If enabled, supersteps only visit nodes that received
+     * a message or did not vote to halt in the previous superstep
+     * instead of scanning all nodes.
+     */
+    @Value.Default
+    default boolean isFrontierBased() {
+        return false;
+    }
+
+    /**
+     * Determines how nodes are split into batches that are
+     * processed by the compute steps in each superstep.
+     */
+    @Configuration.ConvertWith("org.neo4j.graphalgo.beta.pregel.Partitioning#parse")
+    @Configuration.ToMapValue("org.neo4j.graphalgo.beta.pregel.Partitioning#toString")
+    @Value.Default
+    default Partitioning partitioning() {
+        return Partitioning.RANGE;
+    }
+
+    /**
+     * Number of supersteps after which the state of the computation
+     * is written to the checkpoint directory. 0 disables checkpoints.
+     */
+    @Value.Default
+    default int checkpointInterval() {
+        return 0;
+    }
+
+    /**
+     * Directory in which checkpoints are written, relative to
+     * the checkpoint location that is configured on the server.
+     */
+    @Value.Default
+    @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
+    default @Nullable String checkpointDirectory() {
+        return null;
+    }
+
+    /**
+     * If enabled, the computation continues from the latest
+     * checkpoint in the checkpoint directory, if there is one.
+     */
+    @Value.Default
+    default boolean resumeFromCheckpoint() {
+        return false;
+    }
+
+    /**
+     * If enabled, the statistics of each superstep are
+     * returned in the result of the stats, mutate and write procedures.
+     */
+    @Value.Default
+    default boolean includeSuperstepMetrics() {
+        return false;
+    }
+
+    @Value.Check
+    default void validateCheckpointing() {
+        if (checkpointInterval() < 0) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The value of `checkpointInterval` must not be negative, but got %d.",
+                checkpointInterval()
+            ));
+        }
+        if ((checkpointInterval() > 0 || resumeFromCheckpoint()) && checkpointDirectory() == null) {
+            throw new IllegalArgumentException(
+                "Checkpointing requires the `checkpointDirectory` to be set."
+            );
+        }
+    }
+
     @Value.Default
     default String writeProperty() {
         return "";
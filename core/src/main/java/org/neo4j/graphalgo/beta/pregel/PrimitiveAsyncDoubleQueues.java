@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import com.carrotsearch.hppc.DoubleArrayList;
 import org.jetbrains.annotations.TestOnly;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
@@ -53,7 +54,9 @@ public final class PrimitiveAsyncDoubleQueues extends PrimitiveDoubleQueues {
             return queue;
         });
 
-        return new PrimitiveAsyncDoubleQueues(heads, tails, queues);
+        var asyncQueues = new PrimitiveAsyncDoubleQueues(heads, tails, queues);
+        asyncQueues.trackQueueArrays(nodeCount * MemoryUsage.sizeOfDoubleArray(capacity));
+        return asyncQueues;
     }
 
     public static MemoryEstimation memoryEstimation() {
@@ -114,15 +117,30 @@ public final class PrimitiveAsyncDoubleQueues extends PrimitiveDoubleQueues {
         return queues.get(nodeId)[(int) currentHead];
     }
 
+    void pendingMessages(long nodeId, DoubleArrayList buffer) {
+        var head = (int) heads.get(nodeId);
+        var tail = (int) tails.get(nodeId);
+        if (head < tail) {
+            buffer.add(queues.get(nodeId), head, tail - head);
+        }
+    }
+
     @Override
     void grow(long nodeId, int minCapacity) {
         var queue = this.queues.get(nodeId);
         var capacity = queue.length;
-        // grow by 50%
-        var newCapacity = capacity + (capacity >> 1);
+        // grow by 50%, but at least beyond the requested capacity
+        // in order to fit a concurrent single message as well
+        var newCapacity = Math.max(capacity + (capacity >> 1), minCapacity + 1);
         var resizedArray = Arrays.copyOf(queue, newCapacity);
         Arrays.fill(resizedArray, minCapacity - 1, newCapacity, Double.NaN);
         this.queues.set(nodeId, resizedArray);
+        trackQueueArrays(MemoryUsage.sizeOfDoubleArray(newCapacity) - MemoryUsage.sizeOfDoubleArray(capacity));
+    }
+
+    @Override
+    long memoryUsage() {
+        return super.memoryUsage() + heads.sizeOf();
     }
 
     void release() {
@@ -157,6 +175,12 @@ public final class PrimitiveAsyncDoubleQueues extends PrimitiveDoubleQueues {
             return queues.pop(nodeId);
         }
 
+        @Override
+        public void nextRecord(double[] doubles, long[] longs) {
+            assert doubles.length == 1 && longs.length == 0 : "only single double messages are supported";
+            doubles[0] = nextDouble();
+        }
+
         @Override
         public boolean isEmpty() {
             return queues.isEmpty(nodeId);
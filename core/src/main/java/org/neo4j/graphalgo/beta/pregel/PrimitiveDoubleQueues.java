@@ -19,31 +19,110 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.TestOnly;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Lock-free message queues, one per node.
+ * <p>
+ * A message is a record of {@code doubleWidth} double values and
+ * {@code longWidth} long values. The double values are stored in
+ * {@link #queues}, the long values in {@link #longQueues}, both at the
+ * position of the record multiplied by the respective width. Tails
+ * and capacities are counted in records. The default message is a
+ * single double value, for which a record is a single queue entry.
+ */
 public abstract class PrimitiveDoubleQueues {
     // used to store a message in a queue
     private static final VarHandle ARRAY_HANDLE = MethodHandles.arrayElementVarHandle(double[].class);
+    private static final VarHandle LONG_ARRAY_HANDLE = MethodHandles.arrayElementVarHandle(long[].class);
     // minimum capacity for the individual arrays
     static final int MIN_CAPACITY = 42;
-    
+
+    final int doubleWidth;
+    final int longWidth;
+
     // toggling in-between super steps
     HugeObjectArray<double[]> queues;
+    @Nullable HugeObjectArray<long[]> longQueues;
     HugeAtomicLongArray tails;
 
+    // bytes allocated by the individual arrays
+    private final AtomicLong queueArrayBytes = new AtomicLong();
+
     PrimitiveDoubleQueues(HugeAtomicLongArray tails, HugeObjectArray<double[]> queues) {
+        this(tails, queues, null, 1, 0);
+    }
+
+    PrimitiveDoubleQueues(
+        HugeAtomicLongArray tails,
+        HugeObjectArray<double[]> queues,
+        @Nullable HugeObjectArray<long[]> longQueues,
+        int doubleWidth,
+        int longWidth
+    ) {
         this.tails = tails;
         this.queues = queues;
+        this.longQueues = longQueues;
+        this.doubleWidth = doubleWidth;
+        this.longWidth = longWidth;
     }
 
-    abstract void grow(long nodeId, int newCapacity);
+    /**
+     * Grows the queue of the given node to fit at least the given number of records.
+     */
+    abstract void grow(long nodeId, int minCapacity);
 
     public void push(long nodeId, double message) {
+        assert doubleWidth == 1 && longWidth == 0;
+        long idx = reserve(nodeId);
+
+        // We place a full fence in order to make sure that writes after the
+        // fence are not re-ordered with reads before the fence. In particular,
+        // we avoid the queues.get call being moved before the grow operation
+        // in order to avoid reading from the queue before it is grown.
+        VarHandle.fullFence();
+        // Set the message value at the computed index.
+        ARRAY_HANDLE.setVolatile(queues.get(nodeId), (int) idx, message);
+    }
+
+    /**
+     * Pushes a record into the queue of the given node. The double values
+     * and the long values are stored in their respective queues.
+     */
+    public void push(long nodeId, double[] doubles, long[] longs) {
+        assert doubles.length == doubleWidth && longs.length == longWidth;
+        long idx = reserve(nodeId);
+
+        // See push(long, double) for the reasoning.
+        VarHandle.fullFence();
+        if (doubleWidth > 0) {
+            var queue = queues.get(nodeId);
+            var offset = (int) idx * doubleWidth;
+            for (int i = 0; i < doubleWidth; i++) {
+                ARRAY_HANDLE.setVolatile(queue, offset + i, doubles[i]);
+            }
+        }
+        if (longWidth > 0) {
+            var longQueue = longQueues.get(nodeId);
+            var offset = (int) idx * longWidth;
+            for (int i = 0; i < longWidth; i++) {
+                LONG_ARRAY_HANDLE.setVolatile(longQueue, offset + i, longs[i]);
+            }
+        }
+    }
+
+    /**
+     * Reserves the next record in the queue of the given node
+     * and returns its index. Grows the queue if necessary.
+     */
+    private long reserve(long nodeId) {
         // The index which we will eventually use to
         // insert the message into the nodes' queue.
         long idx;
@@ -113,22 +192,39 @@ public abstract class PrimitiveDoubleQueues {
             }
         }
 
-        // We place a full fence in order to make sure that writes after the
-        // fence are not re-ordered with reads before the fence. In particular,
-        // we avoid the queues.get call being moved before the grow operation
-        // in order to avoid reading from the queue before it is grown.
-        VarHandle.fullFence();
-        // Set the message value at the computed index.
-        ARRAY_HANDLE.setVolatile(queues.get(nodeId), (int) idx, message);
+        return idx;
+    }
+
+    void trackQueueArrays(long bytes) {
+        queueArrayBytes.addAndGet(bytes);
+    }
+
+    /**
+     * Returns the number of bytes currently allocated for the queues.
+     */
+    long memoryUsage() {
+        return queueArrayBytes.get() + queues.sizeOf() + tails.sizeOf() + (longQueues != null ? longQueues.sizeOf() : 0);
     }
 
     private boolean hasSpaceLeft(long nodeId, int minCapacity) {
-        return queues.get(nodeId).length >= minCapacity;
+        return capacity(nodeId) >= minCapacity;
+    }
+
+    /**
+     * Returns the number of records that fit into the queue of the given node.
+     */
+    int capacity(long nodeId) {
+        return doubleWidth > 0
+            ? queues.get(nodeId).length / doubleWidth
+            : longQueues.get(nodeId).length / longWidth;
     }
 
     void release() {
         this.queues.release();
         this.tails.release();
+        if (longQueues != null) {
+            this.longQueues.release();
+        }
     }
 
     @TestOnly
@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import com.carrotsearch.hppc.DoubleArrayList;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
@@ -32,6 +34,7 @@ import java.util.Arrays;
 public final class PrimitiveSyncDoubleQueues extends PrimitiveDoubleQueues {
     // toggling in-between super steps
     private HugeObjectArray<double[]> prevQueues;
+    private @Nullable HugeObjectArray<long[]> prevLongQueues;
     private HugeAtomicLongArray prevTails;
 
     public static PrimitiveSyncDoubleQueues of(long nodeCount, AllocationTracker tracker) {
@@ -49,7 +52,57 @@ public final class PrimitiveSyncDoubleQueues extends PrimitiveDoubleQueues {
         currentQueues.setAll(value -> new double[capacity]);
         prevQueues.setAll(value -> new double[capacity]);
 
-        return new PrimitiveSyncDoubleQueues(currentTails, currentQueues, prevTails, prevQueues);
+        var queues = new PrimitiveSyncDoubleQueues(currentTails, currentQueues, null, prevTails, prevQueues, null, 1, 0);
+        queues.trackQueueArrays(2 * nodeCount * MemoryUsage.sizeOfDoubleArray(capacity));
+        return queues;
+    }
+
+    /**
+     * Creates queues for messages of the given schema. Double and long
+     * values of a message are stored in separate queues per node.
+     */
+    public static PrimitiveSyncDoubleQueues of(long nodeCount, MessageSchema schema, AllocationTracker tracker) {
+        if (schema.isSingleDouble()) {
+            return of(nodeCount, tracker);
+        }
+
+        var doubleWidth = schema.doubleWidth();
+        var longWidth = schema.longWidth();
+        // keep the initial size of a queue close to the one of single double messages
+        var capacity = Math.max(1, MIN_CAPACITY / (doubleWidth + longWidth));
+
+        var currentTails = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        var prevTails = HugeAtomicLongArray.newArray(nodeCount, tracker);
+
+        var currentQueues = HugeObjectArray.newArray(double[].class, nodeCount, tracker);
+        var prevQueues = HugeObjectArray.newArray(double[].class, nodeCount, tracker);
+        currentQueues.setAll(value -> new double[capacity * doubleWidth]);
+        prevQueues.setAll(value -> new double[capacity * doubleWidth]);
+
+        HugeObjectArray<long[]> currentLongQueues = null;
+        HugeObjectArray<long[]> prevLongQueues = null;
+        if (longWidth > 0) {
+            currentLongQueues = HugeObjectArray.newArray(long[].class, nodeCount, tracker);
+            prevLongQueues = HugeObjectArray.newArray(long[].class, nodeCount, tracker);
+            currentLongQueues.setAll(value -> new long[capacity * longWidth]);
+            prevLongQueues.setAll(value -> new long[capacity * longWidth]);
+        }
+
+        var queues = new PrimitiveSyncDoubleQueues(
+            currentTails,
+            currentQueues,
+            currentLongQueues,
+            prevTails,
+            prevQueues,
+            prevLongQueues,
+            doubleWidth,
+            longWidth
+        );
+        queues.trackQueueArrays(2 * nodeCount * (
+            MemoryUsage.sizeOfDoubleArray(capacity * doubleWidth) +
+            (longWidth > 0 ? MemoryUsage.sizeOfLongArray(capacity * longWidth) : 0)
+        ));
+        return queues;
     }
 
     public static MemoryEstimation memoryEstimation() {
@@ -60,14 +113,47 @@ public final class PrimitiveSyncDoubleQueues extends PrimitiveDoubleQueues {
             .build();
     }
 
+    /**
+     * Estimates the queues for messages of the given schema,
+     * including the long column if the schema has long elements.
+     */
+    public static MemoryEstimation memoryEstimation(MessageSchema schema) {
+        if (schema.isSingleDouble()) {
+            return memoryEstimation();
+        }
+
+        var doubleWidth = schema.doubleWidth();
+        var longWidth = schema.longWidth();
+        var capacity = Math.max(1, MIN_CAPACITY / (doubleWidth + longWidth));
+        var doubleQueueSize = MemoryUsage.sizeOfDoubleArray(capacity * doubleWidth);
+
+        var builder = MemoryEstimations.builder(PrimitiveSyncDoubleQueues.class)
+            .add("current queues", HugeObjectArray.memoryEstimation(doubleQueueSize))
+            .add("previous queues", HugeObjectArray.memoryEstimation(doubleQueueSize));
+        if (longWidth > 0) {
+            var longQueueSize = MemoryUsage.sizeOfLongArray(capacity * longWidth);
+            builder
+                .add("current long queues", HugeObjectArray.memoryEstimation(longQueueSize))
+                .add("previous long queues", HugeObjectArray.memoryEstimation(longQueueSize));
+        }
+        return builder
+            .perNode("tails", HugeLongArray::memoryEstimation)
+            .build();
+    }
+
     private PrimitiveSyncDoubleQueues(
         HugeAtomicLongArray currentTails,
         HugeObjectArray<double[]> currentQueues,
+        @Nullable HugeObjectArray<long[]> currentLongQueues,
         HugeAtomicLongArray prevTails,
-        HugeObjectArray<double[]> prevQueues
+        HugeObjectArray<double[]> prevQueues,
+        @Nullable HugeObjectArray<long[]> prevLongQueues,
+        int doubleWidth,
+        int longWidth
     ) {
-        super(currentTails, currentQueues);
+        super(currentTails, currentQueues, currentLongQueues, doubleWidth, longWidth);
         this.prevQueues = prevQueues;
+        this.prevLongQueues = prevLongQueues;
         this.prevTails = prevTails;
     }
 
@@ -80,21 +166,52 @@ public final class PrimitiveSyncDoubleQueues extends PrimitiveDoubleQueues {
         var tmpQueues = queues;
         this.queues = prevQueues;
         this.prevQueues = tmpQueues;
+        var tmpLongQueues = longQueues;
+        this.longQueues = prevLongQueues;
+        this.prevLongQueues = tmpLongQueues;
 
         this.tails.setAll(0);
     }
 
     void initIterator(Iterator iterator, long nodeId) {
-        iterator.init(prevQueues.get(nodeId), (int) prevTails.get(nodeId));
+        iterator.init(
+            prevQueues.get(nodeId),
+            prevLongQueues != null ? prevLongQueues.get(nodeId) : null,
+            (int) prevTails.get(nodeId),
+            doubleWidth,
+            longWidth
+        );
+    }
+
+    void pendingMessages(long nodeId, DoubleArrayList buffer) {
+        assert longWidth == 0;
+        buffer.add(queues.get(nodeId), 0, (int) tails.get(nodeId) * doubleWidth);
     }
 
     @Override
     void grow(long nodeId, int minCapacity) {
+        var capacity = capacity(nodeId);
+        // grow by 50%, but at least beyond the requested capacity
+        // in order to fit a concurrent message as well
+        var newCapacity = Math.max(capacity + (capacity >> 1), minCapacity + 1);
+
         var queue = queues.get(nodeId);
-        var capacity = queue.length;
-        // grow by 50%
-        var newCapacity = capacity + (capacity >> 1);
-        queues.set(nodeId, Arrays.copyOf(queue, newCapacity));
+        queues.set(nodeId, Arrays.copyOf(queue, newCapacity * doubleWidth));
+        trackQueueArrays(MemoryUsage.sizeOfDoubleArray(newCapacity * doubleWidth) - MemoryUsage.sizeOfDoubleArray(queue.length));
+
+        if (longQueues != null) {
+            var longQueue = longQueues.get(nodeId);
+            longQueues.set(nodeId, Arrays.copyOf(longQueue, newCapacity * longWidth));
+            trackQueueArrays(MemoryUsage.sizeOfLongArray(newCapacity * longWidth) - MemoryUsage.sizeOfLongArray(longQueue.length));
+        }
+    }
+
+    @Override
+    long memoryUsage() {
+        return super.memoryUsage() +
+               prevQueues.sizeOf() +
+               prevTails.sizeOf() +
+               (prevLongQueues != null ? prevLongQueues.sizeOf() : 0);
     }
 
     @Override
@@ -102,16 +219,31 @@ public final class PrimitiveSyncDoubleQueues extends PrimitiveDoubleQueues {
         super.release();
         this.prevTails.release();
         this.prevQueues.release();
+        if (prevLongQueues != null) {
+            this.prevLongQueues.release();
+        }
     }
 
     static class Iterator implements Messages.MessageIterator {
 
         double[] queue;
+        private long[] longQueue;
+        private int doubleWidth;
+        private int longWidth;
+        // number of records in the queue
         private int length;
+        // index of the next record
         private int pos;
 
         void init(double[] queue, int length) {
+            init(queue, null, length, 1, 0);
+        }
+
+        void init(double[] queue, @Nullable long[] longQueue, int length, int doubleWidth, int longWidth) {
             this.queue = queue;
+            this.longQueue = longQueue;
+            this.doubleWidth = doubleWidth;
+            this.longWidth = longWidth;
             this.pos = 0;
             this.length = length;
         }
@@ -126,6 +258,17 @@ public final class PrimitiveSyncDoubleQueues extends PrimitiveDoubleQueues {
             return queue[pos++];
         }
 
+        @Override
+        public void nextRecord(double[] doubles, long[] longs) {
+            if (doubleWidth > 0) {
+                System.arraycopy(queue, pos * doubleWidth, doubles, 0, doubleWidth);
+            }
+            if (longWidth > 0) {
+                System.arraycopy(longQueue, pos * longWidth, longs, 0, longWidth);
+            }
+            pos++;
+        }
+
         @Override
         public boolean isEmpty() {
             return length == 0;
@@ -41,7 +41,23 @@ public interface Reducer {
      */
     boolean isEmptyValue(double value);
 
-    class Sum implements Reducer {
+    /**
+     * A reducer whose partially reduced values can be merged.
+     * Messages for such reducers are pre-reduced on the sending
+     * side before they are reduced into the shared message array.
+     * Reducers that do not implement this interface only receive
+     * each message individually via {@link #reduce(double, double)}.
+     */
+    interface Combinable extends Reducer {
+
+        /**
+         * Combines two values that have been computed by {@link #reduce(double, double)}
+         * on disjoint sets of messages. The operation must be associative and commutative.
+         */
+        double combine(double left, double right);
+    }
+
+    class Sum implements Combinable {
 
         @Override
         public double identity() {
@@ -53,6 +69,11 @@ public interface Reducer {
             return current + message;
         }
 
+        @Override
+        public double combine(double left, double right) {
+            return left + right;
+        }
+
         @Override
         public double emptyValue() {
             return Double.NaN;
@@ -64,7 +85,7 @@ public interface Reducer {
         }
     }
 
-    class Min implements Reducer {
+    class Min implements Combinable {
 
         @Override
         public double identity() {
@@ -76,6 +97,11 @@ public interface Reducer {
             return Math.min(current, message);
         }
 
+        @Override
+        public double combine(double left, double right) {
+            return Math.min(left, right);
+        }
+
         @Override
         public double emptyValue() {
             return Double.NaN;
@@ -87,7 +113,7 @@ public interface Reducer {
         }
     }
 
-    class Max implements Reducer {
+    class Max implements Combinable {
 
         @Override
         public double identity() {
@@ -99,6 +125,11 @@ public interface Reducer {
             return Math.max(current, message);
         }
 
+        @Override
+        public double combine(double left, double right) {
+            return Math.max(left, right);
+        }
+
         @Override
         public double emptyValue() {
             return Double.NaN;
@@ -110,7 +141,7 @@ public interface Reducer {
         }
     }
 
-    class Count implements Reducer {
+    class Count implements Combinable {
 
         @Override
         public double identity() {
@@ -122,6 +153,11 @@ public interface Reducer {
             return current + 1;
         }
 
+        @Override
+        public double combine(double left, double right) {
+            return left + right;
+        }
+
         @Override
         public double emptyValue() {
             return Double.NaN;
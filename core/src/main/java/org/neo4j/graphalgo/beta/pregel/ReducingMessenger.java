@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import com.carrotsearch.hppc.DoubleArrayList;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
@@ -48,6 +49,14 @@ public class ReducingMessenger implements Messenger<ReducingMessenger.SingleMess
 
         this.receiveArray = HugeAtomicDoubleArray.newArray(graph.nodeCount(), tracker);
         this.sendArray = HugeAtomicDoubleArray.newArray(graph.nodeCount(), tracker);
+
+        // Both arrays need to start out empty, so that a run
+        // that is resumed from a checkpoint sees no messages
+        // other than the restored ones.
+        ParallelUtil.parallelForEachNode(graph, config.concurrency(), nodeId -> {
+            receiveArray.set(nodeId, reducer.emptyValue());
+            sendArray.set(nodeId, reducer.emptyValue());
+        });
     }
 
     static MemoryEstimation memoryEstimation() {
@@ -64,11 +73,10 @@ public class ReducingMessenger implements Messenger<ReducingMessenger.SingleMess
         this.receiveArray = sendArray;
         this.sendArray = tmp;
 
-        ParallelUtil.parallelForEachNode(
-            graph,
-            config.concurrency(),
-            nodeId -> sendArray.set(nodeId, reducer.emptyValue())
-        );
+        // Reading a message resets its slot to the empty value.
+        // Since every node holding a message is visited in each
+        // superstep, the receive array is entirely empty once the
+        // superstep is done and can be re-used as send array.
     }
 
     @Override
@@ -79,6 +87,26 @@ public class ReducingMessenger implements Messenger<ReducingMessenger.SingleMess
         );
     }
 
+    /**
+     * Reduces a value that has been pre-reduced by a
+     * {@link org.neo4j.graphalgo.beta.pregel.MessageCombiner}.
+     */
+    void sendCombined(long targetNodeId, double combinedMessage, Reducer.Combinable combinable) {
+        sendArray.update(
+            targetNodeId,
+            current -> reducer.isEmptyValue(current)
+                ? combinedMessage
+                : combinable.combine(current, combinedMessage)
+        );
+    }
+
+    @Override
+    public void sendTo(long targetNodeId, double[] doubles, long[] longs) {
+        // reducers are only allowed for single double messages, see Pregel#validateMessageSchema
+        assert doubles.length == 1 && longs.length == 0 : "only single double messages are supported";
+        sendTo(targetNodeId, doubles[0]);
+    }
+
     @Override
     public ReducingMessenger.SingleMessageIterator messageIterator() {
         return new SingleMessageIterator();
@@ -90,10 +118,30 @@ public class ReducingMessenger implements Messenger<ReducingMessenger.SingleMess
         long nodeId,
         boolean isInitialIteration
     ) {
-        var message = receiveArray.getAndReplace(nodeId, reducer.identity());
+        var message = receiveArray.getAndReplace(nodeId, reducer.emptyValue());
         messageIterator.init(message, !reducer.isEmptyValue(message));
     }
 
+    @Override
+    public void pendingMessages(long nodeId, DoubleArrayList buffer) {
+        var message = sendArray.get(nodeId);
+        if (!reducer.isEmptyValue(message)) {
+            buffer.add(message);
+        }
+    }
+
+    @Override
+    public void restoreMessage(long targetNodeId, double message) {
+        // the message has already been reduced and
+        // there is at most one pending message per node
+        sendArray.set(targetNodeId, message);
+    }
+
+    @Override
+    public long memoryUsage() {
+        return receiveArray.sizeOf() + sendArray.sizeOf();
+    }
+
     @Override
     public void release() {
         sendArray.release();
@@ -125,5 +173,11 @@ public class ReducingMessenger implements Messenger<ReducingMessenger.SingleMess
             hasNext = false;
             return message;
         }
+
+        @Override
+        public void nextRecord(double[] doubles, long[] longs) {
+            assert doubles.length == 1 && longs.length == 0 : "only single double messages are supported";
+            doubles[0] = nextDouble();
+        }
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Statistics that are collected during a single superstep.
+ */
+@ValueClass
+public interface SuperstepMetrics {
+
+    int superstep();
+
+    /**
+     * Number of nodes for which the computation has been called.
+     */
+    long activeNodeCount();
+
+    long sentMessageCount();
+
+    /**
+     * Number of messages that have been sent in the previous superstep.
+     * For asynchronous messaging, some of those messages might have
+     * already been received in the previous superstep.
+     */
+    long receivedMessageCount();
+
+    /**
+     * Wall time of each compute step in nanoseconds.
+     */
+    List<Long> computeStepNanos();
+
+    long masterComputeNanos();
+
+    /**
+     * Bytes allocated by the messenger at the end of the superstep.
+     */
+    long messengerMemoryUsage();
+
+    @Value.Derived
+    default long minComputeStepNanos() {
+        return computeStepNanos().stream().mapToLong(Long::longValue).min().orElse(0L);
+    }
+
+    @Value.Derived
+    default long maxComputeStepNanos() {
+        return computeStepNanos().stream().mapToLong(Long::longValue).max().orElse(0L);
+    }
+
+    default String toLogMessage() {
+        return formatWithLocale(
+            "Superstep %d :: active nodes %d, sent messages %d, received messages %d, " +
+            "compute step time min %d ms, max %d ms, master compute time %d ms, messenger memory %s",
+            superstep(),
+            activeNodeCount(),
+            sentMessageCount(),
+            receivedMessageCount(),
+            TimeUnit.NANOSECONDS.toMillis(minComputeStepNanos()),
+            TimeUnit.NANOSECONDS.toMillis(maxComputeStepNanos()),
+            TimeUnit.NANOSECONDS.toMillis(masterComputeNanos()),
+            MemoryUsage.humanReadable(messengerMemoryUsage())
+        );
+    }
+}
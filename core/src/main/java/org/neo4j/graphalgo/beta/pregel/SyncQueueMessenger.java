@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import com.carrotsearch.hppc.DoubleArrayList;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 
@@ -27,13 +28,21 @@ public class SyncQueueMessenger implements Messenger<PrimitiveSyncDoubleQueues.I
     private final PrimitiveSyncDoubleQueues queues;
 
     SyncQueueMessenger(long nodeCount, AllocationTracker tracker) {
-        this.queues = PrimitiveSyncDoubleQueues.of(nodeCount, tracker);
+        this(nodeCount, MessageSchema.singleDouble(), tracker);
+    }
+
+    SyncQueueMessenger(long nodeCount, MessageSchema messageSchema, AllocationTracker tracker) {
+        this.queues = PrimitiveSyncDoubleQueues.of(nodeCount, messageSchema, tracker);
     }
 
     static MemoryEstimation memoryEstimation() {
         return PrimitiveSyncDoubleQueues.memoryEstimation();
     }
 
+    static MemoryEstimation memoryEstimation(MessageSchema messageSchema) {
+        return PrimitiveSyncDoubleQueues.memoryEstimation(messageSchema);
+    }
+
     @Override
     public void initIteration(int iteration) {
         queues.swapQueues();
@@ -44,6 +53,11 @@ public class SyncQueueMessenger implements Messenger<PrimitiveSyncDoubleQueues.I
         queues.push(targetNodeId, message);
     }
 
+    @Override
+    public void sendTo(long targetNodeId, double[] doubles, long[] longs) {
+        queues.push(targetNodeId, doubles, longs);
+    }
+
     @Override
     public PrimitiveSyncDoubleQueues.Iterator messageIterator() {
         return new PrimitiveSyncDoubleQueues.Iterator();
@@ -54,6 +68,21 @@ public class SyncQueueMessenger implements Messenger<PrimitiveSyncDoubleQueues.I
         queues.initIterator(messageIterator, nodeId);
     }
 
+    @Override
+    public void pendingMessages(long nodeId, DoubleArrayList buffer) {
+        queues.pendingMessages(nodeId, buffer);
+    }
+
+    @Override
+    public void restoreMessage(long targetNodeId, double message) {
+        queues.push(targetNodeId, message);
+    }
+
+    @Override
+    public long memoryUsage() {
+        return queues.memoryUsage();
+    }
+
     @Override
     public void release() {
         queues.release();
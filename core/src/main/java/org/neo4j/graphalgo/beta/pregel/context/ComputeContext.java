@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.beta.pregel.context;
 
 import org.neo4j.graphalgo.beta.pregel.ComputeStep;
+import org.neo4j.graphalgo.beta.pregel.MessageRecord;
 import org.neo4j.graphalgo.beta.pregel.PregelConfig;
 
 /**
@@ -126,6 +127,33 @@ public final class ComputeContext<CONFIG extends PregelConfig> extends NodeCentr
         computeStep.sendTo(targetNodeId, message);
     }
 
+    /**
+     * Returns an empty message that follows the message schema
+     * of the computation. The returned instance is re-used for
+     * each call and must be sent before requesting a new one.
+     */
+    public MessageRecord newMessage() {
+        return computeStep.newMessage();
+    }
+
+    /**
+     * Sends the given message to all neighbors of the node.
+     * Relationship weights are not applied to message records.
+     */
+    public void sendToNeighbors(MessageRecord message) {
+        computeStep.sendToNeighbors(nodeId, message);
+    }
+
+    /**
+     * Sends the given message to the target node. The target
+     * node can be any existing node id in the graph.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the node is in the not in id space
+     */
+    public void sendTo(long targetNodeId, MessageRecord message) {
+        computeStep.sendTo(targetNodeId, message);
+    }
+
     @FunctionalInterface
     interface SendMessagesFunction {
         void sendToNeighbors(long sourceNodeId, double message);
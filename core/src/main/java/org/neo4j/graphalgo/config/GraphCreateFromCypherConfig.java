@@ -33,6 +33,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import static org.neo4j.graphalgo.config.GraphCreateFromStoreConfig.NODE_PROJECTION_KEY;
 import static org.neo4j.graphalgo.config.GraphCreateFromStoreConfig.NODE_PROPERTIES_KEY;
@@ -52,6 +53,8 @@ public interface GraphCreateFromCypherConfig extends GraphCreateConfig {
     String ALL_NODES_QUERY = "MATCH (n) RETURN id(n) AS id";
     String ALL_RELATIONSHIPS_QUERY = "MATCH (a)-->(b) RETURN id(a) AS source, id(b) AS target";
     String ALL_RELATIONSHIPS_UNDIRECTED_QUERY = "MATCH (a)--(b) RETURN id(a) AS source, id(b) AS target";
+    String PARTITION_PARAMETER = "partition";
+    String PARTITION_COUNT_PARAMETER = "partitionCount";
 
     @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
     String nodeQuery();
@@ -64,6 +67,40 @@ public interface GraphCreateFromCypherConfig extends GraphCreateConfig {
         return Collections.emptyMap();
     }
 
+    /**
+     * Number of partitions in which the relationship query is run.
+     * Each partition runs in its own read transaction and receives
+     * the `$partition` and `$partitionCount` parameters, which the
+     * query uses to select its share of the relationships.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int relationshipQueryPartitions() {
+        return 1;
+    }
+
+    @Value.Check
+    default void validateRelationshipQueryPartitions() {
+        if (relationshipQueryPartitions() == 1) {
+            return;
+        }
+        // `$partitionCount` must not be mistaken for `$partition`
+        var partitionParameter = Pattern.compile("\\$`?" + PARTITION_PARAMETER + "(?![\\p{L}\\p{N}_])");
+        if (relationshipQuery() != null && !partitionParameter.matcher(relationshipQuery()).find()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The relationship query must use the `$%s` parameter when `relationshipQueryPartitions` is greater than 1.",
+                PARTITION_PARAMETER
+            ));
+        }
+        if (parameters().containsKey(PARTITION_PARAMETER) || parameters().containsKey(PARTITION_COUNT_PARAMETER)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The parameters `%s` and `%s` are reserved for partitioned relationship queries.",
+                PARTITION_PARAMETER,
+                PARTITION_COUNT_PARAMETER
+            ));
+        }
+    }
+
     @Override
     @Value.Default
     @Value.Parameter(false)
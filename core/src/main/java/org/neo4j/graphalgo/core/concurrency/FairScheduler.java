@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Shares the threads of a pool among concurrently running jobs.
+ * <p>
+ * Every top-level call to {@link ParallelUtil} that runs tasks on the
+ * shared pool or on a fork-join pool is a job. Calls from within the tasks
+ * of a job are part of that job. The tasks of a job that have not been submitted
+ * yet stay in the job's own queue and are only handed to the pool while
+ * the job runs fewer tasks than its share of the pool. The share is
+ * computed from the pool size and the weights of all running jobs, so
+ * a large job cannot take over all threads that its own tasks free up.
+ * Only {@link ParallelUtil#runWithConcurrency} throttles its tasks to
+ * that share, other calls start all their tasks at once.
+ * <p>
+ * A job with more tasks than the pool has threads is considered heavy.
+ * Only a limited number of heavy jobs run at the same time, additional
+ * heavy jobs wait until a running heavy job is done. Light jobs are never
+ * delayed and are weighted higher, so that short, interactive jobs are
+ * not stalled behind long running ones.
+ */
+public final class FairScheduler {
+
+    static final int LIGHT_JOB_WEIGHT = 2;
+    static final int HEAVY_JOB_WEIGHT = 1;
+
+    // how often a waiting heavy job checks whether it has been terminated
+    private static final long TERMINATION_CHECK_MILLIS = 100;
+
+    // the number of job tasks the current thread is running, nested calls are part of those jobs
+    private static final ThreadLocal<Integer> TASK_DEPTH = new ThreadLocal<>();
+
+    private final int parallelism;
+    private final int maxHeavyJobs;
+    private final Semaphore heavyJobPermits;
+    private final AtomicInteger totalWeight;
+    private final AtomicInteger runningJobCount;
+
+    public FairScheduler(int parallelism, int maxHeavyJobs) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The parallelism must be at least 1, but got %d.",
+                parallelism
+            ));
+        }
+        if (maxHeavyJobs < 1) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The number of concurrent heavy jobs must be at least 1, but got %d.",
+                maxHeavyJobs
+            ));
+        }
+        this.parallelism = parallelism;
+        this.maxHeavyJobs = maxHeavyJobs;
+        this.heavyJobPermits = new Semaphore(maxHeavyJobs, true);
+        this.totalWeight = new AtomicInteger();
+        this.runningJobCount = new AtomicInteger();
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    public int maxHeavyJobs() {
+        return maxHeavyJobs;
+    }
+
+    /**
+     * Returns the number of jobs that are currently registered.
+     */
+    public int runningJobs() {
+        return runningJobCount.get();
+    }
+
+    /**
+     * Registers a job that runs the given number of tasks with at most the given
+     * concurrency. Heavy jobs might block until another heavy job is done.
+     * Calls from within a task of a job are not registered, as they are part
+     * of that job.
+     */
+    Job startJob(int concurrency, int taskCount, TerminationFlag terminationFlag) {
+        if (isRunningJobTask()) {
+            return unscheduledJob(concurrency);
+        }
+
+        boolean isHeavy = taskCount > parallelism;
+        if (isHeavy) {
+            acquireHeavyJobPermit(terminationFlag);
+        }
+
+        var weight = isHeavy ? HEAVY_JOB_WEIGHT : LIGHT_JOB_WEIGHT;
+        totalWeight.addAndGet(weight);
+        runningJobCount.incrementAndGet();
+        return new ScheduledJob(concurrency, weight, isHeavy);
+    }
+
+    static Job unscheduledJob(int concurrency) {
+        return new Job(concurrency);
+    }
+
+    /**
+     * Wraps a task of a job, so that jobs started while the task runs are not registered.
+     */
+    static Runnable jobTask(Runnable task) {
+        return () -> {
+            var depth = TASK_DEPTH.get();
+            TASK_DEPTH.set(depth == null ? 1 : depth + 1);
+            try {
+                task.run();
+            } finally {
+                if (depth == null) {
+                    TASK_DEPTH.remove();
+                } else {
+                    TASK_DEPTH.set(depth);
+                }
+            }
+        };
+    }
+
+    /**
+     * Marks the current thread as a thread that only runs tasks of a single job,
+     * such as the worker of a fork-join pool that has been created for a job.
+     */
+    static void markJobThread() {
+        TASK_DEPTH.set(1);
+    }
+
+    static boolean isRunningJobTask() {
+        return TASK_DEPTH.get() != null;
+    }
+
+    private void acquireHeavyJobPermit(TerminationFlag terminationFlag) {
+        try {
+            boolean acquired;
+            do {
+                terminationFlag.assertRunning();
+                acquired = heavyJobPermits.tryAcquire(TERMINATION_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+            } while (!acquired);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * A job that is not subject to fair sharing, it may always
+     * run as many tasks as its requested concurrency allows.
+     */
+    static class Job implements AutoCloseable {
+
+        final int concurrency;
+
+        Job(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        /**
+         * Returns the number of tasks this job may currently run at the same time.
+         */
+        int allowedConcurrency() {
+            return concurrency;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private final class ScheduledJob extends Job {
+
+        private final int weight;
+        private final boolean isHeavy;
+        private boolean isClosed;
+
+        ScheduledJob(int concurrency, int weight, boolean isHeavy) {
+            super(concurrency);
+            this.weight = weight;
+            this.isHeavy = isHeavy;
+        }
+
+        @Override
+        int allowedConcurrency() {
+            // integer division, rounded down, but every job can run at least one task
+            var share = (int) ((long) parallelism * weight / Math.max(weight, totalWeight.get()));
+            return Math.max(1, Math.min(concurrency, share));
+        }
+
+        @Override
+        public void close() {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            totalWeight.addAndGet(-weight);
+            runningJobCount.decrementAndGet();
+            if (isHeavy) {
+                heavyJobPermits.release();
+            }
+        }
+    }
+}
@@ -45,11 +45,13 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
@@ -78,13 +80,17 @@ public final class ParallelUtil {
      * The concurrency value is assumed to already be validated towards the edition limitation.
      */
     public static <T extends BaseStream<?, T>, R> R parallelStream(T data, int concurrency, Function<T, R> fn) {
-        ForkJoinPool pool = getFJPoolWithConcurrency(concurrency);
-        try {
-            return pool.submit(() -> fn.apply(data.parallel())).get();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        } finally {
-            pool.shutdown();
+        // The pool competes with the shared pool for the same cores, hence it is a job.
+        // Its worker threads only run tasks of this job, so nested calls are part of it.
+        try (var ignored = Pools.DEFAULT_SCHEDULER.startJob(concurrency, concurrency, TerminationFlag.RUNNING_TRUE)) {
+            ForkJoinPool pool = getFJPoolWithConcurrency(concurrency);
+            try {
+                return pool.submit(() -> fn.apply(data.parallel())).get();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            } finally {
+                pool.shutdown();
+            }
         }
     }
 
@@ -290,7 +296,7 @@ public final class ParallelUtil {
      * Runs a single task and waits until it's finished.
      */
     public static void run(Runnable task, ExecutorService executor) {
-        awaitTermination(Collections.singleton(executor.submit(task)));
+        awaitTermination(submitAsJob(Collections.singleton(task), executor, null));
     }
 
     /**
@@ -333,17 +339,7 @@ public final class ParallelUtil {
             throw new IllegalStateException("No running executor provided and synchronous execution is not allowed");
         }
 
-        if (futures == null) {
-            futures = new ArrayList<>(tasks.size());
-        } else {
-            futures.clear();
-        }
-
-        for (Runnable task : tasks) {
-            futures.add(executor.submit(task));
-        }
-
-        return futures;
+        return submitAsJob(tasks, executor, futures);
     }
 
     public static void run(
@@ -368,17 +364,53 @@ public final class ParallelUtil {
             throw new IllegalStateException("Executor is shut down");
         }
 
+        awaitTermination(submitAsJob(tasks, executor, futures));
+    }
+
+    /**
+     * Submits all tasks at once as a single job. Unlike {@link #runWithConcurrency},
+     * the tasks are not throttled to the fair share of the job, as callers may rely
+     * on all tasks running at the same time. The job is registered until all tasks
+     * are done or cancelled, so it still counts towards the shares of other jobs.
+     */
+    private static Collection<Future<?>> submitAsJob(
+        final Collection<? extends Runnable> tasks,
+        final ExecutorService executor,
+        @Nullable Collection<Future<?>> futures
+    ) {
         if (futures == null) {
             futures = new ArrayList<>(tasks.size());
         } else {
             futures.clear();
         }
 
-        for (Runnable task : tasks) {
-            futures.add(executor.submit(task));
+        var job = startJob(executor, tasks.size(), tasks.size(), TerminationFlag.RUNNING_TRUE);
+        // one additional count for the submitting thread, so that
+        // the job is not closed before all tasks have been submitted
+        var pendingTasks = new AtomicInteger(tasks.size() + 1);
+        int submittedTasks = 0;
+        try {
+            for (Runnable task : tasks) {
+                var future = new FutureTask<Void>(jobTask(task, executor), null) {
+                    @Override
+                    protected void done() {
+                        if (pendingTasks.decrementAndGet() == 0) {
+                            job.close();
+                        }
+                    }
+                };
+                executor.execute(future);
+                futures.add(future);
+                submittedTasks++;
+            }
+        } finally {
+            // tasks that could not be submitted are never done
+            if (pendingTasks.addAndGet(submittedTasks - tasks.size() - 1) == 0) {
+                job.close();
+            }
         }
 
-        awaitTermination(futures);
+        return futures;
     }
 
     /**
@@ -805,15 +837,18 @@ public final class ParallelUtil {
             return;
         }
 
-        CompletionService completionService =
-            new CompletionService(executor, concurrency);
-
-        PushbackIterator<Runnable> ts =
-            new PushbackIterator<>(tasks.iterator());
-
+        FairScheduler.Job job = null;
+        CompletionService completionService = null;
         Throwable error = null;
         // generally assumes that tasks.size is notably larger than concurrency
         try {
+            job = startJob(executor, concurrency, tasks.size(), terminationFlag);
+
+            completionService = new CompletionService(executor, concurrency, job);
+
+            PushbackIterator<Runnable> ts =
+                new PushbackIterator<>(tasks.iterator());
+
             //noinspection StatementWithEmptyBody - add first concurrency tasks
             for (int i = concurrency; i-- > 0
                                       && terminationFlag.running()
@@ -862,17 +897,49 @@ public final class ParallelUtil {
         } catch (InterruptedException e) {
             error = error == null ? e : ExceptionUtil.chain(e, error);
         } finally {
+            if (job != null) {
+                job.close();
+            }
             finishRunWithConcurrency(completionService, error);
         }
     }
 
+    /**
+     * Jobs on the shared pool are subject to fair sharing
+     * with all other jobs that are running at the same time.
+     */
+    static FairScheduler.Job startJob(
+        final Executor executor,
+        final int concurrency,
+        final int taskCount,
+        final TerminationFlag terminationFlag
+    ) {
+        return executor == Pools.DEFAULT
+            ? Pools.DEFAULT_SCHEDULER.startJob(concurrency, taskCount, terminationFlag)
+            : FairScheduler.unscheduledJob(concurrency);
+    }
+
+    /**
+     * Tasks on the shared pool and tasks that are submitted from within a job
+     * are marked, so that the jobs they start are not scheduled as separate jobs.
+     * Otherwise, a nested heavy job could wait for a permit that is held by
+     * the job it belongs to.
+     */
+    static Runnable jobTask(final Runnable task, final Executor executor) {
+        return executor == Pools.DEFAULT || FairScheduler.isRunningJobTask()
+            ? FairScheduler.jobTask(task)
+            : task;
+    }
+
     private static void finishRunWithConcurrency(
-        final CompletionService completionService,
+        @Nullable final CompletionService completionService,
         final Throwable error
     ) {
         // cancel all regardless of done flag because we could have aborted
         // from the termination flag
-        completionService.cancelAll();
+        if (completionService != null) {
+            completionService.cancelAll();
+        }
         if (error != null) {
             throwIfUnchecked(error);
             throw new RuntimeException(error);
@@ -947,6 +1014,7 @@ public final class ParallelUtil {
         private final Executor executor;
         private final ThreadPoolExecutor pool;
         private final int availableConcurrency;
+        private final FairScheduler.Job job;
         private final Set<Future<Void>> running;
         private final BlockingQueue<Future<Void>> completionQueue;
 
@@ -966,7 +1034,7 @@ public final class ParallelUtil {
             }
         }
 
-        CompletionService(final ExecutorService executor, final int targetConcurrency) {
+        CompletionService(final ExecutorService executor, final int targetConcurrency, final FairScheduler.Job job) {
             if (!canRunInParallel(executor)) {
                 throw new IllegalArgumentException(
                     "executor already terminated or not usable");
@@ -983,6 +1051,7 @@ public final class ParallelUtil {
             }
 
             this.executor = executor;
+            this.job = job;
             this.running = Collections.newSetFromMap(new ConcurrentHashMap<>());
         }
 
@@ -1000,7 +1069,7 @@ public final class ParallelUtil {
         boolean submit(final Runnable task) {
             Objects.requireNonNull(task);
             if (canSubmit()) {
-                executor.execute(new QueueingFuture(task));
+                executor.execute(new QueueingFuture(jobTask(task, executor)));
                 return true;
             }
             return false;
@@ -1020,6 +1089,10 @@ public final class ParallelUtil {
         }
 
         private boolean canSubmit() {
+            // the job may not run more tasks than its current share of the pool
+            if (running.size() >= job.allowedConcurrency()) {
+                return false;
+            }
             return pool == null || pool.getActiveCount() < availableConcurrency;
         }
 
@@ -1088,9 +1161,25 @@ public final class ParallelUtil {
 
     static {
         forkJoinPoolWorkerThreadFactory = pool -> {
-            var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            var worker = new JobWorkerThread(pool);
             worker.setName(THREAD_NAME_PREFIX + FORK_JOIN_INFIX + worker.getPoolIndex());
             return worker;
         };
     }
+
+    /**
+     * Fork-join pools are created per job, so their workers only run tasks of that job.
+     */
+    private static final class JobWorkerThread extends ForkJoinWorkerThread {
+
+        JobWorkerThread(ForkJoinPool pool) {
+            super(pool);
+        }
+
+        @Override
+        protected void onStart() {
+            super.onStart();
+            FairScheduler.markJobThread();
+        }
+    }
 }
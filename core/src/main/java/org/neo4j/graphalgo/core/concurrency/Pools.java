@@ -39,8 +39,10 @@ public final class Pools {
 
     public static final ExecutorService DEFAULT = createDefaultPool();
     public static final ExecutorService DEFAULT_SINGLE_THREAD_POOL = createDefaultSingleThreadPool();
+    public static final FairScheduler DEFAULT_SCHEDULER = createDefaultScheduler();
 
     static final String THREAD_NAME_PREFIX = "gds";
+    static final int DEFAULT_MAX_HEAVY_JOBS = 2;
 
     private Pools() {
         throw new UnsupportedOperationException();
@@ -66,6 +68,12 @@ public final class Pools {
         );
     }
 
+    static FairScheduler createDefaultScheduler() {
+        // the pool only runs more threads than its core size when the queue is full
+        var parallelism = ((ThreadPoolExecutor) DEFAULT).getCorePoolSize();
+        return new FairScheduler(parallelism, DEFAULT_MAX_HEAVY_JOBS);
+    }
+
     public static ExecutorService createDefaultSingleThreadPool() {
         return Executors.newSingleThreadExecutor(NamedThreadFactory.daemon("algo"));
     }
@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Streams results that are computed per node by multiple threads.
+ * <p>
+ * Every result row consists of two node ids and a value, e.g. the similarity
+ * of two nodes or the cost of a path between them. Worker threads write rows
+ * into fixed size primitive batches, which are handed to the consuming thread
+ * via a bounded queue. When the queue is full, the workers wait until the
+ * consumer has taken a batch, so that the number of batches in memory never
+ * exceeds the queue capacity plus one batch per worker and one for the consumer.
+ * Consumed batches are reused by the workers.
+ * <p>
+ * Producers that need per-thread scratch space can be created per worker
+ * through a {@link ProducerFactory}, they are released when the worker ends.
+ * <p>
+ * The workers are only started once the first row is requested. Closing the
+ * returned stream, which happens when a Cypher query stops reading the rows
+ * of a procedure, stops all workers after the node they are currently
+ * processing. Workers that wait for a consumer which is gone without closing
+ * the stream stop once the termination flag, e.g. of the transaction, is no
+ * longer running. Exceptions thrown by a worker are rethrown by the consumer.
+ * <p>
+ * On the shared pool, the workers are registered as a single job with the
+ * {@link org.neo4j.graphalgo.core.concurrency.FairScheduler} until the last
+ * of them ends.
+ */
+public final class ResultPipeline<R> {
+
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    // a node range per task, so that the work between threads is balanced
+    private static final long TASKS_PER_THREAD = 64;
+    private static final long POLL_MILLIS = 50;
+
+    private static final Batch END_OF_RESULTS = new Batch(0);
+
+    /**
+     * Produces the result rows for a single node.
+     */
+    @FunctionalInterface
+    public interface Producer {
+        void produce(long nodeId, Sink sink);
+    }
+
+    /**
+     * Creates the producer of a single worker.
+     */
+    @FunctionalInterface
+    public interface ProducerFactory {
+        Producer newProducer();
+    }
+
+    @FunctionalInterface
+    public interface Sink {
+        /**
+         * @return false, if the stream has been closed and no more rows should be produced
+         */
+        boolean accept(long source, long target, double value);
+    }
+
+    @FunctionalInterface
+    public interface RowMapper<R> {
+        R map(long source, long target, double value);
+    }
+
+    private final long nodeCount;
+    private final ProducerFactory producerFactory;
+    private final RowMapper<R> rowMapper;
+    private final int concurrency;
+    private final int batchSize;
+    private final long nodesPerTask;
+    private final ExecutorService executor;
+    private final TerminationFlag terminationFlag;
+
+    private final BlockingQueue<Batch> fullBatches;
+    private final BlockingQueue<Batch> freeBatches;
+    private final AtomicLong nextNode;
+    private final AtomicInteger runningWorkers;
+    private final AtomicReference<Throwable> error;
+    private volatile boolean stopped;
+    private boolean started;
+    private FairScheduler.Job job;
+
+    public static <R> Stream<R> stream(
+        long nodeCount,
+        Producer producer,
+        RowMapper<R> rowMapper,
+        int concurrency,
+        ExecutorService executor,
+        TerminationFlag terminationFlag
+    ) {
+        return stream(
+            nodeCount,
+            producer,
+            rowMapper,
+            concurrency,
+            DEFAULT_BATCH_SIZE,
+            DEFAULT_QUEUE_CAPACITY,
+            executor,
+            terminationFlag
+        );
+    }
+
+    public static <R> Stream<R> stream(
+        long nodeCount,
+        ProducerFactory producerFactory,
+        RowMapper<R> rowMapper,
+        int concurrency,
+        ExecutorService executor,
+        TerminationFlag terminationFlag
+    ) {
+        return stream(
+            nodeCount,
+            producerFactory,
+            rowMapper,
+            concurrency,
+            DEFAULT_BATCH_SIZE,
+            DEFAULT_QUEUE_CAPACITY,
+            executor,
+            terminationFlag
+        );
+    }
+
+    public static <R> Stream<R> stream(
+        long nodeCount,
+        Producer producer,
+        RowMapper<R> rowMapper,
+        int concurrency,
+        int batchSize,
+        int queueCapacity,
+        ExecutorService executor,
+        TerminationFlag terminationFlag
+    ) {
+        return stream(
+            nodeCount,
+            () -> producer,
+            rowMapper,
+            concurrency,
+            batchSize,
+            queueCapacity,
+            executor,
+            terminationFlag
+        );
+    }
+
+    public static <R> Stream<R> stream(
+        long nodeCount,
+        ProducerFactory producerFactory,
+        RowMapper<R> rowMapper,
+        int concurrency,
+        int batchSize,
+        int queueCapacity,
+        ExecutorService executor,
+        TerminationFlag terminationFlag
+    ) {
+        var pipeline = new ResultPipeline<>(
+            nodeCount,
+            producerFactory,
+            rowMapper,
+            concurrency,
+            batchSize,
+            queueCapacity,
+            executor,
+            terminationFlag
+        );
+        return StreamSupport
+            .stream(pipeline.new RowSpliterator(), false)
+            .onClose(pipeline::stop);
+    }
+
+    private ResultPipeline(
+        long nodeCount,
+        ProducerFactory producerFactory,
+        RowMapper<R> rowMapper,
+        int concurrency,
+        int batchSize,
+        int queueCapacity,
+        ExecutorService executor,
+        TerminationFlag terminationFlag
+    ) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The concurrency must be at least 1, but got %d.",
+                concurrency
+            ));
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The batch size must be at least 1, but got %d.",
+                batchSize
+            ));
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The queue capacity must be at least 1, but got %d.",
+                queueCapacity
+            ));
+        }
+        this.nodeCount = nodeCount;
+        this.producerFactory = producerFactory;
+        this.rowMapper = rowMapper;
+        this.concurrency = concurrency;
+        this.batchSize = batchSize;
+        this.nodesPerTask = Math.max(1, BitUtil.ceilDiv(nodeCount, concurrency * TASKS_PER_THREAD));
+        this.executor = executor;
+        this.terminationFlag = terminationFlag;
+        // one more slot, so that the end of the results can always be signalled
+        this.fullBatches = new ArrayBlockingQueue<>(queueCapacity + 1);
+        this.freeBatches = new ArrayBlockingQueue<>(queueCapacity + concurrency + 1);
+        this.nextNode = new AtomicLong();
+        this.runningWorkers = new AtomicInteger();
+        this.error = new AtomicReference<>();
+    }
+
+    private void start() {
+        started = true;
+        runningWorkers.set(concurrency);
+        job = ParallelUtil.startJob(executor, concurrency, concurrency, terminationFlag);
+        int startedWorkers = 0;
+        try {
+            for (; startedWorkers < concurrency; startedWorkers++) {
+                executor.execute(ParallelUtil.jobTask(new Worker(), executor));
+            }
+        } finally {
+            // workers that could not be submitted never end on their own
+            for (int i = startedWorkers; i < concurrency; i++) {
+                workerDone();
+            }
+        }
+    }
+
+    private void workerDone() {
+        if (runningWorkers.decrementAndGet() == 0) {
+            job.close();
+            // wakes up the consumer, if the queue is full it is not waiting anyway
+            fullBatches.offer(END_OF_RESULTS);
+        }
+    }
+
+    private void stop() {
+        stopped = true;
+        fullBatches.clear();
+    }
+
+    private Batch newBatch() {
+        var batch = freeBatches.poll();
+        return batch != null ? batch : new Batch(batchSize);
+    }
+
+    private void recycle(Batch batch) {
+        batch.size = 0;
+        freeBatches.offer(batch);
+    }
+
+    private void publish(Batch batch) throws InterruptedException {
+        while (!stopped) {
+            // a consumer that is gone without closing the stream never takes another batch
+            terminationFlag.assertRunning();
+            if (fullBatches.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    private Batch nextBatch() {
+        try {
+            while (true) {
+                rethrowError();
+                terminationFlag.assertRunning();
+                var batch = fullBatches.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (batch == END_OF_RESULTS || (batch == null && runningWorkers.get() == 0)) {
+                    // all workers are done, but their last batches might still be queued
+                    batch = fullBatches.poll();
+                    if (batch == null || batch == END_OF_RESULTS) {
+                        rethrowError();
+                        return null;
+                    }
+                }
+                if (batch != null) {
+                    return batch;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void rethrowError() {
+        var throwable = error.get();
+        if (throwable == null) {
+            return;
+        }
+        stop();
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        throw new RuntimeException(throwable);
+    }
+
+    private static final class Batch {
+        private final long[] sources;
+        private final long[] targets;
+        private final double[] values;
+        private int size;
+
+        Batch(int capacity) {
+            this.sources = new long[capacity];
+            this.targets = new long[capacity];
+            this.values = new double[capacity];
+        }
+
+        boolean isFull() {
+            return size == sources.length;
+        }
+    }
+
+    private final class Worker implements Runnable, Sink {
+
+        private Batch batch;
+
+        @Override
+        public void run() {
+            try {
+                batch = newBatch();
+                var producer = producerFactory.newProducer();
+                long startNode;
+                while (!stopped && (startNode = nextNode.getAndAdd(nodesPerTask)) < nodeCount) {
+                    terminationFlag.assertRunning();
+                    long endNode = Math.min(nodeCount, startNode + nodesPerTask);
+                    for (long nodeId = startNode; nodeId < endNode && !stopped; nodeId++) {
+                        producer.produce(nodeId, this);
+                    }
+                }
+                if (batch.size > 0) {
+                    publish(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error.compareAndSet(null, e);
+                stopped = true;
+            } catch (Throwable e) {
+                error.compareAndSet(null, e);
+                stopped = true;
+            } finally {
+                workerDone();
+            }
+        }
+
+        @Override
+        public boolean accept(long source, long target, double value) {
+            if (stopped) {
+                return false;
+            }
+            batch.sources[batch.size] = source;
+            batch.targets[batch.size] = target;
+            batch.values[batch.size] = value;
+            batch.size++;
+            if (batch.isFull()) {
+                try {
+                    publish(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+                batch = newBatch();
+            }
+            return !stopped;
+        }
+    }
+
+    private final class RowSpliterator extends Spliterators.AbstractSpliterator<R> {
+
+        private Batch batch;
+        private int position;
+
+        RowSpliterator() {
+            super(Long.MAX_VALUE, Spliterator.NONNULL);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            if (!started) {
+                start();
+            }
+            if (batch == null || position == batch.size) {
+                if (batch != null) {
+                    recycle(batch);
+                    batch = null;
+                }
+                if (stopped && error.get() == null) {
+                    return false;
+                }
+                batch = nextBatch();
+                position = 0;
+                if (batch == null) {
+                    return false;
+                }
+            }
+            action.accept(rowMapper.map(
+                batch.sources[position],
+                batch.targets[position],
+                batch.values[position]
+            ));
+            position++;
+            return true;
+        }
+    }
+}
@@ -19,28 +19,9 @@
  */
 package org.neo4j.graphalgo.core.huge;
 
-import org.neo4j.graphalgo.api.AdjacencyCursor;
-import org.neo4j.graphalgo.core.loading.MutableIntValue;
-
-import java.util.Arrays;
-
 import static org.neo4j.graphalgo.core.huge.VarLongDecoding.decodeDeltaVLongs;
 
-final class AdjacencyDecompressingReader {
-
-    static final int CHUNK_SIZE = 64;
-
-    private final long[] block;
-    private int pos;
-    private byte[] array;
-    private int offset;
-
-    private boolean blockAlreadyDecoded;
-
-    AdjacencyDecompressingReader() {
-        this.block = new long[CHUNK_SIZE];
-        this.blockAlreadyDecoded = false;
-    }
+final class AdjacencyDecompressingReader extends BlockDecompressingReader {
 
     //@formatter:off
     static int readInt(byte[] array, int offset) {
@@ -64,13 +45,6 @@ final class AdjacencyDecompressingReader {
     }
     //@formatter:on
 
-    void copyFrom(AdjacencyDecompressingReader other) {
-        System.arraycopy(other.block, 0, block, 0, CHUNK_SIZE);
-        pos = other.pos;
-        array = other.array;
-        offset = other.offset;
-    }
-
     int reset(byte[] adjacencyPage, int offset) {
         this.array = adjacencyPage;
         int numAdjacencies = readInt(adjacencyPage, offset); // offset should not be 0
@@ -79,95 +53,8 @@ final class AdjacencyDecompressingReader {
         return numAdjacencies;
     }
 
-    long next(int remaining) {
-        int pos = this.pos++;
-        if (pos < CHUNK_SIZE) {
-            return block[pos];
-        }
-        long targetNode = readNextBlock(remaining);
-        this.pos = 1;
-        return targetNode;
-    }
-
-    long peek(int remaining) {
-        int pos = this.pos;
-        if (pos < CHUNK_SIZE) {
-            return block[pos];
-        }
-        long targetNode = readNextBlock(remaining);
-        blockAlreadyDecoded = true;
-        this.pos = 0;
-        return targetNode;
-    }
-
-    private long readNextBlock(int remaining) {
-        if (!blockAlreadyDecoded) {
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, Math.min(remaining, CHUNK_SIZE), block);
-            return block[0];
-        }
-        blockAlreadyDecoded = false;
-        return block[pos];
-    }
-
-    long skipUntil(long target, int remaining, MutableIntValue consumed) {
-        int pos = this.pos;
-        long[] block = this.block;
-        int available = remaining;
-
-        // skip blocks until we have either not enough available to decode or have advanced far enough
-        while (available > CHUNK_SIZE - pos && block[CHUNK_SIZE - 1] <= target) {
-            int skippedInThisBlock = CHUNK_SIZE - pos;
-            int needToDecode = Math.min(CHUNK_SIZE, available - skippedInThisBlock);
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, needToDecode, block);
-            available -= skippedInThisBlock;
-            pos = 0;
-        }
-
-        // last block
-        if(available <= 0) {
-            return AdjacencyCursor.NOT_FOUND;
-        }
-
-        int targetPos = findPosStrictlyGreaterInBlock(target, pos, Math.min(pos + available, CHUNK_SIZE), block);
-        // we need to consume including targetPos, not to it, therefore +1
-        available -= (1 + targetPos - pos);
-        consumed.value = remaining - available;
-        this.pos = 1 + targetPos;
-        return block[targetPos];
-    }
-
-    long advance(long target, int remaining, MutableIntValue consumed) {
-        int pos = this.pos;
-        long[] block = this.block;
-        int available = remaining;
-
-        // skip blocks until we have either not enough available to decode or have advanced far enough
-        while (available > CHUNK_SIZE - pos && block[CHUNK_SIZE - 1] < target) {
-            int skippedInThisBlock = CHUNK_SIZE - pos;
-            int needToDecode = Math.min(CHUNK_SIZE, available - skippedInThisBlock);
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, needToDecode, block);
-            available -= skippedInThisBlock;
-            pos = 0;
-        }
-
-        // last block
-        int targetPos = findPosInBlock(target, pos, Math.min(pos + available, CHUNK_SIZE), block);
-        // we need to consume including targetPos, not to it, therefore +1
-        available -= (1 + targetPos - pos);
-        consumed.value = remaining - available;
-        this.pos = 1 + targetPos;
-        return block[targetPos];
-    }
-
-    private int findPosStrictlyGreaterInBlock(long target, int pos, int limit, long[] block) {
-        return findPosInBlock(1L + target, pos, limit, block);
-    }
-
-    private int findPosInBlock(long target, int pos, int limit, long[] block) {
-        int targetPos = Arrays.binarySearch(block, pos, limit, target);
-        if (targetPos < 0) {
-            targetPos = Math.min(-1 - targetPos, -1 + limit);
-        }
-        return targetPos;
+    @Override
+    int decodeBlock(long previousValue, int offset, int length) {
+        return decodeDeltaVLongs(previousValue, array, offset, length, block);
     }
 }
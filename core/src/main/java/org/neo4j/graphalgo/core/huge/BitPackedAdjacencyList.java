@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.core.loading.MutableIntValue;
+
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.indexInPage;
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.pageIndex;
+
+/**
+ * An adjacency list whose targets are bit-packed in blocks instead of VarLong encoded.
+ * The pages have the same layout as the pages of a {@link TransientAdjacencyList},
+ * i.e. every list starts with its degree, followed by the encoded targets.
+ *
+ * @see org.neo4j.graphalgo.core.loading.AdjacencyPacking
+ */
+public final class BitPackedAdjacencyList implements AdjacencyList {
+
+    private byte[][] pages;
+
+    public BitPackedAdjacencyList(byte[][] pages) {
+        this.pages = pages;
+    }
+
+    /**
+     * Returns the backing pages, e.g. for writing them to a snapshot.
+     */
+    public byte[][] pages() {
+        return pages;
+    }
+
+    @Override
+    public int degree(long index) {
+        return AdjacencyDecompressingReader.readInt(
+            pages[pageIndex(index, TransientAdjacencyList.PAGE_SHIFT)],
+            indexInPage(index, TransientAdjacencyList.PAGE_MASK)
+        );
+    }
+
+    @Override
+    public void close() {
+        pages = null;
+    }
+
+    // Cursors
+
+    @Override
+    public PropertyCursor rawCursor() {
+        throw new UnsupportedOperationException("BitPackedAdjacencyList#rawCursor is not supported");
+    }
+
+    @Override
+    public PropertyCursor cursor(long offset) {
+        throw new UnsupportedOperationException("BitPackedAdjacencyList#cursor is not supported");
+    }
+
+    @Override
+    public DecompressingCursor rawDecompressingCursor() {
+        return new DecompressingCursor(pages);
+    }
+
+    public static final class DecompressingCursor extends MutableIntValue implements AdjacencyCursor {
+
+        private byte[][] pages;
+        private final BitPackedDecompressingReader decompress;
+
+        private int maxTargets;
+        private int currentPosition;
+
+        private DecompressingCursor(byte[][] pages) {
+            this.pages = pages;
+            this.decompress = new BitPackedDecompressingReader();
+        }
+
+        @Override
+        public void init(long fromIndex) {
+            maxTargets = decompress.reset(
+                pages[pageIndex(fromIndex, TransientAdjacencyList.PAGE_SHIFT)],
+                indexInPage(fromIndex, TransientAdjacencyList.PAGE_MASK)
+            );
+            currentPosition = 0;
+        }
+
+        /**
+         * Copy iteration state from another cursor without changing {@code other}.
+         */
+        @Override
+        public void copyFrom(AdjacencyCursor other) {
+            assert (other instanceof DecompressingCursor);
+            var theOther = ((DecompressingCursor) other);
+            decompress.copyFrom(theOther.decompress);
+            currentPosition = theOther.currentPosition;
+            maxTargets = theOther.maxTargets;
+        }
+
+        @Override
+        public int size() {
+            return maxTargets;
+        }
+
+        @Override
+        public int remaining() {
+            return maxTargets - currentPosition;
+        }
+
+        @Override
+        public boolean hasNextVLong() {
+            return currentPosition < maxTargets;
+        }
+
+        @Override
+        public long nextVLong() {
+            int current = currentPosition++;
+            int remaining = maxTargets - current;
+            return decompress.next(remaining);
+        }
+
+        @Override
+        public long peekVLong() {
+            int remaining = maxTargets - currentPosition;
+            return decompress.peek(remaining);
+        }
+
+        /**
+         * @see TransientAdjacencyList.DecompressingCursor#skipUntil(long)
+         */
+        @Override
+        public long skipUntil(long target) {
+            long value = decompress.skipUntil(target, remaining(), this);
+            this.currentPosition += this.value;
+            return value;
+        }
+
+        /**
+         * @see TransientAdjacencyList.DecompressingCursor#advance(long)
+         */
+        @Override
+        public long advance(long target) {
+            int targetsLeftToBeDecoded = remaining();
+            if (targetsLeftToBeDecoded <= 0) {
+                return AdjacencyCursor.NOT_FOUND;
+            }
+            long value = decompress.advance(target, targetsLeftToBeDecoded, this);
+            this.currentPosition += this.value;
+            return value;
+        }
+
+        @Override
+        public void close() {
+            pages = null;
+        }
+    }
+}
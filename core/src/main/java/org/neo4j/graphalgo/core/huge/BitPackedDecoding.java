@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.core.loading.AdjacencyPacking.VAR_LONG_BLOCK;
+import static org.neo4j.graphalgo.core.loading.AdjacencyPacking.packedBytes;
+
+/**
+ * Decodes blocks written by {@link org.neo4j.graphalgo.core.loading.AdjacencyPacking}.
+ */
+final class BitPackedDecoding {
+
+    // widths up to this size fit into the bit buffer together with the next byte
+    private static final int MAX_BUFFERED_BITS = Long.SIZE - Byte.SIZE;
+
+    static int decodeDeltaBlock(
+        long startValue,
+        byte[] adjacencyPage,
+        int offset,
+        int length,
+        long[] out,
+        int into
+    ) {
+        int bits = adjacencyPage[offset++] & 0xFF;
+        int end = into + length;
+        if (bits == VAR_LONG_BLOCK) {
+            return decodeVarLongDeltaBlock(startValue, adjacencyPage, offset, length, out, into);
+        }
+        if (bits == 0) {
+            Arrays.fill(out, into, end, startValue);
+            return offset;
+        }
+        if (bits > MAX_BUFFERED_BITS) {
+            return decodeWideDeltaBlock(startValue, adjacencyPage, offset, length, out, into, bits);
+        }
+
+        long mask = (1L << bits) - 1;
+        long buffer = 0L;
+        int bufferedBits = 0;
+        for (int i = into; i < end; i++) {
+            while (bufferedBits < bits) {
+                buffer |= (adjacencyPage[offset++] & 0xFFL) << bufferedBits;
+                bufferedBits += Byte.SIZE;
+            }
+            startValue += buffer & mask;
+            out[i] = startValue;
+            buffer >>>= bits;
+            bufferedBits -= bits;
+        }
+        return offset;
+    }
+
+    private static int decodeVarLongDeltaBlock(
+        long startValue,
+        byte[] adjacencyPage,
+        int offset,
+        int length,
+        long[] out,
+        int into
+    ) {
+        int end = into + length;
+        long input, value = 0L;
+        int shift = 0;
+        while (into < end) {
+            input = adjacencyPage[offset++];
+            value += (input & 127L) << shift;
+            if ((input & 128L) == 128L) {
+                startValue += value;
+                out[into++] = startValue;
+                value = 0L;
+                shift = 0;
+            } else {
+                shift += 7;
+            }
+        }
+        return offset;
+    }
+
+    private static int decodeWideDeltaBlock(
+        long startValue,
+        byte[] adjacencyPage,
+        int offset,
+        int length,
+        long[] out,
+        int into,
+        int bits
+    ) {
+        long bitPosition = (long) offset * Byte.SIZE;
+        for (int i = into; i < into + length; i++) {
+            long delta = 0L;
+            int readBits = 0;
+            while (readBits < bits) {
+                int index = (int) (bitPosition >>> 3);
+                int bitInByte = (int) (bitPosition & 7);
+                int take = Math.min(Byte.SIZE - bitInByte, bits - readBits);
+                long chunk = ((adjacencyPage[index] & 0xFFL) >>> bitInByte) & ((1L << take) - 1);
+                delta |= chunk << readBits;
+                readBits += take;
+                bitPosition += take;
+            }
+            startValue += delta;
+            out[i] = startValue;
+        }
+        return offset + packedBytes(length, bits);
+    }
+
+    private BitPackedDecoding() {
+        throw new UnsupportedOperationException("No instances");
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import static org.neo4j.graphalgo.core.huge.AdjacencyDecompressingReader.readInt;
+import static org.neo4j.graphalgo.core.huge.BitPackedDecoding.decodeDeltaBlock;
+import static org.neo4j.graphalgo.core.huge.VarLongDecoding.decodeDeltaVLongs;
+
+/**
+ * Reads adjacency lists that have been written by {@link org.neo4j.graphalgo.core.loading.AdjacencyPacking}.
+ * Every block of packed deltas decodes into exactly one chunk of targets.
+ */
+final class BitPackedDecompressingReader extends BlockDecompressingReader {
+
+    int reset(byte[] adjacencyPage, int offset) {
+        this.array = adjacencyPage;
+        int numAdjacencies = readInt(adjacencyPage, offset); // offset should not be 0
+        this.offset = Integer.BYTES + offset;
+        if (numAdjacencies > 0) {
+            // the first target is stored as an absolute id, followed by the packed deltas of the first block
+            this.offset = decodeDeltaVLongs(0L, adjacencyPage, this.offset, 1, block);
+            int firstBlockLength = Math.min(numAdjacencies, CHUNK_SIZE) - 1;
+            if (firstBlockLength > 0) {
+                this.offset = decodeDeltaBlock(block[0], adjacencyPage, this.offset, firstBlockLength, block, 1);
+            }
+        }
+        pos = 0;
+        return numAdjacencies;
+    }
+
+    @Override
+    int decodeBlock(long previousValue, int offset, int length) {
+        return decodeDeltaBlock(previousValue, array, offset, length, block, 0);
+    }
+}
@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.core.huge;
 
+import com.carrotsearch.hppc.BitSet;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.api.AdjacencyCursor;
 import org.neo4j.graphalgo.api.IntersectionConsumer;
 import org.neo4j.graphalgo.api.RelationshipIntersect;
@@ -35,11 +37,15 @@ import static org.neo4j.graphalgo.api.AdjacencyCursor.NOT_FOUND;
 
 public abstract class GraphIntersect<CURSOR extends AdjacencyCursor> implements RelationshipIntersect {
 
+    // if B has this many times more remaining neighbours than A, A drives the intersection
+    static final int SKIP_AHEAD_RATIO = 16;
+
     protected CURSOR empty;
     private final CURSOR cache;
     private final CURSOR cacheA;
     private final CURSOR cacheB;
     private final LongPredicate degreeFilter;
+    private final HubNeighborhoods hubs;
 
     protected GraphIntersect(
         CURSOR cache,
@@ -47,11 +53,23 @@ public abstract class GraphIntersect<CURSOR extends AdjacencyCursor> implements
         CURSOR cacheB,
         CURSOR empty,
         long maxDegree
+    ) {
+        this(cache, cacheA, cacheB, empty, maxDegree, HubNeighborhoods.empty());
+    }
+
+    protected GraphIntersect(
+        CURSOR cache,
+        CURSOR cacheA,
+        CURSOR cacheB,
+        CURSOR empty,
+        long maxDegree,
+        HubNeighborhoods hubs
     ) {
         this.cache = cache;
         this.cacheA = cacheA;
         this.cacheB = cacheB;
         this.empty = empty;
+        this.hubs = hubs;
 
         this.degreeFilter = maxDegree < Long.MAX_VALUE
             ? (node) -> degree(node) <= maxDegree
@@ -66,6 +84,7 @@ public abstract class GraphIntersect<CURSOR extends AdjacencyCursor> implements
         }
 
         CURSOR neighboursAMain = cursor(nodeA, cache);
+        BitSet hubA = hubs.neighbours(nodeA);
 
         // find first neighbour B of A with id > A
         long nodeB = neighboursAMain.skipUntil(nodeA);
@@ -83,14 +102,8 @@ public abstract class GraphIntersect<CURSOR extends AdjacencyCursor> implements
         // current neighbour of B
         long nodeCfromB;
 
-        // last node where Ca = Cb
-        // prevents counting a new triangle for parallel relationships
-        long triangleC;
-
         // for all neighbors of A
         while (neighboursAMain.hasNextVLong()) {
-            // we have not yet seen a triangle
-            triangleC = NOT_FOUND;
             // check the second node's degree
             if (degreeFilter.test(nodeB)) {
                 neighboursB = cursor(nodeB, neighboursB);
@@ -101,41 +114,19 @@ public abstract class GraphIntersect<CURSOR extends AdjacencyCursor> implements
                 if (nodeCfromB != NOT_FOUND) {
                     // copy the state of A's cursor
                     neighboursA.copyFrom(neighboursAMain);
+                    BitSet hubB = hubs.neighbours(nodeB);
 
-                    if (degreeFilter.test(nodeCfromB)) {
-                        // find the first neighbour Ca of A with id >= Cb
-                        nodeCfromA = neighboursA.advance(nodeCfromB);
-                        triangleC = checkForAndEmitTriangle(consumer, nodeA, nodeB, nodeCfromA, nodeCfromB, triangleC);
-                    }
-
-                    // while both A and B have more neighbours
-                    while (neighboursA.hasNextVLong() && neighboursB.hasNextVLong()) {
-                        // take the next neighbour Cb of B
-                        nodeCfromB = neighboursB.nextVLong();
-                        if (degreeFilter.test(nodeCfromB)) {
-                            if (nodeCfromB > nodeCfromA) {
-                                // if Cb > Ca, take the next neighbour Ca of A with id >= Cb
-                                nodeCfromA = neighboursA.advance(nodeCfromB);
-                            }
-                            triangleC = checkForAndEmitTriangle(
-                                consumer,
-                                nodeA,
-                                nodeB,
-                                nodeCfromA,
-                                nodeCfromB,
-                                triangleC
-                            );
-                        }
-                    }
-
-                    // it is possible that the last Ca > Cb, but there are no more neighbours Ca of A
-                    // so if there are more neighbours Cb of B
-                    if (neighboursB.hasNextVLong()) {
-                        // we take the next neighbour Cb of B with id >= Ca
-                        nodeCfromB = neighboursB.advance(nodeCfromA);
-                        if (degreeFilter.test(nodeCfromB)) {
-                            checkForAndEmitTriangle(consumer, nodeA, nodeB, nodeCfromA, nodeCfromB, triangleC);
-                        }
+                    if (hubB != null && (hubA == null || neighboursA.remaining() <= neighboursB.remaining())) {
+                        // look up the remaining neighbours Ca of A in the bitmap of B
+                        intersectWithHub(consumer, nodeA, nodeB, NOT_FOUND, neighboursA, hubB);
+                    } else if (hubA != null) {
+                        // look up the remaining neighbours Cb of B in the bitmap of A
+                        intersectWithHub(consumer, nodeA, nodeB, nodeCfromB, neighboursB, hubA);
+                    } else if ((long) neighboursA.remaining() * SKIP_AHEAD_RATIO < neighboursB.remaining()) {
+                        // B has a lot more neighbours than A, let B's cursor skip ahead to the neighbours of A
+                        intersectDrivenByA(consumer, nodeA, nodeB, nodeCfromB, neighboursA, neighboursB);
+                    } else {
+                        nodeCfromA = intersectDrivenByB(consumer, nodeA, nodeB, nodeCfromA, nodeCfromB, neighboursA, neighboursB);
                     }
                 }
             }
@@ -145,6 +136,120 @@ public abstract class GraphIntersect<CURSOR extends AdjacencyCursor> implements
         }
     }
 
+    private long intersectDrivenByB(
+        IntersectionConsumer consumer,
+        long nodeA,
+        long nodeB,
+        long nodeCfromA,
+        long nodeCfromB,
+        CURSOR neighboursA,
+        CURSOR neighboursB
+    ) {
+        // last node where Ca = Cb
+        // prevents counting a new triangle for parallel relationships
+        long triangleC = NOT_FOUND;
+
+        if (degreeFilter.test(nodeCfromB)) {
+            // find the first neighbour Ca of A with id >= Cb
+            nodeCfromA = neighboursA.advance(nodeCfromB);
+            triangleC = checkForAndEmitTriangle(consumer, nodeA, nodeB, nodeCfromA, nodeCfromB, triangleC);
+        }
+
+        // while both A and B have more neighbours
+        while (neighboursA.hasNextVLong() && neighboursB.hasNextVLong()) {
+            // take the next neighbour Cb of B
+            nodeCfromB = neighboursB.nextVLong();
+            if (degreeFilter.test(nodeCfromB)) {
+                if (nodeCfromB > nodeCfromA) {
+                    // if Cb > Ca, take the next neighbour Ca of A with id >= Cb
+                    nodeCfromA = neighboursA.advance(nodeCfromB);
+                }
+                triangleC = checkForAndEmitTriangle(
+                    consumer,
+                    nodeA,
+                    nodeB,
+                    nodeCfromA,
+                    nodeCfromB,
+                    triangleC
+                );
+            }
+        }
+
+        // it is possible that the last Ca > Cb, but there are no more neighbours Ca of A
+        // so if there are more neighbours Cb of B
+        if (neighboursB.hasNextVLong()) {
+            // we take the next neighbour Cb of B with id >= Ca
+            nodeCfromB = neighboursB.advance(nodeCfromA);
+            if (degreeFilter.test(nodeCfromB)) {
+                checkForAndEmitTriangle(consumer, nodeA, nodeB, nodeCfromA, nodeCfromB, triangleC);
+            }
+        }
+        return nodeCfromA;
+    }
+
+    private void intersectDrivenByA(
+        IntersectionConsumer consumer,
+        long nodeA,
+        long nodeB,
+        long nodeCfromB,
+        CURSOR neighboursA,
+        CURSOR neighboursB
+    ) {
+        long triangleC = NOT_FOUND;
+        while (neighboursA.hasNextVLong()) {
+            // take the next neighbour Ca of A, the remaining neighbours of A might still contain B
+            long nodeCfromA = neighboursA.nextVLong();
+            if (nodeCfromA <= nodeB) {
+                continue;
+            }
+            if (nodeCfromA > nodeCfromB) {
+                if (!neighboursB.hasNextVLong()) {
+                    break;
+                }
+                // take the next neighbour Cb of B with id >= Ca, skipping whole blocks of B
+                nodeCfromB = neighboursB.advance(nodeCfromA);
+            }
+            if (nodeCfromA == nodeCfromB && nodeCfromA > triangleC && degreeFilter.test(nodeCfromA)) {
+                consumer.accept(nodeA, nodeB, nodeCfromA);
+                triangleC = nodeCfromA;
+            }
+        }
+    }
+
+    /**
+     * Emits a triangle for every node C of the cursor, starting with {@code firstC} unless it is
+     * {@link AdjacencyCursor#NOT_FOUND}, that is larger than B and contained in the given bitmap.
+     */
+    private void intersectWithHub(
+        IntersectionConsumer consumer,
+        long nodeA,
+        long nodeB,
+        long firstC,
+        CURSOR neighbours,
+        BitSet hubNeighbours
+    ) {
+        // triangles are only emitted for C > B
+        long triangleC = nodeB;
+        long nodeC = firstC;
+        if (nodeC == NOT_FOUND) {
+            if (!neighbours.hasNextVLong()) {
+                return;
+            }
+            nodeC = neighbours.nextVLong();
+        }
+        while (true) {
+            // the cursor is sorted, so C > triangleC also skips parallel relationships
+            if (nodeC > triangleC && hubNeighbours.get(nodeC) && degreeFilter.test(nodeC)) {
+                consumer.accept(nodeA, nodeB, nodeC);
+                triangleC = nodeC;
+            }
+            if (!neighbours.hasNextVLong()) {
+                return;
+            }
+            nodeC = neighbours.nextVLong();
+        }
+    }
+
     private long checkForAndEmitTriangle(
         IntersectionConsumer consumer,
         long nodeA,
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.LongIntHashMap;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIntersect;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.queue.BoundedLongPriorityQueue;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+
+import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
+
+/**
+ * Bitmaps of the neighbours of the nodes with the highest degrees.
+ * <p>
+ * Intersecting the sorted neighbours of a low degree node with the neighbours of a hub
+ * costs time proportional to the degree of the hub. With a bitmap of the hub's neighbours,
+ * the intersection only needs a single lookup per neighbour of the low degree node.
+ * A bitmap has one bit per node in the graph, so only nodes with at least
+ * {@link #MIN_HUB_DEGREE} neighbours and at most {@link #MAX_BITS_PER_NEIGHBOUR}
+ * bits per neighbour are considered, and at most {@code maxHubs} bitmaps are created.
+ * The bitmaps are only used by the intersections of {@link HugeGraph} and {@link UnionGraph},
+ * other graphs, e.g. ones with mapped node ids, do not get any bitmaps.
+ */
+public final class HubNeighborhoods {
+
+    public static final int MIN_HUB_DEGREE = 1024;
+    static final long MAX_BITS_PER_NEIGHBOUR = 64;
+
+    private static final HubNeighborhoods EMPTY = new HubNeighborhoods(new LongIntHashMap(), new BitSet[0]);
+
+    private final LongIntHashMap hubIndex;
+    private final BitSet[] neighbours;
+
+    public static HubNeighborhoods empty() {
+        return EMPTY;
+    }
+
+    public static MemoryEstimation memoryEstimation(int maxHubs) {
+        return MemoryEstimations.builder(HubNeighborhoods.class)
+            .perGraphDimension("neighbour bitmaps", (dimensions, concurrency) -> MemoryRange.of(
+                0,
+                maxHubs * MemoryUsage.sizeOfLongArray(ceilDiv(dimensions.nodeCount(), Long.SIZE))
+            ))
+            .build();
+    }
+
+    /**
+     * Creates the bitmaps for the {@code maxHubs} nodes with the highest degree.
+     * Nodes with a degree above {@code maxDegree} are never intersected and therefore skipped.
+     */
+    public static HubNeighborhoods create(
+        Graph graph,
+        int maxHubs,
+        long maxDegree,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+        long minDegree = Math.max(MIN_HUB_DEGREE, ceilDiv(nodeCount, MAX_BITS_PER_NEIGHBOUR));
+        if (maxHubs <= 0 || minDegree > maxDegree || !(graph instanceof HugeGraph || graph instanceof UnionGraph)) {
+            return EMPTY;
+        }
+
+        var hubs = BoundedLongPriorityQueue.max(maxHubs);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            int degree = graph.degree(nodeId);
+            if (degree >= minDegree && degree <= maxDegree) {
+                hubs.offer(nodeId, degree);
+            }
+        }
+        if (hubs.size() == 0) {
+            return EMPTY;
+        }
+
+        var hubIndex = new LongIntHashMap(hubs.size());
+        var neighbours = new BitSet[hubs.size()];
+        var tasks = new ArrayList<Runnable>(hubs.size());
+        for (int i = 0; i < hubs.size(); i++) {
+            long hub = hubs.elementAt(i);
+            int index = i;
+            hubIndex.put(hub, index);
+            tasks.add(() -> {
+                var bitSet = new BitSet(nodeCount);
+                graph.concurrentCopy().forEachRelationship(hub, (source, target) -> {
+                    bitSet.set(target);
+                    return true;
+                });
+                tracker.add(MemoryUsage.sizeOfLongArray(bitSet.bits.length));
+                neighbours[index] = bitSet;
+            });
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+
+        return new HubNeighborhoods(hubIndex, neighbours);
+    }
+
+    private HubNeighborhoods(LongIntHashMap hubIndex, BitSet[] neighbours) {
+        this.hubIndex = hubIndex;
+        this.neighbours = neighbours;
+    }
+
+    public int size() {
+        return neighbours.length;
+    }
+
+    /**
+     * Returns an intersection of the given graph that looks up the neighbours of the hubs in their bitmaps.
+     * The hubs must have been created from the same graph.
+     */
+    public RelationshipIntersect intersection(Graph graph, long maxDegree) {
+        if (size() > 0) {
+            if (graph instanceof HugeGraph) {
+                return ((HugeGraph) graph).intersection(maxDegree, this);
+            }
+            if (graph instanceof UnionGraph) {
+                return ((UnionGraph) graph).intersection(maxDegree, this);
+            }
+        }
+        return graph.intersection(maxDegree);
+    }
+
+    /**
+     * Releases the bitmaps. Intersections that have been created from these hubs must not be used afterwards.
+     */
+    public void release(AllocationTracker tracker) {
+        for (int i = 0; i < neighbours.length; i++) {
+            if (neighbours[i] != null) {
+                tracker.remove(MemoryUsage.sizeOfLongArray(neighbours[i].bits.length));
+                neighbours[i] = null;
+            }
+        }
+        hubIndex.clear();
+    }
+
+    /**
+     * Returns the bitmap of the neighbours of the given node or {@code null} if the node is not a hub.
+     */
+    @Nullable BitSet neighbours(long nodeId) {
+        if (neighbours.length == 0) {
+            return null;
+        }
+        int index = hubIndex.getOrDefault(nodeId, -1);
+        return index == -1 ? null : neighbours[index];
+    }
+}
@@ -347,6 +347,10 @@ public class HugeGraph implements CSRGraph {
         return new HugeGraphIntersect(adjacencyList, adjacencyOffsets, maxDegree);
     }
 
+    RelationshipIntersect intersection(long maxDegree, HubNeighborhoods hubs) {
+        return new HugeGraphIntersect(adjacencyList, adjacencyOffsets, maxDegree, hubs);
+    }
+
     /**
      * O(n) !
      */
@@ -29,12 +29,22 @@ public class HugeGraphIntersect extends GraphIntersect<AdjacencyCursor> {
     private final AdjacencyOffsets offsets;
 
     HugeGraphIntersect(final AdjacencyList adjacency, final AdjacencyOffsets offsets, long maxDegree) {
+        this(adjacency, offsets, maxDegree, HubNeighborhoods.empty());
+    }
+
+    HugeGraphIntersect(
+        final AdjacencyList adjacency,
+        final AdjacencyOffsets offsets,
+        long maxDegree,
+        HubNeighborhoods hubs
+    ) {
         super(
             adjacency.rawDecompressingCursor(),
             adjacency.rawDecompressingCursor(),
             adjacency.rawDecompressingCursor(),
             adjacency.rawDecompressingCursor(),
-            maxDegree
+            maxDegree,
+            hubs
         );
         this.adjacency = adjacency;
         this.offsets = offsets;
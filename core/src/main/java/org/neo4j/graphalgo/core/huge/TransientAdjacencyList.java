@@ -23,6 +23,7 @@ import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.AdjacencyCursor;
 import org.neo4j.graphalgo.api.AdjacencyList;
 import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.core.loading.AdjacencyPacking;
 import org.neo4j.graphalgo.core.loading.MutableIntValue;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
@@ -35,6 +36,7 @@ import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodedVLongSize;
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 import static org.neo4j.graphalgo.core.utils.paged.PageUtil.indexInPage;
 import static org.neo4j.graphalgo.core.utils.paged.PageUtil.pageIndex;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_BIT_PACKED_ADJACENCY;
 
 public final class TransientAdjacencyList implements AdjacencyList {
 
@@ -115,6 +117,10 @@ public final class TransientAdjacencyList implements AdjacencyList {
         int relationshipByteSize = encodedVLongSize(delta);
         int degreeByteSize = Integer.BYTES;
         long compressedAdjacencyByteSize = relationshipByteSize * Math.max(0, (avgDegree - 1));
+        if (USE_BIT_PACKED_ADJACENCY.isEnabled()) {
+            // packed blocks are never larger than their VarLongs, but add a header byte per block
+            compressedAdjacencyByteSize += AdjacencyPacking.blockHeaderBytes(avgDegree);
+        }
         return (degreeByteSize + firstAdjacencyIdAvgByteSize + compressedAdjacencyByteSize) * nodeCount;
     }
 
@@ -122,6 +128,13 @@ public final class TransientAdjacencyList implements AdjacencyList {
         this.pages = pages;
     }
 
+    /**
+     * Returns the backing pages, e.g. for writing them to a snapshot.
+     */
+    public byte[][] pages() {
+        return pages;
+    }
+
     @Override
     public int degree(long index) {
         return AdjacencyDecompressingReader.readInt(
@@ -63,6 +63,13 @@ public abstract class TransientAdjacencyOffsets implements AdjacencyOffsets {
         return new SinglePageOffsets(page);
     }
 
+    /**
+     * Returns the backing pages, e.g. for writing them to a snapshot.
+     */
+    public abstract long[][] pages();
+
+    public abstract int pageSize();
+
     private static final class PagedOffsets extends TransientAdjacencyOffsets {
 
         private final int pageShift;
@@ -90,6 +97,16 @@ public abstract class TransientAdjacencyOffsets implements AdjacencyOffsets {
             return pages[pageIndex][indexInPage];
         }
 
+        @Override
+        public long[][] pages() {
+            return pages;
+        }
+
+        @Override
+        public int pageSize() {
+            return (int) pageMask + 1;
+        }
+
         @Override
         public void close() {
             pages = null;
@@ -115,6 +132,16 @@ public abstract class TransientAdjacencyOffsets implements AdjacencyOffsets {
             return page[(int) index];
         }
 
+        @Override
+        public long[][] pages() {
+            return new long[][]{page};
+        }
+
+        @Override
+        public int pageSize() {
+            return page.length;
+        }
+
         @Override
         public void close() {
             page = null;
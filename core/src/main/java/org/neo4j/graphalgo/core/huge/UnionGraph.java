@@ -188,6 +188,10 @@ public final class UnionGraph implements CSRGraph {
         return new UnionGraphIntersect((CompositeAdjacencyList) relationshipTopology().list(), maxDegree);
     }
 
+    RelationshipIntersect intersection(long maxDegree, HubNeighborhoods hubs) {
+        return new UnionGraphIntersect((CompositeAdjacencyList) relationshipTopology().list(), maxDegree, hubs);
+    }
+
     /**
      * O(n) !
      */
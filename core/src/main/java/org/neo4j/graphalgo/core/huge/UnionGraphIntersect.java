@@ -30,13 +30,22 @@ class UnionGraphIntersect extends GraphIntersect<CompositeAdjacencyCursor> {
     UnionGraphIntersect(
         CompositeAdjacencyList compositeAdjacencyList,
         long maxDegree
+    ) {
+        this(compositeAdjacencyList, maxDegree, HubNeighborhoods.empty());
+    }
+
+    UnionGraphIntersect(
+        CompositeAdjacencyList compositeAdjacencyList,
+        long maxDegree,
+        HubNeighborhoods hubs
     ) {
         super(
             compositeAdjacencyList.rawDecompressingCursor(),
             compositeAdjacencyList.rawDecompressingCursor(),
             compositeAdjacencyList.rawDecompressingCursor(),
             compositeAdjacencyList.rawDecompressingCursor(),
-            maxDegree
+            maxDegree,
+            hubs
         );
         this.compositeAdjacencyList = compositeAdjacencyList;
     }
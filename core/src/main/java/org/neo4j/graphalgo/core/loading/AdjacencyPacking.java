@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.apache.lucene.util.LongsRef;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+
+import java.util.Arrays;
+
+/**
+ * Bit-packs delta encoded adjacency lists as an alternative to {@link VarLongEncoding}.
+ * <p>
+ * The first target of a list is an absolute node id, which is written as a VarLong.
+ * The remaining deltas are split into blocks, so that every decoded block,
+ * including the first target in the first block, contains {@link #BLOCK_SIZE} targets.
+ * Each block starts with a single byte that stores the number of bits needed for the
+ * largest delta in the block, followed by all deltas of the block packed at that width.
+ * Decoding a block is a tight loop without a branch per byte.
+ * <p>
+ * A single large delta widens the whole block. If the deltas of a block take less space
+ * as VarLongs, the block header is {@link #VAR_LONG_BLOCK} and the deltas are VarLong encoded.
+ * A packed list is therefore at most one byte per block larger than its VarLong encoding.
+ */
+public final class AdjacencyPacking {
+
+    public static final int BLOCK_SIZE = 64;
+
+    /**
+     * Block header of a block whose deltas are VarLong encoded, larger than any bit width.
+     */
+    public static final int VAR_LONG_BLOCK = 0xFF;
+
+    public static int pack(LongsRef data, byte[] out) {
+        return pack(data.longs, data.length, out);
+    }
+
+    public static int packedSize(LongsRef data) {
+        return packedSize(data.longs, data.length);
+    }
+
+    /**
+     * Returns an upper bound for the number of bytes needed in addition to the VarLong encoding
+     * of the same deltas, i.e. one header byte per block.
+     */
+    public static long blockHeaderBytes(long length) {
+        return length > 1 ? BitUtil.ceilDiv(length, BLOCK_SIZE) : 0;
+    }
+
+    /**
+     * Returns the number of bytes that are used to pack the given number of values at the given bit width.
+     */
+    public static int packedBytes(int length, int bits) {
+        return Math.toIntExact(BitUtil.ceilDiv((long) length * bits, Byte.SIZE));
+    }
+
+    static int pack(long[] values, int length, byte[] out) {
+        if (length == 0) {
+            return 0;
+        }
+        int offset = VarLongEncoding.encodeVLongs(values, 0, 1, out, 0);
+        for (int start = 1, end; start < length; start = end) {
+            end = blockEnd(start, length);
+            int bits = bitsNeeded(values, start, end);
+            if (varLongBytes(values, start, end) < packedBytes(end - start, bits)) {
+                out[offset++] = (byte) VAR_LONG_BLOCK;
+                offset = VarLongEncoding.encodeVLongs(values, start, end, out, offset);
+            } else {
+                out[offset++] = (byte) bits;
+                offset = packBlock(values, start, end, bits, out, offset);
+            }
+        }
+        return offset;
+    }
+
+    static int packedSize(long[] values, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int size = VarLongEncoding.encodedVLongSize(values[0]);
+        for (int start = 1, end; start < length; start = end) {
+            end = blockEnd(start, length);
+            size += 1 + Math.min(
+                varLongBytes(values, start, end),
+                packedBytes(end - start, bitsNeeded(values, start, end))
+            );
+        }
+        return size;
+    }
+
+    private static int blockEnd(int start, int length) {
+        return Math.min(length, (start / BLOCK_SIZE + 1) * BLOCK_SIZE);
+    }
+
+    private static int bitsNeeded(long[] values, int start, int end) {
+        long bits = 0L;
+        for (int i = start; i < end; i++) {
+            bits |= values[i];
+        }
+        return Long.SIZE - Long.numberOfLeadingZeros(bits);
+    }
+
+    private static int varLongBytes(long[] values, int start, int end) {
+        int bytes = 0;
+        for (int i = start; i < end; i++) {
+            bytes += VarLongEncoding.encodedVLongSize(values[i]);
+        }
+        return bytes;
+    }
+
+    private static int packBlock(long[] values, int start, int end, int bits, byte[] out, int offset) {
+        int bytes = packedBytes(end - start, bits);
+        Arrays.fill(out, offset, offset + bytes, (byte) 0);
+        long bitPosition = (long) offset * Byte.SIZE;
+        for (int i = start; i < end; i++) {
+            long value = values[i];
+            int remainingBits = bits;
+            while (remainingBits > 0) {
+                int index = (int) (bitPosition >>> 3);
+                int bitInByte = (int) (bitPosition & 7);
+                int take = Math.min(Byte.SIZE - bitInByte, remainingBits);
+                out[index] |= (byte) ((value & ((1L << take) - 1)) << bitInByte);
+                value >>>= take;
+                remainingBits -= take;
+                bitPosition += take;
+            }
+        }
+        return offset + bytes;
+    }
+
+    private AdjacencyPacking() {
+    }
+}
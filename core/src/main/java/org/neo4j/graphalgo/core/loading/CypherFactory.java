@@ -51,7 +51,6 @@ import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
 import static org.neo4j.graphalgo.ElementProjection.PROJECT_ALL;
-import static org.neo4j.graphalgo.core.loading.CypherRecordLoader.QueryType.NODE;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 import static org.neo4j.internal.kernel.api.security.AccessMode.Static.READ;
 import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_PROPERTY_KEY;
@@ -131,17 +130,8 @@ public class CypherFactory extends CSRGraphStoreFactory<GraphCreateFromCypherCon
     public ImportResult<CSRGraphStore> build() {
         // Temporarily override the security context to enforce read-only access during load
         return readOnlyTransaction().apply((tx, ktx) -> {
-            BatchLoadResult nodeCount = new CountingCypherRecordLoader(
-                nodeQuery(),
-                NODE,
-                loadingContext.api(),
-                cypherConfig,
-                loadingContext
-            ).load(tx);
-
             CypherNodeLoader.LoadResult nodes = new CypherNodeLoader(
                 nodeQuery(),
-                nodeCount.rows(),
                 loadingContext.api(),
                 cypherConfig,
                 loadingContext,
@@ -214,7 +204,10 @@ public class CypherFactory extends CSRGraphStoreFactory<GraphCreateFromCypherCon
             nodeLoadDimensions
         );
 
-        CypherRelationshipLoader.LoadResult result = relationshipLoader.load(transaction);
+        int partitions = cypherConfig.relationshipQueryPartitions();
+        CypherRelationshipLoader.LoadResult result = partitions > 1
+            ? relationshipLoader.loadPartitioned(readOnlyTransaction(), partitions)
+            : relationshipLoader.load(transaction);
 
         return RelationshipImportResult.of(
             relationshipLoader.allBuilders(),
@@ -30,6 +30,7 @@ import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphdb.Result;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
@@ -47,29 +48,33 @@ import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_PROPERTY_KEY;
 @Value.Enclosing
 class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
 
-    private final long nodeCount;
     private final GraphDimensions outerDimensions;
     private final IntObjectMap<List<NodeLabel>> labelTokenNodeLabelMapping;
+    private final Map<NodeLabel, HugeAtomicBitSet> nodeLabelBitSetMapping;
 
-    private final InternalHugeIdMappingBuilder builder;
+    private final InternalGrowingIdMappingBuilder builder;
     private long maxNodeId;
     private CypherNodePropertyImporter nodePropertyImporter;
     private NodeImporter importer;
 
     CypherNodeLoader(
         String nodeQuery,
-        long nodeCount,
         GraphDatabaseAPI api,
         GraphCreateFromCypherConfig config,
         GraphLoaderContext loadingContext,
         GraphDimensions outerDimensions
     ) {
-        super(nodeQuery, nodeCount, api, config, loadingContext);
-        this.nodeCount = nodeCount;
+        super(nodeQuery, NO_COUNT, api, config, loadingContext);
         this.outerDimensions = outerDimensions;
         this.maxNodeId = 0L;
         this.labelTokenNodeLabelMapping = new IntObjectHashMap<>();
-        this.builder = InternalHugeIdMappingBuilder.of(nodeCount, loadingContext.tracker());
+        this.nodeLabelBitSetMapping = new HashMap<>();
+        // The node query is consumed only once, so we do not know the number of nodes upfront.
+        this.builder = InternalGrowingIdMappingBuilder.of(
+            RecordsBatchBuffer.DEFAULT_BUFFER_SIZE,
+            this::onIdMappingGrowth,
+            loadingContext.tracker()
+        );
     }
 
     @Override
@@ -80,7 +85,7 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
 
         importer = new NodeImporter(
             builder,
-            new HashMap<>(),
+            nodeLabelBitSetMapping,
             labelTokenNodeLabelMapping,
             !propertyColumns.isEmpty(),
             loadingContext.tracker()
@@ -89,7 +94,7 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
         nodePropertyImporter = new CypherNodePropertyImporter(
             propertyColumns,
             labelTokenNodeLabelMapping,
-            nodeCount,
+            builder.capacity(),
             loadingContext.tracker()
         );
 
@@ -126,7 +131,7 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
         try {
             idMap = IdMapBuilder.buildChecked(
                 builder,
-                importer.nodeLabelBitSetMapping,
+                nodeLabelBitSetMapping,
                 maxNodeId,
                 cypherConfig.readConcurrency(),
                 loadingContext.tracker()
@@ -137,7 +142,7 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
                 e.nodeId
             ));
         }
-        Map<NodeLabel, Map<PropertyMapping, NodeProperties>> nodeProperties = nodePropertyImporter.result();
+        Map<NodeLabel, Map<PropertyMapping, NodeProperties>> nodeProperties = nodePropertyImporter.result(builder.size());
 
         Map<String, Integer> propertyIds = nodeProperties
             .values()
@@ -157,6 +162,23 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
             .build();
     }
 
+    private void onIdMappingGrowth(long capacity) {
+        growNodeLabelBitSets(capacity);
+        if (nodePropertyImporter != null) {
+            nodePropertyImporter.grow(capacity);
+        }
+    }
+
+    private void growNodeLabelBitSets(long capacity) {
+        nodeLabelBitSetMapping.replaceAll((nodeLabel, bitSet) -> {
+            var grownBitSet = HugeAtomicBitSet.create(capacity, loadingContext.tracker());
+            for (long nodeId = bitSet.nextSetBit(0); nodeId != -1; nodeId = bitSet.nextSetBit(nodeId + 1)) {
+                grownBitSet.set(nodeId);
+            }
+            return grownBitSet;
+        });
+    }
+
     @Override
     Set<String> getMandatoryColumns() {
         return NodeRowVisitor.REQUIRED_COLUMNS;
@@ -44,10 +44,10 @@ public class CypherNodePropertyImporter {
     public static final DefaultValue NO_PROPERTY_VALUE = DefaultValue.DEFAULT;
 
     private final Collection<String> propertyColumns;
-    private final long nodeCount;
     private final AllocationTracker tracker;
     private final IntObjectMap<List<NodeLabel>> labelTokenNodeLabelMapping;
     private final Map<NodeLabel, Map<String, NodePropertiesFromStoreBuilder>> buildersByNodeLabel;
+    private long nodeCount;
 
 
     public CypherNodePropertyImporter(
@@ -78,7 +78,7 @@ public class CypherNodePropertyImporter {
             for (String property : propertyColumns) {
                 propertyBuilders.computeIfAbsent(
                     property,
-                    (ignore) -> NodePropertiesFromStoreBuilder.of(
+                    (ignore) -> NodePropertiesFromStoreBuilder.growing(
                         nodeCount, tracker, NO_PROPERTY_VALUE
                     )
                 );
@@ -86,6 +86,16 @@ public class CypherNodePropertyImporter {
         }
     }
 
+    /**
+     * Grows all property builders to hold values for the given number of nodes.
+     */
+    public void grow(long nodeCount) {
+        this.nodeCount = nodeCount;
+        buildersByNodeLabel
+            .values()
+            .forEach(builders -> builders.values().forEach(builder -> builder.grow(nodeCount)));
+    }
+
     int importProperties(long nodeId, long[] labels, Map<String, Value> nodeProperties) {
         int propertiesImported = 0;
 
@@ -105,7 +115,13 @@ public class CypherNodePropertyImporter {
         return propertiesImported;
     }
 
-    public Map<NodeLabel, Map<PropertyMapping, NodeProperties>> result() {
+    /**
+     * Builds the properties after trimming the builders to the final number of nodes.
+     */
+    public Map<NodeLabel, Map<PropertyMapping, NodeProperties>> result(long nodeCount) {
+        buildersByNodeLabel
+            .values()
+            .forEach(builders -> builders.values().forEach(builder -> builder.trim(nodeCount)));
         return buildersByNodeLabel
             .entrySet()
             .stream()
@@ -31,6 +31,7 @@ import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -74,15 +75,24 @@ abstract class CypherRecordLoader<R> {
 
     final R load(Transaction transaction) {
         try {
-            int bufferSize = (int) Math.min(recordCount, RecordsBatchBuffer.DEFAULT_BUFFER_SIZE);
-            BatchLoadResult result = loadSingleBatch(transaction, bufferSize);
+            BatchLoadResult result = loadSingleBatch(transaction, bufferSize());
             updateCounts(result);
             return result();
         } catch (AuthorizationViolationException ex) {
-            throw new IllegalArgumentException(formatWithLocale("Query must be read only. Query: [%s]", loadQuery));
+            throw readOnlyViolation();
         }
     }
 
+    int bufferSize() {
+        return recordCount == NO_COUNT
+            ? RecordsBatchBuffer.DEFAULT_BUFFER_SIZE
+            : (int) Math.min(recordCount, RecordsBatchBuffer.DEFAULT_BUFFER_SIZE);
+    }
+
+    IllegalArgumentException readOnlyViolation() {
+        return new IllegalArgumentException(formatWithLocale("Query must be read only. Query: [%s]", loadQuery));
+    }
+
     abstract QueryType queryType();
 
     abstract BatchLoadResult loadSingleBatch(
@@ -108,7 +118,11 @@ abstract class CypherRecordLoader<R> {
     }
 
     Result runLoadingQuery(Transaction tx) {
-        Result result = runQueryWithoutClosingTheResult(tx, loadQuery, cypherConfig.parameters());
+        return runLoadingQuery(tx, cypherConfig.parameters());
+    }
+
+    Result runLoadingQuery(Transaction tx, Map<String, Object> parameters) {
+        Result result = runQueryWithoutClosingTheResult(tx, loadQuery, parameters);
         validateMandatoryColumns(Lists.newArrayList(result.columns().iterator()));
         return result;
     }
@@ -37,15 +37,17 @@ import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.SecureTransaction;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphdb.Result;
 import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.security.AuthorizationViolationException;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -138,30 +140,44 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
 
     @Override
     BatchLoadResult loadSingleBatch(Transaction tx, int bufferSize) {
-        Result queryResult = runLoadingQuery(tx);
+        return loadPartition(runLoadingQuery(tx), bufferSize);
+    }
 
+    /**
+     * Runs the relationship query once per partition, each in its own read transaction.
+     * The partitions are imported in parallel into the shared importers.
+     */
+    LoadResult loadPartitioned(SecureTransaction transaction, int partitionCount) {
+        int bufferSize = bufferSize();
+        List<Runnable> tasks = new ArrayList<>(partitionCount);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            Map<String, Object> parameters = new HashMap<>(cypherConfig.parameters());
+            parameters.put(GraphCreateFromCypherConfig.PARTITION_PARAMETER, partition);
+            parameters.put(GraphCreateFromCypherConfig.PARTITION_COUNT_PARAMETER, partitionCount);
+            tasks.add(() -> transaction.accept((tx, ktx) -> {
+                try {
+                    loadPartition(runLoadingQuery(tx, parameters), bufferSize);
+                } catch (AuthorizationViolationException ex) {
+                    throw readOnlyViolation();
+                }
+            }));
+        }
+        ParallelUtil.runWithConcurrency(
+            cypherConfig.readConcurrency(),
+            tasks,
+            loadingContext.terminationFlag(),
+            loadingContext.executor()
+        );
+        return result();
+    }
+
+    private BatchLoadResult loadPartition(Result queryResult, int bufferSize) {
         List<String> allColumns = queryResult.columns();
 
         // If the user specifies property mappings, we use those.
         // Otherwise, we create new property mappings from the result columns.
         // We do that only once, as each batch has the same columns.
-        Collection<String> propertyColumns = getPropertyColumns(queryResult);
-        if (!initializedFromResult) {
-
-            List<PropertyMapping> propertyMappings = propertyColumns
-                .stream()
-                .map(propertyColumn -> PropertyMapping.of(
-                    propertyColumn,
-                    propertyColumn,
-                    NO_PROPERTY_VALUE,
-                    Aggregation.NONE
-                ))
-                .collect(Collectors.toList());
-
-            initFromPropertyMappings(PropertyMappings.of(propertyMappings));
-
-            initializedFromResult = true;
-        }
+        initFromResult(queryResult);
 
         boolean isAnyRelTypeQuery = !allColumns.contains(RelationshipRowVisitor.TYPE_COLUMN);
 
@@ -184,6 +200,26 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
         return new BatchLoadResult(visitor.rows(), -1L);
     }
 
+    private synchronized void initFromResult(Result queryResult) {
+        if (initializedFromResult) {
+            return;
+        }
+
+        List<PropertyMapping> propertyMappings = getPropertyColumns(queryResult)
+            .stream()
+            .map(propertyColumn -> PropertyMapping.of(
+                propertyColumn,
+                propertyColumn,
+                NO_PROPERTY_VALUE,
+                Aggregation.NONE
+            ))
+            .collect(Collectors.toList());
+
+        initFromPropertyMappings(PropertyMappings.of(propertyMappings));
+
+        initializedFromResult = true;
+    }
+
     @Override
     void updateCounts(BatchLoadResult result) { }
 
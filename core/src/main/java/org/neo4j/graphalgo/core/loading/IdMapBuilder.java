@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import com.carrotsearch.hppc.BitSet;
 import org.jetbrains.annotations.NotNull;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
@@ -103,6 +104,28 @@ public final class IdMapBuilder {
         );
     }
 
+    /**
+     * Builds an id map from already assigned original ids, where
+     * the internal id of each node is its index in {@code graphIds}.
+     */
+    public static IdMap build(
+        HugeLongArray graphIds,
+        long nodeCount,
+        Map<NodeLabel, BitSet> labelInformation,
+        long highestNodeId,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        HugeSparseLongArray nodeToGraphIds = buildSparseNodeMapping(
+            nodeCount,
+            highestNodeId,
+            concurrency,
+            add(graphIds),
+            tracker
+        );
+        return new IdMap(graphIds, nodeToGraphIds, labelInformation, nodeCount, tracker);
+    }
+
     static IdMap buildChecked(
         InternalHugeIdMappingBuilder idMapBuilder,
         Map<NodeLabel, HugeAtomicBitSet> labelInformation,
@@ -110,9 +133,43 @@ public final class IdMapBuilder {
         int concurrency,
         AllocationTracker tracker
     ) throws DuplicateNodeIdException {
-        HugeLongArray graphIds = idMapBuilder.build();
-        HugeSparseLongArray nodeToGraphIds = buildSparseNodeMapping(
+        return buildChecked(
+            idMapBuilder.build(),
+            idMapBuilder.size(),
+            labelInformation,
+            highestNodeId,
+            concurrency,
+            tracker
+        );
+    }
+
+    static IdMap buildChecked(
+        InternalGrowingIdMappingBuilder idMapBuilder,
+        Map<NodeLabel, HugeAtomicBitSet> labelInformation,
+        long highestNodeId,
+        int concurrency,
+        AllocationTracker tracker
+    ) throws DuplicateNodeIdException {
+        return buildChecked(
+            idMapBuilder.build(),
             idMapBuilder.size(),
+            labelInformation,
+            highestNodeId,
+            concurrency,
+            tracker
+        );
+    }
+
+    private static IdMap buildChecked(
+        HugeLongArray graphIds,
+        long nodeCount,
+        Map<NodeLabel, HugeAtomicBitSet> labelInformation,
+        long highestNodeId,
+        int concurrency,
+        AllocationTracker tracker
+    ) throws DuplicateNodeIdException {
+        HugeSparseLongArray nodeToGraphIds = buildSparseNodeMapping(
+            nodeCount,
             highestNodeId,
             concurrency,
             addChecked(graphIds),
@@ -124,7 +181,7 @@ public final class IdMapBuilder {
             e -> e.getValue().toBitSet()
         ));
 
-        return new IdMap(graphIds, nodeToGraphIds, convertedLabelInformation, idMapBuilder.size(), tracker);
+        return new IdMap(graphIds, nodeToGraphIds, convertedLabelInformation, nodeCount, tracker);
     }
 
     @NotNull
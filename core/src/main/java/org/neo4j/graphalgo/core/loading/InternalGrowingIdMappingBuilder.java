@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.function.LongConsumer;
+
+/**
+ * An id mapping builder that does not need to know the number of nodes upfront.
+ * <p>
+ * The backing array grows by half of its size whenever a batch does not fit.
+ * In contrast to {@link InternalHugeIdMappingBuilder}, batches must be allocated
+ * from a single thread, which fits importers that consume a single stream of nodes,
+ * such as the result of a Cypher query.
+ * Internal ids are assigned in the order in which the nodes are inserted.
+ */
+public final class InternalGrowingIdMappingBuilder implements InternalIdMappingBuilder<InternalGrowingIdMappingBuilder.BulkAdder> {
+
+    private final AllocationTracker tracker;
+    private final LongConsumer growthListener;
+    private final BulkAdder adder;
+    private HugeLongArray array;
+    private long size;
+
+    /**
+     * @param growthListener called with the new capacity after the backing array has grown,
+     *                       before any node is inserted at an index beyond the previous capacity
+     */
+    public static InternalGrowingIdMappingBuilder of(
+        long initialCapacity,
+        LongConsumer growthListener,
+        AllocationTracker tracker
+    ) {
+        return new InternalGrowingIdMappingBuilder(
+            HugeLongArray.newArray(Math.max(1, initialCapacity), tracker),
+            growthListener,
+            tracker
+        );
+    }
+
+    private InternalGrowingIdMappingBuilder(
+        HugeLongArray array,
+        LongConsumer growthListener,
+        AllocationTracker tracker
+    ) {
+        this.array = array;
+        this.growthListener = growthListener;
+        this.tracker = tracker;
+        this.adder = new BulkAdder();
+        this.size = 0L;
+    }
+
+    @Override
+    public BulkAdder allocate(int batchLength) {
+        long startIndex = size;
+        long endIndex = startIndex + batchLength;
+        if (endIndex > array.size()) {
+            grow(endIndex);
+        }
+        size = endIndex;
+        adder.reset(array, startIndex, endIndex);
+        return adder;
+    }
+
+    /**
+     * Returns the array of original ids, trimmed to {@link #size()},
+     * so that the id map does not retain the capacity reserved for growing.
+     */
+    public HugeLongArray build() {
+        if (array.size() > size) {
+            HugeLongArray trimmedArray = array.copyOf(size, tracker);
+            tracker.remove(array.release());
+            array = trimmedArray;
+        }
+        return array;
+    }
+
+    @Override
+    public long capacity() {
+        return array.size();
+    }
+
+    public long size() {
+        return size;
+    }
+
+    private void grow(long minCapacity) {
+        long capacity = array.size();
+        long newCapacity = Math.max(minCapacity, capacity + (capacity >> 1));
+        HugeLongArray newArray = array.copyOf(newCapacity, tracker);
+        tracker.remove(array.release());
+        array = newArray;
+        growthListener.accept(newCapacity);
+    }
+
+    public static final class BulkAdder implements IdMappingAllocator {
+        private HugeCursor<long[]> cursor;
+        private HugeLongArray array;
+        private long start;
+
+        private BulkAdder() {
+        }
+
+        private void reset(HugeLongArray array, long start, long end) {
+            if (this.array != array) {
+                this.array = array;
+                this.cursor = array.newCursor();
+            }
+            array.initCursor(cursor, start, end);
+            this.start = start;
+        }
+
+        @Override
+        public long startId() {
+            return start;
+        }
+
+        @Override
+        public int insert(
+            long[] nodeIds,
+            int length,
+            PropertyAllocator propertyAllocator,
+            NodeImporter.PropertyReader reader,
+            long[] properties,
+            long[][] labelIds
+        ) {
+            int importedProperties = 0;
+            int batchOffset = 0;
+            long internalIndex = start;
+            while (cursor.next()) {
+                int bufferLength = cursor.limit - cursor.offset;
+                System.arraycopy(nodeIds, batchOffset, cursor.array, cursor.offset, bufferLength);
+                importedProperties += propertyAllocator.allocateProperties(
+                    reader,
+                    nodeIds,
+                    properties,
+                    labelIds,
+                    batchOffset,
+                    bufferLength,
+                    internalIndex
+                );
+                batchOffset += bufferLength;
+                internalIndex += bufferLength;
+            }
+            return importedProperties;
+        }
+    }
+}
@@ -29,6 +29,7 @@ import java.util.Arrays;
 import java.util.function.Predicate;
 
 import static java.util.Objects.requireNonNull;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_BIT_PACKED_ADJACENCY;
 
 public class RelationshipsBuilder {
 
@@ -38,6 +39,7 @@ public class RelationshipsBuilder {
     private final AdjacencyListBuilder adjacencyListBuilder;
     private final AdjacencyOffsetsFactory offsetsFactory;
     private final AdjacencyListBuilder[] propertyBuilders;
+    private final boolean bitPackedAdjacency;
     private long[][] globalAdjacencyOffsetsPages;
     private AdjacencyOffsets globalAdjacencyOffsets;
     private long[][][] globalPropertyOffsetsPages;
@@ -51,6 +53,8 @@ public class RelationshipsBuilder {
         this.projection = projection;
         this.adjacencyListBuilder = listBuilderFactory.newAdjacencyListBuilder();
         this.offsetsFactory = offsetsFactory;
+        this.bitPackedAdjacency = USE_BIT_PACKED_ADJACENCY.isEnabled()
+                                  && adjacencyListBuilder instanceof TransientAdjacencyListBuilder;
 
         if (projection.properties().isEmpty()) {
             this.propertyBuilders = EMPTY_PROPERTY_BUILDERS;
@@ -72,7 +76,8 @@ public class RelationshipsBuilder {
                 .toArray(AdjacencyListAllocator[]::new),
             adjacencyOffsets,
             propertyOffsets,
-            aggregations
+            aggregations,
+            bitPackedAdjacency
         );
     }
 
@@ -94,6 +99,9 @@ public class RelationshipsBuilder {
     }
 
     public AdjacencyList adjacencyList() {
+        if (bitPackedAdjacency) {
+            return ((TransientAdjacencyListBuilder) adjacencyListBuilder).buildBitPacked();
+        }
         return adjacencyListBuilder.build();
     }
 
@@ -36,19 +36,24 @@ class ThreadLocalRelationshipsBuilder {
     private final long[][] propertyOffsets;
     private final boolean noAggregation;
     private final Aggregation[] aggregations;
+    private final boolean bitPacked;
+    private byte[] packedTargets;
 
     ThreadLocalRelationshipsBuilder(
         AdjacencyListAllocator adjacencyAllocator,
         AdjacencyListAllocator[] propertiesAllocators,
         long[] adjacencyOffsets,
         long[][] propertyOffsets,
-        Aggregation[] aggregations
+        Aggregation[] aggregations,
+        boolean bitPacked
     ) {
         this.adjacencyAllocator = adjacencyAllocator;
         this.propertiesAllocators = propertiesAllocators;
         this.adjacencyOffsets = adjacencyOffsets;
         this.propertyOffsets = propertyOffsets;
         this.aggregations = aggregations;
+        this.bitPacked = bitPacked;
+        this.packedTargets = new byte[0];
         this.lock = new ReentrantLock();
         this.noAggregation = Stream.of(aggregations).allMatch(aggregation -> aggregation == Aggregation.NONE);
     }
@@ -103,9 +108,7 @@ class ThreadLocalRelationshipsBuilder {
         byte[] storage = array.storage();
         AdjacencyCompression.copyFrom(buffer, array);
         int degree = AdjacencyCompression.applyDeltaEncoding(buffer, aggregations[0]);
-        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
-        long address = copyIds(storage, requiredBytes, degree);
-        adjacencyOffsets[localId] = address;
+        adjacencyOffsets[localId] = compressIds(buffer, storage, degree);
         array.release();
         return degree;
     }
@@ -119,14 +122,31 @@ class ThreadLocalRelationshipsBuilder {
         long[][] weights = array.weights();
         AdjacencyCompression.copyFrom(buffer, array);
         int degree = AdjacencyCompression.applyDeltaEncoding(buffer, weights, aggregations, noAggregation);
-        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
-        adjacencyOffsets[localId] = copyIds(storage, requiredBytes, degree);
+        adjacencyOffsets[localId] = compressIds(buffer, storage, degree);
         copyProperties(weights, degree, localId, propertyOffsets);
 
         array.release();
         return degree;
     }
 
+    private long compressIds(LongsRef buffer, byte[] storage, int degree) {
+        if (bitPacked) {
+            // the storage is sized for VarLongs, packing needs up to one more byte per block
+            int packedSize = AdjacencyPacking.packedSize(buffer);
+            byte[] targets = storage.length >= packedSize ? storage : packedTargets(packedSize);
+            return copyIds(targets, AdjacencyPacking.pack(buffer, targets), degree);
+        }
+        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
+        return copyIds(storage, requiredBytes, degree);
+    }
+
+    private byte[] packedTargets(int size) {
+        if (packedTargets.length < size) {
+            packedTargets = new byte[size];
+        }
+        return packedTargets;
+    }
+
     private long copyIds(byte[] targets, int requiredBytes, int degree) {
         // sizeOf(degree) + compression bytes
         var slice = adjacencyAllocator.allocate(Integer.BYTES + requiredBytes);
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import org.neo4j.graphalgo.core.huge.BitPackedAdjacencyList;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.PageUtil;
@@ -69,6 +70,13 @@ public final class TransientAdjacencyListBuilder implements AdjacencyListBuilder
         return new TransientAdjacencyList(pages);
     }
 
+    /**
+     * Builds an adjacency list from pages that have been written with {@link AdjacencyPacking}.
+     */
+    public BitPackedAdjacencyList buildBitPacked() {
+        return new BitPackedAdjacencyList(pages);
+    }
+
     @Override
     public void flush() {
     }
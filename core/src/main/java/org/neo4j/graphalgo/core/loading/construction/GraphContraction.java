@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading.construction;
+
+import com.carrotsearch.hppc.LongDoubleHashMap;
+import com.carrotsearch.hppc.LongLongHashMap;
+import com.carrotsearch.hppc.cursors.LongDoubleCursor;
+import com.carrotsearch.hppc.cursors.LongLongCursor;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeMapping;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Contracts a graph by merging all nodes that are mapped to the same group
+ * into a single node. The original id of a contracted node is its group id.
+ * <p>
+ * Relationships between the nodes of two groups are merged into a single relationship,
+ * whose property is the sum of the relationship properties, using {@code 1.0} for graphs
+ * without relationship properties. Relationships within a group become self-loops.
+ * The nodes are grouped by their contracted node using a parallel counting sort, so that
+ * every thread aggregates all relationships of a contracted node before they are added to
+ * the adjacency list. No relationship needs to be aggregated while it is compressed.
+ * All passes over the nodes are split into node ranges that are processed in parallel.
+ * <p>
+ * For an undirected graph, which stores every relationship in both directions,
+ * the contracted graph is undirected as well.
+ */
+public final class GraphContraction {
+
+    private static final long MIN_BATCH_SIZE = ParallelUtil.DEFAULT_BATCH_SIZE;
+
+    private GraphContraction() {}
+
+    /**
+     * @param nodeGroups   maps every node id of the graph to the group it is contracted into,
+     *                     must be safe to be called concurrently
+     * @param maxGroupId   an upper bound for the returned group ids
+     */
+    public static HugeGraph contract(
+        Graph graph,
+        LongUnaryOperator nodeGroups,
+        long maxGroupId,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+
+        var nodesBuilder = GraphFactory.initNodesBuilder()
+            .maxOriginalId(maxGroupId)
+            .concurrency(concurrency)
+            .tracker(tracker)
+            .build();
+
+        // the nodes builder de-duplicates the groups, their order is only deterministic for a concurrency of 1
+        ParallelUtil.readParallel(concurrency, nodeCount, executorService, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                nodesBuilder.addNode(nodeGroups.applyAsLong(nodeId));
+            }
+        });
+        NodeMapping idMap = nodesBuilder.build();
+
+        HugeLongArray contractedNodes = HugeLongArray.newArray(nodeCount, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, executorService, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                contractedNodes.set(nodeId, idMap.toMappedNodeId(nodeGroups.applyAsLong(nodeId)));
+            }
+        });
+
+        long contractedNodeCount = idMap.nodeCount();
+        HugeLongArray offsets = HugeLongArray.newArray(contractedNodeCount + 1, tracker);
+        HugeLongArray sortedNodes = sortByContractedNode(
+            contractedNodes,
+            offsets,
+            contractedNodeCount,
+            concurrency,
+            executorService,
+            tracker
+        );
+
+        RelationshipsBuilder relationshipsBuilder = GraphFactory.initRelationshipsBuilder()
+            .nodes(idMap)
+            .orientation(Orientation.NATURAL)
+            .loadRelationshipProperty(true)
+            .aggregation(Aggregation.SUM)
+            .concurrency(concurrency)
+            .executorService(executorService)
+            .tracker(tracker)
+            .build();
+
+        List<ContractionTask> tasks = new ArrayList<>();
+        for (Partition partition : partitions(offsets, contractedNodeCount, nodeCount, concurrency)) {
+            tasks.add(new ContractionTask(
+                graph.concurrentCopy(),
+                relationshipsBuilder,
+                contractedNodes,
+                offsets,
+                sortedNodes,
+                partition
+            ));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executorService);
+
+        contractedNodes.release();
+        offsets.release();
+        sortedNodes.release();
+
+        Relationships relationships = relationshipsBuilder.build();
+        if (graph.isUndirected()) {
+            relationships = withOrientation(relationships, Orientation.UNDIRECTED);
+        }
+
+        return GraphFactory.create(idMap, relationships, tracker);
+    }
+
+    /**
+     * Counting sort of the nodes by their contracted node.
+     * Fills the offsets of every contracted node into the given array.
+     * <p>
+     * Every node range counts its nodes per contracted node locally and reserves a block of
+     * positions for each of them, so that only one atomic update per range and contracted node
+     * is needed. Within a block, the nodes of a range keep their order.
+     */
+    private static HugeLongArray sortByContractedNode(
+        HugeLongArray contractedNodes,
+        HugeLongArray offsets,
+        long contractedNodeCount,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = contractedNodes.size();
+        List<Partition> nodePartitions = PartitionUtils.rangePartition(concurrency, nodeCount);
+        LongLongHashMap[] partitionCounts = new LongLongHashMap[nodePartitions.size()];
+        HugeAtomicLongArray counts = HugeAtomicLongArray.newArray(contractedNodeCount, tracker);
+
+        ParallelUtil.runWithConcurrency(concurrency, ParallelUtil.tasks(nodePartitions.size(), index -> () -> {
+            var partition = nodePartitions.get(index);
+            var localCounts = new LongLongHashMap();
+            long end = partition.startNode() + partition.nodeCount();
+            for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                localCounts.addTo(contractedNodes.get(nodeId), 1);
+            }
+            for (LongLongCursor cursor : localCounts) {
+                getAndAdd(counts, cursor.key, cursor.value);
+            }
+            partitionCounts[index] = localCounts;
+        }), executorService);
+
+        // afterwards, the counts contain the first position of every contracted node
+        prefixSum(counts, offsets, contractedNodeCount, concurrency, executorService);
+
+        HugeLongArray sortedNodes = HugeLongArray.newArray(nodeCount, tracker);
+        ParallelUtil.runWithConcurrency(concurrency, ParallelUtil.tasks(nodePartitions.size(), index -> () -> {
+            var partition = nodePartitions.get(index);
+            var insertPositions = partitionCounts[index];
+            for (LongLongCursor cursor : insertPositions) {
+                insertPositions.values[cursor.index] = getAndAdd(counts, cursor.key, cursor.value);
+            }
+            long end = partition.startNode() + partition.nodeCount();
+            for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                long position = insertPositions.addTo(contractedNodes.get(nodeId), 1) - 1;
+                sortedNodes.set(position, nodeId);
+            }
+            partitionCounts[index] = null;
+        }), executorService);
+        counts.release();
+
+        return sortedNodes;
+    }
+
+    /**
+     * Writes the exclusive prefix sum of the counts into the offsets and replaces every count with its offset.
+     * The sums of all ranges are computed in parallel, then every range adds up its values starting at the
+     * sum of all previous ranges.
+     */
+    private static void prefixSum(
+        HugeAtomicLongArray counts,
+        HugeLongArray offsets,
+        long size,
+        int concurrency,
+        ExecutorService executorService
+    ) {
+        List<Partition> partitions = PartitionUtils.rangePartition(concurrency, size);
+        long[] partitionOffsets = new long[partitions.size()];
+
+        ParallelUtil.runWithConcurrency(concurrency, ParallelUtil.tasks(partitions.size(), index -> () -> {
+            var partition = partitions.get(index);
+            long sum = 0;
+            long end = partition.startNode() + partition.nodeCount();
+            for (long i = partition.startNode(); i < end; i++) {
+                sum += counts.get(i);
+            }
+            partitionOffsets[index] = sum;
+        }), executorService);
+
+        long total = 0;
+        for (int index = 0; index < partitionOffsets.length; index++) {
+            long sum = partitionOffsets[index];
+            partitionOffsets[index] = total;
+            total += sum;
+        }
+
+        ParallelUtil.runWithConcurrency(concurrency, ParallelUtil.tasks(partitions.size(), index -> () -> {
+            var partition = partitions.get(index);
+            long offset = partitionOffsets[index];
+            long end = partition.startNode() + partition.nodeCount();
+            for (long i = partition.startNode(); i < end; i++) {
+                long count = counts.get(i);
+                offsets.set(i, offset);
+                counts.set(i, offset);
+                offset += count;
+            }
+        }), executorService);
+        offsets.set(size, total);
+    }
+
+    private static long getAndAdd(HugeAtomicLongArray array, long index, long delta) {
+        long current = array.get(index);
+        while (true) {
+            long witness = array.compareAndExchange(index, current, current + delta);
+            if (witness == current) {
+                return current;
+            }
+            current = witness;
+        }
+    }
+
+    /**
+     * Partitions the contracted nodes, so that every partition
+     * contains about the same number of original nodes.
+     */
+    private static List<Partition> partitions(
+        HugeLongArray offsets,
+        long contractedNodeCount,
+        long nodeCount,
+        int concurrency
+    ) {
+        long batchSize = ParallelUtil.adjustedBatchSize(nodeCount, concurrency, MIN_BATCH_SIZE);
+        List<Partition> partitions = new ArrayList<>();
+        long start = 0;
+        while (start < contractedNodeCount) {
+            long maxOffset = offsets.get(start) + batchSize;
+            long end = start + 1;
+            while (end < contractedNodeCount && offsets.get(end + 1) <= maxOffset) {
+                end++;
+            }
+            partitions.add(Partition.of(start, end - start));
+            start = end;
+        }
+        return partitions;
+    }
+
+    private static Relationships withOrientation(Relationships relationships, Orientation orientation) {
+        var topology = relationships.topology();
+        var properties = relationships.properties();
+        return Relationships.of(
+            topology.elementCount(),
+            orientation,
+            topology.isMultiGraph(),
+            topology.list(),
+            topology.offsets(),
+            properties.map(Relationships.Properties::list).orElse(null),
+            properties.map(Relationships.Properties::offsets).orElse(null),
+            properties.map(Relationships.Properties::defaultPropertyValue).orElse(Double.NaN)
+        );
+    }
+
+    private static final class ContractionTask implements Runnable {
+
+        private final RelationshipIterator relationshipIterator;
+        private final RelationshipsBuilder relationshipsBuilder;
+        private final HugeLongArray contractedNodes;
+        private final HugeLongArray offsets;
+        private final HugeLongArray sortedNodes;
+        private final Partition partition;
+
+        ContractionTask(
+            RelationshipIterator relationshipIterator,
+            RelationshipsBuilder relationshipsBuilder,
+            HugeLongArray contractedNodes,
+            HugeLongArray offsets,
+            HugeLongArray sortedNodes,
+            Partition partition
+        ) {
+            this.relationshipIterator = relationshipIterator;
+            this.relationshipsBuilder = relationshipsBuilder;
+            this.contractedNodes = contractedNodes;
+            this.offsets = offsets;
+            this.sortedNodes = sortedNodes;
+            this.partition = partition;
+        }
+
+        @Override
+        public void run() {
+            var weights = new LongDoubleHashMap();
+            long end = partition.startNode() + partition.nodeCount();
+            for (long contractedNode = partition.startNode(); contractedNode < end; contractedNode++) {
+                weights.clear();
+                long nodesEnd = offsets.get(contractedNode + 1);
+                for (long i = offsets.get(contractedNode); i < nodesEnd; i++) {
+                    relationshipIterator.forEachRelationship(sortedNodes.get(i), 1.0D, (source, target, weight) -> {
+                        weights.addTo(contractedNodes.get(target), weight);
+                        return true;
+                    });
+                }
+                for (LongDoubleCursor cursor : weights) {
+                    relationshipsBuilder.addFromInternal(contractedNode, cursor.key, cursor.value);
+                }
+            }
+        }
+    }
+}
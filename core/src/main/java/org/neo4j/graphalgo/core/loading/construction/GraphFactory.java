@@ -23,6 +23,8 @@ import org.immutables.builder.Builder;
 import org.immutables.value.Value;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.api.IdMapping;
 import org.neo4j.graphalgo.api.NodeMapping;
 import org.neo4j.graphalgo.api.NodeProperties;
@@ -37,6 +39,7 @@ import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
@@ -81,16 +84,21 @@ public final class GraphFactory {
         Optional<Orientation> orientation,
         Optional<Boolean> loadRelationshipProperty,
         Optional<Aggregation> aggregation,
+        List<PropertyConfig> propertyConfigs,
         Optional<Boolean> preAggregate,
         Optional<Integer> concurrency,
         Optional<ExecutorService> executorService,
         Optional<AllocationTracker> tracker
     ) {
+        var topologyAggregation = aggregation.orElse(Aggregation.NONE);
+        var loadedPropertyConfigs = propertyConfigs.isEmpty() && loadRelationshipProperty.orElse(false)
+            ? List.of(PropertyConfig.of(topologyAggregation, DefaultValue.DEFAULT))
+            : propertyConfigs;
         return new RelationshipsBuilder(
             nodes,
             orientation.orElse(Orientation.NATURAL),
-            loadRelationshipProperty.orElse(false),
-            aggregation.orElse(Aggregation.NONE),
+            loadedPropertyConfigs,
+            topologyAggregation,
             preAggregate.orElse(false),
             concurrency.orElse(1),
             executorService.orElse(Pools.DEFAULT),
@@ -98,6 +106,18 @@ public final class GraphFactory {
         );
     }
 
+    @ValueClass
+    public interface PropertyConfig {
+
+        Aggregation aggregation();
+
+        DefaultValue defaultValue();
+
+        static PropertyConfig of(Aggregation aggregation, DefaultValue defaultValue) {
+            return ImmutablePropertyConfig.of(aggregation, defaultValue);
+        }
+    }
+
     public static HugeGraph create(NodeMapping idMap, Relationships relationships, AllocationTracker tracker) {
         var nodeSchemaBuilder = NodeSchema.builder();
         idMap.availableNodeLabels().forEach(nodeSchemaBuilder::addLabel);
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.loading.construction;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.AbstractRelationshipProjection;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.RelationshipProjection;
@@ -31,16 +32,22 @@ import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
 import org.neo4j.graphalgo.core.loading.AdjacencyBuilder;
 import org.neo4j.graphalgo.core.loading.ImportSizing;
 import org.neo4j.graphalgo.core.loading.RelationshipImporter;
+import org.neo4j.graphalgo.core.loading.RelationshipPropertiesBatchBuffer;
 import org.neo4j.graphalgo.core.loading.RelationshipsBatchBuffer;
 import org.neo4j.graphalgo.core.loading.TransientAdjacencyListBuilder;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.utils.AutoCloseableThreadLocal;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.neo4j.graphalgo.api.DefaultValue.DOUBLE_DEFAULT_FALLBACK;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_PROPERTY_KEY;
 import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_RELATIONSHIP_TYPE;
 
@@ -54,9 +61,11 @@ public class RelationshipsBuilder {
     private final IdMapping idMapping;
     private final Orientation orientation;
     private final boolean loadRelationshipProperty;
+    private final int propertyCount;
     private final int concurrency;
     private final ExecutorService executorService;
-    private final Aggregation aggregation;
+    private final Aggregation[] aggregations;
+    private final double[] defaultValues;
     private final LongAdder relationshipCounter;
     private final AutoCloseableThreadLocal<ThreadLocalBuilder> threadLocalBuilders;
 
@@ -69,11 +78,39 @@ public class RelationshipsBuilder {
         int concurrency,
         ExecutorService executorService,
         AllocationTracker tracker
+    ) {
+        this(
+            idMapping,
+            orientation,
+            loadRelationshipProperty
+                ? List.of(GraphFactory.PropertyConfig.of(aggregation, DefaultValue.DEFAULT))
+                : List.of(),
+            aggregation,
+            preAggregate,
+            concurrency,
+            executorService,
+            tracker
+        );
+    }
+
+    /**
+     * Creates a builder that imports one value per property config for each relationship.
+     * The given aggregation is only used for the topology if there are no property configs.
+     */
+    public RelationshipsBuilder(
+        IdMapping idMapping,
+        Orientation orientation,
+        List<GraphFactory.PropertyConfig> propertyConfigs,
+        Aggregation aggregation,
+        boolean preAggregate,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
     ) {
         this.idMapping = idMapping;
         this.orientation = orientation;
-        this.loadRelationshipProperty = loadRelationshipProperty;
-        this.aggregation = aggregation;
+        this.propertyCount = propertyConfigs.size();
+        this.loadRelationshipProperty = propertyCount > 0;
         this.concurrency = concurrency;
         this.executorService = executorService;
 
@@ -83,16 +120,31 @@ public class RelationshipsBuilder {
         int pageSize = importSizing.pageSize();
         int numberOfPages = importSizing.numberOfPages();
 
-        int[] propertyKeyIds = loadRelationshipProperty ? new int[]{DUMMY_PROPERTY_ID} : new int[0];
-        double[] defaultValues = loadRelationshipProperty ? new double[]{Double.NaN} : new double[0];
+        int[] propertyKeyIds = new int[propertyCount];
+        Arrays.fill(propertyKeyIds, DUMMY_PROPERTY_ID);
+        this.defaultValues = propertyConfigs
+            .stream()
+            .mapToDouble(propertyConfig -> propertyConfig.defaultValue().doubleValue())
+            .toArray();
+        this.aggregations = loadRelationshipProperty
+            ? propertyConfigs.stream().map(config -> Aggregation.resolve(config.aggregation())).toArray(Aggregation[]::new)
+            : new Aggregation[]{aggregation};
 
         AbstractRelationshipProjection.Builder projectionBuilder = RelationshipProjection
             .builder()
             .type("*")
             .orientation(orientation);
 
-        if (loadRelationshipProperty) {
-            projectionBuilder.addProperty(GraphFactory.DUMMY_PROPERTY, GraphFactory.DUMMY_PROPERTY, DefaultValue.DEFAULT, aggregation);
+        for (int i = 0; i < propertyCount; i++) {
+            var propertyKey = propertyCount == 1
+                ? GraphFactory.DUMMY_PROPERTY
+                : formatWithLocale("%s%d", GraphFactory.DUMMY_PROPERTY, i);
+            projectionBuilder.addProperty(
+                propertyKey,
+                propertyKey,
+                propertyConfigs.get(i).defaultValue(),
+                propertyConfigs.get(i).aggregation()
+            );
         }
 
         this.relationshipsBuilder = new org.neo4j.graphalgo.core.loading.RelationshipsBuilder(
@@ -109,7 +161,7 @@ public class RelationshipsBuilder {
             relationshipCounter,
             propertyKeyIds,
             defaultValues,
-            new Aggregation[]{aggregation},
+            aggregations,
             preAggregate
         );
 
@@ -119,7 +171,7 @@ public class RelationshipsBuilder {
         this.threadLocalBuilders = AutoCloseableThreadLocal.withInitial(() -> new ThreadLocalBuilder(
             idMapping,
             imports,
-            loadRelationshipProperty
+            propertyCount
         ));
     }
 
@@ -135,6 +187,14 @@ public class RelationshipsBuilder {
         );
     }
 
+    public void add(long source, long target, double[] relationshipPropertyValues) {
+        addFromInternal(
+            idMapping.toMappedNodeId(source),
+            idMapping.toMappedNodeId(target),
+            relationshipPropertyValues
+        );
+    }
+
     public <T extends Relationship> void add(Stream<T> relationshipStream) {
         relationshipStream.forEach(this::add);
     }
@@ -159,43 +219,95 @@ public class RelationshipsBuilder {
         threadLocalBuilders.get().addRelationship(source, target, relationshipPropertyValue);
     }
 
+    /**
+     * Adds a relationship with one value per property config, in the order of the configs.
+     */
+    public void addFromInternal(long source, long target, double[] relationshipPropertyValues) {
+        if (relationshipPropertyValues.length != propertyCount) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Expected %d relationship property values, but got %d.",
+                propertyCount,
+                relationshipPropertyValues.length
+            ));
+        }
+        threadLocalBuilders.get().addRelationship(source, target, relationshipPropertyValues);
+    }
+
+    /**
+     * Returns the relationships with the first property, if any.
+     */
     public Relationships build() {
+        return buildAll().get(0);
+    }
+
+    /**
+     * Returns one {@link Relationships} per property config, all of them share the same topology.
+     * Without property configs, the list contains a single element without properties.
+     */
+    public List<Relationships> buildAll() {
         threadLocalBuilders.close();
 
         ParallelUtil.runWithConcurrency(concurrency, relationshipImporter.flushTasks(), executorService);
-        return Relationships.of(
-            relationshipCounter.longValue(),
+
+        var relationshipCount = relationshipCounter.longValue();
+        var isMultiGraph = Arrays.stream(aggregations).allMatch(Aggregation::equivalentToNone);
+        var adjacencyList = relationshipsBuilder.adjacencyList();
+        var adjacencyOffsets = relationshipsBuilder.globalAdjacencyOffsets();
+
+        if (!loadRelationshipProperty) {
+            return List.of(Relationships.of(
+                relationshipCount,
+                orientation,
+                isMultiGraph,
+                adjacencyList,
+                adjacencyOffsets,
+                null,
+                null,
+                DOUBLE_DEFAULT_FALLBACK
+            ));
+        }
+
+        return IntStream.range(0, propertyCount).mapToObj(propertyIndex -> Relationships.of(
+            relationshipCount,
             orientation,
-            Aggregation.equivalentToNone(aggregation),
-            relationshipsBuilder.adjacencyList(),
-            relationshipsBuilder.globalAdjacencyOffsets(),
-            loadRelationshipProperty ? relationshipsBuilder.properties() : null,
-            loadRelationshipProperty ? relationshipsBuilder.globalPropertyOffsets() : null,
-            DOUBLE_DEFAULT_FALLBACK
-        );
+            isMultiGraph,
+            adjacencyList,
+            adjacencyOffsets,
+            relationshipsBuilder.properties(propertyIndex),
+            relationshipsBuilder.globalPropertyOffsets(propertyIndex),
+            defaultValues[propertyIndex]
+        )).collect(Collectors.toList());
     }
 
     private static class ThreadLocalBuilder implements AutoCloseable {
 
         private final RelationshipsBatchBuffer relationshipBuffer;
         private final RelationshipImporter.Imports imports;
-        private final boolean loadRelationshipProperty;
+        private final RelationshipImporter.PropertyReader propertyReader;
+        private final @Nullable RelationshipPropertiesBatchBuffer propertiesBuffer;
+        private int nextRelationshipId;
 
         ThreadLocalBuilder(
             IdMapping idMap,
             RelationshipImporter.Imports imports,
-            boolean loadRelationshipProperty
+            int propertyCount
         ) {
             this.relationshipBuffer = new RelationshipsBatchBuffer(idMap, NO_SUCH_RELATIONSHIP_TYPE, ParallelUtil.DEFAULT_BATCH_SIZE);
             this.imports = imports;
-            this.loadRelationshipProperty = loadRelationshipProperty;
+            if (propertyCount > 1) {
+                // Multiple properties are referenced from the batch, single properties are in-lined
+                this.propertiesBuffer = new RelationshipPropertiesBatchBuffer(ParallelUtil.DEFAULT_BATCH_SIZE, propertyCount);
+                this.propertyReader = propertiesBuffer;
+            } else {
+                this.propertiesBuffer = null;
+                this.propertyReader = propertyCount == 1 ? RelationshipImporter.preLoadedPropertyReader() : null;
+            }
         }
 
         void addRelationship(long source, long target) {
             relationshipBuffer.add(source, target, NO_SUCH_PROPERTY_KEY);
             if (relationshipBuffer.isFull()) {
                 flushBuffer();
-                relationshipBuffer.reset();
             }
         }
 
@@ -203,15 +315,28 @@ public class RelationshipsBuilder {
             relationshipBuffer.add(source, target, NO_SUCH_PROPERTY_KEY, Double.doubleToLongBits(relationshipPropertyValue));
             if (relationshipBuffer.isFull()) {
                 flushBuffer();
-                relationshipBuffer.reset();
             }
         }
 
-        private void flushBuffer() {
-            RelationshipImporter.PropertyReader propertyReader = loadRelationshipProperty ? RelationshipImporter.preLoadedPropertyReader() : null;
+        void addRelationship(long source, long target, double[] relationshipPropertyValues) {
+            if (propertiesBuffer == null) {
+                addRelationship(source, target, relationshipPropertyValues[0]);
+                return;
+            }
+            int relationshipId = nextRelationshipId++;
+            relationshipBuffer.add(source, target, NO_SUCH_PROPERTY_KEY, relationshipId);
+            for (int propertyKeyId = 0; propertyKeyId < relationshipPropertyValues.length; propertyKeyId++) {
+                propertiesBuffer.add(relationshipId, propertyKeyId, relationshipPropertyValues[propertyKeyId]);
+            }
+            if (relationshipBuffer.isFull()) {
+                flushBuffer();
+            }
+        }
 
+        private void flushBuffer() {
             imports.importRelationships(relationshipBuffer, propertyReader);
             relationshipBuffer.reset();
+            nextRelationshipId = 0;
         }
 
         @Override
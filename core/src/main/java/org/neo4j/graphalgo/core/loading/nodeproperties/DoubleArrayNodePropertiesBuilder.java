@@ -28,14 +28,36 @@ import org.neo4j.values.storable.Value;
 
 class DoubleArrayNodePropertiesBuilder extends InnerNodePropertiesBuilder {
 
-    private final HugeObjectArray<double[]> objectArray;
     private final DefaultValue defaultValue;
+    private final AllocationTracker tracker;
+    private HugeObjectArray<double[]> objectArray;
 
     DoubleArrayNodePropertiesBuilder(long nodeCount, DefaultValue defaultValue, AllocationTracker tracker) {
         this.defaultValue = defaultValue;
+        this.tracker = tracker;
         this.objectArray = HugeObjectArray.newArray(double[].class, nodeCount, tracker);
     }
 
+    @Override
+    void grow(long nodeCount) {
+        if (nodeCount > objectArray.size()) {
+            resize(nodeCount);
+        }
+    }
+
+    @Override
+    void trim(long nodeCount) {
+        if (nodeCount < objectArray.size()) {
+            resize(nodeCount);
+        }
+    }
+
+    private void resize(long nodeCount) {
+        var newArray = objectArray.copyOf(nodeCount, tracker);
+        tracker.remove(objectArray.release());
+        objectArray = newArray;
+    }
+
     @Override
     void setValue(long nodeId, Value value) {
         objectArray.set(nodeId, ValueConversion.getDoubleArray(value));
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.loading.nodeproperties;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.api.nodeproperties.DoubleNodeProperties;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
@@ -51,23 +52,42 @@ public class DoubleNodePropertiesBuilder extends InnerNodePropertiesBuilder {
         MAX_VALUE = maxValueHandle;
     }
 
-    private final HugeSparseLongArray.Builder valuesBuilder;
+    // exactly one of the builders is set, the growing one is only used if the node count is not known upfront
+    private final @Nullable HugeSparseLongArray.Builder valuesBuilder;
+    private final @Nullable HugeSparseLongArray.GrowingBuilder growingValuesBuilder;
 
     public DoubleNodePropertiesBuilder(long nodeCount, DefaultValue defaultValue, AllocationTracker tracker) {
+        this(nodeCount, defaultValue, false, tracker);
+    }
+
+    DoubleNodePropertiesBuilder(long nodeCount, DefaultValue defaultValue, boolean growing, AllocationTracker tracker) {
         this.maxValue = Double.NEGATIVE_INFINITY;
-        this.valuesBuilder = HugeSparseLongArray.builder(nodeCount, Double.doubleToLongBits(defaultValue.doubleValue()), tracker);
+        long defaultBits = Double.doubleToLongBits(defaultValue.doubleValue());
+        if (growing) {
+            this.valuesBuilder = null;
+            this.growingValuesBuilder = HugeSparseLongArray.GrowingBuilder.create(defaultBits, nodeCount, tracker);
+        } else {
+            this.valuesBuilder = HugeSparseLongArray.builder(nodeCount, defaultBits, tracker);
+            this.growingValuesBuilder = null;
+        }
     }
 
     @Override
     void setValue(long nodeId, Value value) {
         double doubleValue = ValueConversion.getDoubleValue(value);
-        valuesBuilder.set(nodeId, Double.doubleToLongBits(doubleValue));
+        if (valuesBuilder != null) {
+            valuesBuilder.set(nodeId, Double.doubleToLongBits(doubleValue));
+        } else {
+            growingValuesBuilder.set(nodeId, Double.doubleToLongBits(doubleValue));
+        }
         updateMaxValue(doubleValue);
     }
 
     @Override
     DoubleNodeProperties build(long size) {
-        HugeSparseLongArray propertyValues = valuesBuilder.build();
+        HugeSparseLongArray propertyValues = valuesBuilder != null
+            ? valuesBuilder.build()
+            : growingValuesBuilder.build();
         var maybeMaxValue = size > 0
             ? OptionalDouble.of((double) MAX_VALUE.getVolatile(DoubleNodePropertiesBuilder.this))
             : OptionalDouble.empty();
@@ -26,5 +26,20 @@ public abstract class InnerNodePropertiesBuilder {
 
     abstract void setValue(long nodeId, Value value);
 
+    /**
+     * Ensures that values for node ids up to the given node count can be set.
+     * Must not be called concurrently with {@link #setValue(long, Value)}.
+     * Builders that grow on demand do not need to override this.
+     */
+    void grow(long nodeCount) {
+    }
+
+    /**
+     * Releases capacity beyond the given node count, which has been reserved by {@link #grow(long)}.
+     * Builders that grow on demand do not need to override this.
+     */
+    void trim(long nodeCount) {
+    }
+
     abstract NodeProperties build(long size);
 }
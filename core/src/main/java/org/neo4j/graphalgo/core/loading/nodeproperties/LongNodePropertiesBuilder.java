@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.loading.nodeproperties;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
@@ -52,23 +53,41 @@ public class LongNodePropertiesBuilder extends InnerNodePropertiesBuilder {
         MAX_VALUE = maxValueHandle;
     }
 
-    private final HugeSparseLongArray.Builder valuesBuilder;
+    // exactly one of the builders is set, the growing one is only used if the node count is not known upfront
+    private final @Nullable HugeSparseLongArray.Builder valuesBuilder;
+    private final @Nullable HugeSparseLongArray.GrowingBuilder growingValuesBuilder;
 
     public LongNodePropertiesBuilder(long nodeCount, DefaultValue defaultValue, AllocationTracker tracker) {
+        this(nodeCount, defaultValue, false, tracker);
+    }
+
+    LongNodePropertiesBuilder(long nodeCount, DefaultValue defaultValue, boolean growing, AllocationTracker tracker) {
         this.maxValue = Long.MIN_VALUE;
-        this.valuesBuilder = HugeSparseLongArray.builder(nodeCount, defaultValue.longValue(), tracker);
+        if (growing) {
+            this.valuesBuilder = null;
+            this.growingValuesBuilder = HugeSparseLongArray.GrowingBuilder.create(defaultValue.longValue(), nodeCount, tracker);
+        } else {
+            this.valuesBuilder = HugeSparseLongArray.builder(nodeCount, defaultValue.longValue(), tracker);
+            this.growingValuesBuilder = null;
+        }
     }
 
     @Override
     void setValue(long nodeId, Value value) {
         var longValue = ValueConversion.getLongValue(value);
-        valuesBuilder.set(nodeId, longValue);
+        if (valuesBuilder != null) {
+            valuesBuilder.set(nodeId, longValue);
+        } else {
+            growingValuesBuilder.set(nodeId, longValue);
+        }
         updateMaxValue(longValue);
     }
 
     @Override
     NodeProperties build(long size) {
-        HugeSparseLongArray propertyValues = valuesBuilder.build();
+        HugeSparseLongArray propertyValues = valuesBuilder != null
+            ? valuesBuilder.build()
+            : growingValuesBuilder.build();
 
         var maybeMaxValue = size > 0
             ? OptionalLong.of((long) MAX_VALUE.getVolatile(LongNodePropertiesBuilder.this))
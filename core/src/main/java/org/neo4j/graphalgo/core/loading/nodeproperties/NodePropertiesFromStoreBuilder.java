@@ -56,18 +56,39 @@ public final class NodePropertiesFromStoreBuilder {
     }
 
     private final DefaultValue defaultValue;
-    private final long nodeSize;
     private final AllocationTracker tracker;
     private final AtomicReference<InnerNodePropertiesBuilder> innerBuilder;
     private final LongAdder size;
+    private final boolean growing;
+    private long nodeSize;
 
     public static NodePropertiesFromStoreBuilder of(long nodeSize, AllocationTracker tracker, DefaultValue defaultValue) {
-        return new NodePropertiesFromStoreBuilder(defaultValue, nodeSize, tracker);
+        return new NodePropertiesFromStoreBuilder(defaultValue, nodeSize, false, tracker);
     }
 
-    private NodePropertiesFromStoreBuilder(DefaultValue defaultValue, long nodeSize, AllocationTracker tracker) {
+    /**
+     * Creates a builder for imports that do not know the number of nodes upfront.
+     * The builder must be grown with {@link #grow(long)} before values are set
+     * beyond the current node size and trimmed with {@link #trim(long)} once all
+     * values have been set.
+     */
+    public static NodePropertiesFromStoreBuilder growing(
+        long initialNodeSize,
+        AllocationTracker tracker,
+        DefaultValue defaultValue
+    ) {
+        return new NodePropertiesFromStoreBuilder(defaultValue, initialNodeSize, true, tracker);
+    }
+
+    private NodePropertiesFromStoreBuilder(
+        DefaultValue defaultValue,
+        long nodeSize,
+        boolean growing,
+        AllocationTracker tracker
+    ) {
         this.defaultValue = defaultValue;
         this.nodeSize = nodeSize;
+        this.growing = growing;
         this.tracker = tracker;
         this.innerBuilder = new AtomicReference<>();
         this.size = new LongAdder();
@@ -83,6 +104,36 @@ public final class NodePropertiesFromStoreBuilder {
         }
     }
 
+    /**
+     * Increases the number of nodes for which values can be set.
+     * Must not be called concurrently with {@link #set(long, Value)}.
+     */
+    public synchronized void grow(long nodeSize) {
+        if (!growing) {
+            throw new IllegalStateException("Only builders that have been created as growing builders can grow.");
+        }
+        if (nodeSize > this.nodeSize) {
+            this.nodeSize = nodeSize;
+            var builder = innerBuilder.get();
+            if (builder != null) {
+                builder.grow(nodeSize);
+            }
+        }
+    }
+
+    /**
+     * Releases the capacity that has been reserved by {@link #grow(long)} beyond the final node size.
+     */
+    public synchronized void trim(long nodeSize) {
+        if (nodeSize < this.nodeSize) {
+            this.nodeSize = nodeSize;
+            var builder = innerBuilder.get();
+            if (builder != null) {
+                builder.trim(nodeSize);
+            }
+        }
+    }
+
     public NodeProperties build() {
         if (innerBuilder.get() == null) {
             if (defaultValue.getObject() != null) {
@@ -99,9 +150,9 @@ public final class NodePropertiesFromStoreBuilder {
         if (innerBuilder.get() == null) {
             InnerNodePropertiesBuilder newBuilder;
             if (value instanceof IntegralValue) {
-                newBuilder = new LongNodePropertiesBuilder(nodeSize, defaultValue, tracker);
+                newBuilder = new LongNodePropertiesBuilder(nodeSize, defaultValue, growing, tracker);
             } else if (value instanceof FloatingPointValue) {
-                newBuilder = new DoubleNodePropertiesBuilder(nodeSize, defaultValue, tracker);
+                newBuilder = new DoubleNodePropertiesBuilder(nodeSize, defaultValue, growing, tracker);
             } else if (value instanceof LongArray) {
                 newBuilder = new LongArrayNodePropertiesBuilder(nodeSize, defaultValue, tracker);
             } else if (value instanceof DoubleArray) {
@@ -100,7 +100,7 @@ public class RelationshipStore {
 
         // for each relationship type, merge its Topology list and all associated Property lists
         topologies.forEach((relationshipType, topology) -> {
-            var adjacencyList = (TransientAdjacencyList) topology.list();
+            var adjacencyList = topology.list();
             var adjacencyOffsets = (TransientAdjacencyOffsets) topology.offsets();
 
             var propertyLists = properties.getOrDefault(relationshipType, Map.of())
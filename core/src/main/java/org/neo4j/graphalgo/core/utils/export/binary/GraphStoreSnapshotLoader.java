@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export.binary;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.ImmutableRelationshipProperty;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.NodeProperty;
+import org.neo4j.graphalgo.api.NodePropertyStore;
+import org.neo4j.graphalgo.api.RelationshipPropertyStore;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.FloatArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.api.schema.RelationshipPropertySchema;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.huge.BitPackedAdjacencyList;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
+import org.neo4j.graphalgo.core.loading.CSRGraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.loading.IdMapBuilder;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.kernel.database.NamedDatabaseId;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Loads a snapshot that has been written by {@link GraphStoreSnapshotWriter}.
+ * <p>
+ * The snapshot file is memory-mapped and the adjacency and offset pages are
+ * bulk-copied out of the mapping into heap pages of the same size, so that
+ * the loaded graph store neither decompresses nor re-compresses any adjacency.
+ */
+public final class GraphStoreSnapshotLoader {
+
+    private final NamedDatabaseId databaseId;
+    private final int concurrency;
+    private final AllocationTracker tracker;
+
+    private long nodeCount;
+
+    /**
+     * Loads the snapshot and registers the resulting graph store in the {@link GraphStoreCatalog}.
+     */
+    public static GraphStore loadIntoCatalog(
+        Path file,
+        String username,
+        String graphName,
+        NamedDatabaseId databaseId,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        var graphStore = load(file, databaseId, concurrency, tracker);
+        GraphStoreCatalog.set(GraphCreateFromStoreConfig.emptyWithName(username, graphName), graphStore);
+        return graphStore;
+    }
+
+    public static CSRGraphStore load(
+        Path file,
+        NamedDatabaseId databaseId,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        return new GraphStoreSnapshotLoader(databaseId, concurrency, tracker).load(file);
+    }
+
+    private GraphStoreSnapshotLoader(NamedDatabaseId databaseId, int concurrency, AllocationTracker tracker) {
+        this.databaseId = databaseId;
+        this.concurrency = concurrency;
+        this.tracker = tracker;
+    }
+
+    private CSRGraphStore load(Path file) {
+        try (
+            var channel = FileChannel.open(file, StandardOpenOption.READ);
+            var in = new SnapshotInput(channel)
+        ) {
+            if (in.readInt() != SnapshotFormat.MAGIC) {
+                throw new IllegalArgumentException(formatWithLocale("File `%s` is not a graph store snapshot.", file));
+            }
+            var version = in.readInt();
+            if (version != SnapshotFormat.VERSION) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Unsupported graph store snapshot version %d, expected %d.",
+                    version,
+                    SnapshotFormat.VERSION
+                ));
+            }
+
+            var nodes = readNodes(in);
+            var nodeProperties = readNodeProperties(in);
+
+            var relationshipTypeCount = in.readInt();
+            var topologies = new HashMap<RelationshipType, Relationships.Topology>();
+            var relationshipProperties = new HashMap<RelationshipType, RelationshipPropertyStore>();
+            for (int i = 0; i < relationshipTypeCount; i++) {
+                readRelationshipType(in, topologies, relationshipProperties);
+            }
+
+            return CSRGraphStore.of(
+                databaseId,
+                nodes,
+                nodeProperties,
+                topologies,
+                relationshipProperties,
+                concurrency,
+                tracker
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private IdMap readNodes(SnapshotInput in) throws IOException {
+        nodeCount = in.readLong();
+        var highestNodeId = in.readLong();
+
+        var graphIds = HugeLongArray.newArray(nodeCount, tracker);
+        if (nodeCount > 0) {
+            try (var cursor = graphIds.initCursor(graphIds.newCursor())) {
+                while (cursor.next()) {
+                    in.readLongs(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+                }
+            }
+        }
+
+        var labelCount = in.readInt();
+        var labelInformation = new HashMap<NodeLabel, BitSet>();
+        for (int i = 0; i < labelCount; i++) {
+            var label = NodeLabel.of(in.readString());
+            var words = new long[in.readInt()];
+            in.readLongs(words, 0, words.length);
+            labelInformation.put(label, new BitSet(words, words.length));
+        }
+
+        return IdMapBuilder.build(graphIds, nodeCount, labelInformation, highestNodeId, concurrency, tracker);
+    }
+
+    private Map<NodeLabel, NodePropertyStore> readNodeProperties(SnapshotInput in) throws IOException {
+        var columnCount = in.readInt();
+        List<NodeProperties> columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            columns.add(readNodePropertyColumn(in));
+        }
+
+        var labelCount = in.readInt();
+        var nodePropertyStores = new HashMap<NodeLabel, NodePropertyStore>();
+        for (int i = 0; i < labelCount; i++) {
+            var label = NodeLabel.of(in.readString());
+            var propertyCount = in.readInt();
+            var storeBuilder = NodePropertyStore.builder();
+            for (int j = 0; j < propertyCount; j++) {
+                var key = in.readString();
+                var state = GraphStore.PropertyState.valueOf(in.readString());
+                var values = columns.get(in.readInt());
+                var defaultValue = readDefaultValue(in, values.valueType());
+                storeBuilder.putIfAbsent(key, NodeProperty.of(key, state, values, defaultValue));
+            }
+            var store = storeBuilder.build();
+            if (!store.isEmpty()) {
+                nodePropertyStores.put(label, store);
+            }
+        }
+        return nodePropertyStores;
+    }
+
+    private NodeProperties readNodePropertyColumn(SnapshotInput in) throws IOException {
+        var valueType = ValueType.valueOf(in.readString());
+        switch (valueType) {
+            case LONG:
+                var longs = HugeLongArray.newArray(nodeCount, tracker);
+                if (nodeCount > 0) {
+                    try (var cursor = longs.initCursor(longs.newCursor())) {
+                        while (cursor.next()) {
+                            in.readLongs(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+                        }
+                    }
+                }
+                return longs.asNodeProperties();
+            case DOUBLE:
+                var doubles = HugeDoubleArray.newArray(nodeCount, tracker);
+                if (nodeCount > 0) {
+                    try (var cursor = doubles.initCursor(doubles.newCursor())) {
+                        while (cursor.next()) {
+                            in.readDoubles(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+                        }
+                    }
+                }
+                return doubles.asNodeProperties();
+            case LONG_ARRAY:
+                var longArrays = HugeObjectArray.newArray(long[].class, nodeCount, tracker);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    longArrays.set(nodeId, in.readLongArray());
+                }
+                return new LongArrayNodeProperties() {
+                    @Override
+                    public long[] longArrayValue(long nodeId) {
+                        return longArrays.get(nodeId);
+                    }
+
+                    @Override
+                    public long size() {
+                        return longArrays.size();
+                    }
+                };
+            case DOUBLE_ARRAY:
+                var doubleArrays = HugeObjectArray.newArray(double[].class, nodeCount, tracker);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    doubleArrays.set(nodeId, in.readDoubleArray());
+                }
+                return new DoubleArrayNodeProperties() {
+                    @Override
+                    public double[] doubleArrayValue(long nodeId) {
+                        return doubleArrays.get(nodeId);
+                    }
+
+                    @Override
+                    public long size() {
+                        return doubleArrays.size();
+                    }
+                };
+            case FLOAT_ARRAY:
+                var floatArrays = HugeObjectArray.newArray(float[].class, nodeCount, tracker);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    floatArrays.set(nodeId, in.readFloatArray());
+                }
+                return new FloatArrayNodeProperties() {
+                    @Override
+                    public float[] floatArrayValue(long nodeId) {
+                        return floatArrays.get(nodeId);
+                    }
+
+                    @Override
+                    public long size() {
+                        return floatArrays.size();
+                    }
+                };
+            default:
+                throw new IllegalArgumentException(formatWithLocale("Unsupported node property type %s.", valueType));
+        }
+    }
+
+    private void readRelationshipType(
+        SnapshotInput in,
+        Map<RelationshipType, Relationships.Topology> topologies,
+        Map<RelationshipType, RelationshipPropertyStore> relationshipProperties
+    ) throws IOException {
+        var relationshipType = RelationshipType.of(in.readString());
+        var orientation = Orientation.valueOf(in.readString());
+        var isMultiGraph = in.readBoolean();
+        var elementCount = in.readLong();
+        var adjacencyList = readAdjacencyList(in);
+        var adjacencyOffsets = readAdjacencyOffsets(in);
+
+        var relationships = Relationships.of(
+            elementCount,
+            orientation,
+            isMultiGraph,
+            adjacencyList,
+            adjacencyOffsets,
+            null,
+            null,
+            Double.NaN
+        );
+        topologies.put(relationshipType, relationships.topology());
+
+        var propertyCount = in.readInt();
+        if (propertyCount == 0) {
+            return;
+        }
+        var storeBuilder = RelationshipPropertyStore.builder();
+        for (int i = 0; i < propertyCount; i++) {
+            var key = in.readString();
+            var valueType = ValueType.valueOf(in.readString());
+            var state = GraphStore.PropertyState.valueOf(in.readString());
+            var aggregation = Aggregation.valueOf(in.readString());
+            var defaultValue = readDefaultValue(in, ValueType.DOUBLE);
+            var defaultPropertyValue = in.readDouble();
+            var propertyList = readAdjacencyList(in);
+            var propertyOffsets = readAdjacencyOffsets(in);
+
+            var values = Relationships.of(
+                elementCount,
+                orientation,
+                isMultiGraph,
+                adjacencyList,
+                adjacencyOffsets,
+                propertyList,
+                propertyOffsets,
+                defaultPropertyValue
+            ).properties().orElseThrow();
+
+            storeBuilder.putIfAbsent(key, ImmutableRelationshipProperty.of(
+                values,
+                RelationshipPropertySchema.of(key, valueType, defaultValue, state, aggregation)
+            ));
+        }
+        relationshipProperties.put(relationshipType, storeBuilder.build());
+    }
+
+    private static DefaultValue readDefaultValue(SnapshotInput in, ValueType valueType) throws IOException {
+        var isUserDefined = in.readBoolean();
+        if (in.readBoolean()) {
+            return DefaultValue.of(null, isUserDefined);
+        }
+        switch (valueType) {
+            case LONG:
+                return DefaultValue.of(in.readLong(), isUserDefined);
+            case DOUBLE:
+                return DefaultValue.of(in.readDouble(), isUserDefined);
+            case LONG_ARRAY:
+                return DefaultValue.of(in.readLongArray(), isUserDefined);
+            case DOUBLE_ARRAY:
+                return DefaultValue.of(in.readDoubleArray(), isUserDefined);
+            case FLOAT_ARRAY:
+                return DefaultValue.of(in.readFloatArray(), isUserDefined);
+            default:
+                throw new IllegalArgumentException(formatWithLocale("Unsupported property type %s.", valueType));
+        }
+    }
+
+    private AdjacencyList readAdjacencyList(SnapshotInput in) throws IOException {
+        var encoding = in.readInt();
+        var pages = new byte[in.readInt()][];
+        tracker.add(MemoryUsage.sizeOfObjectArray(pages.length));
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = new byte[in.readInt()];
+            tracker.add(MemoryUsage.sizeOfByteArray(pages[i].length));
+            in.readBytes(pages[i]);
+        }
+        switch (encoding) {
+            case SnapshotFormat.VAR_LONG_ADJACENCY:
+                return new TransientAdjacencyList(pages);
+            case SnapshotFormat.BIT_PACKED_ADJACENCY:
+                return new BitPackedAdjacencyList(pages);
+            default:
+                throw new IllegalArgumentException(formatWithLocale("Unsupported adjacency encoding %d.", encoding));
+        }
+    }
+
+    private TransientAdjacencyOffsets readAdjacencyOffsets(SnapshotInput in) throws IOException {
+        var pageSize = in.readInt();
+        var pages = new long[in.readInt()][];
+        tracker.add(MemoryUsage.sizeOfObjectArray(pages.length));
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = new long[in.readInt()];
+            tracker.add(MemoryUsage.sizeOfLongArray(pages[i].length));
+            in.readLongs(pages[i], 0, pages[i].length);
+        }
+        return (TransientAdjacencyOffsets) TransientAdjacencyOffsets.forPageSize(pageSize).newOffsets(pages);
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export.binary;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.core.huge.BitPackedAdjacencyList;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Writes a {@link GraphStore} into a single binary snapshot file that can be
+ * loaded with {@link GraphStoreSnapshotLoader}.
+ * <p>
+ * In contrast to the CSV export, the compressed adjacency pages and the offset
+ * pages are written as they are, so that loading a snapshot is mostly a matter
+ * of copying pages from disk into memory.
+ * Only graph stores that use the transient adjacency lists can be written.
+ */
+public final class GraphStoreSnapshotWriter {
+
+    private final GraphStore graphStore;
+
+    public static void write(GraphStore graphStore, Path file) {
+        new GraphStoreSnapshotWriter(graphStore).write(file);
+    }
+
+    private GraphStoreSnapshotWriter(GraphStore graphStore) {
+        this.graphStore = graphStore;
+    }
+
+    private void write(Path file) {
+        try {
+            var directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            var tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (
+                var channel = FileChannel.open(tempFile, CREATE, WRITE, TRUNCATE_EXISTING);
+                var out = new SnapshotOutput(channel)
+            ) {
+                out.writeInt(SnapshotFormat.MAGIC);
+                out.writeInt(SnapshotFormat.VERSION);
+                writeNodes(out);
+                writeNodeProperties(out);
+                writeRelationships(out);
+            }
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeNodes(SnapshotOutput out) throws IOException {
+        var nodes = graphStore.nodes();
+        var nodeCount = nodes.nodeCount();
+
+        var originalIds = new long[(int) Math.min(nodeCount, 1 << 16)];
+        var highestNodeId = -1L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            highestNodeId = Math.max(highestNodeId, nodes.toOriginalNodeId(nodeId));
+        }
+        out.writeLong(nodeCount);
+        out.writeLong(highestNodeId);
+
+        for (long start = 0; start < nodeCount; start += originalIds.length) {
+            var length = (int) Math.min(originalIds.length, nodeCount - start);
+            for (int i = 0; i < length; i++) {
+                originalIds[i] = nodes.toOriginalNodeId(start + i);
+            }
+            out.writeLongs(originalIds, 0, length);
+        }
+
+        if (nodes.containsOnlyAllNodesLabel()) {
+            out.writeInt(0);
+            return;
+        }
+        var labels = nodes.availableNodeLabels();
+        out.writeInt(labels.size());
+        for (var label : labels) {
+            var bitSet = new BitSet(nodeCount);
+            for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                if (nodes.hasLabel(nodeId, label)) {
+                    bitSet.set(nodeId);
+                }
+            }
+            out.writeString(label.name);
+            out.writeInt(bitSet.wlen);
+            out.writeLongs(bitSet.bits, 0, bitSet.wlen);
+        }
+    }
+
+    /**
+     * Every property column is written once, even if it is shared by multiple labels.
+     * The labels refer to their columns by the position of the column in the file.
+     */
+    private void writeNodeProperties(SnapshotOutput out) throws IOException {
+        var propertySchemas = graphStore.schema().nodeSchema().properties();
+        var columns = new IdentityHashMap<NodeProperties, Integer>();
+        var columnOrder = new ArrayList<NodeProperties>();
+        propertySchemas.forEach((label, properties) -> properties.keySet().forEach(key -> {
+            var values = graphStore.nodePropertyValues(label, key);
+            if (!columns.containsKey(values)) {
+                columns.put(values, columnOrder.size());
+                columnOrder.add(values);
+            }
+        }));
+
+        out.writeInt(columnOrder.size());
+        for (var values : columnOrder) {
+            writeNodePropertyColumn(out, values);
+        }
+
+        out.writeInt(propertySchemas.size());
+        for (var labelAndProperties : propertySchemas.entrySet()) {
+            NodeLabel label = labelAndProperties.getKey();
+            out.writeString(label.name);
+            out.writeInt(labelAndProperties.getValue().size());
+            for (var property : labelAndProperties.getValue().values()) {
+                var values = graphStore.nodePropertyValues(label, property.key());
+                out.writeString(property.key());
+                out.writeString(property.state().name());
+                out.writeInt(columns.get(values));
+                writeDefaultValue(out, values.valueType(), property.defaultValue());
+            }
+        }
+    }
+
+    private void writeNodePropertyColumn(SnapshotOutput out, NodeProperties values) throws IOException {
+        var nodeCount = graphStore.nodeCount();
+        var valueType = values.valueType();
+        out.writeString(valueType.name());
+        switch (valueType) {
+            case LONG:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    out.writeLong(values.longValue(nodeId));
+                }
+                break;
+            case DOUBLE:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    out.writeDouble(values.doubleValue(nodeId));
+                }
+                break;
+            case LONG_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    out.writeLongArray(values.longArrayValue(nodeId));
+                }
+                break;
+            case DOUBLE_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    out.writeDoubleArray(values.doubleArrayValue(nodeId));
+                }
+                break;
+            case FLOAT_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    out.writeFloatArray(values.floatArrayValue(nodeId));
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Unsupported node property type %s.",
+                    valueType
+                ));
+        }
+    }
+
+    private static void writeDefaultValue(SnapshotOutput out, ValueType valueType, DefaultValue defaultValue) throws IOException {
+        out.writeBoolean(defaultValue.isUserDefined());
+        out.writeBoolean(defaultValue.getObject() == null);
+        if (defaultValue.getObject() == null) {
+            return;
+        }
+        switch (valueType) {
+            case LONG:
+                out.writeLong(defaultValue.longValue());
+                break;
+            case DOUBLE:
+                out.writeDouble(defaultValue.doubleValue());
+                break;
+            case LONG_ARRAY:
+                out.writeLongArray(defaultValue.longArrayValue());
+                break;
+            case DOUBLE_ARRAY:
+                out.writeDoubleArray(defaultValue.doubleArrayValue());
+                break;
+            case FLOAT_ARRAY:
+                out.writeFloatArray(defaultValue.floatArrayValue());
+                break;
+            default:
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Unsupported property type %s.",
+                    valueType
+                ));
+        }
+    }
+
+    private void writeRelationships(SnapshotOutput out) throws IOException {
+        var propertySchemas = graphStore.schema().relationshipSchema().properties();
+        var relationshipTypes = graphStore.relationshipTypes();
+        out.writeInt(relationshipTypes.size());
+        for (RelationshipType relationshipType : relationshipTypes) {
+            var graph = hugeGraph(relationshipType, Optional.empty());
+            var topology = graph.relationshipTopology();
+
+            out.writeString(relationshipType.name);
+            out.writeString(topology.orientation().name());
+            out.writeBoolean(topology.isMultiGraph());
+            out.writeLong(topology.elementCount());
+            writeAdjacencyList(out, topology.list());
+            writeAdjacencyOffsets(out, topology.offsets());
+
+            var properties = propertySchemas.getOrDefault(relationshipType, Map.of()).values();
+            out.writeInt(properties.size());
+            for (var property : properties) {
+                var propertyGraph = hugeGraph(relationshipType, Optional.of(property.key()));
+                var values = propertyGraph.relationships().properties().orElseThrow();
+
+                out.writeString(property.key());
+                out.writeString(property.valueType().name());
+                out.writeString(property.state().name());
+                out.writeString(property.aggregation().name());
+                writeDefaultValue(out, ValueType.DOUBLE, property.defaultValue());
+                out.writeDouble(values.defaultPropertyValue());
+                writeAdjacencyList(out, values.list());
+                writeAdjacencyOffsets(out, values.offsets());
+            }
+        }
+    }
+
+    private HugeGraph hugeGraph(RelationshipType relationshipType, Optional<String> relationshipProperty) {
+        var graph = graphStore.getGraph(relationshipType, relationshipProperty);
+        if (!(graph instanceof HugeGraph)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Cannot write a snapshot of relationship type `%s` with graph implementation %s.",
+                relationshipType.name,
+                graph.getClass().getSimpleName()
+            ));
+        }
+        return (HugeGraph) graph;
+    }
+
+    private static void writeAdjacencyList(SnapshotOutput out, AdjacencyList adjacencyList) throws IOException {
+        byte[][] pages;
+        if (adjacencyList instanceof TransientAdjacencyList) {
+            out.writeInt(SnapshotFormat.VAR_LONG_ADJACENCY);
+            pages = ((TransientAdjacencyList) adjacencyList).pages();
+        } else if (adjacencyList instanceof BitPackedAdjacencyList) {
+            out.writeInt(SnapshotFormat.BIT_PACKED_ADJACENCY);
+            pages = ((BitPackedAdjacencyList) adjacencyList).pages();
+        } else {
+            throw unsupported(adjacencyList);
+        }
+        out.writeInt(pages.length);
+        for (byte[] page : pages) {
+            out.writeInt(page.length);
+            out.writeBytes(page);
+        }
+    }
+
+    private static void writeAdjacencyOffsets(SnapshotOutput out, AdjacencyOffsets offsets) throws IOException {
+        if (!(offsets instanceof TransientAdjacencyOffsets)) {
+            throw unsupported(offsets);
+        }
+        var transientOffsets = (TransientAdjacencyOffsets) offsets;
+        var pages = transientOffsets.pages();
+        out.writeInt(transientOffsets.pageSize());
+        out.writeInt(pages.length);
+        for (long[] page : pages) {
+            out.writeInt(page.length);
+            out.writeLongs(page, 0, page.length);
+        }
+    }
+
+    private static IllegalArgumentException unsupported(Object adjacency) {
+        return new IllegalArgumentException(formatWithLocale(
+            "Cannot write a snapshot of %s, only transient or bit-packed adjacency lists and transient offsets are supported.",
+            adjacency.getClass().getSimpleName()
+        ));
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export.binary;
+
+/**
+ * Layout of a snapshot file, all values are written in big endian byte order:
+ * <ol>
+ *     <li>header: magic number, format version</li>
+ *     <li>nodes: node count, highest original id, original ids, label bit sets</li>
+ *     <li>node properties: key, type, state, default value and one value per node</li>
+ *     <li>per relationship type: adjacency encoding and pages, offset pages and the same for each relationship property</li>
+ * </ol>
+ * Pages are written as they are held in memory, so that loading does not need to compress the graph again.
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x47445353; // "GDSS"
+    static final int VERSION = 2;
+    static final int NULL_ARRAY = -1;
+
+    // encodings of the adjacency pages
+    static final int VAR_LONG_ADJACENCY = 0;
+    static final int BIT_PACKED_ADJACENCY = 1;
+
+    private SnapshotFormat() {}
+}
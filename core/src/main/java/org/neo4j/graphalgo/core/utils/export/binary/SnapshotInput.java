@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export.binary;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads snapshot files through a memory-mapped window that slides over the file.
+ * Pages and columns are copied out of the mapping with bulk gets.
+ * Only the current window is referenced, the mappings of previous windows
+ * are released once their buffers are garbage collected.
+ */
+final class SnapshotInput implements AutoCloseable {
+
+    private static final long WINDOW_SIZE = 1L << 26;
+
+    private final FileChannel channel;
+    private final long fileSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    SnapshotInput(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        this.windowStart = 0;
+        this.window = map(0, 0);
+    }
+
+    int readInt() throws IOException {
+        ensure(Integer.BYTES);
+        return window.getInt();
+    }
+
+    long readLong() throws IOException {
+        ensure(Long.BYTES);
+        return window.getLong();
+    }
+
+    double readDouble() throws IOException {
+        ensure(Double.BYTES);
+        return window.getDouble();
+    }
+
+    boolean readBoolean() throws IOException {
+        ensure(Byte.BYTES);
+        return window.get() != 0;
+    }
+
+    String readString() throws IOException {
+        var bytes = new byte[readInt()];
+        readBytes(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    void readBytes(byte[] target) throws IOException {
+        int offset = 0;
+        while (offset < target.length) {
+            ensure(Byte.BYTES);
+            int chunk = Math.min(target.length - offset, window.remaining());
+            window.get(target, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+    void readLongs(long[] target, int offset, int length) throws IOException {
+        int end = offset + length;
+        while (offset < end) {
+            ensure(Long.BYTES);
+            int chunk = Math.min(end - offset, window.remaining() / Long.BYTES);
+            window.asLongBuffer().get(target, offset, chunk);
+            window.position(window.position() + chunk * Long.BYTES);
+            offset += chunk;
+        }
+    }
+
+    void readDoubles(double[] target, int offset, int length) throws IOException {
+        int end = offset + length;
+        while (offset < end) {
+            ensure(Double.BYTES);
+            int chunk = Math.min(end - offset, window.remaining() / Double.BYTES);
+            window.asDoubleBuffer().get(target, offset, chunk);
+            window.position(window.position() + chunk * Double.BYTES);
+            offset += chunk;
+        }
+    }
+
+    void readFloats(float[] target) throws IOException {
+        int offset = 0;
+        while (offset < target.length) {
+            ensure(Float.BYTES);
+            int chunk = Math.min(target.length - offset, window.remaining() / Float.BYTES);
+            window.asFloatBuffer().get(target, offset, chunk);
+            window.position(window.position() + chunk * Float.BYTES);
+            offset += chunk;
+        }
+    }
+
+    @Nullable
+    long[] readLongArray() throws IOException {
+        int length = readInt();
+        if (length == SnapshotFormat.NULL_ARRAY) {
+            return null;
+        }
+        var values = new long[length];
+        readLongs(values, 0, length);
+        return values;
+    }
+
+    @Nullable
+    double[] readDoubleArray() throws IOException {
+        int length = readInt();
+        if (length == SnapshotFormat.NULL_ARRAY) {
+            return null;
+        }
+        var values = new double[length];
+        readDoubles(values, 0, length);
+        return values;
+    }
+
+    @Nullable
+    float[] readFloatArray() throws IOException {
+        int length = readInt();
+        if (length == SnapshotFormat.NULL_ARRAY) {
+            return null;
+        }
+        var values = new float[length];
+        readFloats(values);
+        return values;
+    }
+
+    /**
+     * Makes sure that the window contains at least the given number of bytes,
+     * by mapping a new window that starts at the current position.
+     */
+    private void ensure(int bytes) throws IOException {
+        if (window.remaining() >= bytes) {
+            return;
+        }
+        long position = windowStart + window.position();
+        if (position + bytes > fileSize) {
+            throw new EOFException("Unexpected end of snapshot file.");
+        }
+        windowStart = position;
+        window = map(position, Math.min(WINDOW_SIZE, fileSize - position));
+    }
+
+    private MappedByteBuffer map(long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    @Override
+    public void close() {
+        window = null;
+    }
+}
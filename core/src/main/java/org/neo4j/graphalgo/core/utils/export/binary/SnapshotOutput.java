@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export.binary;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered writer for snapshot files. Scalars are collected in a buffer,
+ * byte pages are handed to the channel as they are, without copying.
+ */
+final class SnapshotOutput implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    SnapshotOutput(FileChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    void writeInt(int value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void writeLong(long value) throws IOException {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    void writeDouble(double value) throws IOException {
+        ensure(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    void writeBoolean(boolean value) throws IOException {
+        ensure(Byte.BYTES);
+        buffer.put(value ? (byte) 1 : (byte) 0);
+    }
+
+    void writeString(String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        writeBytes(bytes);
+    }
+
+    void writeBytes(byte[] bytes) throws IOException {
+        flush();
+        var source = ByteBuffer.wrap(bytes);
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    void writeLongs(long[] values, int offset, int length) throws IOException {
+        int end = offset + length;
+        while (offset < end) {
+            ensure(Long.BYTES);
+            int chunk = Math.min(end - offset, buffer.remaining() / Long.BYTES);
+            buffer.asLongBuffer().put(values, offset, chunk);
+            buffer.position(buffer.position() + chunk * Long.BYTES);
+            offset += chunk;
+        }
+    }
+
+    void writeDoubles(double[] values, int offset, int length) throws IOException {
+        int end = offset + length;
+        while (offset < end) {
+            ensure(Double.BYTES);
+            int chunk = Math.min(end - offset, buffer.remaining() / Double.BYTES);
+            buffer.asDoubleBuffer().put(values, offset, chunk);
+            buffer.position(buffer.position() + chunk * Double.BYTES);
+            offset += chunk;
+        }
+    }
+
+    void writeFloats(float[] values) throws IOException {
+        int offset = 0;
+        while (offset < values.length) {
+            ensure(Float.BYTES);
+            int chunk = Math.min(values.length - offset, buffer.remaining() / Float.BYTES);
+            buffer.asFloatBuffer().put(values, offset, chunk);
+            buffer.position(buffer.position() + chunk * Float.BYTES);
+            offset += chunk;
+        }
+    }
+
+    /**
+     * Writes a length prefixed array, {@code null} is written as a negative length.
+     */
+    void writeLongArray(@Nullable long[] values) throws IOException {
+        if (values == null) {
+            writeInt(SnapshotFormat.NULL_ARRAY);
+        } else {
+            writeInt(values.length);
+            writeLongs(values, 0, values.length);
+        }
+    }
+
+    void writeDoubleArray(@Nullable double[] values) throws IOException {
+        if (values == null) {
+            writeInt(SnapshotFormat.NULL_ARRAY);
+        } else {
+            writeInt(values.length);
+            writeDoubles(values, 0, values.length);
+        }
+    }
+
+    void writeFloatArray(@Nullable float[] values) throws IOException {
+        if (values == null) {
+            writeInt(SnapshotFormat.NULL_ARRAY);
+        } else {
+            writeInt(values.length);
+            writeFloats(values);
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
@@ -19,26 +19,32 @@
  */
 package org.neo4j.graphalgo.core.utils.export.file;
 
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.export.GraphStoreExporter;
 import org.neo4j.graphalgo.core.utils.export.GraphStoreInput;
 import org.neo4j.graphalgo.core.utils.export.file.csv.CsvNodeVisitor;
+import org.neo4j.graphalgo.core.utils.export.file.csv.CsvRelationshipSchema;
 import org.neo4j.graphalgo.core.utils.export.file.csv.CsvRelationshipVisitor;
 import org.neo4j.internal.batchimport.InputIterator;
 import org.neo4j.internal.batchimport.input.Collector;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public final class GraphStoreToFileExporter extends GraphStoreExporter<GraphStoreToFileExporterConfig> {
 
     private final VisitorProducer<NodeVisitor> nodeVisitorSupplier;
     private final VisitorProducer<RelationshipVisitor> relationshipVisitorSupplier;
+    private final Runnable schemaWriter;
 
     public static GraphStoreToFileExporter csv(
         GraphStore graphStore,
@@ -51,23 +57,38 @@ public final class GraphStoreToFileExporter extends GraphStoreExporter<GraphStor
             graphStore,
             config,
             (index) -> new CsvNodeVisitor(exportPath, graphStore.schema().nodeSchema(), headerFiles, index),
-            (index) -> new CsvRelationshipVisitor(exportPath, graphStore.schema().relationshipSchema(), headerFiles, index)
+            (index) -> new CsvRelationshipVisitor(exportPath, graphStore.schema().relationshipSchema(), headerFiles, index),
+            () -> CsvRelationshipSchema.write(
+                exportPath,
+                graphStore.schema().relationshipSchema(),
+                relationshipOrientations(graphStore)
+            )
         );
     }
 
+    private static Map<RelationshipType, Orientation> relationshipOrientations(GraphStore graphStore) {
+        return graphStore.relationshipTypes().stream().collect(Collectors.toMap(
+            Function.identity(),
+            type -> graphStore.getGraph(type).isUndirected() ? Orientation.UNDIRECTED : Orientation.NATURAL
+        ));
+    }
+
     private GraphStoreToFileExporter(
         GraphStore graphStore,
         GraphStoreToFileExporterConfig config,
         VisitorProducer<NodeVisitor> nodeVisitorSupplier,
-        VisitorProducer<RelationshipVisitor> relationshipVisitorSupplier
+        VisitorProducer<RelationshipVisitor> relationshipVisitorSupplier,
+        Runnable schemaWriter
     ) {
         super(graphStore, config);
         this.nodeVisitorSupplier = nodeVisitorSupplier;
         this.relationshipVisitorSupplier = relationshipVisitorSupplier;
+        this.schemaWriter = schemaWriter;
     }
 
     @Override
     protected void export(GraphStoreInput graphStoreInput) {
+        schemaWriter.run();
         exportNodes(graphStoreInput);
         exportRelationships(graphStoreInput);
     }
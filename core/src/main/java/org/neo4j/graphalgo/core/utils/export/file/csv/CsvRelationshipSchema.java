@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export.file.csv;
+
+import de.siegmar.fastcsv.reader.CsvReader;
+import de.siegmar.fastcsv.reader.CsvRow;
+import de.siegmar.fastcsv.writer.CsvWriter;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.api.schema.RelationshipPropertySchema;
+import org.neo4j.graphalgo.api.schema.RelationshipSchema;
+import org.neo4j.graphalgo.core.Aggregation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores the parts of the relationship schema that are not part of the
+ * relationship header files, i.e. the orientation of each relationship type
+ * and the aggregation, default value and state of each relationship property.
+ * <p>
+ * There is one line per relationship property. Relationship types without
+ * properties are stored in a single line with an empty property key.
+ */
+public final class CsvRelationshipSchema {
+
+    public static final String RELATIONSHIP_SCHEMA_FILE_NAME = "relationship_schema.csv";
+
+    private static final String[] COLUMNS = {
+        "relationshipType",
+        "propertyKey",
+        "valueType",
+        "defaultValue",
+        "isUserDefined",
+        "aggregation",
+        "state",
+        "orientation"
+    };
+
+    private CsvRelationshipSchema() {}
+
+    public static void write(
+        Path exportPath,
+        RelationshipSchema relationshipSchema,
+        Map<RelationshipType, Orientation> orientations
+    ) {
+        try (var appender = new CsvWriter().append(
+            exportPath.resolve(RELATIONSHIP_SCHEMA_FILE_NAME),
+            StandardCharsets.UTF_8
+        )) {
+            appender.appendLine(COLUMNS);
+            for (var typeEntry : relationshipSchema.properties().entrySet()) {
+                var relationshipType = typeEntry.getKey();
+                var orientation = orientations.getOrDefault(relationshipType, Orientation.NATURAL).name();
+                if (typeEntry.getValue().isEmpty()) {
+                    appender.appendLine(relationshipType.name, "", "", "", "", "", "", orientation);
+                }
+                for (var propertySchema : typeEntry.getValue().values()) {
+                    appender.appendLine(
+                        relationshipType.name,
+                        propertySchema.key(),
+                        propertySchema.valueType().csvName(),
+                        defaultValue(propertySchema),
+                        Boolean.toString(propertySchema.defaultValue().isUserDefined()),
+                        propertySchema.aggregation().name(),
+                        propertySchema.state().name(),
+                        orientation
+                    );
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the relationship type schemas by relationship type.
+     * Returns an empty map for exports that were written without a relationship schema file.
+     */
+    public static Map<RelationshipType, TypeSchema> read(Path importPath) {
+        var schemaFile = importPath.resolve(RELATIONSHIP_SCHEMA_FILE_NAME);
+        var typeSchemas = new HashMap<RelationshipType, TypeSchema>();
+        if (!Files.exists(schemaFile)) {
+            return typeSchemas;
+        }
+
+        try (var parser = new CsvReader().parse(schemaFile, StandardCharsets.UTF_8)) {
+            // skip the header line
+            parser.nextRow();
+            CsvRow row;
+            while ((row = parser.nextRow()) != null) {
+                var orientation = row.getFieldCount() > 7 ? Orientation.valueOf(row.getField(7)) : Orientation.NATURAL;
+                var typeSchema = typeSchemas.computeIfAbsent(
+                    RelationshipType.of(row.getField(0)),
+                    ignore -> new TypeSchema(orientation)
+                );
+                var propertyKey = row.getField(1);
+                if (propertyKey.isEmpty()) {
+                    continue;
+                }
+                var valueType = CsvToGraphStoreImporter.valueType(row.getField(2));
+                typeSchema.properties.put(propertyKey, RelationshipPropertySchema.of(
+                    propertyKey,
+                    valueType,
+                    defaultValue(row.getField(3), Boolean.parseBoolean(row.getField(4)), valueType),
+                    GraphStore.PropertyState.valueOf(row.getField(6)),
+                    Aggregation.lookup(row.getField(5))
+                ));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return typeSchemas;
+    }
+
+    private static String defaultValue(RelationshipPropertySchema propertySchema) {
+        var defaultValue = propertySchema.defaultValue();
+        if (defaultValue.getObject() == null) {
+            return "";
+        }
+        return propertySchema.valueType() == ValueType.LONG
+            ? Long.toString(defaultValue.longValue())
+            : Double.toString(defaultValue.doubleValue());
+    }
+
+    private static DefaultValue defaultValue(String value, boolean isUserDefined, ValueType valueType) {
+        if (value.isEmpty()) {
+            return DefaultValue.DEFAULT;
+        }
+        return DefaultValue.of(
+            valueType == ValueType.LONG ? (Object) Long.parseLong(value) : (Object) Double.parseDouble(value),
+            isUserDefined
+        );
+    }
+
+    public static final class TypeSchema {
+        private final Orientation orientation;
+        private final Map<String, RelationshipPropertySchema> properties;
+
+        private TypeSchema(Orientation orientation) {
+            this.orientation = orientation;
+            this.properties = new HashMap<>();
+        }
+
+        public Orientation orientation() {
+            return orientation;
+        }
+
+        public Map<String, RelationshipPropertySchema> properties() {
+            return properties;
+        }
+    }
+}
@@ -0,0 +1,616 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export.file.csv;
+
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import de.siegmar.fastcsv.reader.CsvReader;
+import de.siegmar.fastcsv.reader.CsvRow;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.ImmutableProperties;
+import org.neo4j.graphalgo.api.ImmutableRelationshipProperty;
+import org.neo4j.graphalgo.api.ImmutableTopology;
+import org.neo4j.graphalgo.api.NodeMapping;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.NodeProperty;
+import org.neo4j.graphalgo.api.NodePropertyStore;
+import org.neo4j.graphalgo.api.RelationshipPropertyStore;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.FloatArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.api.schema.RelationshipPropertySchema;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.CSRGraphStore;
+import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
+import org.neo4j.graphalgo.core.loading.construction.NodesBuilder;
+import org.neo4j.graphalgo.core.loading.construction.RelationshipsBuilder;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.kernel.database.NamedDatabaseId;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.api.DefaultValue.DOUBLE_DEFAULT_FALLBACK;
+import static org.neo4j.graphalgo.api.DefaultValue.LONG_DEFAULT_FALLBACK;
+import static org.neo4j.graphalgo.core.utils.export.file.csv.CsvNodeVisitor.ID_COLUMN_NAME;
+import static org.neo4j.graphalgo.core.utils.export.file.csv.CsvRelationshipVisitor.END_ID_COLUMN_NAME;
+import static org.neo4j.graphalgo.core.utils.export.file.csv.CsvRelationshipVisitor.START_ID_COLUMN_NAME;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Rebuilds a {@link GraphStore} from the files written by
+ * {@link org.neo4j.graphalgo.core.utils.export.file.GraphStoreToFileExporter#csv}.
+ * <p>
+ * Each data file that has been written by one export thread is parsed as one chunk,
+ * chunks are parsed in parallel and fed into the {@link NodesBuilder} and
+ * {@link RelationshipsBuilder}s. Node files are parsed once, their property values
+ * are buffered per chunk and stored by mapped node id once the id map is built.
+ * <p>
+ * Node labels are encoded in the file names, joined by {@code _}, hence labels
+ * that contain an underscore cannot be imported. All properties of a relationship
+ * type are imported with a single {@link RelationshipsBuilder}, their aggregation,
+ * default value and state as well as the orientation of the relationship type are
+ * restored from the {@link CsvRelationshipSchema} file.
+ */
+public final class CsvToGraphStoreImporter {
+
+    private static final String NODES_PREFIX = "nodes";
+    private static final String RELATIONSHIPS_PREFIX = "relationships_";
+    private static final String HEADER_SUFFIX = "_header.csv";
+    private static final String ARRAY_SEPARATOR = ";";
+
+    private final Path importPath;
+    private final int concurrency;
+    private final AllocationTracker tracker;
+
+    public CsvToGraphStoreImporter(Path importPath, int concurrency, AllocationTracker tracker) {
+        this.importPath = importPath;
+        this.concurrency = concurrency;
+        this.tracker = tracker;
+    }
+
+    public CSRGraphStore run(NamedDatabaseId databaseId) {
+        var nodeHeaders = new ArrayList<Header>();
+        var relationshipHeaders = new ArrayList<Header>();
+        for (var headerFile : listFiles(file -> file.endsWith(HEADER_SUFFIX))) {
+            if (headerFile.startsWith(RELATIONSHIPS_PREFIX)) {
+                relationshipHeaders.add(readHeader(headerFile));
+            } else if (headerFile.startsWith(NODES_PREFIX)) {
+                nodeHeaders.add(readHeader(headerFile));
+            }
+        }
+
+        var nodeImport = importNodes(nodeHeaders);
+        var relationshipSchemas = CsvRelationshipSchema.read(importPath);
+        var topologies = new HashMap<RelationshipType, Relationships.Topology>();
+        var relationshipPropertyStores = new HashMap<RelationshipType, RelationshipPropertyStore>();
+        for (var header : relationshipHeaders) {
+            importRelationships(header, nodeImport.nodes, relationshipSchemas, topologies, relationshipPropertyStores);
+        }
+
+        return CSRGraphStore.of(
+            databaseId,
+            nodeImport.nodes,
+            nodeImport.nodePropertyStores,
+            topologies,
+            relationshipPropertyStores,
+            concurrency,
+            tracker
+        );
+    }
+
+    private NodeImport importNodes(List<Header> headers) {
+        var chunks = new ArrayList<NodeChunk>();
+        for (var header : headers) {
+            for (var file : header.dataFiles) {
+                chunks.add(new NodeChunk(header, file));
+            }
+        }
+        runChunks(chunks, NodeChunk::read);
+
+        var maxOriginalId = chunks.stream().mapToLong(chunk -> chunk.maxOriginalId).max().orElse(-1L);
+        var hasLabelInformation = headers.stream().anyMatch(header -> !header.name.equals(NODES_PREFIX));
+        var nodesBuilder = GraphFactory.initNodesBuilder()
+            .maxOriginalId(maxOriginalId)
+            .hasLabelInformation(hasLabelInformation)
+            .concurrency(concurrency)
+            .tracker(tracker)
+            .build();
+
+        runChunks(chunks, chunk -> chunk.addNodes(nodesBuilder));
+
+        var nodes = nodesBuilder.build();
+
+        var columns = new HashMap<String, PropertyColumn>();
+        for (var header : headers) {
+            header.properties.forEach((key, valueType) -> {
+                var column = columns.computeIfAbsent(
+                    key,
+                    ignore -> new PropertyColumn(valueType, nodes.nodeCount(), tracker)
+                );
+                if (column.valueType != valueType) {
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "Node property `%s` is stored as %s and as %s.",
+                        key,
+                        column.valueType.csvName(),
+                        valueType.csvName()
+                    ));
+                }
+            });
+        }
+
+        runChunks(chunks, chunk -> chunk.setProperties(nodes, columns));
+
+        var propertyKeysByLabel = new HashMap<NodeLabel, Map<String, NodeProperties>>();
+        for (var header : headers) {
+            var labels = header.nodeLabels();
+            for (var label : labels.length == 0 ? new NodeLabel[]{NodeLabel.ALL_NODES} : labels) {
+                var labelProperties = propertyKeysByLabel.computeIfAbsent(label, ignore -> new HashMap<>());
+                header.properties.keySet().forEach(key -> labelProperties.computeIfAbsent(
+                    key,
+                    ignore -> columns.get(key).nodeProperties(nodes)
+                ));
+            }
+        }
+
+        var nodePropertyStores = new HashMap<NodeLabel, NodePropertyStore>();
+        propertyKeysByLabel.forEach((label, properties) -> {
+            if (properties.isEmpty()) {
+                return;
+            }
+            var storeBuilder = NodePropertyStore.builder();
+            properties.forEach((key, values) -> storeBuilder.putIfAbsent(
+                key,
+                NodeProperty.of(key, GraphStore.PropertyState.PERSISTENT, values)
+            ));
+            nodePropertyStores.put(label, storeBuilder.build());
+        });
+
+        return new NodeImport(nodes, nodePropertyStores);
+    }
+
+    private void importRelationships(
+        Header header,
+        NodeMapping nodes,
+        Map<RelationshipType, CsvRelationshipSchema.TypeSchema> relationshipSchemas,
+        Map<RelationshipType, Relationships.Topology> topologies,
+        Map<RelationshipType, RelationshipPropertyStore> relationshipPropertyStores
+    ) {
+        var relationshipType = RelationshipType.of(header.name.substring(RELATIONSHIPS_PREFIX.length()));
+        var propertyKeys = new ArrayList<>(header.properties.keySet());
+        for (var key : propertyKeys) {
+            if (header.properties.get(key) != ValueType.DOUBLE && header.properties.get(key) != ValueType.LONG) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Relationship property `%s` of type %s is not supported.",
+                    key,
+                    header.properties.get(key).csvName()
+                ));
+            }
+        }
+
+        var typeSchema = relationshipSchemas.get(relationshipType);
+        var typeSchemas = typeSchema != null ? typeSchema.properties() : Map.<String, RelationshipPropertySchema>of();
+        var propertySchemas = propertyKeys
+            .stream()
+            .map(key -> typeSchemas.getOrDefault(key, RelationshipPropertySchema.of(
+                key,
+                ValueType.DOUBLE,
+                DefaultValue.forDouble(),
+                GraphStore.PropertyState.PERSISTENT,
+                Aggregation.NONE
+            )))
+            .collect(Collectors.toList());
+        var defaultValues = propertySchemas
+            .stream()
+            .mapToDouble(propertySchema -> propertySchema.defaultValue().doubleValue())
+            .toArray();
+
+        var relationshipsBuilderBuilder = GraphFactory.initRelationshipsBuilder()
+            .nodes(nodes)
+            .orientation(Orientation.NATURAL)
+            .aggregation(Aggregation.NONE)
+            .concurrency(concurrency)
+            .tracker(tracker);
+        for (var propertySchema : propertySchemas) {
+            relationshipsBuilderBuilder.addPropertyConfig(GraphFactory.PropertyConfig.of(
+                propertySchema.aggregation(),
+                propertySchema.defaultValue()
+            ));
+        }
+        var builder = relationshipsBuilderBuilder.build();
+
+        var tasks = header.dataFiles.stream()
+            .map(file -> (Runnable) () -> {
+                var propertyValues = new double[propertyKeys.size()];
+                readRows(file, row -> {
+                    var source = Long.parseLong(row.getField(0));
+                    var target = Long.parseLong(row.getField(1));
+                    if (propertyValues.length == 0) {
+                        builder.add(source, target);
+                        return;
+                    }
+                    for (int i = 0; i < propertyValues.length; i++) {
+                        var value = row.getField(i + 2);
+                        propertyValues[i] = value.isEmpty() ? defaultValues[i] : Double.parseDouble(value);
+                    }
+                    builder.add(source, target, propertyValues);
+                });
+            })
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+
+        // Undirected relationships have been exported once in each direction,
+        // hence they are imported as they are and only marked as undirected.
+        var orientation = typeSchema != null ? typeSchema.orientation() : Orientation.NATURAL;
+        var relationships = builder.buildAll();
+        topologies.put(
+            relationshipType,
+            ImmutableTopology.copyOf(relationships.get(0).topology()).withOrientation(orientation)
+        );
+        if (propertyKeys.isEmpty()) {
+            return;
+        }
+
+        var propertyStoreBuilder = RelationshipPropertyStore.builder();
+        for (int i = 0; i < propertySchemas.size(); i++) {
+            var propertySchema = propertySchemas.get(i);
+            propertyStoreBuilder.putIfAbsent(propertySchema.key(), ImmutableRelationshipProperty.of(
+                ImmutableProperties.copyOf(relationships.get(i).properties().orElseThrow()).withOrientation(orientation),
+                propertySchema
+            ));
+        }
+        relationshipPropertyStores.put(relationshipType, propertyStoreBuilder.build());
+    }
+
+    private <T> void runChunks(List<T> chunks, Consumer<T> action) {
+        var tasks = chunks
+            .stream()
+            .map(chunk -> (Runnable) () -> action.accept(chunk))
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+    }
+
+    private List<String> listFiles(Predicate<String> fileNameFilter) {
+        try (var files = Files.list(importPath)) {
+            return files
+                .map(file -> file.getFileName().toString())
+                .filter(fileNameFilter)
+                .sorted()
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Header readHeader(String headerFile) {
+        var name = headerFile.substring(0, headerFile.length() - HEADER_SUFFIX.length());
+        var dataFilePattern = Pattern.compile(Pattern.quote(name) + "_\\d+\\.csv");
+        var dataFiles = listFiles(file -> dataFilePattern.matcher(file).matches())
+            .stream()
+            .map(importPath::resolve)
+            .collect(Collectors.toList());
+
+        var columns = new ArrayList<String>();
+        readRows(importPath.resolve(headerFile), row -> columns.addAll(row.getFields()));
+
+        var properties = new LinkedHashMap<String, ValueType>();
+        for (var column : columns) {
+            if (column.equals(ID_COLUMN_NAME) || column.equals(START_ID_COLUMN_NAME) || column.equals(END_ID_COLUMN_NAME)) {
+                continue;
+            }
+            var separator = column.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Column `%s` in header file `%s` has no type.",
+                    column,
+                    headerFile
+                ));
+            }
+            properties.put(column.substring(0, separator), valueType(column.substring(separator + 1)));
+        }
+        return new Header(name, properties, dataFiles);
+    }
+
+    static ValueType valueType(String csvName) {
+        return Arrays.stream(ValueType.values())
+            .filter(valueType -> valueType != ValueType.UNKNOWN && valueType.csvName().equals(csvName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException(formatWithLocale("Unknown property type `%s`.", csvName)));
+    }
+
+    private static void readRows(Path file, Consumer<CsvRow> rowConsumer) {
+        try (var parser = new CsvReader().parse(file, StandardCharsets.UTF_8)) {
+            CsvRow row;
+            while ((row = parser.nextRow()) != null) {
+                rowConsumer.accept(row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Header {
+        private final String name;
+        private final Map<String, ValueType> properties;
+        private final List<Path> dataFiles;
+
+        private Header(String name, Map<String, ValueType> properties, List<Path> dataFiles) {
+            this.name = name;
+            this.properties = properties;
+            this.dataFiles = dataFiles;
+        }
+
+        NodeLabel[] nodeLabels() {
+            if (name.equals(NODES_PREFIX)) {
+                return new NodeLabel[0];
+            }
+            return Arrays.stream(name.substring(NODES_PREFIX.length() + 1).split("_"))
+                .map(NodeLabel::of)
+                .toArray(NodeLabel[]::new);
+        }
+    }
+
+    /**
+     * The parsed rows of a single node data file. Each file is parsed once,
+     * the original ids are used to build the id map and the property values
+     * are copied into the {@link PropertyColumn}s once the id map is built.
+     */
+    private static final class NodeChunk {
+        private final Path file;
+        private final NodeLabel[] labels;
+        private final String[] propertyKeys;
+        private final ParsedValues[] values;
+        private final LongArrayList originalIds;
+        private long maxOriginalId;
+
+        private NodeChunk(Header header, Path file) {
+            this.file = file;
+            this.labels = header.nodeLabels();
+            this.propertyKeys = header.properties.keySet().toArray(new String[0]);
+            this.values = header.properties.values().stream().map(ParsedValues::new).toArray(ParsedValues[]::new);
+            this.originalIds = new LongArrayList();
+            this.maxOriginalId = -1;
+        }
+
+        void read() {
+            readRows(file, row -> {
+                var originalId = Long.parseLong(row.getField(0));
+                originalIds.add(originalId);
+                maxOriginalId = Math.max(maxOriginalId, originalId);
+                for (int i = 0; i < values.length; i++) {
+                    values[i].add(row.getField(i + 1));
+                }
+            });
+        }
+
+        void addNodes(NodesBuilder nodesBuilder) {
+            for (int row = 0; row < originalIds.size(); row++) {
+                nodesBuilder.addNode(originalIds.get(row), labels);
+            }
+        }
+
+        void setProperties(NodeMapping nodes, Map<String, PropertyColumn> columns) {
+            if (values.length == 0) {
+                return;
+            }
+            var targetColumns = Arrays.stream(propertyKeys).map(columns::get).toArray(PropertyColumn[]::new);
+            for (int row = 0; row < originalIds.size(); row++) {
+                var nodeId = nodes.toMappedNodeId(originalIds.get(row));
+                for (int i = 0; i < targetColumns.length; i++) {
+                    targetColumns[i].set(nodeId, values[i], row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Values of a node property in the order of the rows of a node data file.
+     * Missing values are stored as fallback value.
+     */
+    private static final class ParsedValues {
+        private final ValueType valueType;
+        private final LongArrayList longs;
+        private final DoubleArrayList doubles;
+        private final List<Object> arrays;
+
+        ParsedValues(ValueType valueType) {
+            this.valueType = valueType;
+            this.longs = valueType == ValueType.LONG ? new LongArrayList() : null;
+            this.doubles = valueType == ValueType.DOUBLE ? new DoubleArrayList() : null;
+            this.arrays = longs == null && doubles == null ? new ArrayList<>() : null;
+        }
+
+        void add(String value) {
+            switch (valueType) {
+                case LONG:
+                    longs.add(value.isEmpty() ? LONG_DEFAULT_FALLBACK : Long.parseLong(value));
+                    break;
+                case DOUBLE:
+                    doubles.add(value.isEmpty() ? DOUBLE_DEFAULT_FALLBACK : Double.parseDouble(value));
+                    break;
+                default:
+                    arrays.add(value.isEmpty() ? null : parseArray(valueType, value));
+            }
+        }
+
+        private static Object parseArray(ValueType valueType, String value) {
+            var elements = value.split(ARRAY_SEPARATOR);
+            switch (valueType) {
+                case LONG_ARRAY:
+                    return Arrays.stream(elements).mapToLong(Long::parseLong).toArray();
+                case DOUBLE_ARRAY:
+                    return Arrays.stream(elements).mapToDouble(Double::parseDouble).toArray();
+                case FLOAT_ARRAY:
+                    var floats = new float[elements.length];
+                    for (int i = 0; i < elements.length; i++) {
+                        floats[i] = Float.parseFloat(elements[i]);
+                    }
+                    return floats;
+                default:
+                    throw new IllegalArgumentException(formatWithLocale("Unsupported node property type %s.", valueType));
+            }
+        }
+    }
+
+    private static final class NodeImport {
+        private final NodeMapping nodes;
+        private final Map<NodeLabel, NodePropertyStore> nodePropertyStores;
+
+        private NodeImport(NodeMapping nodes, Map<NodeLabel, NodePropertyStore> nodePropertyStores) {
+            this.nodes = nodes;
+            this.nodePropertyStores = nodePropertyStores;
+        }
+    }
+
+    /**
+     * Values of a node property, indexed by mapped node id.
+     */
+    private static final class PropertyColumn {
+        private final ValueType valueType;
+        private final HugeLongArray longs;
+        private final HugeDoubleArray doubles;
+        private final HugeObjectArray<Object> arrays;
+
+        PropertyColumn(ValueType valueType, long size, AllocationTracker tracker) {
+            this.valueType = valueType;
+            this.longs = valueType == ValueType.LONG ? HugeLongArray.newArray(size, tracker) : null;
+            this.doubles = valueType == ValueType.DOUBLE ? HugeDoubleArray.newArray(size, tracker) : null;
+            this.arrays = longs == null && doubles == null ? HugeObjectArray.newArray(Object.class, size, tracker) : null;
+            if (longs != null) {
+                longs.fill(LONG_DEFAULT_FALLBACK);
+            }
+            if (doubles != null) {
+                doubles.fill(DOUBLE_DEFAULT_FALLBACK);
+            }
+        }
+
+        void set(long nodeId, ParsedValues values, int index) {
+            switch (valueType) {
+                case LONG:
+                    longs.set(nodeId, values.longs.get(index));
+                    break;
+                case DOUBLE:
+                    doubles.set(nodeId, values.doubles.get(index));
+                    break;
+                default:
+                    arrays.set(nodeId, values.arrays.get(index));
+            }
+        }
+
+        NodeProperties nodeProperties(NodeMapping nodes) {
+            switch (valueType) {
+                case LONG:
+                    return new LongNodeProperties() {
+                        @Override
+                        public long longValue(long nodeId) {
+                            return longs.get(nodeId);
+                        }
+
+                        @Override
+                        public long size() {
+                            return nodes.nodeCount();
+                        }
+                    };
+                case DOUBLE:
+                    return new DoubleNodeProperties() {
+                        @Override
+                        public double doubleValue(long nodeId) {
+                            return doubles.get(nodeId);
+                        }
+
+                        @Override
+                        public long size() {
+                            return nodes.nodeCount();
+                        }
+                    };
+                case LONG_ARRAY:
+                    return new LongArrayNodeProperties() {
+                        @Override
+                        public long[] longArrayValue(long nodeId) {
+                            return (long[]) value(nodeId);
+                        }
+
+                        @Override
+                        public long size() {
+                            return nodes.nodeCount();
+                        }
+                    };
+                case DOUBLE_ARRAY:
+                    return new DoubleArrayNodeProperties() {
+                        @Override
+                        public double[] doubleArrayValue(long nodeId) {
+                            return (double[]) value(nodeId);
+                        }
+
+                        @Override
+                        public long size() {
+                            return nodes.nodeCount();
+                        }
+                    };
+                case FLOAT_ARRAY:
+                    return new FloatArrayNodeProperties() {
+                        @Override
+                        public float[] floatArrayValue(long nodeId) {
+                            return (float[]) value(nodeId);
+                        }
+
+                        @Override
+                        public long size() {
+                            return nodes.nodeCount();
+                        }
+                    };
+                default:
+                    throw new IllegalArgumentException(formatWithLocale("Unsupported node property type %s.", valueType));
+            }
+        }
+
+        @Nullable
+        private Object value(long nodeId) {
+            return arrays.get(nodeId);
+        }
+    }
+}
@@ -22,6 +22,7 @@ package org.neo4j.graphalgo.core.utils.paged;
 import com.carrotsearch.hppc.BitSet;
 import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 
 import static org.neo4j.graphalgo.core.utils.ArrayUtil.MAX_ARRAY_LENGTH;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -39,6 +40,11 @@ public final class HugeAtomicBitSet {
         return new HugeAtomicBitSet(HugeAtomicLongArray.newArray(wordsSize, tracker), size, remainder);
     }
 
+    public static long memoryEstimation(long size) {
+        var wordsSize = BitUtil.ceilDiv(size, NUM_BITS);
+        return MemoryUsage.sizeOfInstance(HugeAtomicBitSet.class) + HugeAtomicLongArray.memoryEstimation(wordsSize);
+    }
+
     private HugeAtomicBitSet(HugeAtomicLongArray bits, long numBits, int remainder) {
         this.bits = bits;
         this.numBits = numBits;
@@ -218,6 +224,32 @@ public final class HugeAtomicBitSet {
         return Long.bitCount(bits.get(bits.size() - 1)) >= remainder;
     }
 
+    /**
+     * Returns the index of the first set bit that occurs on or after the given index.
+     * If no such bit exists, -1 is returned.
+     * <p>
+     * Note: this method is not thread-safe.
+     */
+    public long nextSetBit(long index) {
+        if (index >= numBits) {
+            return -1;
+        }
+
+        long wordIndex = index / NUM_BITS;
+        // the shift implicitly uses (index % NUM_BITS)
+        long word = bits.get(wordIndex) & (-1L << index);
+
+        while (true) {
+            if (word != 0) {
+                return wordIndex * NUM_BITS + Long.numberOfTrailingZeros(word);
+            }
+            if (++wordIndex == bits.size()) {
+                return -1;
+            }
+            word = bits.get(wordIndex);
+        }
+    }
+
     /**
      * Returns the number of bits this bitset can hold.
      */
@@ -232,6 +264,27 @@ public final class HugeAtomicBitSet {
         return numBits;
     }
 
+    /**
+     * Returns the number of words that back the bitset.
+     */
+    public long wordCount() {
+        return bits.size();
+    }
+
+    /**
+     * Returns the word at the given word index.
+     */
+    public long getWord(long wordIndex) {
+        return bits.get(wordIndex);
+    }
+
+    /**
+     * Replaces the word at the given word index.
+     */
+    public void putWord(long wordIndex, long word) {
+        bits.set(wordIndex, word);
+    }
+
     /**
      * Resets all bits in the bit set.
      * <p>
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfFloatArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * A dense matrix of {@code float} values with a {@code long} number of rows
+ * and a fixed number of columns, e.g. one embedding row per node.
+ * <p>
+ * Rows are stored contiguously in a few large primitive pages instead of one
+ * {@code float[]} per row. A page always holds a power of two number of rows,
+ * so that a row never spans two pages and can be processed with a single
+ * loop over {@link #page(long)} starting at {@link #offset(long)}.
+ * <p>
+ * The bulk row operations are not thread-safe, but different threads can
+ * safely operate on different rows.
+ */
+public final class HugeFloatMatrix {
+
+    private final long rows;
+    private final int columns;
+    private final int pageShift;
+    private final int pageMask;
+    private float[][] pages;
+
+    public static HugeFloatMatrix newMatrix(long rows, int columns, AllocationTracker tracker) {
+        if (columns < 1) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The number of columns must be at least 1, but got %d.",
+                columns
+            ));
+        }
+        int pageShift = pageShift(columns);
+        int rowsPerPage = 1 << pageShift;
+        int numPages = numberOfPages(rows, pageShift);
+        float[][] pages = new float[numPages][];
+        for (int pageIndex = 0; pageIndex < numPages; pageIndex++) {
+            long pageRows = Math.min(rowsPerPage, rows - ((long) pageIndex << pageShift));
+            pages[pageIndex] = new float[Math.multiplyExact((int) pageRows, columns)];
+        }
+        tracker.add(sizeOfPages(rows, columns));
+        return new HugeFloatMatrix(rows, columns, pageShift, pages);
+    }
+
+    public static MemoryEstimation memoryEstimation(int columns) {
+        return MemoryEstimations.builder(HugeFloatMatrix.class)
+            .perNode("pages", nodeCount -> sizeOfPages(nodeCount, columns))
+            .build();
+    }
+
+    public static long memoryEstimation(long rows, int columns) {
+        return sizeOfInstance(HugeFloatMatrix.class) + sizeOfPages(rows, columns);
+    }
+
+    private static long sizeOfPages(long rows, int columns) {
+        int pageShift = pageShift(columns);
+        int numPages = numberOfPages(rows, pageShift);
+        if (numPages == 0) {
+            return sizeOfObjectArray(0);
+        }
+        long rowsPerPage = 1L << pageShift;
+        long lastPageRows = rows - ((numPages - 1) * rowsPerPage);
+        return sizeOfObjectArray(numPages)
+               + (numPages - 1) * sizeOfFloatArray(rowsPerPage * columns)
+               + sizeOfFloatArray(lastPageRows * columns);
+    }
+
+    private static int pageShift(int columns) {
+        int rowsPerPage = Integer.highestOneBit(Math.max(1, HugeArrays.PAGE_SIZE / Math.max(1, columns)));
+        return Integer.numberOfTrailingZeros(rowsPerPage);
+    }
+
+    private static int numberOfPages(long rows, int pageShift) {
+        long rowsPerPage = 1L << pageShift;
+        long numPages = (rows + rowsPerPage - 1) >>> pageShift;
+        assert numPages <= Integer.MAX_VALUE : "too many rows for the page size: " + rows;
+        return (int) numPages;
+    }
+
+    private HugeFloatMatrix(long rows, int columns, int pageShift, float[][] pages) {
+        this.rows = rows;
+        this.columns = columns;
+        this.pageShift = pageShift;
+        this.pageMask = (1 << pageShift) - 1;
+        this.pages = pages;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public float get(long row, int column) {
+        assert column < columns;
+        return page(row)[offset(row) + column];
+    }
+
+    public void set(long row, int column, float value) {
+        assert column < columns;
+        page(row)[offset(row) + column] = value;
+    }
+
+    /**
+     * Returns the page that contains the given row.
+     * The row occupies the {@link #columns()} entries starting at {@link #offset(long)}.
+     */
+    public float[] page(long row) {
+        assert row < rows;
+        return pages[(int) (row >>> pageShift)];
+    }
+
+    /**
+     * Returns the index of the first entry of the given row in its {@link #page(long)}.
+     */
+    public int offset(long row) {
+        return (int) (row & pageMask) * columns;
+    }
+
+    /**
+     * Returns a copy of the given row.
+     */
+    public float[] copyRow(long row) {
+        int offset = offset(row);
+        return Arrays.copyOfRange(page(row), offset, offset + columns);
+    }
+
+    /**
+     * Copies the given row into the target array, which must hold at least {@link #columns()} values.
+     */
+    public void copyRow(long row, float[] target) {
+        System.arraycopy(page(row), offset(row), target, 0, columns);
+    }
+
+    /**
+     * Overwrites the given row with the first {@link #columns()} values of the source array.
+     */
+    public void setRow(long row, float[] source) {
+        System.arraycopy(source, 0, page(row), offset(row), columns);
+    }
+
+    public void fillRow(long row, float value) {
+        int offset = offset(row);
+        Arrays.fill(page(row), offset, offset + columns, value);
+    }
+
+    /**
+     * Adds the row {@code otherRow} of {@code other} to the given row.
+     */
+    public void addRow(long row, HugeFloatMatrix other, long otherRow) {
+        assert other.columns == columns;
+        float[] page = page(row);
+        int offset = offset(row);
+        float[] otherPage = other.page(otherRow);
+        int otherOffset = other.offset(otherRow);
+        for (int i = 0; i < columns; i++) {
+            page[offset + i] += otherPage[otherOffset + i];
+        }
+    }
+
+    /**
+     * Adds the row {@code otherRow} of {@code other}, multiplied by {@code weight}, to the given row.
+     */
+    public void addRowWeighted(long row, HugeFloatMatrix other, long otherRow, double weight) {
+        assert other.columns == columns;
+        float[] page = page(row);
+        int offset = offset(row);
+        float[] otherPage = other.page(otherRow);
+        int otherOffset = other.offset(otherRow);
+        for (int i = 0; i < columns; i++) {
+            page[offset + i] = (float) Math.fma(otherPage[otherOffset + i], weight, page[offset + i]);
+        }
+    }
+
+    public void scaleRow(long row, double scalar) {
+        float[] page = page(row);
+        int offset = offset(row);
+        for (int i = offset; i < offset + columns; i++) {
+            page[i] *= scalar;
+        }
+    }
+
+    /**
+     * Scales the given row to unit length. Rows of all zeros are left unchanged.
+     */
+    public void l2NormalizeRow(long row) {
+        float[] page = page(row);
+        int offset = offset(row);
+        double sum = 0.0;
+        for (int i = offset; i < offset + columns; i++) {
+            double value = page[i];
+            sum += value * value;
+        }
+        double sqrtSum = sum == 0 ? 1 : Math.sqrt(sum);
+        double scaling = 1 / sqrtSum;
+        for (int i = offset; i < offset + columns; i++) {
+            page[i] *= scaling;
+        }
+    }
+
+    /**
+     * Sets all values of the matrix to zero.
+     */
+    public void clear() {
+        for (float[] page : pages) {
+            Arrays.fill(page, 0.0f);
+        }
+    }
+
+    /**
+     * @return the amount of memory used by the instance of this matrix, in bytes.
+     */
+    public long sizeOf() {
+        return sizeOfPages(rows, columns);
+    }
+
+    /**
+     * Destroys the data, allowing the underlying storage to be collected.
+     * Any usage of the matrix after calling this method is undefined.
+     *
+     * @return the amount of memory freed, in bytes.
+     */
+    public long release() {
+        if (pages != null) {
+            pages = null;
+            return sizeOfPages(rows, columns);
+        }
+        return 0L;
+    }
+}
@@ -214,6 +214,16 @@ public final class HugeSparseLongArray {
             return new GrowingBuilder(pages, defaultValue, tracker);
         }
 
+        /**
+         * Creates a builder that can store indices up to {@code initialSize} without growing.
+         */
+        public static GrowingBuilder create(long defaultValue, long initialSize, AllocationTracker tracker) {
+            int numPages = PageUtil.numPagesFor(initialSize, PAGE_SHIFT, PAGE_MASK);
+            AtomicReferenceArray<long[]> pages = new AtomicReferenceArray<>(numPages);
+            tracker.add(MemoryUsage.sizeOfObjectArray(numPages));
+            return new GrowingBuilder(pages, defaultValue, tracker);
+        }
+
         private GrowingBuilder(AtomicReferenceArray<long[]> pages, long defaultValue, AllocationTracker tracker) {
             this.pages = pages;
             this.tracker = tracker;
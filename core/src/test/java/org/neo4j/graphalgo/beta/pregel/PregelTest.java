@@ -20,9 +20,12 @@
 package org.neo4j.graphalgo.beta.pregel;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.annotation.Configuration;
@@ -38,12 +41,17 @@ import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.progress.EmptyProgressEventTracker;
+import org.neo4j.graphalgo.core.utils.progress.ProgressEventTracker;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.Inject;
 import org.neo4j.graphalgo.extension.TestGraph;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -127,19 +135,337 @@ class PregelTest {
         }
     }
 
+    @Test
+    void nonCombinableReducerReceivesEachMessage() {
+        var graph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(10)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        var config = ImmutablePregelConfig.builder()
+            .username("")
+            .maxIterations(10)
+            .concurrency(4)
+            .build();
+
+        var expected = run(graph, config, new TestPregelComputation());
+        var actual = run(graph, config, new TestCountingReducerComputation());
+
+        for (int nodeId = 0; nodeId < expected.size(); nodeId++) {
+            assertEquals(expected.get(nodeId), actual.get(nodeId), formatWithLocale("Value mismatch for node id %d", nodeId));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Partitioning.class)
+    void partitioningYieldsSameResult(Partitioning partitioning) {
+        var graph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(10)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        var configBuilder = ImmutablePregelConfig.builder()
+            .username("")
+            .maxIterations(10);
+
+        var expected = run(graph, configBuilder.concurrency(1).build(), new TestPregelComputation());
+        var actual = run(graph, configBuilder.concurrency(4).partitioning(partitioning).build(), new TestPregelComputation());
+
+        for (int nodeId = 0; nodeId < expected.size(); nodeId++) {
+            assertEquals(expected.get(nodeId), actual.get(nodeId), formatWithLocale("Value mismatch for node id %d", nodeId));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void frontierBasedComputationYieldsSameResult(boolean isAsynchronous) {
+        var graph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(10)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        var configBuilder = ImmutablePregelConfig.builder()
+            .username("")
+            .maxIterations(10)
+            .concurrency(4)
+            .isAsynchronous(isAsynchronous);
+
+        var expected = run(graph, configBuilder.isFrontierBased(false).build(), new TestPregelComputation());
+        var actual = run(graph, configBuilder.isFrontierBased(true).build(), new TestPregelComputation());
+
+        for (int nodeId = 0; nodeId < expected.size(); nodeId++) {
+            assertEquals(expected.get(nodeId), actual.get(nodeId), formatWithLocale("Value mismatch for node id %d", nodeId));
+        }
+    }
+
+    @Test
+    void frontierBasedComputationWithReducerYieldsSameResult() {
+        var graph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(2)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        var configBuilder = ImmutablePregelConfig.builder()
+            .username("")
+            .maxIterations(50)
+            .concurrency(4);
+
+        var expected = run(graph, configBuilder.isFrontierBased(false).build(), new TestMinPropagationComputation());
+        var actual = run(graph, configBuilder.isFrontierBased(true).build(), new TestMinPropagationComputation());
+
+        for (int nodeId = 0; nodeId < expected.size(); nodeId++) {
+            assertEquals(expected.get(nodeId), actual.get(nodeId), formatWithLocale("Value mismatch for node id %d", nodeId));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void resumesFromCheckpoint(boolean withReducer, @TempDir Path checkpointRoot) {
+        var graph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(10)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        PregelComputation<PregelConfig> computation = withReducer
+            ? new TestReduciblePregelComputation()
+            : new TestPregelComputation();
+
+        var configBuilder = ImmutablePregelConfig.builder()
+            .username("")
+            .concurrency(4)
+            .checkpointDirectory("checkpoints");
+
+        var expected = run(graph, configBuilder.maxIterations(10).build(), computation, checkpointRoot);
+
+        // the interrupted run leaves its latest checkpoint after superstep 3
+        run(graph, configBuilder.maxIterations(4).checkpointInterval(2).build(), computation, checkpointRoot);
+        assertThat(checkpointRoot.resolve("checkpoints").resolve("superstep-3")).exists();
+        assertThat(checkpointRoot.resolve("checkpoints").resolve("superstep-1")).doesNotExist();
+
+        var actual = run(
+            graph,
+            configBuilder.maxIterations(10).checkpointInterval(0).resumeFromCheckpoint(true).build(),
+            computation,
+            checkpointRoot
+        );
+
+        for (int nodeId = 0; nodeId < expected.size(); nodeId++) {
+            assertEquals(expected.get(nodeId), actual.get(nodeId), formatWithLocale("Value mismatch for node id %d", nodeId));
+        }
+    }
+
+    @Test
+    void checkpointingRequiresDirectory() {
+        var exception = assertThrows(IllegalArgumentException.class, () -> ImmutablePregelConfig.builder()
+            .username("")
+            .checkpointInterval(2)
+            .build());
+        assertThat(exception).hasMessageContaining("checkpointDirectory");
+    }
+
+    @Test
+    void checkpointingRequiresCheckpointRoot() {
+        var config = ImmutablePregelConfig.builder()
+            .username("")
+            .checkpointInterval(2)
+            .checkpointDirectory("checkpoints")
+            .build();
+
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> run(graph, config, new TestPregelComputation(), null)
+        );
+        assertThat(exception).hasMessageContaining("gds.pregel.checkpoint.location");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"../outside", "checkpoints/../../outside", "/tmp/outside"})
+    void checkpointDirectoryMustNotEscapeCheckpointRoot(String checkpointDirectory, @TempDir Path checkpointRoot) {
+        var config = ImmutablePregelConfig.builder()
+            .username("")
+            .checkpointInterval(2)
+            .checkpointDirectory(checkpointDirectory)
+            .build();
+
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> run(graph, config, new TestPregelComputation(), checkpointRoot)
+        );
+        assertThat(exception).hasMessageContaining("forbidden directory");
+    }
+
+    @Test
+    void frontierBasedComputationConverges() {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(10)
+            .isFrontierBased(true)
+            .build();
+
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            new TestPregelComputation(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+
+        var result = pregelJob.run();
+        assertTrue(result.didConverge());
+        assertEquals(1, result.ranIterations());
+        assertArrayEquals(new double[]{0.0, 1.0, 1.0}, result.nodeValues().doubleProperties(KEY).toArray());
+    }
+
+    @Test
+    void sendsCompositeMessages() {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .build();
+
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            new TestCompositeMessageComputation(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+
+        var nodeValues = pregelJob.run().nodeValues();
+        assertArrayEquals(new long[]{-1, 0, 0}, nodeValues.longProperties(TestCompositeMessageComputation.SENDER_KEY).toArray());
+        assertArrayEquals(new double[]{0.0, 42.0, 42.0}, nodeValues.doubleProperties(TestCompositeMessageComputation.SUM_KEY).toArray());
+    }
+
+    @Test
+    void preventCompositeMessagesWithReducer() {
+        var computation = new TestCompositeMessageComputation() {
+            @Override
+            public Optional<Reducer> reducer() {
+                return Optional.of(new Reducer.Sum());
+            }
+        };
+
+        var exception = assertThrows(IllegalArgumentException.class, () -> Pregel.create(
+            graph,
+            ImmutablePregelConfig.builder().maxIterations(2).build(),
+            computation,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ));
+        assertThat(exception).hasMessageContaining("single double messages");
+    }
+
+    @Test
+    void preventCompositeMessagesWithCheckpointing() {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .checkpointInterval(1)
+            .checkpointDirectory("checkpoints")
+            .build();
+
+        var exception = assertThrows(IllegalArgumentException.class, () -> Pregel.create(
+            graph,
+            config,
+            new TestCompositeMessageComputation(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ));
+        assertThat(exception).hasMessageContaining("single double messages");
+    }
+
     @NotNull
     private HugeDoubleArray run(Graph graph, PregelConfig config, PregelComputation<PregelConfig> computation) {
+        return run(graph, config, computation, null);
+    }
+
+    private HugeDoubleArray run(
+        Graph graph,
+        PregelConfig config,
+        PregelComputation<PregelConfig> computation,
+        @Nullable Path checkpointRoot
+    ) {
         var pregelJob = Pregel.create(
             graph,
             config,
             computation,
             Pools.DEFAULT,
-            AllocationTracker.empty()
+            AllocationTracker.empty(),
+            EmptyProgressEventTracker.INSTANCE,
+            checkpointRoot
         );
 
         return pregelJob.run().nodeValues().doubleProperties(KEY);
     }
 
+    @Test
+    void collectsSuperstepMetrics() {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(10)
+            .concurrency(2)
+            .build();
+
+        var logMessages = new ArrayList<String>();
+        var eventTracker = new ProgressEventTracker() {
+            @Override
+            public void addLogEvent(String taskName, String message) {
+                logMessages.add(message);
+            }
+
+            @Override
+            public void release() {
+            }
+        };
+
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            new TestPregelComputation(),
+            Pools.DEFAULT,
+            AllocationTracker.empty(),
+            eventTracker
+        );
+
+        var metrics = pregelJob.run().superstepMetrics();
+        assertEquals(2, metrics.size());
+
+        var initialSuperstep = metrics.get(0);
+        assertEquals(0, initialSuperstep.superstep());
+        assertEquals(3, initialSuperstep.activeNodeCount());
+        assertEquals(2, initialSuperstep.sentMessageCount());
+        assertEquals(0, initialSuperstep.receivedMessageCount());
+        assertThat(initialSuperstep.computeStepNanos()).isNotEmpty();
+        assertThat(initialSuperstep.messengerMemoryUsage()).isPositive();
+        assertThat(initialSuperstep.minComputeStepNanos()).isLessThanOrEqualTo(initialSuperstep.maxComputeStepNanos());
+
+        var lastSuperstep = metrics.get(1);
+        assertEquals(1, lastSuperstep.superstep());
+        assertEquals(2, lastSuperstep.activeNodeCount());
+        assertEquals(0, lastSuperstep.sentMessageCount());
+        assertEquals(2, lastSuperstep.receivedMessageCount());
+
+        assertThat(logMessages)
+            .hasSize(2)
+            .allSatisfy(message -> assertThat(message).contains("active nodes"));
+    }
+
     @Test
     void sendMessageToSpecificTarget() {
         var config = ImmutablePregelConfig.builder()
@@ -222,8 +548,8 @@ class PregelTest {
     static Stream<Arguments> estimations() {
         return Stream.of(
             // queue based sync
-            Arguments.of(1, new PregelSchema.Builder().add("key", ValueType.LONG).build(), true, false, 7281616L),
-            Arguments.of(10, new PregelSchema.Builder().add("key", ValueType.LONG).build(), true, false, 7282264L),
+            Arguments.of(1, new PregelSchema.Builder().add("key", ValueType.LONG).build(), true, false, 7281704L),
+            Arguments.of(10, new PregelSchema.Builder().add("key", ValueType.LONG).build(), true, false, 7282784L),
             Arguments.of(1, new PregelSchema.Builder()
                     .add("key1", ValueType.LONG)
                     .add("key2", ValueType.DOUBLE)
@@ -232,7 +558,7 @@ class PregelTest {
                     .build(),
                 true,
                 false,
-                9281688L
+                9281776L
             ),
             Arguments.of(10, new PregelSchema.Builder()
                     .add("key1", ValueType.LONG)
@@ -242,12 +568,12 @@ class PregelTest {
                     .build(),
                 true,
                 false,
-                9282336L
+                9282856L
             ),
 
             // queue based async
-            Arguments.of(1, new PregelSchema.Builder().add("key", ValueType.LONG).build(), true, true, 3801616L),
-            Arguments.of(10, new PregelSchema.Builder().add("key", ValueType.LONG).build(), true, true, 3802264L),
+            Arguments.of(1, new PregelSchema.Builder().add("key", ValueType.LONG).build(), true, true, 3801704L),
+            Arguments.of(10, new PregelSchema.Builder().add("key", ValueType.LONG).build(), true, true, 3802784L),
             Arguments.of(1, new PregelSchema.Builder()
                     .add("key1", ValueType.LONG)
                     .add("key2", ValueType.DOUBLE)
@@ -256,7 +582,7 @@ class PregelTest {
                     .build(),
                 true,
                 true,
-                5801688L
+                5801776L
             ),
             Arguments.of(10, new PregelSchema.Builder()
                     .add("key1", ValueType.LONG)
@@ -266,12 +592,12 @@ class PregelTest {
                     .build(),
                 true,
                 true,
-                5802336L
+                5802856L
             ),
 
             // array based
-            Arguments.of(1, new PregelSchema.Builder().add("key", ValueType.LONG).build(), false, false, 241_576L),
-            Arguments.of(10, new PregelSchema.Builder().add("key", ValueType.LONG).build(), false, false, 242_224L),
+            Arguments.of(1, new PregelSchema.Builder().add("key", ValueType.LONG).build(), false, false, 258_096L),
+            Arguments.of(10, new PregelSchema.Builder().add("key", ValueType.LONG).build(), false, false, 407_208L),
             Arguments.of(1, new PregelSchema.Builder()
                     .add("key1", ValueType.LONG)
                     .add("key2", ValueType.DOUBLE)
@@ -280,7 +606,7 @@ class PregelTest {
                     .build(),
                 false,
                 false,
-                2_241_648L
+                2_258_168L
             ),
             Arguments.of(10, new PregelSchema.Builder()
                     .add("key1", ValueType.LONG)
@@ -290,7 +616,7 @@ class PregelTest {
                     .build(),
                 false,
                 false,
-                2_242_296L
+                2_407_280L
             )
         );
     }
@@ -309,6 +635,37 @@ class PregelTest {
         );
     }
 
+    @Test
+    void memoryEstimationAccountsForCompositeMessages() {
+        var nodeCount = 10_000L;
+        var dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(nodeCount)
+            .maxRelCount(100_000)
+            .build();
+        var pregelSchema = new PregelSchema.Builder().add("key", ValueType.LONG).build();
+        var messageSchema = new MessageSchema.Builder()
+            .add("vector", ValueType.DOUBLE_ARRAY, 64)
+            .add("id", ValueType.LONG)
+            .build();
+
+        var singleDouble = Pregel
+            .memoryEstimation(pregelSchema, MessageSchema.singleDouble(), true, false, false)
+            .estimate(dimensions, 1)
+            .memoryUsage().max;
+        var composite = Pregel
+            .memoryEstimation(pregelSchema, messageSchema, true, false, false)
+            .estimate(dimensions, 1)
+            .memoryUsage().max;
+
+        // a message is wider than the minimum queue capacity, so each queue holds a single message
+        var additionalQueueBytes = 2 * nodeCount * (
+            MemoryUsage.sizeOfDoubleArray(64) +
+            MemoryUsage.sizeOfLongArray(1) -
+            MemoryUsage.sizeOfDoubleArray(PrimitiveDoubleQueues.MIN_CAPACITY)
+        );
+        assertThat(composite).isGreaterThanOrEqualTo(singleDouble + additionalQueueBytes);
+    }
+
     static Stream<Arguments> configAndResult() {
         return Stream.of(
             Arguments.of(
@@ -413,6 +770,66 @@ class PregelTest {
         }
     }
 
+    public static class TestMinPropagationComputation extends TestPregelComputation {
+
+        @Override
+        public void compute(ComputeContext<PregelConfig> context, Messages messages) {
+            if (context.isInitialSuperstep()) {
+                double nodeId = context.nodeId();
+                context.setNodeValue(KEY, nodeId);
+                context.sendToNeighbors(nodeId);
+            } else {
+                double currentValue = context.doubleNodeValue(KEY);
+                double minValue = currentValue;
+                for (Double message : messages) {
+                    minValue = Math.min(minValue, message);
+                }
+                // only nodes with a smaller value stay in the frontier
+                if (minValue < currentValue) {
+                    context.setNodeValue(KEY, minValue);
+                    context.sendToNeighbors(minValue);
+                }
+            }
+            context.voteToHalt();
+        }
+
+        @Override
+        public Optional<Reducer> reducer() {
+            return Optional.of(new Reducer.Min());
+        }
+    }
+
+    public static class TestCountingReducerComputation extends TestPregelComputation {
+
+        // Counts the received messages. Partial counts cannot
+        // be merged using reduce, so the reducer must not be
+        // used to pre-reduce messages on the sending side.
+        @Override
+        public Optional<Reducer> reducer() {
+            return Optional.of(new Reducer() {
+                @Override
+                public double identity() {
+                    return 0;
+                }
+
+                @Override
+                public double reduce(double current, double message) {
+                    return current + 1;
+                }
+
+                @Override
+                public double emptyValue() {
+                    return Double.NaN;
+                }
+
+                @Override
+                public boolean isEmptyValue(double value) {
+                    return Double.isNaN(value);
+                }
+            });
+        }
+    }
+
     public static class TestWeightComputation extends TestPregelComputation {
 
         @Override
@@ -441,6 +858,53 @@ class PregelTest {
         }
     }
 
+    public static class TestCompositeMessageComputation implements PregelComputation<PregelConfig> {
+
+        static final String SENDER_KEY = "sender";
+        static final String SUM_KEY = "sum";
+        static final String VECTOR_KEY = "vector";
+
+        static final MessageSchema MESSAGE_SCHEMA = new MessageSchema.Builder()
+            .add(SENDER_KEY, ValueType.LONG)
+            .add(VECTOR_KEY, ValueType.DOUBLE_ARRAY, 3)
+            .build();
+        static final int VECTOR_SLOT = MESSAGE_SCHEMA.slot(VECTOR_KEY);
+
+        @Override
+        public PregelSchema schema(PregelConfig config) {
+            return new PregelSchema.Builder()
+                .add(SENDER_KEY, ValueType.LONG)
+                .add(SUM_KEY, ValueType.DOUBLE)
+                .build();
+        }
+
+        @Override
+        public MessageSchema messageSchema(PregelConfig config) {
+            return MESSAGE_SCHEMA;
+        }
+
+        @Override
+        public void compute(ComputeContext<PregelConfig> context, Messages messages) {
+            if (context.isInitialSuperstep()) {
+                context.setNodeValue(SENDER_KEY, -1L);
+                context.setNodeValue(SUM_KEY, 0.0);
+                var message = context.newMessage()
+                    .set(SENDER_KEY, context.nodeId())
+                    .set(VECTOR_KEY, new double[]{20.0, 20.0, 2.0});
+                context.sendToNeighbors(message);
+            } else {
+                var vector = new double[3];
+                while (messages.nextRecord()) {
+                    var message = messages.record();
+                    context.setNodeValue(SENDER_KEY, message.longValue(SENDER_KEY));
+                    message.doubleArrayValue(VECTOR_SLOT, vector);
+                    context.setNodeValue(SUM_KEY, vector[0] + vector[1] + vector[2]);
+                }
+            }
+            context.voteToHalt();
+        }
+    }
+
     @ValueClass
     @Configuration
     @SuppressWarnings("immutables:subtype")
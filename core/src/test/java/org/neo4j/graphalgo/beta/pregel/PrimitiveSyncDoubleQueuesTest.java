@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.beta.pregel;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
 import java.util.Arrays;
@@ -55,6 +56,37 @@ class PrimitiveSyncDoubleQueuesTest extends PrimitiveDoubleQueuesTest {
         }
     }
 
+    @Test
+    void pushRecords() {
+        var schema = new MessageSchema.Builder()
+            .add("long", ValueType.LONG)
+            .add("doubles", ValueType.DOUBLE_ARRAY, 2)
+            .build();
+        var queue = PrimitiveSyncDoubleQueues.of(1, schema, AllocationTracker.empty());
+
+        // enough records to grow the queues multiple times
+        var recordCount = 100;
+        for (int i = 0; i < recordCount; i++) {
+            // a long value whose raw bits are a NaN double
+            queue.push(0, new double[]{i, -i}, new long[]{-1L - i});
+        }
+        assertThat(queue.tail(0)).isEqualTo(recordCount);
+
+        queue.swapQueues();
+        var iterator = new PrimitiveSyncDoubleQueues.Iterator();
+        queue.initIterator(iterator, 0);
+
+        var doubles = new double[2];
+        var longs = new long[1];
+        for (int i = 0; i < recordCount; i++) {
+            assertThat(iterator.hasNext()).isTrue();
+            iterator.nextRecord(doubles, longs);
+            assertThat(doubles).containsExactly(i, -i);
+            assertThat(longs).containsExactly(-1L - i);
+        }
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
     @Nested
     class IteratorTest {
 
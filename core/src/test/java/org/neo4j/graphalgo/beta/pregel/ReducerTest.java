@@ -38,6 +38,21 @@ class ReducerTest {
         );
     }
 
+    static Stream<Arguments> combineArguments() {
+        return Stream.of(
+            Arguments.of(new Reducer.Sum(), 2, 2, 4),
+            Arguments.of(new Reducer.Min(), 42, 23, 23),
+            Arguments.of(new Reducer.Max(), 42, 23, 42),
+            Arguments.of(new Reducer.Count(), 42, 23, 65)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("combineArguments")
+    void combine(Reducer.Combinable reducer, double arg0, double arg1, double expected) {
+        assertEquals(expected, reducer.combine(arg0, arg1));
+    }
+
     @ParameterizedTest
     @MethodSource("arguments")
     void sum(Reducer reducer, double arg0, double arg1, double expected) {
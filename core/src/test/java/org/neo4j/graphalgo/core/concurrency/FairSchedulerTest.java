@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphdb.TransactionTerminatedException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FairSchedulerTest {
+
+    @Test
+    void singleJobUsesRequestedConcurrency() {
+        var scheduler = new FairScheduler(8, 1);
+        try (var job = scheduler.startJob(4, 4, TerminationFlag.RUNNING_TRUE)) {
+            assertEquals(4, job.allowedConcurrency());
+            assertEquals(1, scheduler.runningJobs());
+        }
+        assertEquals(0, scheduler.runningJobs());
+    }
+
+    @Test
+    void concurrentJobsShareThePool() {
+        var scheduler = new FairScheduler(8, 1);
+        var heavyJob = scheduler.startJob(8, 1000, TerminationFlag.RUNNING_TRUE);
+        assertEquals(8, heavyJob.allowedConcurrency());
+
+        var lightJob = scheduler.startJob(8, 8, TerminationFlag.RUNNING_TRUE);
+        // light jobs are weighted higher than heavy jobs
+        assertEquals(2, heavyJob.allowedConcurrency());
+        assertEquals(5, lightJob.allowedConcurrency());
+
+        lightJob.close();
+        assertEquals(8, heavyJob.allowedConcurrency());
+        heavyJob.close();
+    }
+
+    @Test
+    void everyJobRunsAtLeastOneTask() {
+        var scheduler = new FairScheduler(2, 1);
+        var jobs = new FairScheduler.Job[4];
+        for (int i = 0; i < jobs.length; i++) {
+            jobs[i] = scheduler.startJob(2, 2, TerminationFlag.RUNNING_TRUE);
+        }
+        for (var job : jobs) {
+            assertEquals(1, job.allowedConcurrency());
+            job.close();
+        }
+    }
+
+    @Test
+    void limitsConcurrentHeavyJobs() {
+        var scheduler = new FairScheduler(4, 1);
+        var heavyJob = scheduler.startJob(4, 100, TerminationFlag.RUNNING_TRUE);
+
+        // the second heavy job waits for a permit until it is terminated
+        var checks = new AtomicInteger();
+        TerminationFlag terminateAfterFirstCheck = () -> checks.incrementAndGet() < 2;
+        assertThrows(
+            TransactionTerminatedException.class,
+            () -> scheduler.startJob(4, 100, terminateAfterFirstCheck)
+        );
+        assertEquals(1, scheduler.runningJobs());
+
+        // light jobs are not delayed
+        try (var lightJob = scheduler.startJob(4, 4, TerminationFlag.RUNNING_TRUE)) {
+            assertEquals(2, scheduler.runningJobs());
+        }
+
+        heavyJob.close();
+        try (var nextHeavyJob = scheduler.startJob(4, 100, TerminationFlag.RUNNING_TRUE)) {
+            assertTrue(nextHeavyJob.allowedConcurrency() > 0);
+        }
+    }
+
+    @Test
+    void nestedCallsFromJobTasksAreNotScheduled() {
+        var scheduler = new FairScheduler(4, 1);
+        FairScheduler.jobTask(() -> {
+            scheduler.startJob(4, 100, TerminationFlag.RUNNING_TRUE);
+            FairScheduler.jobTask(() -> scheduler.startJob(4, 100, TerminationFlag.RUNNING_TRUE)).run();
+            // the depth is restored after a nested task
+            assertTrue(FairScheduler.isRunningJobTask());
+        }).run();
+        assertEquals(0, scheduler.runningJobs());
+        assertFalse(FairScheduler.isRunningJobTask());
+    }
+
+    @Test
+    void callsFromPoolThreadsOutsideOfJobTasksAreScheduled() throws Exception {
+        var scheduler = new FairScheduler(4, 1);
+        var job = new AtomicReference<FairScheduler.Job>();
+        var thread = new Thread(
+            () -> job.set(scheduler.startJob(4, 4, TerminationFlag.RUNNING_TRUE)),
+            Pools.THREAD_NAME_PREFIX + "-test"
+        );
+        thread.start();
+        thread.join();
+        assertEquals(1, scheduler.runningJobs());
+        job.get().close();
+        assertEquals(0, scheduler.runningJobs());
+    }
+
+    @Test
+    void rejectsInvalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new FairScheduler(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new FairScheduler(1, 0));
+    }
+}
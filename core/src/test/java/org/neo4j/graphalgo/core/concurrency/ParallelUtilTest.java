@@ -57,6 +57,7 @@ import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -233,6 +234,37 @@ final class ParallelUtilTest {
                 "batchSize too small to satisfy desired concurrency" + params);
     }
 
+    @Test
+    void runRegistersJobOnTheSharedPool() {
+        var runningJobs = new AtomicInteger();
+        ParallelUtil.run(() -> runningJobs.set(Pools.DEFAULT_SCHEDULER.runningJobs()), Pools.DEFAULT);
+        assertTrue(runningJobs.get() >= 1);
+        assertFalse(FairScheduler.isRunningJobTask());
+    }
+
+    @Test
+    void nestedSubmissionsArePartOfTheOuterJob() {
+        var isJobTask = new ConcurrentLinkedQueue<Boolean>();
+        var customPool = Executors.newFixedThreadPool(2);
+        try {
+            ParallelUtil.run(() -> {
+                isJobTask.add(FairScheduler.isRunningJobTask());
+                ParallelUtil.run(() -> isJobTask.add(FairScheduler.isRunningJobTask()), customPool);
+                ParallelUtil.parallelForEachNode(100, 2, nodeId -> isJobTask.add(FairScheduler.isRunningJobTask()));
+                parallelStreamConsume(LongStream.range(0, 100), 2, stream -> ParallelUtil.runWithConcurrency(
+                    2,
+                    List.of(() -> isJobTask.add(FairScheduler.isRunningJobTask())),
+                    Pools.DEFAULT
+                ));
+            }, Pools.DEFAULT);
+        } finally {
+            customPool.shutdown();
+        }
+
+        assertEquals(1 + 1 + 100 + 1, isJobTask.size());
+        assertFalse(isJobTask.contains(false));
+    }
+
     @Test
     void shouldRunAtMostConcurrencyTasks() {
         int tasks = 6;
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultPipelineTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 8})
+    void streamsAllRows(int concurrency) {
+        var nodeCount = 10_000L;
+        ResultPipeline.Producer producer = (nodeId, sink) -> {
+            for (long i = 0; i < nodeId % 3; i++) {
+                sink.accept(nodeId, i, nodeId + i);
+            }
+        };
+
+        try (var rows = ResultPipeline.stream(
+            nodeCount,
+            producer,
+            (source, target, value) -> source * 3 + target,
+            concurrency,
+            16,
+            2,
+            Pools.DEFAULT,
+            TerminationFlag.RUNNING_TRUE
+        )) {
+            var actual = rows.sorted().collect(Collectors.toList());
+            var expected = LongStream
+                .range(0, nodeCount)
+                .flatMap(nodeId -> LongStream.range(0, nodeId % 3).map(i -> nodeId * 3 + i))
+                .boxed()
+                .collect(Collectors.toList());
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void streamsNothingForEmptyInput() {
+        try (var rows = ResultPipeline.stream(
+            0,
+            (nodeId, sink) -> sink.accept(nodeId, nodeId, 0),
+            (source, target, value) -> source,
+            4,
+            Pools.DEFAULT,
+            TerminationFlag.RUNNING_TRUE
+        )) {
+            assertEquals(0, rows.count());
+        }
+    }
+
+    @Test
+    void stopsProducersWhenClosedEarly() throws InterruptedException {
+        var nodeCount = 1_000_000L;
+        var producedRows = new AtomicLong();
+        ResultPipeline.Producer producer = (nodeId, sink) -> {
+            producedRows.incrementAndGet();
+            sink.accept(nodeId, nodeId, 0);
+        };
+
+        try (var rows = ResultPipeline.stream(
+            nodeCount,
+            producer,
+            (source, target, value) -> source,
+            4,
+            16,
+            2,
+            Pools.DEFAULT,
+            TerminationFlag.RUNNING_TRUE
+        )) {
+            assertEquals(10, rows.limit(10).count());
+        }
+
+        TimeUnit.MILLISECONDS.sleep(200);
+        // the bounded queue keeps the producers from running ahead of the consumer
+        assertTrue(producedRows.get() < 1_000, "produced " + producedRows.get() + " rows");
+    }
+
+    @Test
+    void stopsWorkersWhenTerminatedWithoutClosing() throws InterruptedException {
+        var running = new AtomicBoolean(true);
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var rows = ResultPipeline.stream(
+                1_000_000L,
+                (nodeId, sink) -> sink.accept(nodeId, nodeId, 0),
+                (source, target, value) -> source,
+                2,
+                16,
+                2,
+                executor,
+                running::get
+            );
+            // the consumer takes a single row and drops the stream without closing it
+            assertTrue(rows.iterator().hasNext());
+
+            running.set(false);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS), "workers are still waiting for the consumer");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void registersWorkersAsJobOnTheSharedPool() {
+        var runningJobs = new AtomicInteger();
+        var isJobTask = new ConcurrentLinkedQueue<Boolean>();
+        ResultPipeline.Producer producer = (nodeId, sink) -> {
+            runningJobs.accumulateAndGet(Pools.DEFAULT_SCHEDULER.runningJobs(), Math::max);
+            isJobTask.add(FairScheduler.isRunningJobTask());
+            sink.accept(nodeId, nodeId, 0);
+        };
+
+        try (var rows = ResultPipeline.stream(
+            100,
+            producer,
+            (source, target, value) -> source,
+            4,
+            Pools.DEFAULT,
+            TerminationFlag.RUNNING_TRUE
+        )) {
+            assertEquals(100, rows.count());
+        }
+
+        assertTrue(runningJobs.get() >= 1);
+        assertEquals(100, isJobTask.size());
+        assertFalse(isJobTask.contains(false));
+    }
+
+    @Test
+    void rethrowsProducerExceptions() {
+        ResultPipeline.Producer producer = (nodeId, sink) -> {
+            if (nodeId == 42) {
+                throw new IllegalStateException("boom");
+            }
+            sink.accept(nodeId, nodeId, 0);
+        };
+
+        try (var rows = ResultPipeline.stream(
+            100,
+            producer,
+            (source, target, value) -> source,
+            4,
+            Pools.DEFAULT,
+            TerminationFlag.RUNNING_TRUE
+        )) {
+            var exception = assertThrows(IllegalStateException.class, rows::count);
+            assertEquals("boom", exception.getMessage());
+        }
+    }
+
+    @Test
+    void createsOneProducerPerWorker() {
+        var createdProducers = new AtomicLong();
+        ResultPipeline.ProducerFactory producerFactory = () -> {
+            createdProducers.incrementAndGet();
+            return (nodeId, sink) -> sink.accept(nodeId, nodeId, 0);
+        };
+
+        try (var rows = ResultPipeline.stream(
+            10_000,
+            producerFactory,
+            (source, target, value) -> source,
+            4,
+            Pools.DEFAULT,
+            TerminationFlag.RUNNING_TRUE
+        )) {
+            assertEquals(10_000, rows.count());
+        }
+        assertEquals(4, createdProducers.get());
+    }
+
+    @Test
+    void rejectsInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> ResultPipeline.stream(
+            1,
+            (nodeId, sink) -> {},
+            (source, target, value) -> source,
+            1,
+            0,
+            1,
+            Pools.DEFAULT,
+            TerminationFlag.RUNNING_TRUE
+        ));
+    }
+}
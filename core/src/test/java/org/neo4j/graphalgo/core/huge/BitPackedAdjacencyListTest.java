@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.apache.lucene.util.LongsRef;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.NodeMapping;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.AdjacencyPacking;
+import org.neo4j.graphalgo.core.loading.VarLongEncoding;
+import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
+import org.neo4j.graphalgo.core.loading.construction.NodesBuilder;
+import org.neo4j.graphalgo.core.loading.construction.RelationshipsBuilder;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.neo4j.graphalgo.core.huge.AdjacencyDecompressingReader.CHUNK_SIZE;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_BIT_PACKED_ADJACENCY;
+
+class BitPackedAdjacencyListTest {
+
+    @Test
+    void shouldPeekValues() {
+        AdjacencyCursor adjacencyCursor = adjacencyCursorFromTargets(new long[]{1, 42, 1337}, true);
+        while (adjacencyCursor.hasNextVLong()) {
+            assertEquals(adjacencyCursor.peekVLong(), adjacencyCursor.nextVLong());
+        }
+    }
+
+    @Test
+    void shouldSkipUntilLargerValue() {
+        AdjacencyCursor adjacencyCursor = adjacencyCursorFromTargets(new long[]{0, 1, 1, 2}, true);
+        assertEquals(2, adjacencyCursor.skipUntil(1));
+        assertFalse(adjacencyCursor.hasNextVLong());
+    }
+
+    @Test
+    void shouldAdvanceUntilEqualValue() {
+        AdjacencyCursor adjacencyCursor = adjacencyCursorFromTargets(new long[]{0, 1, 1, 2}, true);
+        assertEquals(1, adjacencyCursor.advance(1));
+        assertEquals(1, adjacencyCursor.nextVLong());
+        assertEquals(2, adjacencyCursor.nextVLong());
+        assertFalse(adjacencyCursor.hasNextVLong());
+    }
+
+    @Test
+    void shouldPeekAcrossBlocks() {
+        long[] targets = new long[CHUNK_SIZE + 1];
+        Arrays.setAll(targets, i -> i);
+        AdjacencyCursor adjacencyCursor = adjacencyCursorFromTargets(targets, true);
+        int position = 0;
+        while (adjacencyCursor.hasNextVLong() && position < CHUNK_SIZE) {
+            adjacencyCursor.nextVLong();
+            position++;
+        }
+
+        assertEquals(1, adjacencyCursor.remaining());
+        assertEquals(64, adjacencyCursor.peekVLong());
+        assertEquals(64, adjacencyCursor.peekVLong());
+        assertEquals(64, adjacencyCursor.nextVLong());
+    }
+
+    @Test
+    void shouldDecodeTheSameTargetsAsVarLongEncoding() {
+        var random = new Random(42);
+        long[] targets = new long[10 * CHUNK_SIZE + 7];
+        long target = 0;
+        for (int i = 0; i < targets.length; i++) {
+            // mix dense and sparse regions to get different bit widths per block
+            target += (i / CHUNK_SIZE) % 2 == 0 ? 1 + random.nextInt(3) : 1 + random.nextInt(100_000);
+            targets[i] = target;
+        }
+
+        var varLongCursor = adjacencyCursorFromTargets(targets, false);
+        var bitPackedCursor = adjacencyCursorFromTargets(targets, true);
+        assertThat(bitPackedCursor).isInstanceOf(BitPackedAdjacencyList.DecompressingCursor.class);
+        assertEquals(varLongCursor.size(), bitPackedCursor.size());
+        while (varLongCursor.hasNextVLong()) {
+            assertEquals(varLongCursor.nextVLong(), bitPackedCursor.nextVLong());
+        }
+        assertFalse(bitPackedCursor.hasNextVLong());
+
+        varLongCursor = adjacencyCursorFromTargets(targets, false);
+        bitPackedCursor = adjacencyCursorFromTargets(targets, true);
+        for (int i = 3; i < targets.length; i += 97) {
+            assertEquals(varLongCursor.advance(targets[i]), bitPackedCursor.advance(targets[i]));
+            assertEquals(varLongCursor.skipUntil(targets[i] + 1), bitPackedCursor.skipUntil(targets[i] + 1));
+            assertEquals(varLongCursor.remaining(), bitPackedCursor.remaining());
+        }
+    }
+
+    @Test
+    void shouldDecodeWideBlocks() {
+        // the deltas need more than 56 bits and packing them is smaller than their VarLongs
+        long[] deltas = {7L, (1L << 60) + 1, (1L << 60) + 2, (1L << 61) - 1, 1L << 60};
+        var data = new LongsRef(deltas.clone(), 0, deltas.length);
+        byte[] packed = new byte[AdjacencyPacking.packedSize(data)];
+        assertEquals(packed.length, AdjacencyPacking.pack(data, packed));
+
+        long[] decoded = new long[CHUNK_SIZE];
+        int offset = VarLongDecoding.decodeDeltaVLongs(0L, packed, 0, 1, decoded);
+        offset = BitPackedDecoding.decodeDeltaBlock(decoded[0], packed, offset, deltas.length - 1, decoded, 1);
+        assertEquals(packed.length, offset);
+
+        long[] expected = new long[deltas.length];
+        expected[0] = deltas[0];
+        for (int i = 1; i < deltas.length; i++) {
+            expected[i] = expected[i - 1] + deltas[i];
+        }
+        assertArrayEquals(expected, Arrays.copyOf(decoded, deltas.length));
+    }
+
+    @Test
+    void shouldFallBackToVarLongsForSkewedBlocks() {
+        // a single large delta would widen the packed block to 40 bits per delta
+        long[] deltas = new long[CHUNK_SIZE];
+        Arrays.fill(deltas, 1L);
+        deltas[0] = 0L;
+        deltas[42] = 1L << 39;
+        var data = new LongsRef(deltas.clone(), 0, deltas.length);
+
+        int varLongSize = 0;
+        for (long delta : deltas) {
+            varLongSize += VarLongEncoding.encodedVLongSize(delta);
+        }
+        byte[] packed = new byte[AdjacencyPacking.packedSize(data)];
+        assertEquals(varLongSize + AdjacencyPacking.blockHeaderBytes(deltas.length), packed.length);
+        assertEquals(packed.length, AdjacencyPacking.pack(data, packed));
+
+        long[] decoded = new long[CHUNK_SIZE];
+        int offset = VarLongDecoding.decodeDeltaVLongs(0L, packed, 0, 1, decoded);
+        offset = BitPackedDecoding.decodeDeltaBlock(decoded[0], packed, offset, deltas.length - 1, decoded, 1);
+        assertEquals(packed.length, offset);
+
+        long[] expected = new long[deltas.length];
+        for (int i = 1; i < deltas.length; i++) {
+            expected[i] = expected[i - 1] + deltas[i];
+        }
+        assertArrayEquals(expected, decoded);
+    }
+
+    private AdjacencyCursor adjacencyCursorFromTargets(long[] targets, boolean bitPacked) {
+        boolean before = USE_BIT_PACKED_ADJACENCY.toggle(bitPacked);
+        try {
+            return buildCursor(targets);
+        } finally {
+            USE_BIT_PACKED_ADJACENCY.toggle(before);
+        }
+    }
+
+    private AdjacencyCursor buildCursor(long[] targets) {
+        long sourceNodeId = targets[0];
+        NodesBuilder nodesBuilder = GraphFactory.initNodesBuilder()
+            .maxOriginalId(targets[targets.length - 1])
+            .build();
+
+        for (long target : targets) {
+            nodesBuilder.addNode(target);
+        }
+        NodeMapping idMap = nodesBuilder.build();
+        RelationshipsBuilder relationshipsBuilder = new RelationshipsBuilder(
+            idMap,
+            Orientation.NATURAL,
+            false,
+            Aggregation.NONE,
+            false,
+            1,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+        for (long target : targets) {
+            relationshipsBuilder.add(sourceNodeId, target);
+        }
+        Relationships relationships = relationshipsBuilder.build();
+        long offset = relationships.topology().offsets().get(idMap.toMappedNodeId(sourceNodeId));
+        return relationships.topology().list().decompressingCursor(offset);
+    }
+}
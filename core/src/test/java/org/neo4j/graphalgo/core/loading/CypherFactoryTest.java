@@ -51,6 +51,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -211,6 +212,86 @@ class CypherFactoryTest extends BaseTest {
         assertGraphEquals(fromGdl("(a { nodeProp: 42 })-[{ w: 21 }]->(a)"), graph);
     }
 
+    @Test
+    void loadRelationshipsInPartitions() {
+        String nodeStatement = "MATCH (n) RETURN id(n) AS id";
+        String relStatement = "MATCH (n)-[r:REL]->(m) WHERE id(n) % $partitionCount = $partition " +
+                              "RETURN id(n) AS source, id(m) AS target, r.prop AS weight";
+
+        CypherLoaderBuilder builder = new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery(nodeStatement)
+            .relationshipQuery(relStatement)
+            .concurrency(4)
+            .relationshipQueryPartitions(4);
+
+        Graph partitioned = applyInTransaction(db, tx -> builder.build().graph());
+        Graph expected = applyInTransaction(db, tx -> new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery(nodeStatement)
+            .relationshipQuery("MATCH (n)-[r:REL]->(m) RETURN id(n) AS source, id(m) AS target, r.prop AS weight")
+            .build()
+            .graph()
+        );
+
+        assertGraphEquals(expected, partitioned);
+    }
+
+    @Test
+    void failOnPartitionedRelationshipQueryWithoutPartitionParameter() {
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new CypherLoaderBuilder()
+                .api(db)
+                .relationshipQuery("MATCH (n)-[r:REL]->(m) RETURN id(n) AS source, id(m) AS target")
+                .relationshipQueryPartitions(2)
+                .build()
+        );
+
+        assertThat(exception.getMessage()).contains("must use the `$partition` parameter");
+    }
+
+    @Test
+    void failOnPartitionedRelationshipQueryWithOnlyPartitionCountParameter() {
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new CypherLoaderBuilder()
+                .api(db)
+                .relationshipQuery("MATCH (n)-[r:REL]->(m) WHERE $partitionCount > 0 RETURN id(n) AS source, id(m) AS target")
+                .relationshipQueryPartitions(2)
+                .build()
+        );
+
+        assertThat(exception.getMessage()).contains("must use the `$partition` parameter");
+    }
+
+    @Test
+    void loadArrayPropertiesBeyondInitialIdMappingCapacity() {
+        // exceeds the initial capacity of the growing id mapping
+        long nodeCount = 2L * RecordsBatchBuffer.DEFAULT_BUFFER_SIZE + 42;
+        String nodeStatement = "UNWIND range(0, $maxId) AS id " +
+                               "RETURN id AS id, [id, id + 1] AS longArray, [toFloat(id)] AS doubleArray";
+        String relStatement = "MATCH (n)-[r:NOT_THERE]->(m) RETURN id(n) AS source, id(m) AS target";
+
+        Graph graph = applyInTransaction(db, tx -> new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery(nodeStatement)
+            .relationshipQuery(relStatement)
+            .parameters(MapUtil.map("maxId", nodeCount - 1))
+            .build()
+            .graph()
+        );
+
+        assertEquals(nodeCount, graph.nodeCount());
+        var longArrays = graph.nodeProperties("longArray");
+        var doubleArrays = graph.nodeProperties("doubleArray");
+        for (long originalId = 0; originalId < nodeCount; originalId++) {
+            long nodeId = graph.toMappedNodeId(originalId);
+            assertArrayEquals(new long[]{originalId, originalId + 1}, longArrays.longArrayValue(nodeId));
+            assertArrayEquals(new double[]{originalId}, doubleArrays.doubleArrayValue(nodeId));
+        }
+    }
+
     @Test
     void testLoadingGraphWithLabelInformation() {
         clearDb();
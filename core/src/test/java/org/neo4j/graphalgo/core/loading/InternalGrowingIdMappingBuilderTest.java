@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.core.loading.IdMappingAllocator.PropertyAllocator.EMPTY;
+
+class InternalGrowingIdMappingBuilderTest {
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        List<Long> capacities = new ArrayList<>();
+        var builder = InternalGrowingIdMappingBuilder.of(4, capacities::add, AllocationTracker.empty());
+
+        for (long batch = 0; batch < 5; batch++) {
+            long[] nodeIds = LongStream.range(batch * 3, batch * 3 + 3).map(id -> id + 42).toArray();
+            var adder = builder.allocate(nodeIds.length);
+            assertEquals(batch * 3, adder.startId());
+            adder.insert(nodeIds, nodeIds.length, EMPTY, null, null, null);
+        }
+
+        assertEquals(15, builder.size());
+        assertEquals(List.of(6L, 9L, 13L, 19L), capacities);
+        assertEquals(19, builder.capacity());
+
+        var array = builder.build();
+        assertEquals(15, array.size());
+        for (long nodeId = 0; nodeId < builder.size(); nodeId++) {
+            assertEquals(nodeId + 42, array.get(nodeId));
+        }
+    }
+}
@@ -75,6 +75,30 @@ final class NodePropertiesFromStoreBuilderTest {
         assertEquals(42, properties.longValue(0));
     }
 
+    @Test
+    void growingBuilderReleasesUnusedCapacity() {
+        var tracker = AllocationTracker.create();
+        var builder = NodePropertiesFromStoreBuilder.growing(10, tracker, DefaultValue.DEFAULT);
+        builder.set(0, Values.longArray(new long[]{42L}));
+        var initialBytes = tracker.trackedBytes();
+
+        builder.grow(100_000);
+        builder.set(99_999, Values.longArray(new long[]{1337L}));
+        assertTrue(tracker.trackedBytes() > initialBytes);
+
+        builder.trim(10);
+        assertEquals(initialBytes, tracker.trackedBytes());
+
+        var properties = builder.build();
+        assertArrayEquals(new long[]{42L}, properties.longArrayValue(0));
+    }
+
+    @Test
+    void onlyGrowingBuildersCanGrow() {
+        var builder = NodePropertiesFromStoreBuilder.of(10, AllocationTracker.empty(), DefaultValue.DEFAULT);
+        assertThrows(IllegalStateException.class, () -> builder.grow(100));
+    }
+
     @Test
     void returnsValuesThatHaveBeenSet() {
         var properties = createNodeProperties(2L, 42.0, b -> b.set(1, Values.of(1.0)));
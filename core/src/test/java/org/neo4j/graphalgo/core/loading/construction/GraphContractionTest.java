@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading.construction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+class GraphContractionTest {
+
+    private static final String GRAPH =
+        "  (a { group: 42 })" +
+        ", (b { group: 42 })" +
+        ", (c { group: 1337 })" +
+        ", (d { group: 1337 })" +
+        ", (e { group: 7 })" +
+        ", (a)-[{w: 1.0}]->(b)" +
+        ", (a)-[{w: 2.0}]->(c)" +
+        ", (b)-[{w: 4.0}]->(d)" +
+        ", (c)-[{w: 8.0}]->(d)" +
+        ", (d)-[{w: 16.0}]->(a)" +
+        ", (e)-[{w: 32.0}]->(c)";
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void contract(int concurrency) {
+        var graph = fromGdl(GRAPH);
+        var groups = graph.nodeProperties("group");
+
+        var contractedGraph = GraphContraction.contract(
+            graph,
+            groups::longValue,
+            1337,
+            concurrency,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+
+        var expected = fromGdl(
+            "  (ab)-[{w: 1.0}]->(ab)" +
+            ", (ab)-[{w: 6.0}]->(cd)" +
+            ", (cd)-[{w: 8.0}]->(cd)" +
+            ", (cd)-[{w: 16.0}]->(ab)" +
+            ", (e)-[{w: 32.0}]->(cd)"
+        );
+
+        assertGraphEquals(expected, contractedGraph);
+        assertFalse(contractedGraph.isUndirected());
+
+        assertEquals(42, contractedGraph.toOriginalNodeId(contractedGraph.toMappedNodeId(42)));
+        assertEquals(1337, contractedGraph.toOriginalNodeId(contractedGraph.toMappedNodeId(1337)));
+        assertEquals(7, contractedGraph.toOriginalNodeId(contractedGraph.toMappedNodeId(7)));
+    }
+
+    @Test
+    void contractUndirected() {
+        var graph = fromGdl(
+            "  (a { group: 0 })" +
+            ", (b { group: 0 })" +
+            ", (c { group: 1 })" +
+            ", (d { group: 2 })" +
+            ", (a)-[{w: 1.0}]->(c)" +
+            ", (b)-[{w: 2.0}]->(c)" +
+            ", (c)-[{w: 4.0}]->(d)",
+            Orientation.UNDIRECTED
+        );
+        var groups = graph.nodeProperties("group");
+
+        Graph contractedGraph = GraphContraction.contract(
+            graph,
+            groups::longValue,
+            2,
+            4,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+
+        var expected = fromGdl(
+            "  (ab)-[{w: 3.0}]->(c)" +
+            ", (c)-[{w: 4.0}]->(d)",
+            Orientation.UNDIRECTED
+        );
+
+        assertGraphEquals(expected, contractedGraph);
+        assertTrue(contractedGraph.isUndirected());
+    }
+
+    @Test
+    void contractInParallelPartitions() {
+        // large enough to be split into several partitions
+        var graph = RandomGraphGenerator.builder()
+            .nodeCount(50_000)
+            .averageDegree(4)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .seed(42L)
+            .build()
+            .generate();
+        LongUnaryOperator nodeGroups = nodeId -> nodeId % 100;
+
+        var sequential = GraphContraction.contract(graph, nodeGroups, 99, 1, Pools.DEFAULT, AllocationTracker.empty());
+        var parallel = GraphContraction.contract(graph, nodeGroups, 99, 4, Pools.DEFAULT, AllocationTracker.empty());
+
+        assertEquals(sequential.nodeCount(), parallel.nodeCount());
+        assertEquals(sequential.relationshipCount(), parallel.relationshipCount());
+        for (long group = 0; group < 100; group++) {
+            assertEquals(weights(sequential, group), weights(parallel, group));
+        }
+    }
+
+    private static Map<Long, Double> weights(Graph graph, long originalNodeId) {
+        var weights = new HashMap<Long, Double>();
+        graph.forEachRelationship(graph.toMappedNodeId(originalNodeId), Double.NaN, (source, target, weight) -> {
+            weights.put(graph.toOriginalNodeId(target), weight);
+            return true;
+        });
+        return weights;
+    }
+
+    @Test
+    void contractUnweighted() {
+        var graph = fromGdl("(a)-->(b), (a)-->(c), (b)-->(c), (c)-->(a)");
+
+        var contractedGraph = GraphContraction.contract(
+            graph,
+            nodeId -> 0,
+            0,
+            1,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+
+        assertGraphEquals(fromGdl("(a)-[{w: 4.0}]->(a)"), contractedGraph);
+        assertEquals(1, contractedGraph.nodeCount());
+        assertEquals(1, contractedGraph.relationshipCount());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export.binary;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.core.huge.BitPackedAdjacencyList;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.gdl.GdlFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_BIT_PACKED_ADJACENCY;
+
+@GdlExtension
+class GraphStoreSnapshotTest {
+
+    @GdlGraph
+    private static final String GDL =
+        "CREATE" +
+        "  (a:A:B { prop1: 0, prop2: 42.0, prop3: [1L, 3L, 3L, 7L]})" +
+        ", (b:A:B { prop1: 1, prop2: 43.0})" +
+        ", (c:A:C { prop1: 2, prop2: 44.0, prop3: [1L, 9L, 8L, 4L] })" +
+        ", (d:B { prop1: 3 })" +
+        ", (a)-[:REL1 { prop1: 0, prop2: 42 }]->(a)" +
+        ", (a)-[:REL1 { prop1: 1, prop2: 43 }]->(b)" +
+        ", (b)-[:REL1 { prop1: 2, prop2: 44 }]->(a)" +
+        ", (b)-[:REL2 { prop3: 3 }]->(c)" +
+        ", (c)-[:REL2 { prop3: 4 }]->(d)" +
+        ", (d)-[:REL2 { prop3: 5 }]->(a)";
+
+    @Inject
+    private GraphStore graphStore;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void teardown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void roundTripsGraphStore() {
+        var file = tempDir.resolve("graph.snapshot");
+        GraphStoreSnapshotWriter.write(graphStore, file);
+
+        var loaded = GraphStoreSnapshotLoader.load(file, graphStore.databaseId(), 1, AllocationTracker.empty());
+
+        assertEquals(graphStore.nodePropertyKeys(), loaded.nodePropertyKeys());
+        assertEquals(graphStore.relationshipTypes(), loaded.relationshipTypes());
+        assertEquals(graphStore.relationshipPropertyKeys(), loaded.relationshipPropertyKeys());
+        assertEquals(graphStore.nodeCount(), loaded.nodeCount());
+        assertEquals(graphStore.relationshipCount(), loaded.relationshipCount());
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            assertEquals(graphStore.nodes().toOriginalNodeId(nodeId), loaded.nodes().toOriginalNodeId(nodeId));
+            assertEquals(graphStore.nodes().nodeLabels(nodeId), loaded.nodes().nodeLabels(nodeId));
+        }
+
+        var labelA = NodeLabel.of("A");
+        var expectedLongArrays = graphStore.nodePropertyValues(labelA, "prop3");
+        var actualLongArrays = loaded.nodePropertyValues(labelA, "prop3");
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            assertArrayEquals(expectedLongArrays.longArrayValue(nodeId), actualLongArrays.longArrayValue(nodeId));
+        }
+
+        assertGraphEquals(graphStore.getUnion(), loaded.getUnion());
+        assertGraphEquals(
+            graphStore.getGraph(RelationshipType.of("REL1"), Optional.of("prop2")),
+            loaded.getGraph(RelationshipType.of("REL1"), Optional.of("prop2"))
+        );
+        assertGraphEquals(
+            graphStore.getGraph(RelationshipType.of("REL2"), Optional.of("prop3")),
+            loaded.getGraph(RelationshipType.of("REL2"), Optional.of("prop3"))
+        );
+    }
+
+    @Test
+    void roundTripsBitPackedAdjacency() {
+        boolean before = USE_BIT_PACKED_ADJACENCY.toggle(true);
+        GraphStore bitPackedGraphStore;
+        try {
+            bitPackedGraphStore = GdlFactory.of(GDL).build().graphStore();
+        } finally {
+            USE_BIT_PACKED_ADJACENCY.toggle(before);
+        }
+        var relationshipType = RelationshipType.of("REL1");
+        var adjacencyList = ((HugeGraph) bitPackedGraphStore.getGraph(relationshipType)).relationshipTopology().list();
+        assertThat(adjacencyList).isInstanceOf(BitPackedAdjacencyList.class);
+
+        var file = tempDir.resolve("graph.snapshot");
+        GraphStoreSnapshotWriter.write(bitPackedGraphStore, file);
+
+        var loaded = GraphStoreSnapshotLoader.load(file, bitPackedGraphStore.databaseId(), 1, AllocationTracker.empty());
+
+        assertGraphEquals(bitPackedGraphStore.getUnion(), loaded.getUnion());
+        assertGraphEquals(
+            bitPackedGraphStore.getGraph(relationshipType, Optional.of("prop2")),
+            loaded.getGraph(relationshipType, Optional.of("prop2"))
+        );
+    }
+
+    @Test
+    void registersLoadedGraphInCatalog() {
+        var file = tempDir.resolve("graph.snapshot");
+        GraphStoreSnapshotWriter.write(graphStore, file);
+
+        var loaded = GraphStoreSnapshotLoader.loadIntoCatalog(
+            file,
+            "user",
+            "snapshot",
+            graphStore.databaseId(),
+            1,
+            AllocationTracker.empty()
+        );
+
+        assertThat(GraphStoreCatalog.exists("user", graphStore.databaseId(), "snapshot")).isTrue();
+        assertEquals(loaded, GraphStoreCatalog.get("user", graphStore.databaseId(), "snapshot").graphStore());
+    }
+
+    @Test
+    void rejectsFilesThatAreNoSnapshots() throws IOException {
+        var file = Files.writeString(tempDir.resolve("graph.snapshot"), "not a snapshot");
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> GraphStoreSnapshotLoader.load(file, graphStore.databaseId(), 1, AllocationTracker.empty())
+        );
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export.file.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.api.schema.RelationshipPropertySchema;
+import org.neo4j.graphalgo.api.schema.RelationshipSchema;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.utils.export.file.GraphStoreToFileExporter;
+import org.neo4j.graphalgo.core.utils.export.file.ImmutableGraphStoreToFileExporterConfig;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.Inject;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+@GdlExtension
+class CsvToGraphStoreImporterTest extends CsvTest {
+
+    @GdlGraph
+    private static final String GDL =
+        "CREATE" +
+        "  (a:A:B { prop1: 0, prop2: 42.0, prop3: [1L, 3L, 3L, 7L]})" +
+        ", (b:A:B { prop1: 1, prop2: 43.0})" +
+        ", (c:A:C { prop1: 2, prop2: 44.0, prop3: [1L, 9L, 8L, 4L] })" +
+        ", (d:B { prop1: 3 })" +
+        ", (a)-[:REL1 { prop1: 0, prop2: 42 }]->(a)" +
+        ", (a)-[:REL1 { prop1: 1, prop2: 43 }]->(b)" +
+        ", (b)-[:REL1 { prop1: 2, prop2: 44 }]->(a)" +
+        ", (b)-[:REL2]->(c)" +
+        ", (c)-[:REL2]->(d)" +
+        ", (d)-[:REL2]->(a)";
+
+    @Inject
+    private GraphStore graphStore;
+
+    @GdlGraph(graphNamePrefix = "undirected", orientation = Orientation.UNDIRECTED)
+    private static final String UNDIRECTED_GDL =
+        "CREATE" +
+        "  (a:A)" +
+        ", (b:A)" +
+        ", (c:A)" +
+        ", (a)-[:REL { weight: 1.0 }]->(a)" +
+        ", (a)-[:REL { weight: 2.0 }]->(b)" +
+        ", (b)-[:REL { weight: 3.0 }]->(c)";
+
+    @Inject
+    private GraphStore undirectedGraphStore;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void importsExportedGraphStore(int concurrency) {
+        var config = ImmutableGraphStoreToFileExporterConfig
+            .builder()
+            .exportName(tempDir.toString())
+            .writeConcurrency(concurrency)
+            .build();
+        GraphStoreToFileExporter.csv(graphStore, config, tempDir).run(AllocationTracker.empty());
+
+        var importedStore = new CsvToGraphStoreImporter(tempDir, concurrency, AllocationTracker.empty())
+            .run(graphStore.databaseId());
+
+        assertEquals(graphStore.nodeCount(), importedStore.nodeCount());
+        assertEquals(graphStore.nodeLabels(), importedStore.nodeLabels());
+        assertEquals(graphStore.nodePropertyKeys(), importedStore.nodePropertyKeys());
+        assertEquals(graphStore.relationshipTypes(), importedStore.relationshipTypes());
+        assertEquals(graphStore.relationshipCount(), importedStore.relationshipCount());
+        assertEquals(graphStore.schema().relationshipSchema(), importedStore.schema().relationshipSchema());
+
+        // the exporter writes internal ids, those are the original ids of the imported nodes
+        var importedNodes = importedStore.nodes();
+        var labelA = NodeLabel.of("A");
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            var importedNodeId = importedNodes.toMappedNodeId(nodeId);
+            assertEquals(graphStore.nodes().nodeLabels(nodeId), importedNodes.nodeLabels(importedNodeId));
+            assertEquals(
+                graphStore.nodePropertyValues(labelA, "prop1").longValue(nodeId),
+                importedStore.nodePropertyValues(labelA, "prop1").longValue(importedNodeId)
+            );
+            assertArrayEquals(
+                graphStore.nodePropertyValues(labelA, "prop3").longArrayValue(nodeId),
+                importedStore.nodePropertyValues(labelA, "prop3").longArrayValue(importedNodeId)
+            );
+        }
+
+        assertGraphEquals(graphStore.getUnion(), importedStore.getUnion());
+        assertGraphEquals(
+            graphStore.getGraph(RelationshipType.of("REL1"), Optional.of("prop2")),
+            importedStore.getGraph(RelationshipType.of("REL1"), Optional.of("prop2"))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void importsUndirectedGraphStore(int concurrency) {
+        var config = ImmutableGraphStoreToFileExporterConfig
+            .builder()
+            .exportName(tempDir.toString())
+            .writeConcurrency(concurrency)
+            .build();
+        GraphStoreToFileExporter.csv(undirectedGraphStore, config, tempDir).run(AllocationTracker.empty());
+
+        var importedStore = new CsvToGraphStoreImporter(tempDir, concurrency, AllocationTracker.empty())
+            .run(undirectedGraphStore.databaseId());
+
+        var relType = RelationshipType.of("REL");
+        assertTrue(importedStore.getGraph(relType).isUndirected());
+        assertEquals(undirectedGraphStore.relationshipCount(), importedStore.relationshipCount());
+        assertGraphEquals(
+            undirectedGraphStore.getGraph(relType, Optional.of("weight")),
+            importedStore.getGraph(relType, Optional.of("weight"))
+        );
+    }
+
+    @Test
+    void restoresRelationshipPropertySchema() {
+        var relType = RelationshipType.of("REL");
+        var sumSchema = RelationshipPropertySchema.of(
+            "sum",
+            ValueType.DOUBLE,
+            DefaultValue.of(1.5),
+            GraphStore.PropertyState.TRANSIENT,
+            Aggregation.SUM
+        );
+        var countSchema = RelationshipPropertySchema.of(
+            "count",
+            ValueType.LONG,
+            DefaultValue.of(42L),
+            GraphStore.PropertyState.PERSISTENT,
+            Aggregation.COUNT
+        );
+        var relationshipSchema = RelationshipSchema.builder()
+            .addProperty(relType, "sum", sumSchema)
+            .addProperty(relType, "count", countSchema)
+            .build();
+
+        CsvRelationshipSchema.write(tempDir, relationshipSchema, Map.of(relType, Orientation.UNDIRECTED));
+        var restoredTypeSchema = CsvRelationshipSchema.read(tempDir).get(relType);
+        var restoredSchemas = restoredTypeSchema.properties();
+
+        assertEquals(Orientation.UNDIRECTED, restoredTypeSchema.orientation());
+        assertEquals(sumSchema, restoredSchemas.get("sum"));
+        assertEquals(countSchema, restoredSchemas.get("count"));
+        assertEquals(sumSchema.defaultValue().isUserDefined(), restoredSchemas.get("sum").defaultValue().isUserDefined());
+    }
+}
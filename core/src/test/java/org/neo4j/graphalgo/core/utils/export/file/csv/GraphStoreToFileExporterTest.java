@@ -112,7 +112,8 @@ class GraphStoreToFileExporterTest extends CsvTest {
             "nodes_A_C_0.csv", "nodes_A_C_header.csv",
             "nodes_B_0.csv", "nodes_B_header.csv",
             "relationships_REL1_0.csv", "relationships_REL1_header.csv",
-            "relationships_REL2_0.csv", "relationships_REL2_header.csv"
+            "relationships_REL2_0.csv", "relationships_REL2_header.csv",
+            CsvRelationshipSchema.RELATIONSHIP_SCHEMA_FILE_NAME
         ));
 
         // Assert nodes
@@ -50,6 +50,21 @@ class HugeAtomicBitSetTest {
         assertFalse(bitSet.get(9));
     }
 
+    @Test
+    void testGetAndPutWord() {
+        var bitSet = HugeAtomicBitSet.create(130, AllocationTracker.empty());
+        assertEquals(3, bitSet.wordCount());
+        bitSet.set(65);
+        assertEquals(2L, bitSet.getWord(1));
+
+        var copy = HugeAtomicBitSet.create(130, AllocationTracker.empty());
+        for (long wordIndex = 0; wordIndex < bitSet.wordCount(); wordIndex++) {
+            copy.putWord(wordIndex, bitSet.getWord(wordIndex));
+        }
+        assertTrue(copy.get(65));
+        assertEquals(1, copy.cardinality());
+    }
+
     @Test
     void getAndSetReturnsTrueIfTheBitWasSet() {
         var bitSet = HugeAtomicBitSet.create(1, AllocationTracker.empty());
@@ -71,6 +86,23 @@ class HugeAtomicBitSetTest {
         assertTrue(bitSet.get(0));
     }
 
+    @Test
+    void nextSetBit() {
+        var bitSet = HugeAtomicBitSet.create(1337, AllocationTracker.empty());
+        assertEquals(-1, bitSet.nextSetBit(0));
+
+        bitSet.set(3);
+        bitSet.set(64);
+        bitSet.set(1336);
+
+        assertEquals(3, bitSet.nextSetBit(0));
+        assertEquals(3, bitSet.nextSetBit(3));
+        assertEquals(64, bitSet.nextSetBit(4));
+        assertEquals(64, bitSet.nextSetBit(64));
+        assertEquals(1336, bitSet.nextSetBit(65));
+        assertEquals(-1, bitSet.nextSetBit(1337));
+    }
+
     @ParameterizedTest
     @CsvSource({"0,1336", "0,63", "70,140"})
     void setRange(int startIndex, int endIndex) {
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HugeFloatMatrixTest {
+
+    @Test
+    void shouldSetAndGetValues() {
+        var matrix = HugeFloatMatrix.newMatrix(3, 4, AllocationTracker.empty());
+        matrix.set(1, 2, 42.0f);
+        assertEquals(42.0f, matrix.get(1, 2));
+        assertEquals(0.0f, matrix.get(1, 1));
+        assertEquals(0.0f, matrix.get(2, 2));
+        assertArrayEquals(new float[]{0.0f, 0.0f, 42.0f, 0.0f}, matrix.copyRow(1));
+    }
+
+    @Test
+    void shouldSetAndCopyRows() {
+        var matrix = HugeFloatMatrix.newMatrix(2, 3, AllocationTracker.empty());
+        matrix.setRow(1, new float[]{1.0f, 2.0f, 3.0f});
+
+        var target = new float[3];
+        matrix.copyRow(1, target);
+        assertArrayEquals(new float[]{1.0f, 2.0f, 3.0f}, target);
+        assertArrayEquals(new float[]{0.0f, 0.0f, 0.0f}, matrix.copyRow(0));
+
+        matrix.fillRow(1, 0.5f);
+        assertArrayEquals(new float[]{0.5f, 0.5f, 0.5f}, matrix.copyRow(1));
+    }
+
+    @Test
+    void shouldAddRows() {
+        var matrix = HugeFloatMatrix.newMatrix(1, 3, AllocationTracker.empty());
+        var other = HugeFloatMatrix.newMatrix(2, 3, AllocationTracker.empty());
+        other.setRow(1, new float[]{1.0f, 2.0f, 3.0f});
+
+        matrix.addRow(0, other, 1);
+        assertArrayEquals(new float[]{1.0f, 2.0f, 3.0f}, matrix.copyRow(0));
+
+        matrix.addRowWeighted(0, other, 1, 2.0);
+        assertArrayEquals(new float[]{3.0f, 6.0f, 9.0f}, matrix.copyRow(0));
+
+        matrix.scaleRow(0, 1.0 / 3.0);
+        assertArrayEquals(new float[]{1.0f, 2.0f, 3.0f}, matrix.copyRow(0), 1e-6f);
+    }
+
+    @Test
+    void shouldNormalizeRows() {
+        var matrix = HugeFloatMatrix.newMatrix(2, 2, AllocationTracker.empty());
+        matrix.setRow(0, new float[]{3.0f, 4.0f});
+
+        matrix.l2NormalizeRow(0);
+        matrix.l2NormalizeRow(1);
+
+        assertArrayEquals(new float[]{0.6f, 0.8f}, matrix.copyRow(0), 1e-6f);
+        assertArrayEquals(new float[]{0.0f, 0.0f}, matrix.copyRow(1));
+    }
+
+    @Test
+    void shouldNotSplitRowsAcrossPages() {
+        int columns = 100;
+        long rows = 1000;
+        var matrix = HugeFloatMatrix.newMatrix(rows, columns, AllocationTracker.empty());
+        for (long row = 0; row < rows; row++) {
+            assertEquals(0, matrix.offset(row) % columns);
+            assertTrue(matrix.offset(row) + columns <= matrix.page(row).length);
+            matrix.set(row, columns - 1, row);
+        }
+        for (long row = 0; row < rows; row++) {
+            assertEquals((float) row, matrix.get(row, columns - 1));
+        }
+        // 128 rows with 100 columns fit into a page of 16384 entries
+        assertSame(matrix.page(0), matrix.page(127));
+        assertNotSame(matrix.page(127), matrix.page(128));
+    }
+
+    @Test
+    void shouldStoreRowsLargerThanAPage() {
+        int columns = 20_000;
+        var matrix = HugeFloatMatrix.newMatrix(3, columns, AllocationTracker.empty());
+        matrix.set(2, columns - 1, 1.0f);
+        assertEquals(columns, matrix.page(2).length);
+        assertEquals(0, matrix.offset(2));
+        assertEquals(1.0f, matrix.get(2, columns - 1));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0,8", "7,128", "100,128", "1000,100", "3,20000"})
+    void shouldTrackAndEstimateMemory(long rows, int columns) {
+        var tracker = AllocationTracker.create();
+        var matrix = HugeFloatMatrix.newMatrix(rows, columns, tracker);
+
+        assertEquals(matrix.sizeOf(), tracker.trackedBytes());
+        assertEquals(
+            MemoryUsage.sizeOfInstance(HugeFloatMatrix.class) + matrix.sizeOf(),
+            HugeFloatMatrix.memoryEstimation(rows, columns)
+        );
+        assertEquals(matrix.sizeOf(), matrix.release());
+        assertEquals(0L, matrix.release());
+    }
+
+    @Test
+    void shouldEstimateMemoryPerNode() {
+        var estimation = HugeFloatMatrix.memoryEstimation(128);
+        var dimensions = ImmutableGraphDimensions.builder().nodeCount(100).build();
+        var memoryUsage = estimation.estimate(dimensions, 1).memoryUsage();
+        assertEquals(HugeFloatMatrix.memoryEstimation(100, 128), memoryUsage.max);
+        // instance, array of a single page and a page of 100 rows
+        assertEquals(40 + 24 + 16 + 100 * 128 * Float.BYTES, memoryUsage.max);
+    }
+
+    @Test
+    void shouldRejectInvalidColumns() {
+        assertThrows(IllegalArgumentException.class, () -> HugeFloatMatrix.newMatrix(1, 0, AllocationTracker.empty()));
+    }
+}
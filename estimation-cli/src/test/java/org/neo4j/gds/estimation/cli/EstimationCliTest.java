@@ -39,6 +39,7 @@ import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationMutateProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationWriteProc;
 import org.neo4j.graphalgo.beta.paths.astar.config.ShortestPathAStarBaseConfig;
+import org.neo4j.graphalgo.beta.paths.singlesource.AllShortestPathsDeltaStreamProc;
 import org.neo4j.graphalgo.beta.paths.singlesource.AllShortestPathsDijkstraMutateProc;
 import org.neo4j.graphalgo.beta.paths.singlesource.AllShortestPathsDijkstraStreamProc;
 import org.neo4j.graphalgo.beta.paths.singlesource.AllShortestPathsDijkstraWriteProc;
@@ -137,6 +138,7 @@ final class EstimationCliTest {
         "}";
 
     private static final List<String> PROCEDURES = List.of(
+        "gds.beta.allShortestPaths.delta.stream.estimate",
         "gds.beta.allShortestPaths.dijkstra.mutate.estimate",
         "gds.beta.allShortestPaths.dijkstra.stream.estimate",
         "gds.beta.allShortestPaths.dijkstra.write.estimate",
@@ -472,6 +474,7 @@ final class EstimationCliTest {
 
     private static Stream<MemoryEstimateResult> allEstimations() {
         return Stream.of(
+            runEstimation(new AllShortestPathsDeltaStreamProc()::streamEstimate, "sourceNode", 0L),
             runEstimation(new AllShortestPathsDijkstraStreamProc()::streamEstimate, "sourceNode", 0L),
             runEstimation(new AllShortestPathsDijkstraWriteProc()::writeEstimate,
                 "sourceNode", 0L,
@@ -29,11 +29,13 @@ import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.progress.ProgressEventTracker;
 import org.neo4j.logging.Log;
 
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.util.Elements;
+import java.nio.file.Path;
 import java.util.Map;
 
 class AlgorithmGenerator extends PregelGenerator {
@@ -88,6 +90,8 @@ class AlgorithmGenerator extends PregelGenerator {
             .addParameter(pregelSpec.configTypeName(), "configuration")
             .addParameter(AllocationTracker.class, "tracker")
             .addParameter(Log.class, "log")
+            .addParameter(ProgressEventTracker.class, "eventTracker")
+            .addParameter(Path.class, "checkpointRoot")
             .addStatement(
                 CodeBlock.builder().addNamed(
                     "this.pregelJob = $pregel:T.create(" +
@@ -95,7 +99,9 @@ class AlgorithmGenerator extends PregelGenerator {
                     "configuration, " +
                     "new $computation:T(), " +
                     "$pools:T.DEFAULT," +
-                    "tracker" +
+                    "tracker, " +
+                    "eventTracker, " +
+                    "checkpointRoot" +
                     ")",
                     Map.of(
                         "pregel", Pregel.class,
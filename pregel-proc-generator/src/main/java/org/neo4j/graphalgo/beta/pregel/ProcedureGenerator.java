@@ -98,6 +98,7 @@ abstract class ProcedureGenerator extends PregelGenerator {
         typeSpecBuilder.addMethod(procEstimateMethod());
         typeSpecBuilder.addMethod(procResultMethod());
         typeSpecBuilder.addMethod(newConfigMethod());
+        typeSpecBuilder.addMethod(validateConfigsMethod());
         typeSpecBuilder.addMethod(algorithmFactoryMethod(algorithmClassName));
         return typeSpecBuilder.build();
     }
@@ -183,6 +184,16 @@ abstract class ProcedureGenerator extends PregelGenerator {
             .build();
     }
 
+    private MethodSpec validateConfigsMethod() {
+        return MethodSpec.methodBuilder("validateConfigs")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PROTECTED)
+            .addParameter(GraphCreateConfig.class, "graphCreateConfig")
+            .addParameter(pregelSpec.configTypeName(), "config")
+            .addStatement("$T.validateMessageSchema(config, new $T())", Pregel.class, computationClassName(pregelSpec, ""))
+            .build();
+    }
+
     private MethodSpec algorithmFactoryMethod(ClassName algorithmClassName) {
         TypeSpec anonymousFactoryType = TypeSpec.anonymousClassBuilder("")
             .addSuperinterface(ParameterizedTypeName.get(
@@ -199,7 +210,7 @@ abstract class ProcedureGenerator extends PregelGenerator {
                 .addParameter(Log.class, "log")
                 .addParameter(ProgressEventTracker.class, "eventTracker")
                 .returns(algorithmClassName)
-                .addStatement("return new $T(graph, configuration, tracker, log)", algorithmClassName)
+                .addStatement("return new $T(graph, configuration, tracker, log, eventTracker, checkpointRoot())", algorithmClassName)
                 .build()
             )
             .addMethod(MethodSpec.methodBuilder("memoryEstimation")
@@ -208,7 +219,7 @@ abstract class ProcedureGenerator extends PregelGenerator {
                 .returns(MemoryEstimation.class)
                 .addParameter(pregelSpec.configTypeName(), "configuration")
                 .addStatement("var computation = new $T()", computationClassName(pregelSpec, ""))
-                .addStatement("return $T.memoryEstimation(computation.schema(configuration), computation.reducer().isPresent(), configuration.isAsynchronous())", Pregel.class)
+                .addStatement("return $T.memoryEstimation(computation.schema(configuration), computation.messageSchema(configuration), computation.reducer().isPresent(), configuration.isAsynchronous(), configuration.isFrontierBased())", Pregel.class)
                 .build()
             )
             .build();
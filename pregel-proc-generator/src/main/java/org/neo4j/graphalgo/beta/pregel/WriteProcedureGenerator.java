@@ -78,7 +78,11 @@ class WriteProcedureGenerator extends ProcedureGenerator {
             ), "computeResult")
             .addStatement("var ranIterations = computeResult.result().ranIterations()")
             .addStatement("var didConverge = computeResult.result().didConverge()")
-            .addStatement("return new $T().withRanIterations(ranIterations).didConverge(didConverge)", procResultBuilderClass())
+            .addStatement("var builder = new $T().withRanIterations(ranIterations).didConverge(didConverge)", procResultBuilderClass())
+            .beginControlFlow("if (computeResult.config().includeSuperstepMetrics())")
+            .addStatement("builder.withSuperstepMetrics(computeResult.result().superstepMetrics())")
+            .endControlFlow()
+            .addStatement("return builder")
             .build();
     }
 }
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.beta.pregel.cc;
 
+import java.nio.file.Path;
 import javax.annotation.processing.Generated;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
@@ -26,6 +27,7 @@ import org.neo4j.graphalgo.beta.pregel.Pregel;
 import org.neo4j.graphalgo.beta.pregel.PregelConfig;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.progress.ProgressEventTracker;
 import org.neo4j.logging.Log;
 
 @Generated("org.neo4j.graphalgo.beta.pregel.PregelProcessor")
@@ -33,8 +35,8 @@ public final class ComputationAlgorithm extends Algorithm<ComputationAlgorithm,
     private final Pregel<PregelConfig> pregelJob;
 
     ComputationAlgorithm(Graph graph, PregelConfig configuration, AllocationTracker tracker,
-            Log log) {
-        this.pregelJob = Pregel.create(graph, configuration, new Computation(), Pools.DEFAULT,tracker);
+            Log log, ProgressEventTracker eventTracker, Path checkpointRoot) {
+        this.pregelJob = Pregel.create(graph, configuration, new Computation(), Pools.DEFAULT,tracker, eventTracker, checkpointRoot);
     }
 
     @Override
@@ -77,19 +77,24 @@ public final class ComputationStreamProc extends PregelStreamProc<ComputationAlg
         return PregelConfig.of(username, graphName, maybeImplicitCreate, config);
     }
 
+    @Override
+    protected void validateConfigs(GraphCreateConfig graphCreateConfig, PregelConfig config) {
+        Pregel.validateMessageSchema(config, new Computation());
+    }
+
     @Override
     protected AlgorithmFactory<ComputationAlgorithm, PregelConfig> algorithmFactory() {
         return new AlgorithmFactory<ComputationAlgorithm, PregelConfig>() {
             @Override
             public ComputationAlgorithm build(Graph graph, PregelConfig configuration,
                     AllocationTracker tracker, Log log, ProgressEventTracker eventTracker) {
-                return new ComputationAlgorithm(graph, configuration, tracker, log);
+                return new ComputationAlgorithm(graph, configuration, tracker, log, eventTracker, checkpointRoot());
             }
 
             @Override
             public MemoryEstimation memoryEstimation(PregelConfig configuration) {
                 var computation = new Computation();
-                return Pregel.memoryEstimation(computation.schema(configuration), computation.reducer().isPresent(), configuration.isAsynchronous());
+                return Pregel.memoryEstimation(computation.schema(configuration), computation.messageSchema(configuration), computation.reducer().isPresent(), configuration.isAsynchronous(), configuration.isFrontierBased());
             }
         };
     }
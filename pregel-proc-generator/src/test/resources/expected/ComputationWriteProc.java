@@ -71,7 +71,11 @@ public final class ComputationWriteProc extends PregelWriteProc<ComputationAlgor
             AlgoBaseProc.ComputationResult<ComputationAlgorithm, Pregel.PregelResult, PregelConfig> computeResult) {
         var ranIterations = computeResult.result().ranIterations();
         var didConverge = computeResult.result().didConverge();
-        return new PregelWriteResult.Builder().withRanIterations(ranIterations).didConverge(didConverge);
+        var builder = new PregelWriteResult.Builder().withRanIterations(ranIterations).didConverge(didConverge);
+        if (computeResult.config().includeSuperstepMetrics()) {
+            builder.withSuperstepMetrics(computeResult.result().superstepMetrics());
+        }
+        return builder;
     }
 
     @Override
@@ -80,19 +84,24 @@ public final class ComputationWriteProc extends PregelWriteProc<ComputationAlgor
         return PregelConfig.of(username, graphName, maybeImplicitCreate, config);
     }
 
+    @Override
+    protected void validateConfigs(GraphCreateConfig graphCreateConfig, PregelConfig config) {
+        Pregel.validateMessageSchema(config, new Computation());
+    }
+
     @Override
     protected AlgorithmFactory<ComputationAlgorithm, PregelConfig> algorithmFactory() {
         return new AlgorithmFactory<ComputationAlgorithm, PregelConfig>() {
             @Override
             public ComputationAlgorithm build(Graph graph, PregelConfig configuration,
                     AllocationTracker tracker, Log log, ProgressEventTracker eventTracker) {
-                return new ComputationAlgorithm(graph, configuration, tracker, log);
+                return new ComputationAlgorithm(graph, configuration, tracker, log, eventTracker, checkpointRoot());
             }
 
             @Override
             public MemoryEstimation memoryEstimation(PregelConfig configuration) {
                 var computation = new Computation();
-                return Pregel.memoryEstimation(computation.schema(configuration), computation.reducer().isPresent(), configuration.isAsynchronous());
+                return Pregel.memoryEstimation(computation.schema(configuration), computation.messageSchema(configuration), computation.reducer().isPresent(), configuration.isAsynchronous(), configuration.isFrontierBased());
             }
         };
     }
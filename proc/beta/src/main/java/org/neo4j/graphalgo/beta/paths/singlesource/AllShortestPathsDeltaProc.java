@@ -17,23 +17,10 @@
  * You should have received a copy of the GNU General Public License
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-package org.neo4j.graphalgo.core.loading;
-
-import org.neo4j.graphdb.Result;
-
-class ResultCountingVisitor implements Result.ResultVisitor<RuntimeException> {
-    private long rows = 0;
-
-
-    @Override
-    public boolean visit(Result.ResultRow row) throws RuntimeException {
-        rows++;
-        return true;
-    }
-
-    public long rows() {
-        return rows;
-    }
+package org.neo4j.graphalgo.beta.paths.singlesource;
 
+final class AllShortestPathsDeltaProc {
+    static final String DELTA_DESCRIPTION = "The Delta Stepping shortest path algorithm computes the shortest (weighted) path between one node and any other node in the graph. The computation is run multi-threaded.";
 
+    private AllShortestPathsDeltaProc() {}
 }
@@ -67,8 +67,8 @@ public abstract class FastRPExtendedProcTest<CONFIG extends FastRPExtendedBaseCo
     public void assertResultEquals(
         FastRP.FastRPResult result1, FastRP.FastRPResult result2
     ) {
-        // TODO: This just tests that the dimensions are the same for node 0, it's not a very good equality test
-        assertEquals(result1.embeddings().get(0).length, result1.embeddings().get(0).length);
+        // TODO: This just tests that the dimensions are the same, it's not a very good equality test
+        assertEquals(result1.embeddings().columns(), result1.embeddings().columns());
     }
 
     @Override
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.singlesource;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.extension.Neo4jGraph;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AllShortestPathsDeltaStreamProcTest extends BaseProcTest {
+
+    @Neo4jGraph
+    private static final String DB_CYPHER = "CREATE" +
+           "  (:Offset)" +
+           ", (a:Label)" +
+           ", (b:Label)" +
+           ", (c:Label)" +
+           ", (d:Label)" +
+           ", (e:Label)" +
+           ", (f:Label)" +
+           ", (a)-[:TYPE {cost: 4}]->(b)" +
+           ", (a)-[:TYPE {cost: 2}]->(c)" +
+           ", (b)-[:TYPE {cost: 5}]->(c)" +
+           ", (b)-[:TYPE {cost: 10}]->(d)" +
+           ", (c)-[:TYPE {cost: 3}]->(e)" +
+           ", (d)-[:TYPE {cost: 11}]->(f)" +
+           ", (e)-[:TYPE {cost: 4}]->(d)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(AllShortestPathsDeltaStreamProc.class, GraphCreateProc.class);
+
+        runQuery(GdsCypher.call()
+            .withNodeLabel("Label")
+            .withAnyRelationshipType()
+            .withRelationshipProperty("cost")
+            .graphCreate("graph")
+            .yields());
+    }
+
+    @AfterEach
+    void teardown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void returnCorrectResult() {
+        var idA = idFunction.of("a");
+        var idB = idFunction.of("b");
+        var idC = idFunction.of("c");
+        var idD = idFunction.of("d");
+        var idE = idFunction.of("e");
+        var idF = idFunction.of("f");
+
+        var query = GdsCypher.call().explicitCreation("graph")
+            .algo("gds.beta.allShortestPaths.delta")
+            .streamMode()
+            .addParameter("sourceNode", idA)
+            .addParameter("relationshipWeightProperty", "cost")
+            .addParameter("delta", 3.0)
+            .addParameter("concurrency", 2)
+            .yields("index", "sourceNode", "targetNode", "totalCost", "nodeIds", "costs");
+
+        // paths are emitted in order of the target node id
+        //@formatter:off
+        var expected = List.of(
+            Map.of("index", 0L, "sourceNode", idA, "targetNode", idA, "totalCost", 0.0D, "nodeIds", asList(new long[]{idA}), "costs", asList(new double[]{0.0})),
+            Map.of("index", 1L, "sourceNode", idA, "targetNode", idB, "totalCost", 4.0D, "nodeIds", asList(new long[]{idA, idB}), "costs", asList(new double[]{0.0, 4.0})),
+            Map.of("index", 2L, "sourceNode", idA, "targetNode", idC, "totalCost", 2.0D, "nodeIds", asList(new long[]{idA, idC}), "costs", asList(new double[]{0.0, 2.0})),
+            Map.of("index", 3L, "sourceNode", idA, "targetNode", idD, "totalCost", 9.0D, "nodeIds", asList(new long[]{idA, idC, idE, idD}), "costs", asList(new double[]{0.0, 2.0, 5.0, 9.0})),
+            Map.of("index", 4L, "sourceNode", idA, "targetNode", idE, "totalCost", 5.0D, "nodeIds", asList(new long[]{idA, idC, idE}), "costs", asList(new double[]{0.0, 2.0, 5.0})),
+            Map.of("index", 5L, "sourceNode", idA, "targetNode", idF, "totalCost", 20.0D, "nodeIds", asList(new long[]{idA, idC, idE, idD, idF}), "costs", asList(new double[]{0.0, 2.0, 5.0, 9.0, 20.0}))
+        );
+        //@formatter:on
+
+        assertCypherResult(query, expected);
+    }
+
+    @Test
+    void estimationGrowsWithConcurrency() {
+        assertTrue(estimatedBytesMax(4) > estimatedBytesMax(1));
+    }
+
+    private long estimatedBytesMax(int concurrency) {
+        var query = GdsCypher.call().explicitCreation("graph")
+            .algo("gds.beta.allShortestPaths.delta")
+            .streamEstimation()
+            .addParameter("sourceNode", idFunction.of("a"))
+            .addParameter("concurrency", concurrency)
+            .yields("bytesMax");
+
+        var bytesMax = new MutableLong();
+        runQueryWithRowConsumer(query, row -> bytesMax.setValue(row.getNumber("bytesMax").longValue()));
+        return bytesMax.longValue();
+    }
+}
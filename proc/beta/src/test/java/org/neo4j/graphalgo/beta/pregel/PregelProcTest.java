@@ -46,11 +46,13 @@ import org.neo4j.procedure.Mode;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
 import static org.neo4j.graphalgo.TestSupport.fromGdl;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -151,6 +153,50 @@ public class PregelProcTest extends BaseProcTest {
         );
     }
 
+    @Test
+    void superstepMetrics() {
+        var query = GdsCypher.call()
+            .withNodeLabel("RealNode")
+            .withAnyRelationshipType()
+            .algo("example", "pregel", "test")
+            .writeMode()
+            .addParameter("maxIterations", 2)
+            .addParameter("includeSuperstepMetrics", true)
+            .yields("ranIterations", "superstepMetrics");
+
+        runQueryWithRowConsumer(query, row -> {
+            @SuppressWarnings("unchecked")
+            var superstepMetrics = (List<Map<String, Object>>) row.get("superstepMetrics");
+            assertThat(superstepMetrics).hasSize(row.getNumber("ranIterations").intValue());
+
+            var firstSuperstep = superstepMetrics.get(0);
+            assertThat(firstSuperstep)
+                .containsEntry("superstep", 0L)
+                .containsEntry("activeNodeCount", 1L)
+                .containsEntry("sentMessageCount", 0L)
+                .containsEntry("receivedMessageCount", 0L)
+                .containsKeys(
+                    "minComputeStepMillis",
+                    "maxComputeStepMillis",
+                    "masterComputeMillis",
+                    "messengerMemoryUsage"
+                );
+        });
+    }
+
+    @Test
+    void omitSuperstepMetricsByDefault() {
+        var query = GdsCypher.call()
+            .withNodeLabel("RealNode")
+            .withAnyRelationshipType()
+            .algo("example", "pregel", "test")
+            .writeMode()
+            .addParameter("maxIterations", 2)
+            .yields("superstepMetrics");
+
+        assertCypherResult(query, List.of(Collections.singletonMap("superstepMetrics", null)));
+    }
+
     public static class MutateProc extends PregelMutateProc<CompositeTestAlgorithm, PregelConfig> {
 
         @Procedure(
@@ -169,7 +215,11 @@ public class PregelProcTest extends BaseProcTest {
         protected AbstractResultBuilder<PregelMutateResult> resultBuilder(ComputationResult<CompositeTestAlgorithm, Pregel.PregelResult, PregelConfig> computeResult) {
             var ranIterations = computeResult.result().ranIterations();
             var didConverge = computeResult.result().didConverge();
-            return new PregelMutateResult.Builder().withRanIterations(ranIterations).didConverge(didConverge);
+            var builder = new PregelMutateResult.Builder().withRanIterations(ranIterations).didConverge(didConverge);
+            if (computeResult.config().includeSuperstepMetrics()) {
+                builder.withSuperstepMetrics(computeResult.result().superstepMetrics());
+            }
+            return builder;
         }
 
         @Override
@@ -220,7 +270,11 @@ public class PregelProcTest extends BaseProcTest {
         protected AbstractResultBuilder<PregelWriteResult> resultBuilder(ComputationResult<CompositeTestAlgorithm, Pregel.PregelResult, PregelConfig> computeResult) {
             var ranIterations = computeResult.result().ranIterations();
             var didConverge = computeResult.result().didConverge();
-            return new PregelWriteResult.Builder().withRanIterations(ranIterations).didConverge(didConverge);
+            var builder = new PregelWriteResult.Builder().withRanIterations(ranIterations).didConverge(didConverge);
+            if (computeResult.config().includeSuperstepMetrics()) {
+                builder.withSuperstepMetrics(computeResult.result().superstepMetrics());
+            }
+            return builder;
         }
 
         @Override
@@ -19,12 +19,19 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.result.AbstractResultBuilder;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
 public abstract class AbstractPregelResultBuilder<RESULT> extends AbstractResultBuilder<RESULT> {
 
     protected long ranIterations;
     protected boolean didConverge;
+    protected @Nullable List<SuperstepMetrics> superstepMetrics;
 
     public AbstractPregelResultBuilder<RESULT> withRanIterations(long ranIterations) {
         this.ranIterations = ranIterations;
@@ -36,4 +43,31 @@ public abstract class AbstractPregelResultBuilder<RESULT> extends AbstractResult
         return this;
     }
 
+    public AbstractPregelResultBuilder<RESULT> withSuperstepMetrics(List<SuperstepMetrics> superstepMetrics) {
+        this.superstepMetrics = superstepMetrics;
+        return this;
+    }
+
+    /**
+     * The superstep metrics as procedure result values,
+     * or {@code null} if they have not been requested.
+     */
+    protected @Nullable List<Map<String, Object>> superstepMetricsResult() {
+        if (superstepMetrics == null) {
+            return null;
+        }
+        return superstepMetrics.stream()
+            .map(metrics -> Map.<String, Object>of(
+                "superstep", (long) metrics.superstep(),
+                "activeNodeCount", metrics.activeNodeCount(),
+                "sentMessageCount", metrics.sentMessageCount(),
+                "receivedMessageCount", metrics.receivedMessageCount(),
+                "minComputeStepMillis", TimeUnit.NANOSECONDS.toMillis(metrics.minComputeStepNanos()),
+                "maxComputeStepMillis", TimeUnit.NANOSECONDS.toMillis(metrics.maxComputeStepNanos()),
+                "masterComputeMillis", TimeUnit.NANOSECONDS.toMillis(metrics.masterComputeNanos()),
+                "messengerMemoryUsage", metrics.messengerMemoryUsage()
+            ))
+            .collect(Collectors.toList());
+    }
+
 }
@@ -19,14 +19,20 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.configuration.Config;
 import org.neo4j.graphalgo.AlgoBaseProc;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
+import org.neo4j.graphalgo.compat.GraphDatabaseApiProxy;
+import org.neo4j.graphalgo.compat.PregelCheckpointSettings;
 import org.neo4j.graphalgo.core.write.ImmutableNodeProperty;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -75,6 +81,11 @@ final class PregelBaseProc {
             }).collect(Collectors.toList());
     }
 
+    static @Nullable Path checkpointRoot(GraphDatabaseAPI api) {
+        var neo4jConfig = GraphDatabaseApiProxy.resolveDependency(api, Config.class);
+        return neo4jConfig.get(PregelCheckpointSettings.checkpoint_location_setting);
+    }
+
     private PregelBaseProc() {}
 
 }
@@ -19,10 +19,12 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.MutatePropertyProc;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
 
+import java.nio.file.Path;
 import java.util.List;
 
 public abstract class PregelMutateProc<
@@ -34,4 +36,8 @@ public abstract class PregelMutateProc<
     protected List<NodePropertyExporter.NodeProperty> nodePropertyList(ComputationResult<ALGO, Pregel.PregelResult, CONFIG> computationResult) {
         return PregelBaseProc.nodeProperties(computationResult, computationResult.config().mutateProperty());
     }
+
+    protected @Nullable Path checkpointRoot() {
+        return PregelBaseProc.checkpointRoot(api);
+    }
 }
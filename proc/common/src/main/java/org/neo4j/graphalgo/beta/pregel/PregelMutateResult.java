@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.beta.pregel;
 
 import org.neo4j.graphalgo.results.StandardMutateResult;
 
+import java.util.List;
 import java.util.Map;
 
 @SuppressWarnings("unused")
@@ -29,6 +30,7 @@ public final class PregelMutateResult extends StandardMutateResult {
     public final long nodePropertiesWritten;
     public final long ranIterations;
     public final boolean didConverge;
+    public final List<Map<String, Object>> superstepMetrics;
 
     private PregelMutateResult(
         long nodePropertiesWritten,
@@ -37,12 +39,14 @@ public final class PregelMutateResult extends StandardMutateResult {
         long mutateMillis,
         long ranIterations,
         boolean didConverge,
+        List<Map<String, Object>> superstepMetrics,
         Map<String, Object> configuration
     ) {
         super(createMillis, computeMillis, 0L, mutateMillis, configuration);
         this.nodePropertiesWritten = nodePropertiesWritten;
         this.ranIterations = ranIterations;
         this.didConverge = didConverge;
+        this.superstepMetrics = superstepMetrics;
     }
 
     public static class Builder extends AbstractPregelResultBuilder<PregelMutateResult> {
@@ -56,6 +60,7 @@ public final class PregelMutateResult extends StandardMutateResult {
                 mutateMillis,
                 ranIterations,
                 didConverge,
+                superstepMetricsResult(),
                 config.toMap()
             );
         }
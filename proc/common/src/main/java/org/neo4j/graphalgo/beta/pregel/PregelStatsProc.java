@@ -19,12 +19,18 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.StatsProc;
 
+import java.nio.file.Path;
+
 public abstract class PregelStatsProc<
     ALGO extends Algorithm<ALGO, Pregel.PregelResult>,
     CONFIG extends PregelConfig>
     extends StatsProc<ALGO, Pregel.PregelResult, PregelStatsResult, CONFIG> {
 
+    protected @Nullable Path checkpointRoot() {
+        return PregelBaseProc.checkpointRoot(api);
+    }
 }
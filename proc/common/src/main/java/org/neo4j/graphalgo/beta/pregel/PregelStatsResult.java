@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.beta.pregel;
 
 import org.neo4j.graphalgo.results.StandardStatsResult;
 
+import java.util.List;
 import java.util.Map;
 
 @SuppressWarnings("unused")
@@ -28,24 +29,34 @@ public final class PregelStatsResult extends StandardStatsResult {
 
     public final long ranIterations;
     public final boolean didConverge;
+    public final List<Map<String, Object>> superstepMetrics;
 
     private PregelStatsResult(
         long createMillis,
         long computeMillis,
         long ranIterations,
         boolean didConverge,
+        List<Map<String, Object>> superstepMetrics,
         Map<String, Object> configuration
     ) {
         super(createMillis, computeMillis, 0L, configuration);
         this.ranIterations = ranIterations;
         this.didConverge = didConverge;
+        this.superstepMetrics = superstepMetrics;
     }
 
     public static class Builder extends AbstractPregelResultBuilder<PregelStatsResult> {
 
         @Override
         public PregelStatsResult build() {
-            return new PregelStatsResult(createMillis, computeMillis, ranIterations, didConverge, config.toMap());
+            return new PregelStatsResult(
+                createMillis,
+                computeMillis,
+                ranIterations,
+                didConverge,
+                superstepMetricsResult(),
+                config.toMap()
+            );
         }
     }
 }
@@ -19,11 +19,13 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.AlgoBaseProc;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.StreamProc;
 import org.neo4j.graphalgo.api.IdMapping;
 
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
@@ -67,4 +69,8 @@ public abstract class PregelStreamProc<
         });
 
     }
+
+    protected @Nullable Path checkpointRoot() {
+        return PregelBaseProc.checkpointRoot(api);
+    }
 }
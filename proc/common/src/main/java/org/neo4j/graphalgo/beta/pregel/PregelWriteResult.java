@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.beta.pregel;
 
 import org.neo4j.graphalgo.results.StandardWriteResult;
 
+import java.util.List;
 import java.util.Map;
 
 @SuppressWarnings("unused")
@@ -29,6 +30,7 @@ public final class PregelWriteResult extends StandardWriteResult {
     public final long nodePropertiesWritten;
     public final long ranIterations;
     public final boolean didConverge;
+    public final List<Map<String, Object>> superstepMetrics;
 
     private PregelWriteResult(
         long nodePropertiesWritten,
@@ -37,12 +39,14 @@ public final class PregelWriteResult extends StandardWriteResult {
         long writeMillis,
         long ranIterations,
         boolean didConverge,
+        List<Map<String, Object>> superstepMetrics,
         Map<String, Object> configuration
     ) {
         super(createMillis, computeMillis, 0L, writeMillis, configuration);
         this.nodePropertiesWritten = nodePropertiesWritten;
         this.ranIterations = ranIterations;
         this.didConverge = didConverge;
+        this.superstepMetrics = superstepMetrics;
     }
 
     public static class Builder extends AbstractPregelResultBuilder<PregelWriteResult> {
@@ -56,6 +60,7 @@ public final class PregelWriteResult extends StandardWriteResult {
                 writeMillis,
                 ranIterations,
                 didConverge,
+                superstepMetricsResult(),
                 config.toMap()
             );
         }
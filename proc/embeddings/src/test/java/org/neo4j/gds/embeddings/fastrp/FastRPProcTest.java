@@ -83,8 +83,8 @@ public abstract class FastRPProcTest<CONFIG extends FastRPBaseConfig> extends Ba
     public void assertResultEquals(
         FastRP.FastRPResult result1, FastRP.FastRPResult result2
     ) {
-        // TODO: This just tests that the dimensions are the same for node 0, it's not a very good equality test
-        assertEquals(result1.embeddings().get(0).length, result1.embeddings().get(0).length);
+        // TODO: This just tests that the dimensions are the same, it's not a very good equality test
+        assertEquals(result1.embeddings().columns(), result1.embeddings().columns());
     }
 
     private static Stream<Arguments> weights() {
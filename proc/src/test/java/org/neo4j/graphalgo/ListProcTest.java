@@ -41,6 +41,7 @@ import org.neo4j.graphalgo.beta.k1coloring.K1ColoringWriteProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationMutateProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationWriteProc;
+import org.neo4j.graphalgo.beta.paths.singlesource.AllShortestPathsDeltaStreamProc;
 import org.neo4j.graphalgo.beta.paths.singlesource.AllShortestPathsDijkstraStreamProc;
 import org.neo4j.graphalgo.beta.paths.sourcetarget.ShortestPathDijkstraStreamProc;
 import org.neo4j.graphalgo.beta.paths.sourcetarget.ShortestPathYensStreamProc;
@@ -113,6 +114,8 @@ class ListProcTest extends BaseProcTest {
         "gds.alpha.model.load",
         "gds.alpha.model.store",
 
+        "gds.beta.allShortestPaths.delta.stream",
+        "gds.beta.allShortestPaths.delta.stream.estimate",
         "gds.beta.allShortestPaths.dijkstra.stream",
         "gds.beta.allShortestPaths.dijkstra.stream.estimate",
 
@@ -294,6 +297,7 @@ class ListProcTest extends BaseProcTest {
     @BeforeEach
     void setUp() throws Exception {
         registerProcedures(
+            AllShortestPathsDeltaStreamProc.class,
             AllShortestPathsDijkstraStreamProc.class,
             BetweennessCentralityStreamProc.class,
             BetweennessCentralityWriteProc.class,
@@ -134,7 +134,8 @@ public final class GraphCreateConfigBuilders {
         Optional<String> relationshipQuery,
         Optional<Integer> concurrency,
         Optional<Boolean> validateRelationships,
-        Optional<Map<String, Object>> parameters
+        Optional<Map<String, Object>> parameters,
+        Optional<Integer> relationshipQueryPartitions
     ) {
 
         return ImmutableGraphCreateFromCypherConfig.builder()
@@ -145,6 +146,7 @@ public final class GraphCreateConfigBuilders {
             .readConcurrency(concurrency.orElse(ConcurrencyConfig.DEFAULT_CONCURRENCY))
             .validateRelationships(validateRelationships.orElse(true))
             .parameters(parameters.orElse(Collections.emptyMap()))
+            .relationshipQueryPartitions(relationshipQueryPartitions.orElse(1))
             .build();
     }
 }
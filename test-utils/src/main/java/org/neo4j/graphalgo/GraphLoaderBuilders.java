@@ -128,7 +128,8 @@ public final class GraphLoaderBuilders {
         Optional<String> relationshipQuery,
         Optional<Integer> concurrency,
         Optional<Boolean> validateRelationships,
-        Optional<Map<String, Object>> parameters
+        Optional<Map<String, Object>> parameters,
+        Optional<Integer> relationshipQueryPartitions
     ) {
         GraphCreateFromCypherConfig graphCreateConfig = GraphCreateConfigBuilders.cypherConfig(
             userName.or(() -> securityContext.map(s -> s.subject().username())),
@@ -137,7 +138,8 @@ public final class GraphLoaderBuilders {
             relationshipQuery,
             concurrency,
             validateRelationships,
-            parameters
+            parameters,
+            relationshipQueryPartitions
         );
 
         return createGraphLoader(